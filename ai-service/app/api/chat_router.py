@@ -2,19 +2,28 @@ from fastapi import APIRouter, HTTPException, Depends
 from fastapi.responses import StreamingResponse
 from langchain.agents import create_agent
 from langchain.tools import tool
-from langchain_core.messages import HumanMessage, AIMessage, SystemMessage
+from langchain_core.messages import (
+    HumanMessage,
+    AIMessage,
+    AIMessageChunk,
+    SystemMessage,
+)
 from langchain_openai import ChatOpenAI, OpenAIEmbeddings
 from langchain.agents.middleware import wrap_model_call, ModelRequest, ModelResponse
 from dotenv import load_dotenv
+import json
 import logging
 import re
-from typing import List
+from typing import List, Optional
 from app.models.chat import (
     ChatRequest,
     ChatResponse,
+    ContextDocument,
     SourceDocument,
     MessageRole,
     ChatMessage,
+    SummaryRequest,
+    SummaryResponse,
 )
 from app.core.vector_store import VectorStore
 from app.core.dependencies import get_vector_store
@@ -113,6 +122,35 @@ def dynamic_model_selection(
     return response
 
 
+def format_document(i: int, content: str, filename, page, score) -> str:
+    """
+    검색 문서 한 건을 프롬프트용 텍스트로 포맷팅
+    """
+    return (
+        f"[문서{i}]\n"
+        f"내용: {content}\n"
+        f"출처: {filename}\n"
+        f"페이지: {page}\n"
+        f"유사도 점수: {score}\n"
+    )
+
+
+def format_context_documents(context: List[ContextDocument]) -> str:
+    """
+    백엔드가 전달한 문서 목록 포맷팅 (검색 도구 결과와 같은 형식)
+    """
+    return "\n".join(
+        format_document(
+            i,
+            doc.content,
+            doc.source,
+            doc.page if doc.page is not None else "N/A",
+            doc.score,
+        )
+        for i, doc in enumerate(context, 1)
+    )
+
+
 def make_search_documents_tool(vector_store: VectorStore):
     """
     문서 검색 도구 생성
@@ -156,11 +194,13 @@ def make_search_documents_tool(vector_store: VectorStore):
             formatted_docs = []
             for i, (doc, score) in enumerate(docs_with_scores, 1):
                 formatted_docs.append(
-                    f"[문서{i}]\n"
-                    f"내용: {doc.page_content}\n"
-                    f"출처: {doc.metadata.get('filename','unknown')}\n"
-                    f"페이지: {doc.metadata.get('page', 'N/A')}\n"
-                    f"유사도 점수: {score}\n"
+                    format_document(
+                        i,
+                        doc.page_content,
+                        doc.metadata.get("filename", "unknown"),
+                        doc.metadata.get("page", "N/A"),
+                        score,
+                    )
                 )
 
             result = "\n".join(formatted_docs)
@@ -176,19 +216,35 @@ def make_search_documents_tool(vector_store: VectorStore):
 
 
 def create_chat_agent(
-    collection_name: str, temperature: float, vector_store: VectorStore
+    collection_name: Optional[str],
+    temperature: float,
+    vector_store: VectorStore,
+    context: Optional[List[ContextDocument]] = None,
 ):
     """
     채팅 에이전트 생성
+
+    context 가 있으면 (여러 컬렉션을 백엔드가 미리 검색한 경우) 검색 도구 없이 전달된 문서로만 답변한다.
     """
-    search_documents = make_search_documents_tool(vector_store)
+    if context is not None:
+        tools = []
+        retrieval_steps = """1. Use only the documents listed under **Documents** below (already retrieved for this question)
+2. Each document has filename, page number, and content"""
+        documents_section = (
+            "\n**Documents:**\n"
+            + (format_context_documents(context) or "(검색된 문서 없음)\n")
+        )
+    else:
+        tools = [make_search_documents_tool(vector_store)]
+        retrieval_steps = f"""1. When you need information, use search_documents tool with collection_name="{collection_name}"
+2. The tool returns documents with filename, page number, and content"""
+        documents_section = ""
 
     # system_prompt 작성
     system_prompt = f"""You are a document search assistant that answers questions in Korean.
 
 **Your Process:**
-1. When you need information, use search_documents tool with collection_name="{collection_name}"
-2. The tool returns documents with filename, page number, and content
+{retrieval_steps}
 3. Write your answer in natural Korean
 4. Add citation numbers [1], [2], [3] after facts from documents
 5. At the end, list all sources with their details
@@ -218,10 +274,10 @@ After your answer, add a "출처" section:
 - If no documents found: "문서에서 관련 정보를 찾을 수 없습니다"
 - Same source = same citation number throughout
 - Always include the 출처 section at the end
-"""
+{documents_section}"""
     agent = create_agent(
         model=basic_model,
-        tools=[search_documents],
+        tools=tools,
         middleware=[dynamic_model_selection],
         # response_format=ChatResponse,
         system_prompt=system_prompt,
@@ -280,6 +336,33 @@ def parse_agent_response_to_chat_response(
     return ChatResponse(query=query, answer=answer, sources=sources)
 
 
+def build_agent_messages(request: ChatRequest) -> list:
+    """
+    대화 히스토리 + 현재 질문으로 Agent 입력 메시지 구성
+    """
+    messages = []
+    if request.history:
+        for msg in request.history:
+            if msg.role == MessageRole.USER:
+                messages.append(HumanMessage(content=msg.content))
+            elif msg.role == MessageRole.ASSISTANT:
+                messages.append(AIMessage(content=msg.content))
+            elif msg.role == MessageRole.SYSTEM:
+                # 백엔드가 보내는 이전 대화 요약
+                messages.append(SystemMessage(content=msg.content))
+
+    # 현재 질문 추가
+    messages.append(HumanMessage(content=request.query))
+    return messages
+
+
+def sse_event(event: str, data: dict) -> str:
+    """
+    Server-Sent Events 포맷으로 직렬화
+    """
+    return f"event: {event}\ndata: {json.dumps(data, ensure_ascii=False)}\n\n"
+
+
 @router.post("/chat", response_model=ChatResponse)
 async def chat_with_agent(
     request: ChatRequest,
@@ -291,7 +374,9 @@ async def chat_with_agent(
 
     try:
         logger.info(
-            f"Agent 채팅 시작: collection = {request.collection_name}, query = {request.query}"
+            f"Agent 채팅 시작: collection = {request.collection_name}, "
+            f"context = {len(request.context) if request.context is not None else None}, "
+            f"query = {request.query}"
         )
 
         # 1. Agent 생성
@@ -299,19 +384,11 @@ async def chat_with_agent(
             collection_name=request.collection_name,
             temperature=request.temperature,
             vector_store=vector_store,
+            context=request.context,
         )
 
-        # 2. 대화 히스토리 구성
-        messages = []
-        if request.history:
-            for msg in request.history:
-                if msg.role == MessageRole.USER:
-                    messages.append(HumanMessage(content=msg.content))
-                elif msg.role == MessageRole.ASSISTANT:
-                    messages.append(AIMessage(content=msg.content))
-
-        # 현재 질문 추가
-        messages.append(HumanMessage(content=request.query))
+        # 2. 대화 히스토리 구성 (현재 질문 포함)
+        messages = build_agent_messages(request)
 
         # 3. Agent 실행
         result = agent.invoke({"messages": messages})
@@ -333,3 +410,97 @@ async def chat_with_agent(
         raise HTTPException(
             status_code=500, detail=f"Agent 채팅 처리 중 오류가 발생했습니다: {str(e)}"
         )
+
+
+@router.post("/chat/summary", response_model=SummaryResponse)
+async def summarize_conversation(request: SummaryRequest):
+    """
+    대화 누적 요약 - 이전 요약에 새 메시지를 합쳐 하나의 요약으로 만든다
+    """
+    transcript = "\n".join(
+        f"{'사용자' if msg.role == MessageRole.USER else '어시스턴트'}: {msg.content}"
+        for msg in request.messages
+        if msg.role != MessageRole.SYSTEM
+    )
+    prompt = [
+        SystemMessage(
+            content=(
+                "당신은 대화 요약기입니다. 이전 요약과 새 대화를 합쳐 이후 질문에 답하는 데 필요한 사실, "
+                "수치, 문서명, 사용자의 요구 사항을 빠짐없이 담은 간결한 한국어 요약 하나를 작성하세요. "
+                f"요약은 {request.max_tokens} 토큰을 넘지 않아야 합니다."
+            )
+        ),
+        HumanMessage(
+            content=f"[이전 요약]\n{request.previous_summary or '(없음)'}\n\n[새 대화]\n{transcript}"
+        ),
+    ]
+
+    try:
+        result = await basic_model.bind(max_tokens=request.max_tokens).ainvoke(prompt)
+        return SummaryResponse(summary=result.content.strip())
+    except Exception as e:
+        logger.error(f"대화 요약 실패: {e}", exc_info=True)
+        raise HTTPException(status_code=500, detail="대화 요약에 실패했습니다.")
+
+
+@router.post("/chat/stream")
+async def chat_with_agent_stream(
+    request: ChatRequest,
+    vector_store: VectorStore = Depends(get_vector_store),
+):
+    """
+    에이전트 기반 채팅 (SSE 스트리밍)
+
+    - event: token  / data: {"content": "..."}   모델이 생성한 토큰
+    - event: done   / data: ChatResponse          최종 답변 + 출처
+    - event: error  / data: {"message": "..."}    처리 중 오류
+    """
+    logger.info(
+        f"Agent 스트리밍 채팅 시작: collection = {request.collection_name}, "
+        f"context = {len(request.context) if request.context is not None else None}, "
+        f"query = {request.query}"
+    )
+
+    agent = create_chat_agent(
+        collection_name=request.collection_name,
+        temperature=request.temperature,
+        vector_store=vector_store,
+        context=request.context,
+    )
+    messages = build_agent_messages(request)
+
+    async def event_stream():
+        answer_parts = []
+        try:
+            async for chunk, metadata in agent.astream(
+                {"messages": messages}, stream_mode="messages"
+            ):
+                # 모델 노드에서 생성된 텍스트 토큰만 전달 (도구 호출/도구 결과 제외)
+                if metadata.get("langgraph_node") != "model":
+                    continue
+                if not isinstance(chunk, AIMessageChunk):
+                    continue
+                content = chunk.content if isinstance(chunk.content, str) else ""
+                if not content:
+                    continue
+
+                answer_parts.append(content)
+                yield sse_event("token", {"content": content})
+
+            chat_response = parse_agent_response_to_chat_response(
+                agent_response="".join(answer_parts), query=request.query
+            )
+            logger.info(f"스트리밍 응답 생성 완료: sources={len(chat_response.sources)}")
+            yield sse_event("done", chat_response.model_dump())
+
+        except Exception as e:
+            logger.error(f"Agent 스트리밍 채팅 처리 중 오류 발생: {e}", exc_info=True)
+            yield sse_event(
+                "error", {"message": f"Agent 채팅 처리 중 오류가 발생했습니다: {str(e)}"}
+            )
+
+    return StreamingResponse(
+        event_stream(),
+        media_type="text/event-stream",
+        headers={"Cache-Control": "no-cache", "X-Accel-Buffering": "no"},
+    )
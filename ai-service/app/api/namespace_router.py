@@ -5,6 +5,7 @@
 from fastapi import APIRouter, HTTPException, Depends, status, BackgroundTasks
 from langchain_text_splitters import RecursiveCharacterTextSplitter
 from langchain_community.document_loaders import PDFPlumberLoader
+from langchain_core.documents import Document
 from dotenv import load_dotenv
 from datetime import datetime, timezone
 from loguru import logger
@@ -18,6 +19,10 @@ from app.models.namespace import (
 )
 from app.models.document import (
     DocumentUploadRequest,
+    DocumentChunksRequest,
+    DocumentSearchRequest,
+    DocumentSearchResult,
+    DocumentSearchResponse,
     DocumentStatusResponse,
     DocumentStatus,
 )
@@ -87,6 +92,40 @@ async def create_namespace(
         )
 
 
+@router.post("/{name}/search", response_model=DocumentSearchResponse)
+async def search_documents(
+    name: str,
+    request: DocumentSearchRequest,
+    vector_store: VectorStore = Depends(get_vector_store),
+):
+    """컬렉션 벡터 유사도 검색 (답변 생성 없이 검색 결과만 반환)"""
+    if not vector_store.exists_namespace(name):
+        raise HTTPException(
+            status_code=status.HTTP_404_NOT_FOUND,
+            detail=f"네임스페이스를 찾을 수 없습니다: {name}",
+        )
+
+    try:
+        collection = vector_store.get_namespace(name)
+        docs_with_scores = collection.similarity_search_with_relevance_scores(
+            query=request.query, k=request.top_k
+        )
+        return DocumentSearchResponse(
+            results=[
+                DocumentSearchResult(
+                    content=doc.page_content, metadata=doc.metadata, score=score
+                )
+                for doc, score in docs_with_scores
+            ]
+        )
+    except Exception as e:
+        logger.error(f"벡터 검색 실패 - name: {name}, error: {e}")
+        raise HTTPException(
+            status_code=status.HTTP_500_INTERNAL_SERVER_ERROR,
+            detail="벡터 검색에 실패했습니다.",
+        )
+
+
 @router.delete("/{namespaceId}/documents/{document_id}")
 async def delete_document(
     namespaceId: str,
@@ -272,6 +311,67 @@ async def upload_document(
     }
 
 
+async def index_chunks_background(
+    request: DocumentChunksRequest, vector_store: VectorStore
+):
+    """백그라운드에서 백엔드가 분할한 청크 임베딩/저장"""
+    try:
+        document_status[request.document_id] = {
+            "status": DocumentStatus.PENDING,
+            "chunks_count": 0,
+        }
+
+        documents = [
+            Document(page_content=chunk.content, metadata=chunk.metadata)
+            for chunk in request.chunks
+        ]
+        added_count = vector_store.add_documents(
+            namespace=request.collection_name, documents=documents
+        )
+
+        logger.info(
+            f"청크 벡터 스토어 저장 완료 - "
+            f"collection: {request.collection_name}, "
+            f"추가된 청크: {added_count}개"
+        )
+
+        document_status[request.document_id] = {
+            "status": DocumentStatus.PROCESSED,
+            "chunks_count": len(documents),
+            "processed_at": datetime.now(timezone.utc),
+            "error_message": None,
+        }
+
+    except Exception as e:
+        logging.error(f"청크 처리 중 오류 발생: {e}")
+        document_status[request.document_id] = {
+            "status": DocumentStatus.FAILED,
+            "chunks_count": 0,
+            "processed_at": None,
+            "error_message": str(e),
+        }
+
+
+@router.post("/{namespaceId}/documents/chunks")
+async def upload_document_chunks(
+    namespaceId: str,
+    request: DocumentChunksRequest,
+    background_tasks: BackgroundTasks,
+    vector_store: VectorStore = Depends(get_vector_store),
+):
+    """백엔드에서 청킹한 문서의 임베딩만 수행 (로드/분할 생략)"""
+    background_tasks.add_task(index_chunks_background, request, vector_store)
+    logger.info(
+        f"청크 임베딩 요청 접수: {request.document_id}, 청크 수: {len(request.chunks)}"
+    )
+
+    return {
+        "document_id": request.document_id,
+        "status": "pending",
+        "message": "문서 임베딩이 시작되었습니다.",
+    }
+
+
 @router.get(
     "/{namespaceId}/documents/{document_id}/status",
     response_model=DocumentStatusResponse,
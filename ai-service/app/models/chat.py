@@ -1,5 +1,5 @@
 # models/chat.py
-from pydantic import BaseModel, Field
+from pydantic import BaseModel, Field, model_validator
 from typing import List, Optional, Dict, Any
 from enum import Enum
 
@@ -17,14 +17,48 @@ class ChatMessage(BaseModel):
     content: str = Field(..., description="메시지 내용")
 
 
+class ContextDocument(BaseModel):
+    """백엔드가 미리 검색해 전달하는 문서 조각 모델"""
+
+    content: str = Field(..., description="문서 내용")
+    source: str = Field("unknown", description="문서명")
+    page: Optional[int] = Field(None, description="페이지 번호")
+    score: Optional[float] = Field(None, description="관련도 점수")
+
+
 class ChatRequest(BaseModel):
     """채팅 요청 모델"""
 
     query: str = Field(..., description="사용자 질문", min_length=1)
-    collection_name: str = Field(..., description="검색할 ChromaDB 컬렉션 이름")
+    collection_name: Optional[str] = Field(
+        None, description="검색할 ChromaDB 컬렉션 이름 (context 가 없을 때 필수)"
+    )
     top_k: int = Field(4, description="검색할 상위 K개 문서 수", ge=1, le=10)
     temperature: float = Field(0.1, description="생성 모델의 온도 설정", ge=0.0, le=1.0)
     history: Optional[List[ChatMessage]] = Field(None, description="이전 대화 내역")
+    context: Optional[List[ContextDocument]] = Field(
+        None, description="미리 검색된 문서 (있으면 검색 도구 없이 이 문서로 답변)"
+    )
+
+    @model_validator(mode="after")
+    def check_retrieval_source(self):
+        if self.context is None and not self.collection_name:
+            raise ValueError("collection_name 또는 context 중 하나는 필요합니다.")
+        return self
+
+
+class SummaryRequest(BaseModel):
+    """대화 누적 요약 요청 모델"""
+
+    previous_summary: Optional[str] = Field(None, description="이전 누적 요약")
+    messages: List[ChatMessage] = Field(..., description="요약에 새로 포함할 메시지", min_length=1)
+    max_tokens: int = Field(400, description="요약 최대 토큰 수", ge=50, le=2000)
+
+
+class SummaryResponse(BaseModel):
+    """대화 누적 요약 응답 모델"""
+
+    summary: str = Field(..., description="누적 요약")
 
 
 class SourceDocument(BaseModel):
@@ -1,6 +1,6 @@
 # models/document.py
 from pydantic import BaseModel, Field
-from typing import Optional, Dict, Any
+from typing import Optional, Dict, Any, List
 from enum import Enum
 from datetime import datetime
 
@@ -20,9 +20,42 @@ class DocumentUploadRequest(BaseModel):
     filename: str = Field(..., description="원본 파일 이름")
 
 
+class DocumentChunk(BaseModel):
+    """백엔드에서 분할한 청크"""
+
+    content: str = Field(..., description="청크 텍스트")
+    metadata: Dict[str, Any] = Field(default_factory=dict, description="청크 메타데이터")
+
+
+class DocumentChunksRequest(BaseModel):
+    """백엔드에서 청킹한 문서의 임베딩 요청 모델"""
+
+    document_id: str = Field(..., description="문서 고유 ID")
+    collection_name: str = Field(..., description="ChromaDB 컬렉션 이름")
+    filename: str = Field(..., description="원본 파일 이름")
+    chunks: List[DocumentChunk] = Field(..., description="청크 목록")
+
+
 class DocumentStatusResponse(BaseModel):
     document_id: str = Field(..., description="문서 고유 ID")
     status: DocumentStatus = Field(..., description="문서 처리 상태")
     chunks_count: int = Field(..., description="문서 청크 수")
     processed_at: Optional[datetime] = Field(None, description="처리 완료 시간")
     error_message: Optional[str] = Field(None, description="오류 메시지")
+
+
+class DocumentSearchRequest(BaseModel):
+    """컬렉션 벡터 검색 요청 모델"""
+
+    query: str = Field(..., description="검색 쿼리", min_length=1)
+    top_k: int = Field(4, description="검색할 상위 K개 청크 수", ge=1, le=100)
+
+
+class DocumentSearchResult(BaseModel):
+    content: str = Field(..., description="청크 내용")
+    metadata: Dict[str, Any] = Field(default_factory=dict, description="청크 메타데이터")
+    score: float = Field(..., description="관련도 점수")
+
+
+class DocumentSearchResponse(BaseModel):
+    results: List[DocumentSearchResult] = Field(default_factory=list, description="검색 결과")
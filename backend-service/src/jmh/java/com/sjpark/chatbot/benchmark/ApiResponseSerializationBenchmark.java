@@ -0,0 +1,51 @@
+package com.sjpark.chatbot.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sjpark.chatbot.common.ApiResponse;
+import com.sjpark.chatbot.dto.DocumentQueryResponse;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * 문서 목록 응답(ApiResponse&lt;List&lt;DocumentQueryResponse&gt;&gt;) JSON 직렬화
+ * <p>
+ * ObjectMapper 는 Spring Boot 와 같은 Jackson2ObjectMapperBuilder 기본값(JavaTimeModule, 날짜 문자열 출력)으로 만든다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ApiResponseSerializationBenchmark {
+
+  @Param({"100", "1000", "10000"})
+  private int documents;
+
+  private ObjectMapper objectMapper;
+  private List<DocumentQueryResponse> rows;
+
+  @Setup
+  public void setUp() {
+    objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    LocalDateTime uploadedAt = LocalDateTime.of(2025, 1, 1, 9, 0);
+    rows = IntStream.range(0, documents)
+        .mapToObj(i -> new DocumentQueryResponse((long) i, "분기_보고서_" + i + ".pdf", "pdf",
+            1024L * (i % 10_000 + 1), uploadedAt.plusMinutes(i), 1L))
+        .toList();
+  }
+
+  @Benchmark
+  public byte[] serializeDocumentList() throws JsonProcessingException {
+    return objectMapper.writeValueAsBytes(ApiResponse.success(rows));
+  }
+}
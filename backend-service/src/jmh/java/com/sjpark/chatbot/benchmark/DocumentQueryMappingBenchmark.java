@@ -0,0 +1,70 @@
+package com.sjpark.chatbot.benchmark;
+
+import com.sjpark.chatbot.domain.Document;
+import com.sjpark.chatbot.domain.Document.DocumentStatus;
+import com.sjpark.chatbot.domain.Namespace;
+import com.sjpark.chatbot.dto.DocumentQueryResponse;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * 문서 목록 매핑 - 엔티티에서 변환(DocumentQueryResponse.from)과 생성자 프로젝션 행에서 생성 비교
+ * <p>
+ * DB 조회 비용은 포함하지 않으며, 같은 데이터에 대한 객체 변환 비용만 측정한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DocumentQueryMappingBenchmark {
+
+  @Param({"100", "10000"})
+  private int documents;
+
+  private List<Document> entities;
+  private List<Object[]> rows;
+
+  @Setup
+  public void setUp() {
+    Namespace namespace = Namespace.builder().id(1L).name("재무 보고서").chromaCollectionName("ns_1").build();
+    LocalDateTime createdAt = LocalDateTime.of(2025, 1, 1, 9, 0);
+    entities = IntStream.range(0, documents)
+        .mapToObj(i -> Document.builder()
+            .id((long) i)
+            .namespace(namespace)
+            .filename("분기_보고서_" + i + ".pdf")
+            .filePath("/blobs/" + i)
+            .fileType("pdf")
+            .fileSize(1024L * (i + 1))
+            .fileHash(Integer.toHexString(i))
+            .status(DocumentStatus.COMPLETED)
+            .createdAt(createdAt.plusMinutes(i))
+            .build())
+        .toList();
+    rows = entities.stream()
+        .map(d -> new Object[]{d.getId(), d.getFilename(), d.getFileType(), d.getFileSize(), d.getCreatedAt(), 1L})
+        .toList();
+  }
+
+  @Benchmark
+  public List<DocumentQueryResponse> fromEntity() {
+    return entities.stream().map(DocumentQueryResponse::from).toList();
+  }
+
+  @Benchmark
+  public List<DocumentQueryResponse> fromProjectionRow() {
+    return rows.stream()
+        .map(row -> new DocumentQueryResponse((Long) row[0], (String) row[1], (String) row[2], (Long) row[3],
+            (LocalDateTime) row[4], (Long) row[5]))
+        .toList();
+  }
+}
@@ -0,0 +1,85 @@
+package com.sjpark.chatbot.benchmark;
+
+import com.sjpark.chatbot.service.FileStorageService;
+import com.sjpark.chatbot.service.FileStorageService.StagedFile;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Comparator;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * 업로드 파일 해시 계산
+ * <p>
+ * 예전 업로드 경로(전체 내용을 메모리에서 해시 + String.format 인코딩)와 현재의 FileStorageService.stage
+ * (임시 파일로 스트리밍 저장하면서 해시 계산) 비용을 비교한다. 인코딩만의 비교는 {@link HexEncodingBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class FileHashBenchmark {
+
+  @Param({"65536", "1048576", "10485760"})
+  private int size;
+
+  private byte[] content;
+  private Path uploadDir;
+  private FileStorageService fileStorageService;
+
+  @Setup
+  public void setUp() throws IOException, NoSuchAlgorithmException {
+    content = new byte[size];
+    new SplittableRandom(42).nextBytes(content);
+
+    uploadDir = Files.createTempDirectory("jmh_upload_");
+    fileStorageService = new FileStorageService();
+    ReflectionTestUtils.setField(fileStorageService, "uploadDir", uploadDir.toString());
+  }
+
+  @TearDown
+  public void tearDown() throws IOException {
+    try (Stream<Path> paths = Files.walk(uploadDir)) {
+      for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+        Files.deleteIfExists(path);
+      }
+    }
+  }
+
+  /**
+   * 메모리에 올린 전체 내용의 해시 + String.format 인코딩 (예전 업로드 경로)
+   */
+  @Benchmark
+  public String digestInMemoryStringFormat() throws NoSuchAlgorithmException {
+    byte[] hash = MessageDigest.getInstance("SHA-256").digest(content);
+    StringBuilder hex = new StringBuilder();
+    for (byte b : hash) {
+      hex.append(String.format("%02x", b));
+    }
+    return hex.toString();
+  }
+
+  /**
+   * 현재 업로드 경로 - 임시 파일로 스트리밍 저장하면서 해시 계산 (임시 파일 삭제 포함)
+   */
+  @Benchmark
+  public String streamingStage() throws IOException {
+    StagedFile staged = fileStorageService.stage(new ByteArrayInputStream(content));
+    Files.delete(staged.path());
+    return staged.hash();
+  }
+}
@@ -0,0 +1,46 @@
+package com.sjpark.chatbot.benchmark;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * SHA-256 다이제스트(32바이트) 16진수 인코딩 - 예전 calculateFileHash 의 String.format("%02x") 루프와 HexFormat 비교
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class HexEncodingBenchmark {
+
+  private byte[] digest;
+
+  @Setup
+  public void setUp() throws NoSuchAlgorithmException {
+    digest = MessageDigest.getInstance("SHA-256").digest("benchmark".getBytes());
+  }
+
+  /**
+   * 기준선 - 바이트마다 String.format 호출
+   */
+  @Benchmark
+  public String stringFormat() {
+    StringBuilder hex = new StringBuilder();
+    for (byte b : digest) {
+      hex.append(String.format("%02x", b));
+    }
+    return hex.toString();
+  }
+
+  @Benchmark
+  public String hexFormat() {
+    return HexFormat.of().formatHex(digest);
+  }
+}
@@ -0,0 +1,167 @@
+package com.sjpark.chatbot.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.sjpark.chatbot.common.LoggingFilter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * LoggingFilter 요청당 오버헤드
+ * <p>
+ * 필터 없이 체인만 실행한 경우(baseline)와 비교한다. 로그는 appender 없이 버려지므로 출력 I/O 는 포함하지 않는다.
+ * gc 프로파일러의 gc.alloc.rate.norm 으로 요청당 할당량을 확인한다. Mock 요청/응답 스트림은 바이트 단위로 읽고 쓰므로
+ * 배열 단위로 읽고 쓰는 스트림으로 바꿔 필터 자체의 비용이 드러나도록 한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LoggingFilterBenchmark {
+
+  @Param({"INFO", "DEBUG"})
+  private String level;
+
+  @Param({"json", "multipart"})
+  private String contentType;
+
+  private LoggingFilter filter;
+  private FilterChain chain;
+  private byte[] requestBody;
+
+  @Setup
+  public void setUp() {
+    ((Logger) LoggerFactory.getLogger(LoggingFilter.class)).setLevel(Level.toLevel(level));
+
+    filter = new LoggingFilter();
+    ReflectionTestUtils.setField(filter, "bodyMaxBytes", 1024);
+    ReflectionTestUtils.setField(filter, "bodySampleRate", 1.0); // 최악의 경우 - 모든 요청 본문 캡처
+
+    // 업로드는 1MB, JSON 요청은 4KB 본문
+    requestBody = new byte["multipart".equals(contentType) ? 1024 * 1024 : 4 * 1024];
+    byte[] responseBody = ("{\"success\":true,\"data\":\"" + "a".repeat(8 * 1024) + "\"}")
+        .getBytes(StandardCharsets.UTF_8);
+    chain = (request, response) -> {
+      request.getInputStream().readAllBytes();
+      response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+      response.getOutputStream().write(responseBody);
+    };
+  }
+
+  @Benchmark
+  public MockHttpServletResponse baseline() throws ServletException, IOException {
+    MockHttpServletResponse response = new BulkResponse();
+    chain.doFilter(newRequest(), response);
+    return response;
+  }
+
+  @Benchmark
+  public MockHttpServletResponse filtered() throws ServletException, IOException {
+    MockHttpServletResponse response = new BulkResponse();
+    filter.doFilter(newRequest(), response, chain);
+    return response;
+  }
+
+  private MockHttpServletRequest newRequest() {
+    MockHttpServletRequest request = new BulkRequest(requestBody);
+    request.setContentType("multipart".equals(contentType)
+        ? MediaType.MULTIPART_FORM_DATA_VALUE + "; boundary=jmh"
+        : MediaType.APPLICATION_JSON_VALUE);
+    request.setRemoteAddr("127.0.0.1");
+    return request;
+  }
+
+  /**
+   * 본문을 배열 단위로 읽는 요청
+   */
+  private static final class BulkRequest extends MockHttpServletRequest {
+
+    private final ServletInputStream inputStream;
+
+    BulkRequest(byte[] body) {
+      super("POST", "/api/v1/namespaces/1/documents");
+      ByteArrayInputStream in = new ByteArrayInputStream(body);
+      this.inputStream = new ServletInputStream() {
+        @Override
+        public int read() {
+          return in.read();
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+          return in.read(b, off, len);
+        }
+
+        @Override
+        public boolean isFinished() {
+          return in.available() == 0;
+        }
+
+        @Override
+        public boolean isReady() {
+          return true;
+        }
+
+        @Override
+        public void setReadListener(ReadListener readListener) {
+        }
+      };
+      setContent(body); // Content-Length
+    }
+
+    @Override
+    public ServletInputStream getInputStream() {
+      return inputStream;
+    }
+  }
+
+  /**
+   * 본문을 버리는 응답 (네트워크 전송 비용 제외)
+   */
+  private static final class BulkResponse extends MockHttpServletResponse {
+
+    private final ServletOutputStream outputStream = new ServletOutputStream() {
+      @Override
+      public void write(int b) {
+      }
+
+      @Override
+      public void write(byte[] b, int off, int len) {
+      }
+
+      @Override
+      public boolean isReady() {
+        return true;
+      }
+
+      @Override
+      public void setWriteListener(WriteListener writeListener) {
+      }
+    };
+
+    @Override
+    public ServletOutputStream getOutputStream() {
+      return outputStream;
+    }
+  }
+}
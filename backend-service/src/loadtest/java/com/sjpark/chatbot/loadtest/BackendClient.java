@@ -0,0 +1,108 @@
+package com.sjpark.chatbot.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+
+/**
+ * 백엔드 API 호출 (java.net.http, 가상 스레드)
+ * <p>
+ * 각 메서드는 요청이 성공했는지 여부를 반환한다. 채팅은 SSE 응답을 끝까지 읽고 error 이벤트가 있으면 실패로 본다.
+ */
+public class BackendClient {
+
+  private static final ObjectMapper objectMapper = new ObjectMapper();
+  private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(60);
+
+  private final String baseUrl;
+  private final HttpClient httpClient;
+
+  public BackendClient(String baseUrl) {
+    this.baseUrl = baseUrl;
+    this.httpClient = HttpClient.newBuilder()
+        .version(HttpClient.Version.HTTP_1_1)
+        .connectTimeout(Duration.ofSeconds(5))
+        .executor(Executors.newVirtualThreadPerTaskExecutor())
+        .build();
+  }
+
+  /**
+   * 보관함 생성 (AI 서비스 컬렉션 생성 포함)
+   *
+   * @return 생성된 보관함 ID
+   */
+  public long createNamespace(long userId, String name) throws IOException, InterruptedException {
+    String body = objectMapper.writeValueAsString(Map.of("name", name, "userId", userId));
+    HttpResponse<String> response = send(HttpRequest.newBuilder(uri("/api/v1/namespaces"))
+        .header("Content-Type", "application/json")
+        .POST(BodyPublishers.ofString(body)));
+    if (response.statusCode() != 200) {
+      throw new IllegalStateException("보관함 생성 실패 - status: " + response.statusCode() + ", body: " + response.body());
+    }
+    JsonNode data = objectMapper.readTree(response.body()).path("data");
+    return data.path("id").asLong();
+  }
+
+  public boolean upload(long userId, long namespaceId, byte[] content) throws IOException, InterruptedException {
+    String boundary = "loadtest" + UUID.randomUUID().toString().replace("-", "");
+    ByteArrayOutputStream multipart = new ByteArrayOutputStream(content.length + 512);
+    writePart(multipart, boundary, "namespaceId", String.valueOf(namespaceId));
+    writePart(multipart, boundary, "userId", String.valueOf(userId));
+    multipart.writeBytes(("--" + boundary + "\r\n"
+        + "Content-Disposition: form-data; name=\"file\"; filename=\"load_" + UUID.randomUUID() + ".pdf\"\r\n"
+        + "Content-Type: application/pdf\r\n\r\n").getBytes(StandardCharsets.UTF_8));
+    multipart.writeBytes(content);
+    multipart.writeBytes(("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.UTF_8));
+
+    HttpResponse<String> response = send(HttpRequest.newBuilder(uri("/api/v1/namespaces/" + namespaceId + "/documents"))
+        .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+        .POST(BodyPublishers.ofByteArray(multipart.toByteArray())));
+    return response.statusCode() == 200;
+  }
+
+  public boolean listNamespaces(long userId) throws IOException, InterruptedException {
+    return send(HttpRequest.newBuilder(uri("/api/v1/namespaces?userId=" + userId)).GET()).statusCode() == 200;
+  }
+
+  public boolean listDocuments(long userId, long namespaceId) throws IOException, InterruptedException {
+    return send(HttpRequest.newBuilder(uri("/api/v1/namespaces/" + namespaceId + "/documents?userId=" + userId))
+        .GET()).statusCode() == 200;
+  }
+
+  public boolean chat(long userId, long conversationId, String query) throws IOException, InterruptedException {
+    String body = objectMapper.writeValueAsString(Map.of("userId", userId, "query", query));
+    HttpResponse<String> response = send(HttpRequest.newBuilder(uri("/api/v1/conversations/" + conversationId + "/chat"))
+        .header("Content-Type", "application/json")
+        .header("Accept", "text/event-stream")
+        .POST(BodyPublishers.ofString(body)));
+    return response.statusCode() == 200
+        && response.body().contains("event:done")
+        && !response.body().contains("event:error");
+  }
+
+  private HttpResponse<String> send(HttpRequest.Builder request) throws IOException, InterruptedException {
+    return httpClient.send(request.timeout(REQUEST_TIMEOUT).build(), BodyHandlers.ofString());
+  }
+
+  private URI uri(String path) {
+    return URI.create(baseUrl + path);
+  }
+
+  private void writePart(ByteArrayOutputStream out, String boundary, String name, String value) {
+    out.writeBytes(("--" + boundary + "\r\n"
+        + "Content-Disposition: form-data; name=\"" + name + "\"\r\n\r\n"
+        + value + "\r\n").getBytes(StandardCharsets.UTF_8));
+  }
+}
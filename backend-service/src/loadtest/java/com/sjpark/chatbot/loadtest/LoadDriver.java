@@ -0,0 +1,118 @@
+package com.sjpark.chatbot.loadtest;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * 부하 발생기 (closed model)
+ * <p>
+ * 가상 사용자 concurrency 명이 각각 작업 비율에 따라 작업을 고르고, 응답을 받으면 바로 다음 작업을 보낸다.
+ * 워밍업이 끝난 뒤의 응답 시간만 작업별 HdrHistogram 에 마이크로초 단위로 기록한다.
+ */
+@Slf4j
+public class LoadDriver {
+
+  private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(2);
+
+  private static final List<String> QUESTIONS = List.of(
+      "2024년 매출은 얼마인가요?", "영업이익률 추이를 알려주세요.", "주요 리스크 요인은?", "신규 사업 계획을 요약해줘",
+      "부채비율은 얼마인가요?", "해외 매출 비중은?", "연구개발 투자 규모는?", "배당 정책을 알려주세요.");
+
+  private final LoadTestConfig config;
+  private final BackendClient client;
+  private final List<LoadTestMain.Tenant> tenants;
+  private final Map<Operation, Histogram> latencies = new EnumMap<>(Operation.class);
+  private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+  private final List<Operation> weightedOperations = new ArrayList<>();
+
+  public LoadDriver(LoadTestConfig config, BackendClient client, List<LoadTestMain.Tenant> tenants) {
+    this.config = config;
+    this.client = client;
+    this.tenants = tenants;
+    for (Operation operation : Operation.values()) {
+      latencies.put(operation, new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3));
+      errors.put(operation, new LongAdder());
+    }
+    config.mix().forEach((operation, weight) -> {
+      for (int i = 0; i < weight; i++) {
+        weightedOperations.add(operation);
+      }
+    });
+  }
+
+  public LoadReport run() throws InterruptedException {
+    long startedAt = System.nanoTime();
+    long measureFrom = startedAt + config.warmup().toNanos();
+    long endAt = measureFrom + config.duration().toNanos();
+
+    log.warn("부하 테스트 시작 - 동시 사용자: {}, 워밍업: {}, 측정: {}, 비율: {}",
+        config.concurrency(), config.warmup(), config.duration(), config.mix());
+
+    try (ExecutorService users = Executors.newVirtualThreadPerTaskExecutor()) {
+      for (int i = 0; i < config.concurrency(); i++) {
+        users.submit(() -> userLoop(measureFrom, endAt));
+      }
+    }
+    return new LoadReport(latencies, errors, config.duration());
+  }
+
+  private void userLoop(long measureFrom, long endAt) {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    while (System.nanoTime() < endAt) {
+      Operation operation = weightedOperations.get(random.nextInt(weightedOperations.size()));
+      LoadTestMain.Tenant tenant = tenants.get(random.nextInt(tenants.size()));
+
+      long requestStart = System.nanoTime();
+      boolean success;
+      try {
+        success = execute(operation, tenant, random);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      } catch (Exception e) {
+        success = false;
+      }
+      long requestEnd = System.nanoTime();
+
+      if (requestStart >= measureFrom && requestEnd <= endAt) {
+        latencies.get(operation).recordValue(
+            Math.min(TimeUnit.NANOSECONDS.toMicros(requestEnd - requestStart), HIGHEST_TRACKABLE_MICROS));
+        if (!success) {
+          errors.get(operation).increment();
+        }
+      }
+    }
+  }
+
+  private boolean execute(Operation operation, LoadTestMain.Tenant tenant, ThreadLocalRandom random)
+      throws Exception {
+    return switch (operation) {
+      case UPLOAD -> client.upload(tenant.userId(), tenant.namespaceId(), pdf(random));
+      case NAMESPACES -> client.listNamespaces(tenant.userId());
+      case DOCUMENTS -> client.listDocuments(tenant.userId(), tenant.namespaceId());
+      case CHAT -> client.chat(tenant.userId(), tenant.conversationId(), QUESTIONS.get(random.nextInt(QUESTIONS.size())));
+    };
+  }
+
+  /**
+   * 매번 내용이 다른 PDF 헤더를 가진 파일 (중복 업로드로 거부되지 않도록)
+   */
+  private byte[] pdf(ThreadLocalRandom random) {
+    byte[] content = new byte[config.uploadBytes()];
+    random.nextBytes(content);
+    byte[] header = "%PDF-1.4\n".getBytes(StandardCharsets.US_ASCII);
+    System.arraycopy(header, 0, content, 0, Math.min(header.length, content.length));
+    return content;
+  }
+}
@@ -0,0 +1,77 @@
+package com.sjpark.chatbot.loadtest;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import org.HdrHistogram.Histogram;
+
+/**
+ * 부하 테스트 결과 - 작업별 처리량, 오류 수, p50/p99/p99.9 응답 시간
+ */
+public record LoadReport(Map<Operation, Histogram> latencies, Map<Operation, LongAdder> errors, Duration measured) {
+
+  private static final double MICROS_PER_MILLI = 1000.0;
+
+  public void print(PrintStream out, String title) {
+    double seconds = measured.toMillis() / 1000.0;
+    out.printf("%n[%s]%n%-12s %10s %8s %10s %10s %10s %10s %10s%n", title,
+        "operation", "requests", "errors", "req/s", "p50(ms)", "p99(ms)", "p99.9(ms)", "max(ms)");
+
+    long totalRequests = 0;
+    long totalErrors = 0;
+    for (Map.Entry<Operation, Histogram> entry : latencies.entrySet()) {
+      Histogram histogram = entry.getValue();
+      long requests = histogram.getTotalCount();
+      long failed = errors.get(entry.getKey()).sum();
+      totalRequests += requests;
+      totalErrors += failed;
+      if (requests == 0) {
+        continue;
+      }
+      out.printf("%-12s %10d %8d %10.1f %10.2f %10.2f %10.2f %10.2f%n",
+          entry.getKey().key(), requests, failed, requests / seconds,
+          millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(99)),
+          millis(histogram.getValueAtPercentile(99.9)), millis(histogram.getMaxValue()));
+    }
+    out.printf("%-12s %10d %8d %10.1f%n%n", "total", totalRequests, totalErrors, totalRequests / seconds);
+  }
+
+  /**
+   * 전체 처리량/오류 수와 작업을 합친 p50/p99/p99.9 한 줄 요약 (스레드 모드 비교용)
+   */
+  public String summary(String title) {
+    Histogram total = new Histogram(3); // 범위 자동 확장
+    long failed = 0;
+    for (Map.Entry<Operation, Histogram> entry : latencies.entrySet()) {
+      total.add(entry.getValue());
+      failed += errors.get(entry.getKey()).sum();
+    }
+    double seconds = measured.toMillis() / 1000.0;
+    return String.format("%-10s req/s=%.1f errors=%d p50=%.2fms p99=%.2fms p99.9=%.2fms",
+        title, total.getTotalCount() / seconds, failed, millis(total.getValueAtPercentile(50)),
+        millis(total.getValueAtPercentile(99)), millis(total.getValueAtPercentile(99.9)));
+  }
+
+  /**
+   * 작업별 지연 분포를 HdrHistogram 백분위 형식(.hgrm, 밀리초)으로 저장 - HistogramLogAnalyzer 등으로 그래프를 그릴 수 있다
+   */
+  public void writeHistograms(Path directory) throws IOException {
+    Files.createDirectories(directory);
+    for (Map.Entry<Operation, Histogram> entry : latencies.entrySet()) {
+      if (entry.getValue().getTotalCount() == 0) {
+        continue;
+      }
+      try (PrintStream out = new PrintStream(Files.newOutputStream(directory.resolve(entry.getKey().key() + ".hgrm")))) {
+        entry.getValue().outputPercentileDistribution(out, MICROS_PER_MILLI);
+      }
+    }
+  }
+
+  private static double millis(long micros) {
+    return micros / MICROS_PER_MILLI;
+  }
+}
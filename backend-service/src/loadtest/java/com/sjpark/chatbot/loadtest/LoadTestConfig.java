@@ -0,0 +1,92 @@
+package com.sjpark.chatbot.loadtest;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 부하 테스트 설정 (시스템 프로퍼티 loadtest.*, Gradle 에서는 -Ploadtest.* 로 전달)
+ *
+ * @param duration     측정 시간 (loadtest.duration, 기본 60s)
+ * @param warmup       측정 전 워밍업 시간 (loadtest.warmup, 기본 10s)
+ * @param concurrency  동시 가상 사용자 수 (loadtest.concurrency, 기본 32)
+ * @param users        사용자/보관함/대화 수 (loadtest.users, 기본 8)
+ * @param mix          작업 비율 (loadtest.mix, 기본 upload=5,namespaces=20,documents=45,chat=30)
+ * @param uploadBytes  업로드 파일 크기 (loadtest.upload-bytes, 기본 204800)
+ * @param aiLatency    AI 서비스 대역 응답 지연 (loadtest.ai.latency, 기본 50ms)
+ * @param tokenInterval 스트리밍 토큰 간격 (loadtest.ai.token-interval, 기본 20ms)
+ * @param indexingDelay 인덱싱 완료까지 걸리는 시간 (loadtest.ai.indexing-delay, 기본 500ms)
+ * @param aiErrorRate  AI 서비스 대역 503 응답 비율 (loadtest.ai.error-rate, 기본 0)
+ * @param threadModes  요청 처리 스레드 모드 (loadtest.threads, 기본 virtual) - "platform,virtual" 이면 두 모드를 차례로
+ *                     실행해 같은 부하에서의 처리량/응답 시간을 비교한다
+ */
+public record LoadTestConfig(Duration duration, Duration warmup, int concurrency, int users,
+                             Map<Operation, Integer> mix, int uploadBytes, Duration aiLatency,
+                             Duration tokenInterval, Duration indexingDelay, double aiErrorRate,
+                             List<ThreadMode> threadModes) {
+
+  public static LoadTestConfig fromSystemProperties() {
+    return new LoadTestConfig(
+        duration("loadtest.duration", "60s"),
+        duration("loadtest.warmup", "10s"),
+        Integer.parseInt(System.getProperty("loadtest.concurrency", "32")),
+        Integer.parseInt(System.getProperty("loadtest.users", "8")),
+        mix(System.getProperty("loadtest.mix", "upload=5,namespaces=20,documents=45,chat=30")),
+        Integer.parseInt(System.getProperty("loadtest.upload-bytes", "204800")),
+        duration("loadtest.ai.latency", "50ms"),
+        duration("loadtest.ai.token-interval", "20ms"),
+        duration("loadtest.ai.indexing-delay", "500ms"),
+        Double.parseDouble(System.getProperty("loadtest.ai.error-rate", "0")),
+        Arrays.stream(System.getProperty("loadtest.threads", "virtual").split(","))
+            .map(ThreadMode::of)
+            .toList());
+  }
+
+  /**
+   * "500ms", "10s", "2m" 형식
+   */
+  static Duration parseDuration(String value) {
+    String text = value.trim().toLowerCase();
+    if (text.endsWith("ms")) {
+      return Duration.ofMillis(Long.parseLong(text.substring(0, text.length() - 2)));
+    }
+    if (text.endsWith("s")) {
+      return Duration.ofSeconds(Long.parseLong(text.substring(0, text.length() - 1)));
+    }
+    if (text.endsWith("m")) {
+      return Duration.ofMinutes(Long.parseLong(text.substring(0, text.length() - 1)));
+    }
+    return Duration.ofMillis(Long.parseLong(text));
+  }
+
+  private static Duration duration(String key, String defaultValue) {
+    return parseDuration(System.getProperty(key, defaultValue));
+  }
+
+  private static Map<Operation, Integer> mix(String value) {
+    Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+    for (String entry : value.split(",")) {
+      String[] pair = entry.trim().split("=");
+      weights.put(Operation.of(pair[0]), Integer.parseInt(pair[1].trim()));
+    }
+    return weights;
+  }
+
+  /**
+   * 백엔드 요청 처리 스레드 모드 (spring.threads.virtual.enabled)
+   */
+  public enum ThreadMode {
+    PLATFORM, // Tomcat 플랫폼 스레드 풀 (server.tomcat.threads.max)
+    VIRTUAL;  // 요청마다 가상 스레드
+
+    public boolean virtual() {
+      return this == VIRTUAL;
+    }
+
+    static ThreadMode of(String value) {
+      return valueOf(value.trim().toUpperCase());
+    }
+  }
+}
@@ -0,0 +1,124 @@
+package com.sjpark.chatbot.loadtest;
+
+import com.sjpark.chatbot.ChatbotApplication;
+import com.sjpark.chatbot.domain.Conversation;
+import com.sjpark.chatbot.domain.User;
+import com.sjpark.chatbot.loadtest.LoadTestConfig.ThreadMode;
+import com.sjpark.chatbot.repo.ConversationRepository;
+import com.sjpark.chatbot.repo.UserRepository;
+import com.sjpark.chatbot.support.StubAiServer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * 종단 간 부하 테스트
+ * <p>
+ * StubAiServer(AI 서비스 대역)와 백엔드(H2, loadtest 프로필)를 한 프로세스에서 띄운 뒤, 사용자/보관함/대화를 만들고
+ * 업로드·목록 조회·채팅을 섞어 부하를 준다. Python/Chroma/LLM 없이 한 대의 리눅스 서버에서 실행할 수 있다.
+ * <p>
+ * 실행: {@code ./gradlew loadTest -x frontendBuild -Ploadtest.duration=60s -Ploadtest.concurrency=64}
+ * <p>
+ * {@code -Ploadtest.threads=platform,virtual} 을 주면 플랫폼 스레드(Tomcat 스레드 풀)와 가상 스레드 모드를 차례로 실행하고
+ * 처리량/응답 시간을 나란히 출력한다. 차이를 보려면 AI 지연을 늘리고 동시 사용자를 Tomcat 스레드 수(200)보다 크게 준다.
+ */
+@Slf4j
+public class LoadTestMain {
+
+  private static final int SEED_DOCUMENTS = 5;
+
+  public static void main(String[] args) throws Exception {
+    LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+
+    List<String> summaries = new ArrayList<>();
+    for (ThreadMode mode : config.threadModes()) {
+      String title = mode.name().toLowerCase();
+      LoadReport report = run(config, mode);
+      report.print(System.out, title);
+      report.writeHistograms(Path.of("build", "loadtest", title));
+      summaries.add(report.summary(title));
+    }
+    if (summaries.size() > 1) {
+      System.out.println("스레드 모드 비교");
+      summaries.forEach(System.out::println);
+    }
+    System.exit(0);
+  }
+
+  /**
+   * 스레드 모드 하나에 대해 AI 서비스 대역과 백엔드를 새로 띄워 부하를 준다
+   */
+  private static LoadReport run(LoadTestConfig config, ThreadMode mode) throws Exception {
+    Path uploadDir = Files.createTempDirectory("loadtest_uploads_");
+
+    try (StubAiServer aiServer = new StubAiServer()
+        .latency(config.aiLatency())
+        .tokenInterval(config.tokenInterval())
+        .indexingDelay(config.indexingDelay())) {
+
+      ConfigurableApplicationContext context = new SpringApplicationBuilder(ChatbotApplication.class).run(
+          "--spring.profiles.active=loadtest",
+          "--spring.threads.virtual.enabled=" + mode.virtual(),
+          "--server.port=0",
+          "--ai.service.url=" + aiServer.baseUrl(),
+          "--file.upload.dir=" + uploadDir);
+
+      try {
+        String baseUrl = "http://127.0.0.1:" + context.getEnvironment().getProperty("local.server.port");
+        BackendClient client = new BackendClient(baseUrl);
+        List<Tenant> tenants = createTenants(context, client, config);
+
+        // 준비 데이터는 오류 없이 만든 뒤 오류 주입 시작
+        aiServer.errorRate(config.aiErrorRate());
+
+        log.warn("스레드 모드: {}", mode);
+        return new LoadDriver(config, client, tenants).run();
+      } finally {
+        context.close();
+      }
+    }
+  }
+
+  /**
+   * 사용자마다 보관함(API 로 생성, AI 서비스 호출 포함), 기본 문서, 대화를 하나씩 만든다
+   */
+  private static List<Tenant> createTenants(ConfigurableApplicationContext context, BackendClient client,
+      LoadTestConfig config) throws Exception {
+    UserRepository userRepository = context.getBean(UserRepository.class);
+    ConversationRepository conversationRepository = context.getBean(ConversationRepository.class);
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+
+    List<Tenant> tenants = new ArrayList<>();
+    for (int i = 0; i < config.users(); i++) {
+      User user = userRepository.save(User.builder()
+          .username("load_user_" + i)
+          .password("password")
+          .email("load_user_" + i + "@example.com")
+          .build());
+      long namespaceId = client.createNamespace(user.getId(), "부하 테스트 보관함 " + i);
+
+      for (int d = 0; d < SEED_DOCUMENTS; d++) {
+        byte[] content = new byte[config.uploadBytes()];
+        random.nextBytes(content);
+        client.upload(user.getId(), namespaceId, content);
+      }
+
+      Conversation conversation = conversationRepository.save(Conversation.builder()
+          .user(user)
+          .title("부하 테스트 대화 " + i)
+          .namespaceIds(List.of(namespaceId))
+          .build());
+      tenants.add(new Tenant(user.getId(), namespaceId, conversation.getId()));
+    }
+    log.warn("부하 테스트 데이터 준비 완료 - 사용자: {}", tenants.size());
+    return tenants;
+  }
+
+  public record Tenant(long userId, long namespaceId, long conversationId) {
+  }
+}
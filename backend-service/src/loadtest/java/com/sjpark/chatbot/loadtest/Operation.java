@@ -0,0 +1,30 @@
+package com.sjpark.chatbot.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * 부하 테스트 작업 종류
+ */
+public enum Operation {
+  UPLOAD("upload"),               // PDF 단건 업로드
+  NAMESPACES("namespaces"),       // 보관함 목록
+  DOCUMENTS("documents"),         // 보관함의 문서 목록
+  CHAT("chat");                   // 스트리밍 채팅 (응답 끝까지 수신)
+
+  private final String key;
+
+  Operation(String key) {
+    this.key = key;
+  }
+
+  public String key() {
+    return key;
+  }
+
+  static Operation of(String key) {
+    return Arrays.stream(values())
+        .filter(operation -> operation.key.equalsIgnoreCase(key.trim()))
+        .findFirst()
+        .orElseThrow(() -> new IllegalArgumentException("알 수 없는 작업: " + key));
+  }
+}
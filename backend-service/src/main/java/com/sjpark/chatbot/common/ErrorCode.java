@@ -27,6 +27,7 @@ public enum ErrorCode {
   // 네임스페이스 에러
   NAMESPACE_NOT_FOUND(HttpStatus.NOT_FOUND, "NS_001", "네임스페이스를 찾을 수 없습니다."),
   NAMESPACE_ALREADY_EXISTS(HttpStatus.CONFLICT, "NS_002", "이미 존재하는 네임스페이스입니다."),
+  NAMESPACE_DELETION_NOT_FOUND(HttpStatus.NOT_FOUND, "NS_003", "네임스페이스 삭제 작업을 찾을 수 없습니다."),
 
   // 문서 에러
   DOCUMENT_NOT_FOUND(HttpStatus.NOT_FOUND, "DOC_001", "문서를 찾을 수 없습니다."),
@@ -41,6 +42,9 @@ public enum ErrorCode {
   // AI API 에러
   AI_API_ERROR(HttpStatus.INTERNAL_SERVER_ERROR, "AI_001", "AI API 호출 중 오류가 발생했습니다."),
   AI_API_TIMEOUT(HttpStatus.REQUEST_TIMEOUT, "AI_002", "AI API 응답 시간이 초과되었습니다."),
+  AI_SERVICE_UNAVAILABLE(HttpStatus.SERVICE_UNAVAILABLE, "AI_003", "AI 서비스에 연결할 수 없습니다."),
+  AI_CIRCUIT_OPEN(HttpStatus.SERVICE_UNAVAILABLE, "AI_004", "AI 서비스 장애로 요청이 일시 차단되었습니다. 잠시 후 다시 시도해주세요."),
+  AI_SERVICE_BUSY(HttpStatus.TOO_MANY_REQUESTS, "AI_005", "AI 서비스 요청이 많습니다. 잠시 후 다시 시도해주세요."),
 
   // 서버 에러
   INTERNAL_SERVER_ERROR(HttpStatus.INTERNAL_SERVER_ERROR, "SERVER_001", "서버 내부 오류가 발생했습니다."),
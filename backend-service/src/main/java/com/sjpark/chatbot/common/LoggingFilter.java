@@ -2,85 +2,117 @@ package com.sjpark.chatbot.common;
 
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ThreadLocalRandom;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 import org.springframework.web.util.ContentCachingRequestWrapper;
-import org.springframework.web.util.ContentCachingResponseWrapper;
 
+/**
+ * 요청/응답 로깅
+ * <p>
+ * 요청마다 완료 시점에 한 줄(메서드, URI, 상태, 소요 시간)만 남긴다. 본문은 DEBUG 가 켜져 있고 샘플링된 요청에 한해
+ * 최대 {@code logging.http.body-max-bytes} 까지만 복사하며, multipart 업로드와 SSE 스트림은 본문을 건드리지 않는다.
+ */
 @Slf4j
 @Component
 public class LoggingFilter extends OncePerRequestFilter {
 
+  @Value("${logging.http.body-max-bytes:1024}")
+  private int bodyMaxBytes;
+
+  @Value("${logging.http.body-sample-rate:0.1}")
+  private double bodySampleRate;
+
   @Override
   protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
       FilterChain filterChain)
       throws ServletException, IOException {
 
-    // Request/Response를 여러 번 읽을 수 있도록 래핑
-    ContentCachingRequestWrapper wrappedRequest = new ContentCachingRequestWrapper(request);
-    ContentCachingResponseWrapper wrappedResponse = new ContentCachingResponseWrapper(response);
+    long startTime = System.nanoTime();
+
+    if (!shouldCaptureBody(request)) {
+      try {
+        filterChain.doFilter(request, response);
+      } finally {
+        logCompletion(request, response.getStatus(), startTime);
+      }
+      return;
+    }
 
-    long startTime = System.currentTimeMillis();
+    // 본문은 읽히는 만큼만(최대 bodyMaxBytes) 복사 - 전체를 메모리에 붙잡지 않는다
+    ContentCachingRequestWrapper wrappedRequest = new ContentCachingRequestWrapper(request, bodyMaxBytes);
+    BodyCaptureResponseWrapper wrappedResponse = new BodyCaptureResponseWrapper(response, bodyMaxBytes);
 
     try {
-      // 요청 로깅
-      logRequest(wrappedRequest);
-
-      // 다음 필터 체인 실행
       filterChain.doFilter(wrappedRequest, wrappedResponse);
-
     } finally {
-      long duration = System.currentTimeMillis() - startTime;
+      logCompletion(request, response.getStatus(), startTime);
+      logBody("[REQUEST BODY]", wrappedRequest.getContentAsByteArray(), request.getContentType());
+      logBody("[RESPONSE BODY]", wrappedResponse.captured(), response.getContentType());
+    }
+  }
 
-      // 응답 로깅
-      logResponse(wrappedRequest, wrappedResponse, duration);
+  private void logCompletion(HttpServletRequest request, int status, long startTime) {
+    if (!log.isInfoEnabled()) {
+      return;
+    }
+    long durationMs = (System.nanoTime() - startTime) / 1_000_000;
+    String query = request.getQueryString();
+    log.info("[HTTP] {} {}{}{} | IP: {} | Status: {} | Duration: {}ms",
+        request.getMethod(), request.getRequestURI(), query != null ? "?" : "", query != null ? query : "",
+        getClientIp(request), status, durationMs);
+  }
 
-      // 실제 응답으로 복사 (중요!)
-      wrappedResponse.copyBodyToResponse();
+  private void logBody(String label, byte[] content, String contentType) {
+    if (content.length == 0 || !isTextual(contentType)) {
+      return;
     }
+    boolean truncated = content.length >= bodyMaxBytes;
+    log.debug("{} {}{}", label, new String(content, StandardCharsets.UTF_8), truncated ? "..." : "");
   }
 
-  private void logRequest(ContentCachingRequestWrapper request) {
-    String uri = request.getRequestURI();
-    String method = request.getMethod();
-    String queryString = request.getQueryString();
-    String clientIp = getClientIp(request);
-
-    log.info("[REQUEST] {} {} | IP: {} | Query: {}",
-        method, uri, clientIp, queryString != null ? queryString : "");
-
-    // Body 로깅 (POST, PUT 등)
-    if ("POST".equals(method) || "PUT".equals(method) || "PATCH".equals(method)) {
-      byte[] content = request.getContentAsByteArray();
-      if (content.length > 0) {
-        String body = new String(content, StandardCharsets.UTF_8);
-        log.debug("[REQUEST BODY] {}",
-            body.length() > 1000 ? body.substring(0, 1000) + "..." : body);
-      }
+  /**
+   * 본문 캡처 대상 - DEBUG 활성 + 샘플링 통과 + 업로드/스트림이 아닌 요청
+   */
+  private boolean shouldCaptureBody(HttpServletRequest request) {
+    if (!log.isDebugEnabled() || bodyMaxBytes <= 0) {
+      return false;
+    }
+    if (isEventStream(request) || isMultipart(request)) {
+      return false;
     }
+    return bodySampleRate >= 1.0 || ThreadLocalRandom.current().nextDouble() < bodySampleRate;
+  }
+
+  private boolean isEventStream(HttpServletRequest request) {
+    String accept = request.getHeader(HttpHeaders.ACCEPT);
+    return accept != null && accept.contains(MediaType.TEXT_EVENT_STREAM_VALUE);
+  }
+
+  private boolean isMultipart(HttpServletRequest request) {
+    String contentType = request.getContentType();
+    return contentType != null && contentType.regionMatches(true, 0, "multipart/", 0, "multipart/".length());
   }
 
-  private void logResponse(ContentCachingRequestWrapper request,
-      ContentCachingResponseWrapper response, long duration) {
-    int status = response.getStatus();
-    String method = request.getMethod();
-    String uri = request.getRequestURI();
-
-    log.info("[RESPONSE] {} {} | Status: {} | Duration: {}ms",
-        method, uri, status, duration);
-
-    // 응답 Body 로깅 (디버그 레벨)
-    byte[] content = response.getContentAsByteArray();
-    if (content.length > 0) {
-      String body = new String(content, StandardCharsets.UTF_8);
-      log.debug("[RESPONSE BODY] {}",
-          body.length() > 1000 ? body.substring(0, 1000) + "..." : body);
+  private boolean isTextual(String contentType) {
+    if (contentType == null) {
+      return false;
     }
+    String type = contentType.toLowerCase();
+    return type.startsWith("application/json") || type.startsWith("text/plain")
+        || type.startsWith("application/x-www-form-urlencoded") || type.startsWith("application/xml");
   }
 
   private String getClientIp(HttpServletRequest request) {
@@ -96,4 +128,81 @@ public class LoggingFilter extends OncePerRequestFilter {
     }
     return ip;
   }
-}
\ No newline at end of file
+
+  /**
+   * 응답을 그대로 흘려보내면서 앞부분 limit 바이트만 복사하는 래퍼
+   * <p>
+   * ContentCachingResponseWrapper 와 달리 응답 전체를 버퍼링하지 않으므로 copyBodyToResponse 가 필요 없다.
+   * getWriter() 로 쓰는 응답은 캡처하지 않는다.
+   */
+  private static final class BodyCaptureResponseWrapper extends HttpServletResponseWrapper {
+
+    private final int limit;
+    private final ByteArrayOutputStream captured;
+    private ServletOutputStream outputStream;
+
+    BodyCaptureResponseWrapper(HttpServletResponse response, int limit) {
+      super(response);
+      this.limit = limit;
+      this.captured = new ByteArrayOutputStream(Math.min(limit, 256));
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+      if (outputStream == null) {
+        outputStream = new TeeOutputStream(super.getOutputStream());
+      }
+      return outputStream;
+    }
+
+    byte[] captured() {
+      return captured.toByteArray();
+    }
+
+    private final class TeeOutputStream extends ServletOutputStream {
+
+      private final ServletOutputStream delegate;
+
+      TeeOutputStream(ServletOutputStream delegate) {
+        this.delegate = delegate;
+      }
+
+      @Override
+      public void write(int b) throws IOException {
+        delegate.write(b);
+        if (captured.size() < limit) {
+          captured.write(b);
+        }
+      }
+
+      @Override
+      public void write(byte[] b, int off, int len) throws IOException {
+        delegate.write(b, off, len);
+        int remaining = limit - captured.size();
+        if (remaining > 0) {
+          captured.write(b, off, Math.min(len, remaining));
+        }
+      }
+
+      @Override
+      public void flush() throws IOException {
+        delegate.flush();
+      }
+
+      @Override
+      public void close() throws IOException {
+        delegate.close();
+      }
+
+      @Override
+      public boolean isReady() {
+        return delegate.isReady();
+      }
+
+      @Override
+      public void setWriteListener(WriteListener writeListener) {
+        delegate.setWriteListener(writeListener);
+      }
+    }
+  }
+}
@@ -0,0 +1,84 @@
+package com.sjpark.chatbot.common;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.stream.Collectors;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreadType;
+import org.springframework.boot.thread.Threading;
+import org.springframework.stereotype.Component;
+
+/**
+ * 가상 스레드 고정(pinning) 감시
+ * <p>
+ * Java 21 에서는 가상 스레드가 synchronized 블록이나 네이티브 호출 안에서 블로킹되면 캐리어 스레드를 놓지 못해
+ * 다른 가상 스레드가 실행되지 못한다. JFR 의 jdk.VirtualThreadPinned 이벤트를 스트리밍으로 받아
+ * jvm.threads.virtual.pinned 지표로 남기고, 고정이 발생한 위치(상위 스택 프레임)를 경고 로그로 기록한다.
+ * 가상 스레드 모드(spring.threads.virtual.enabled)에서만 동작한다.
+ */
+@Slf4j
+@Component
+@ConditionalOnThreadType(Threading.VIRTUAL)
+@ConditionalOnProperty(name = "threads.pinning-monitor.enabled", havingValue = "true", matchIfMissing = true)
+public class VirtualThreadPinningMonitor {
+
+  private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+  private static final int LOGGED_FRAMES = 8;
+
+  private final Timer pinnedTimer;
+  private final Counter pinnedCounter;
+  private final Duration threshold;
+  private RecordingStream stream;
+
+  public VirtualThreadPinningMonitor(MeterRegistry meterRegistry,
+      @Value("${threads.pinning-monitor.threshold:20ms}") Duration threshold) {
+    this.threshold = threshold;
+    this.pinnedTimer = Timer.builder("jvm.threads.virtual.pinned")
+        .description("가상 스레드가 캐리어 스레드에 고정된 시간")
+        .register(meterRegistry);
+    this.pinnedCounter = Counter.builder("jvm.threads.virtual.pinned.events")
+        .description("가상 스레드 고정 발생 횟수")
+        .register(meterRegistry);
+  }
+
+  @PostConstruct
+  void start() {
+    stream = new RecordingStream();
+    stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+    stream.onEvent(PINNED_EVENT, this::record);
+    stream.startAsync();
+    log.info("가상 스레드 고정 감시 시작 - threshold: {}", threshold);
+  }
+
+  @PreDestroy
+  void stop() {
+    if (stream != null) {
+      stream.close();
+    }
+  }
+
+  private void record(RecordedEvent event) {
+    pinnedCounter.increment();
+    pinnedTimer.record(event.getDuration());
+
+    String frames = event.getStackTrace() == null ? "(stack trace 없음)" : event.getStackTrace().getFrames().stream()
+        .limit(LOGGED_FRAMES)
+        .map(this::describe)
+        .collect(Collectors.joining("\n\tat "));
+    log.warn("가상 스레드 고정 감지 - duration: {}ms, thread: {}\n\tat {}",
+        event.getDuration().toMillis(), event.getThread() != null ? event.getThread().getJavaName() : null, frames);
+  }
+
+  private String describe(RecordedFrame frame) {
+    return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+  }
+}
@@ -0,0 +1,52 @@
+package com.sjpark.chatbot.common.config;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.core.registry.EntryAddedEvent;
+import io.github.resilience4j.core.registry.EntryRemovedEvent;
+import io.github.resilience4j.core.registry.EntryReplacedEvent;
+import io.github.resilience4j.core.registry.RegistryEventConsumer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * AI 서비스 서킷 브레이커 설정
+ * <p>
+ * 상태/호출 지표(resilience4j.circuitbreaker.*, resilience4j.bulkhead.*)는 resilience4j-micrometer 가 등록하고,
+ * 여기서는 상태 전이를 로그와 카운터(ai.circuitbreaker.transitions)로 남긴다.
+ */
+@Slf4j
+@Configuration
+public class ResilienceConfig {
+
+  @Bean
+  public RegistryEventConsumer<CircuitBreaker> circuitBreakerTransitionRecorder(MeterRegistry meterRegistry) {
+    return new RegistryEventConsumer<>() {
+      @Override
+      public void onEntryAddedEvent(EntryAddedEvent<CircuitBreaker> event) {
+        CircuitBreaker circuitBreaker = event.getAddedEntry();
+        circuitBreaker.getEventPublisher().onStateTransition(transition -> {
+          log.warn("AI 서비스 서킷 상태 변경 - name: {}, transition: {}",
+              circuitBreaker.getName(), transition.getStateTransition());
+          Counter.builder("ai.circuitbreaker.transitions")
+              .description("AI 서비스 서킷 브레이커 상태 전이 횟수")
+              .tag("name", circuitBreaker.getName())
+              .tag("from", transition.getStateTransition().getFromState().name())
+              .tag("to", transition.getStateTransition().getToState().name())
+              .register(meterRegistry)
+              .increment();
+        });
+      }
+
+      @Override
+      public void onEntryRemovedEvent(EntryRemovedEvent<CircuitBreaker> event) {
+      }
+
+      @Override
+      public void onEntryReplacedEvent(EntryReplacedEvent<CircuitBreaker> event) {
+      }
+    };
+  }
+}
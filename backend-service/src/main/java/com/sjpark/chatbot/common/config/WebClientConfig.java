@@ -1,8 +1,6 @@
 package com.sjpark.chatbot.common.config;
 
 import io.netty.channel.ChannelOption;
-import io.netty.handler.timeout.ReadTimeoutHandler;
-import io.netty.handler.timeout.WriteTimeoutHandler;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -11,10 +9,12 @@ import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
+import reactor.netty.http.HttpProtocol;
 import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
 
 import java.time.Duration;
-import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
 
 /**
  * Python AI 서비스 호출용
@@ -23,21 +23,70 @@ import java.util.concurrent.TimeUnit;
 @Configuration
 public class WebClientConfig {
 
+  private static final Pattern NUMERIC_SEGMENT = Pattern.compile("/\\d+(?=/|$)");
+
   @Value("${ai.service.url:http://localhost:8000}")
   private String aiServiceUrl;
 
   @Value("${ai.service.timeout:30000}")
   private int timeout;
 
+  @Value("${ai.service.connect-timeout:3000}")
+  private int connectTimeout;
+
+  @Value("${ai.service.http2:false}")
+  private boolean http2;
+
+  @Value("${ai.service.pool.max-connections:100}")
+  private int maxConnections;
+
+  @Value("${ai.service.pool.pending-acquire-max-count:500}")
+  private int pendingAcquireMaxCount;
+
+  @Value("${ai.service.pool.pending-acquire-timeout:5000}")
+  private long pendingAcquireTimeout;
+
+  @Value("${ai.service.pool.max-idle-time:4000}")
+  private long maxIdleTime;
+
+  @Value("${ai.service.pool.max-life-time:300000}")
+  private long maxLifeTime;
+
+  @Value("${ai.service.pool.evict-interval:30000}")
+  private long evictInterval;
+
+  /**
+   * AI 서비스 전용 커넥션 풀
+   * <p>
+   * 풀 지표(reactor.netty.connection.provider.*: 활성/유휴/대기 커넥션, 획득 대기 시간)는 Micrometer 로 노출된다.
+   * 유휴 시간은 서버(uvicorn) keep-alive(기본 5초)보다 짧게 두어, 서버가 닫은 커넥션을 재사용하지 않도록 한다.
+   */
+  @Bean(destroyMethod = "dispose")
+  public ConnectionProvider aiConnectionProvider() {
+    return ConnectionProvider.builder("ai-service")
+        .maxConnections(maxConnections)
+        .pendingAcquireMaxCount(pendingAcquireMaxCount)
+        .pendingAcquireTimeout(Duration.ofMillis(pendingAcquireTimeout))
+        .maxIdleTime(Duration.ofMillis(maxIdleTime))
+        .maxLifeTime(Duration.ofMillis(maxLifeTime))
+        .evictInBackground(Duration.ofMillis(evictInterval))
+        .metrics(true)
+        .build();
+  }
+
   @Bean
-  public WebClient aiWebClient() {
+  public WebClient aiWebClient(ConnectionProvider aiConnectionProvider) {
     // HTTP 클라이언트 설정
-    HttpClient httpClient = HttpClient.create()
-        .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, timeout) // 연결 타임아웃 설정
-        .responseTimeout(Duration.ofMillis(timeout))  // 응답 타임아웃 설정
-        .doOnConnected(conn ->
-            conn.addHandlerLast(new ReadTimeoutHandler(timeout, TimeUnit.MILLISECONDS))   // 읽기 타임아웃 핸들러 추가
-                .addHandlerLast(new WriteTimeoutHandler(timeout, TimeUnit.MILLISECONDS)));  // 쓰기 타임아웃 핸들러 추가
+    HttpClient httpClient = HttpClient.create(aiConnectionProvider)
+        .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeout) // 연결 타임아웃 (응답 타임아웃과 별도)
+        .option(ChannelOption.SO_KEEPALIVE, true)
+        .responseTimeout(Duration.ofMillis(timeout))  // 응답 타임아웃 (읽기 간격 기준이므로 스트리밍 응답에도 적용 가능)
+        .metrics(true, uri -> NUMERIC_SEGMENT.matcher(uri).replaceAll("/{id}")); // ID 경로는 태그에서 묶음
+
+    if (http2) {
+      // h2c (평문 HTTP/2) - 서버가 지원하지 않으면 HTTP/1.1 로 동작
+      httpClient = httpClient.protocol(HttpProtocol.H2C, HttpProtocol.HTTP11);
+    }
 
     return WebClient.builder()
         .baseUrl(aiServiceUrl)
@@ -69,10 +118,12 @@ public class WebClientConfig {
   private ExchangeFilterFunction handleError() {
     return ExchangeFilterFunction.ofResponseProcessor(clientResponse -> {
       if (clientResponse.statusCode().isError()) {
+        // 로깅을 위해 읽은 본문을 다시 붙여서, 이후 생성되는 예외에 응답 본문이 남도록 한다
         return clientResponse.bodyToMono(String.class)
-            .flatMap(errorBody -> {
+            .defaultIfEmpty("")
+            .map(errorBody -> {
               log.error("AI API Error Response Body: {}", errorBody);
-              return Mono.just(clientResponse);
+              return clientResponse.mutate().body(errorBody).build();
             });
       }
       return Mono.just(clientResponse);
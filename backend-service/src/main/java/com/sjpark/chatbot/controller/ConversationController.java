@@ -0,0 +1,85 @@
+package com.sjpark.chatbot.controller;
+
+import com.sjpark.chatbot.common.ApiResponse;
+import com.sjpark.chatbot.dto.ChatRequest;
+import com.sjpark.chatbot.dto.ChatStreamResponse;
+import com.sjpark.chatbot.dto.ConversationResponse;
+import com.sjpark.chatbot.dto.CursorPage;
+import com.sjpark.chatbot.dto.MessageResponse;
+import com.sjpark.chatbot.service.ChatService;
+import com.sjpark.chatbot.service.ConversationService;
+import io.swagger.v3.oas.annotations.Operation;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/conversations")
+@RequiredArgsConstructor
+public class ConversationController {
+
+  private final ChatService chatService;
+  private final ConversationService conversationService;
+
+  /**
+   * 사용자의 대화 목록 조회 GET /api/v1/conversations?userId={userId}&cursor={cursor}&size={size}
+   * <p>
+   * 최근 갱신순이며, 다음 페이지는 응답의 nextCursor 를 cursor 로 전달해 조회한다.
+   * <p>
+   * TODO: JWT 인증 구현 후 userId 파라미터 제거하고 SecurityContext에서 추출
+   */
+  @GetMapping
+  @Operation(summary = "대화 목록 조회 (커서 페이지네이션)")
+  public ApiResponse<CursorPage<ConversationResponse>> list(
+      @RequestParam Long userId,
+      @RequestParam(required = false) String cursor,
+      @RequestParam(defaultValue = "20") int size) {
+    log.info("대화 목록 조회 요청 - userId: {}, cursor: {}", userId, cursor);
+    return ApiResponse.success(conversationService.getConversations(userId, cursor, size));
+  }
+
+  /**
+   * 대화의 메시지 조회 GET /api/v1/conversations/{conversationId}/messages?userId={userId}&cursor={cursor}&size={size}
+   * <p>
+   * 최신 메시지부터 반환하며, nextCursor 로 이전 메시지를 이어서 조회한다.
+   * <p>
+   * TODO: JWT 인증 구현 후 userId 파라미터 제거하고 SecurityContext에서 추출
+   */
+  @GetMapping("/{conversationId}/messages")
+  @Operation(summary = "대화 메시지 조회 (커서 페이지네이션)")
+  public ApiResponse<CursorPage<MessageResponse>> messages(
+      @PathVariable Long conversationId,
+      @RequestParam Long userId,
+      @RequestParam(required = false) String cursor,
+      @RequestParam(defaultValue = "30") int size) {
+    log.info("대화 메시지 조회 요청 - conversationId: {}, userId: {}, cursor: {}", conversationId, userId, cursor);
+    return ApiResponse.success(conversationService.getMessages(conversationId, userId, cursor, size));
+  }
+
+  /**
+   * 대화에 질문하고 답변을 SSE 로 스트리밍 POST /api/v1/conversations/{conversationId}/chat
+   * <p>
+   * event: token (생성된 토큰) → done (저장된 답변 메시지 ID, 출처) 또는 error
+   * <p>
+   * TODO: JWT 인증 구현 후 request에서 userId 제거하고 SecurityContext에서 추출
+   */
+  @PostMapping(value = "/{conversationId}/chat", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  @Operation(summary = "대화 채팅 (SSE 스트리밍)")
+  public Flux<ServerSentEvent<ChatStreamResponse>> chat(
+      @PathVariable Long conversationId,
+      @RequestBody @Valid ChatRequest request) {
+    log.info("채팅 요청 - conversationId: {}, userId: {}", conversationId, request.getUserId());
+    return chatService.streamChat(conversationId, request);
+  }
+}
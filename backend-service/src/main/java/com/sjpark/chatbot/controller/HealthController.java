@@ -1,13 +1,14 @@
 package com.sjpark.chatbot.controller;
 
 import com.sjpark.chatbot.common.ApiResponse;
-import com.sjpark.chatbot.proxy.AiApiClient;
+import com.sjpark.chatbot.proxy.AiServiceHealthIndicator;
+import com.sjpark.chatbot.proxy.AiServiceHealthIndicator.Snapshot;
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 @RestController
@@ -15,18 +16,23 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class HealthController {
 
-  private final AiApiClient aiApiClient;
+  private final AiServiceHealthIndicator aiServiceHealthIndicator;
 
   @GetMapping
   public ApiResponse<Map<String, Object>> health() {
-    Map<String, Object> status = new HashMap<>();
+    Map<String, Object> status = new LinkedHashMap<>();
     status.put("status", "UP");
     status.put("service", "rag-chat-api");
 
-    // AI 서비스 상태 체크
-    boolean aiServiceHealthy = aiApiClient.healthCheck();
-    status.put("aiService", aiServiceHealthy ? "UP" : "DOWN");
+    // AI 서비스 상태 (백그라운드 헬스 체크 결과)
+    Snapshot aiService = aiServiceHealthIndicator.snapshot();
+    status.put("aiService", aiService.status().getCode());
+    status.put("aiServiceLatencyMs", aiService.latencyMillis());
+    status.put("aiServiceConsecutiveFailures", aiService.consecutiveFailures());
+    if (aiService.checkedAt() != null) {
+      status.put("aiServiceCheckedAt", aiService.checkedAt());
+    }
 
     return ApiResponse.success(status);
   }
-}
\ No newline at end of file
+}
@@ -1,13 +1,19 @@
 package com.sjpark.chatbot.controller;
 
 import com.sjpark.chatbot.common.ApiResponse;
+import com.sjpark.chatbot.dto.BulkUploadResponse;
 import com.sjpark.chatbot.dto.DocumentQueryResponse;
 import com.sjpark.chatbot.dto.DocumentUploadRequest;
 import com.sjpark.chatbot.dto.DocumentUploadResponse;
 import com.sjpark.chatbot.dto.NamespaceCreateRequest;
+import com.sjpark.chatbot.dto.NamespaceDeletionResponse;
 import com.sjpark.chatbot.dto.NamespaceResponse;
 import com.sjpark.chatbot.dto.NamespaceWithTotalCnt;
+import com.sjpark.chatbot.dto.SearchResultResponse;
+import com.sjpark.chatbot.service.BulkUploadService;
 import com.sjpark.chatbot.service.DocumentService;
+import com.sjpark.chatbot.service.HybridSearchService;
+import com.sjpark.chatbot.service.NamespaceDeletionService;
 import com.sjpark.chatbot.service.NamespaceService;
 import io.swagger.v3.oas.annotations.Operation;
 import jakarta.validation.Valid;
@@ -23,7 +29,9 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RequestPart;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
 
 @Slf4j
 @RestController
@@ -32,7 +40,10 @@ import org.springframework.web.bind.annotation.RestController;
 public class NamespaceController {
 
   private final NamespaceService namespaceService;
+  private final NamespaceDeletionService namespaceDeletionService;
   private final DocumentService documentService;
+  private final BulkUploadService bulkUploadService;
+  private final HybridSearchService hybridSearchService;
 
   /**
    * 사용자의 네임스페이스 목록 조회 GET /api/v1/namespaces?userId={userId}
@@ -67,20 +78,35 @@ public class NamespaceController {
   /**
    * 사용자의 네임스페이스 및 하위 문서 일괄 삭제 DELETE /api/v1/namespaces/{namespaceId}?userId={userId}
    * <p>
+   * ChromaDB 컬렉션과 파일은 백그라운드에서 정리되며, 응답의 deletionId 로 진행 상황을 조회한다.
+   * <p>
    * TODO: JWT 인증 구현 후 userId 파라미터 제거하고 SecurityContext에서 추출
    */
   @DeleteMapping("/{namespaceId}")
   @Operation(summary = "문서보관함 및 하위 문서 일괄 삭제")
-  public ApiResponse<Object> delete(
+  public ApiResponse<NamespaceDeletionResponse> delete(
       @PathVariable Long namespaceId,
       @RequestParam Long userId) {
     log.info("네임스페이스 삭제 요청 - userId: {}, namespaceId: {}", userId, namespaceId);
 
-    // 1. DB에서 네임스페이스 및 하위 문서 삭제 + AI 서비스에 네임스페이스 삭제 요청
-    namespaceService.deleteNamespace(userId, namespaceId);
-    log.info("네임스페이스 삭제 완료 - namespaceId: {}", namespaceId);
+    // 1. DB에서 네임스페이스 및 하위 문서 삭제 + 컬렉션/파일 정리 작업 등록
+    NamespaceDeletionResponse response = namespaceService.deleteNamespace(userId, namespaceId);
+    log.info("네임스페이스 삭제 완료 - namespaceId: {}, deletionId: {}", namespaceId, response.getDeletionId());
 
-    return ApiResponse.success();
+    return ApiResponse.success(response);
+  }
+
+  /**
+   * 네임스페이스 삭제 정리 진행 상황 조회 GET /api/v1/namespaces/deletions/{deletionId}?userId={userId}
+   * <p>
+   * TODO: JWT 인증 구현 후 userId 파라미터 제거하고 SecurityContext에서 추출
+   */
+  @GetMapping("/deletions/{deletionId}")
+  @Operation(summary = "문서보관함 삭제 정리 진행 상황 조회")
+  public ApiResponse<NamespaceDeletionResponse> getDeletion(
+      @PathVariable Long deletionId,
+      @RequestParam Long userId) {
+    return ApiResponse.success(namespaceDeletionService.getDeletion(userId, deletionId));
   }
 
   /**
@@ -122,4 +148,64 @@ public class NamespaceController {
     return ApiResponse.success(response);
   }
 
+  /**
+   * 네임스페이스에 문서 대량 업로드 POST /api/v1/namespaces/{namespaceId}/documents/bulk
+   * <p>
+   * files 파트에 PDF 여러 개 또는 ZIP 을 담아 전송한다. 파일별 결과를 반환하며, 일부 파일이 실패해도 나머지는 저장된다.
+   * <p>
+   * TODO: JWT 인증 구현 후 userId 파라미터 제거하고 SecurityContext에서 추출
+   */
+  @PostMapping(value = "/{namespaceId}/documents/bulk", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+  @Operation(summary = "문서 대량 업로드 (여러 PDF 또는 ZIP)")
+  public ApiResponse<BulkUploadResponse> uploadDocuments(
+      @PathVariable Long namespaceId,
+      @RequestParam Long userId,
+      @RequestPart("files") List<MultipartFile> files) {
+    log.info("문서 대량 업로드 요청 - namespaceId: {}, userId: {}, 파트 수: {}", namespaceId, userId, files.size());
+
+    BulkUploadResponse response = bulkUploadService.upload(userId, namespaceId, files);
+
+    log.info("문서 대량 업로드 완료 - namespaceId: {}, 저장: {}/{}", namespaceId, response.getUploaded(), response.getTotal());
+    return ApiResponse.success(response);
+  }
+
+  /**
+   * 보관함 문서 검색 GET /api/v1/namespaces/{namespaceId}/search?userId={userId}&query={query}&mode=hybrid
+   * <p>
+   * mode: lexical(BM25, AI 호출 없음) / vector(임베딩) / hybrid(두 결과를 RRF 로 병합, 기본값)
+   * <p>
+   * TODO: JWT 인증 구현 후 userId 파라미터 제거하고 SecurityContext에서 추출
+   */
+  @GetMapping("/{namespaceId}/search")
+  @Operation(summary = "보관함 문서 검색 (어휘 / 벡터 / 하이브리드)")
+  public ApiResponse<List<SearchResultResponse>> search(
+      @PathVariable Long namespaceId,
+      @RequestParam Long userId,
+      @RequestParam String query,
+      @RequestParam(defaultValue = "10") int topK,
+      @RequestParam(defaultValue = "hybrid") String mode) {
+    log.info("보관함 검색 요청 - namespaceId: {}, userId: {}, mode: {}", namespaceId, userId, mode);
+
+    List<SearchResultResponse> results = hybridSearchService.search(
+        userId, namespaceId, query, topK, HybridSearchService.Mode.of(mode));
+    return ApiResponse.success(results);
+  }
+
+  /**
+   * 보관함 BM25 색인 재구축 요청 POST /api/v1/namespaces/{namespaceId}/search/lexical/rebuild?userId={userId}
+   * <p>
+   * 요청만 기록하고 바로 응답한다. 색인 노드의 재조정 작업이 다음 주기에 색인을 비우고 완료된 문서로 다시 채운다.
+   * <p>
+   * TODO: JWT 인증 구현 후 userId 파라미터 제거하고 SecurityContext에서 추출
+   */
+  @PostMapping("/{namespaceId}/search/lexical/rebuild")
+  @Operation(summary = "보관함 BM25 색인 재구축 요청")
+  public ApiResponse<Void> rebuildLexicalIndex(
+      @PathVariable Long namespaceId,
+      @RequestParam Long userId) {
+    log.info("BM25 색인 재구축 요청 - namespaceId: {}, userId: {}", namespaceId, userId);
+
+    hybridSearchService.requestLexicalRebuild(userId, namespaceId);
+    return ApiResponse.success();
+  }
 }
@@ -15,7 +15,9 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "conversations")
+@Table(name = "conversations", indexes = {
+    @Index(name = "idx_conversations_user_updated", columnList = "user_id, updated_at DESC, conversation_id DESC")
+})
 @EntityListeners(AuditingEntityListener.class)
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
@@ -35,10 +37,25 @@ public class Conversation {
   private String title;
 
   @JdbcTypeCode(SqlTypes.ARRAY)
-  @Column(name = "namespace_ids", columnDefinition = "bigint[]")
+  @Column(name = "namespace_ids") // PostgreSQL: bigint[]
   @Builder.Default
   private List<Long> namespaceIds = new ArrayList<>();
 
+  /**
+   * 오래된 대화의 누적 요약 - summary_until_at/summary_until_id 위치의 메시지까지 포함한다
+   */
+  @Column(columnDefinition = "TEXT")
+  private String summary;
+
+  @Column(name = "summary_token_count")
+  private Integer summaryTokenCount;
+
+  @Column(name = "summary_until_at")
+  private LocalDateTime summaryUntilAt;
+
+  @Column(name = "summary_until_id")
+  private Long summaryUntilId;
+
   @CreatedDate
   @Column(name = "created_at", updatable = false)
   private LocalDateTime createdAt;
@@ -54,4 +71,8 @@ public class Conversation {
   public void updateNamespaces(List<Long> newNamespaceIds) {
     this.namespaceIds = new ArrayList<>(newNamespaceIds);
   }
+
+  public void touch(LocalDateTime at) {
+    this.updatedAt = at;
+  }
 }
\ No newline at end of file
@@ -11,10 +11,13 @@ import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.Map;
 
 @Entity
-@Table(name = "documents")
+@Table(name = "documents", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_documents_namespace_file_hash", columnNames = {"namespace_id", "file_hash"})
+})
 @EntityListeners(AuditingEntityListener.class)
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
@@ -46,7 +49,7 @@ public class Document {
   @Column(name = "file_size", nullable = false)
   private Long fileSize;
 
-  @Column(name = "file_hash", length = 64, unique = true)
+  @Column(name = "file_hash", length = 64)
   private String fileHash;
 
   @Enumerated(EnumType.STRING)
@@ -85,4 +88,16 @@ public class Document {
     this.status = DocumentStatus.FAILED;
     this.errorMessage = message;
   }
+
+  public void complete(Map<String, Object> additionalMetadata) {
+    this.status = DocumentStatus.COMPLETED;
+    this.errorMessage = null;
+    mergeMetadata(additionalMetadata);
+  }
+
+  public void mergeMetadata(Map<String, Object> additionalMetadata) {
+    Map<String, Object> merged = this.metadata != null ? new HashMap<>(this.metadata) : new HashMap<>();
+    merged.putAll(additionalMetadata);
+    this.metadata = merged;
+  }
 }
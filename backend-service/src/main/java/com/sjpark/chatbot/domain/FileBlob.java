@@ -0,0 +1,50 @@
+package com.sjpark.chatbot.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.LocalDateTime;
+
+/**
+ * 내용 주소 기반 파일 저장소의 blob (SHA-256 당 1개)
+ * <p>
+ * 같은 내용의 파일은 네임스페이스가 달라도 디스크에 한 번만 저장되고, 이를 참조하는 문서 수를 ref_count 로 관리한다.
+ */
+@Entity
+@Table(name = "file_blobs", indexes = {
+    @Index(name = "idx_file_blobs_deletion_id", columnList = "deletion_id")
+})
+@EntityListeners(AuditingEntityListener.class)
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Builder
+public class FileBlob {
+  @Id
+  @Column(name = "file_hash", length = 64)
+  private String hash;
+
+  @Column(name = "storage_path", nullable = false, length = 500)
+  private String storagePath;
+
+  @Column(name = "file_size", nullable = false)
+  private Long fileSize;
+
+  @Column(name = "ref_count", nullable = false)
+  @Builder.Default
+  private Long refCount = 0L;
+
+  @Column(name = "deletion_id")
+  private Long deletionId; // 보관함 삭제로 참조가 0 이 된 경우 정리할 삭제 작업 (NamespaceDeletion)
+
+  @CreatedDate
+  @Column(name = "created_at", updatable = false)
+  private LocalDateTime createdAt;
+
+  @LastModifiedDate
+  @Column(name = "updated_at")
+  private LocalDateTime updatedAt;
+}
@@ -0,0 +1,116 @@
+package com.sjpark.chatbot.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.LocalDateTime;
+
+/**
+ * 문서 인덱싱 작업 (AI 서비스 전처리 요청 큐)
+ */
+@Entity
+@Table(name = "ingestion_jobs", indexes = {
+    @Index(name = "idx_ingestion_jobs_status_next_attempt", columnList = "status, next_attempt_at"),
+    @Index(name = "idx_ingestion_jobs_document_id", columnList = "document_id")
+})
+@EntityListeners(AuditingEntityListener.class)
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Builder
+public class IngestionJob {
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @Column(name = "job_id")
+  private Long id;
+
+  @ManyToOne(fetch = FetchType.LAZY)
+  @JoinColumn(name = "document_id", nullable = false)
+  @OnDelete(action = OnDeleteAction.CASCADE)
+  private Document document;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false, length = 20)
+  @Builder.Default
+  private JobStatus status = JobStatus.QUEUED;
+
+  @Column(nullable = false)
+  @Builder.Default
+  private int attempts = 0;
+
+  @Column(name = "max_attempts", nullable = false)
+  private int maxAttempts;
+
+  @Column(name = "next_attempt_at", nullable = false)
+  private LocalDateTime nextAttemptAt;
+
+  @Column(name = "locked_by", length = 100)
+  private String lockedBy;
+
+  @Column(name = "locked_at")
+  private LocalDateTime lockedAt;
+
+  @Column(name = "last_error", columnDefinition = "TEXT")
+  private String lastError;
+
+  @CreatedDate
+  @Column(name = "created_at", updatable = false)
+  private LocalDateTime createdAt;
+
+  @LastModifiedDate
+  @Column(name = "updated_at")
+  private LocalDateTime updatedAt;
+
+  public enum JobStatus {
+    QUEUED,     // 처리 대기 (재시도 대기 포함)
+    RUNNING,    // 워커가 점유하여 처리 중
+    SUCCEEDED,  // AI 서비스 요청 완료
+    FAILED;     // 재시도 횟수 초과
+  }
+
+  public boolean isExhausted() {
+    return attempts >= maxAttempts;
+  }
+
+  public void claim(String workerId, LocalDateTime now) {
+    this.status = JobStatus.RUNNING;
+    this.attempts++;
+    this.lockedBy = workerId;
+    this.lockedAt = now;
+  }
+
+  public void succeed() {
+    this.status = JobStatus.SUCCEEDED;
+    this.lockedBy = null;
+    this.lockedAt = null;
+    this.lastError = null;
+  }
+
+  public void retryAt(LocalDateTime nextAttemptAt, String error) {
+    this.status = JobStatus.QUEUED;
+    this.nextAttemptAt = nextAttemptAt;
+    this.lockedBy = null;
+    this.lockedAt = null;
+    this.lastError = error;
+  }
+
+  /**
+   * 요청이 AI 서비스에 전달되지 않은 경우(서킷 열림, 벌크헤드 가득 참) - 점유 시 늘린 시도 횟수를 되돌리고 재등록
+   */
+  public void postpone(LocalDateTime nextAttemptAt, String error) {
+    this.attempts = Math.max(attempts - 1, 0);
+    retryAt(nextAttemptAt, error);
+  }
+
+  public void fail(String error) {
+    this.status = JobStatus.FAILED;
+    this.lockedBy = null;
+    this.lockedAt = null;
+    this.lastError = error;
+  }
+}
@@ -15,15 +15,24 @@ import java.util.List;
 import java.util.Map;
 
 @Entity
-@Table(name = "messages")
+@Table(name = "messages", indexes = {
+    @Index(name = "idx_messages_conversation_created", columnList = "conversation_id, created_at, message_id")
+})
 @EntityListeners(AuditingEntityListener.class)
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @AllArgsConstructor
 @Builder
 public class Message {
+  /**
+   * 메시지 ID 시퀀스 - 쓰기 지연 저장({@code MessageWriteBehindSink})이 ID_ALLOCATION_SIZE 단위로 미리 할당한다
+   */
+  public static final String ID_SEQUENCE = "message_id_seq";
+  public static final int ID_ALLOCATION_SIZE = 50;
+
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_SEQUENCE)
+  @SequenceGenerator(name = ID_SEQUENCE, sequenceName = ID_SEQUENCE, allocationSize = ID_ALLOCATION_SIZE)
   @Column(name = "message_id")
   private Long id;
 
@@ -45,10 +54,20 @@ public class Message {
   @Column(precision = 3, scale = 2)
   private BigDecimal confidence;
 
+  /**
+   * content 의 토큰 수 (채팅 모델 기준, BPE 토크나이저로 정확히 센 값만 저장하고 추정치는 저장하지 않음)
+   */
+  @Column(name = "token_count")
+  private Integer tokenCount;
+
   @CreatedDate
   @Column(name = "created_at", updatable = false)
   private LocalDateTime createdAt;
 
+  public void cacheTokenCount(int tokenCount) {
+    this.tokenCount = tokenCount;
+  }
+
   public enum MessageRole {
     USER, ASSISTANT
   }
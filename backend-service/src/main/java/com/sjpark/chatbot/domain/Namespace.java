@@ -8,6 +8,7 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
@@ -21,6 +22,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -28,6 +30,8 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 @Entity
 @Table(name = "namespaces", uniqueConstraints = {
     @UniqueConstraint(columnNames = {"user_id", "name"})
+}, indexes = {
+    @Index(name = "idx_namespaces_user_created", columnList = "user_id, created_at DESC")
 })
 @EntityListeners(AuditingEntityListener.class)
 @Getter
@@ -61,6 +65,43 @@ public class Namespace {
   @Column(name = "chroma_collection_name", nullable = false, length = 150, unique = true)
   private String chromaCollectionName;
 
+  // 문서 추가/삭제/재인덱싱 시 증가 (답변 캐시 무효화용)
+  @Column(name = "content_version", nullable = false)
+  @ColumnDefault("0")
+  @Builder.Default
+  private Long contentVersion = 0L;
+
+  // 문서 집계 (NamespaceCounterService 가 증감 UPDATE 로 갱신, 야간 작업이 재계산)
+  @Column(name = "document_count", nullable = false)
+  @ColumnDefault("0")
+  @Builder.Default
+  private Long documentCount = 0L;
+
+  @Column(name = "total_bytes", nullable = false)
+  @ColumnDefault("0")
+  @Builder.Default
+  private Long totalBytes = 0L;
+
+  @Column(name = "pending_count", nullable = false)
+  @ColumnDefault("0")
+  @Builder.Default
+  private Long pendingCount = 0L;
+
+  @Column(name = "processing_count", nullable = false)
+  @ColumnDefault("0")
+  @Builder.Default
+  private Long processingCount = 0L;
+
+  @Column(name = "completed_count", nullable = false)
+  @ColumnDefault("0")
+  @Builder.Default
+  private Long completedCount = 0L;
+
+  @Column(name = "failed_count", nullable = false)
+  @ColumnDefault("0")
+  @Builder.Default
+  private Long failedCount = 0L;
+
   @CreatedDate
   @Column(name = "created_at", updatable = false)
   private LocalDateTime createdAt;
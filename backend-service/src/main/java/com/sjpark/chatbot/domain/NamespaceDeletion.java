@@ -0,0 +1,144 @@
+package com.sjpark.chatbot.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.LocalDateTime;
+
+/**
+ * 문서 보관함 삭제 기록 (tombstone) 및 자원 정리 작업
+ * <p>
+ * 보관함/문서 행은 삭제 요청 트랜잭션에서 바로 지우고, ChromaDB 컬렉션과 업로드 디렉토리의 파일 blob 은 이 작업을
+ * 통해 백그라운드에서 정리한다. 보관함 행이 사라진 뒤에도 컬렉션 이름과 정리 진행 상황을 여기에 남긴다.
+ */
+@Entity
+@Table(name = "namespace_deletions", indexes = {
+    @Index(name = "idx_namespace_deletions_status_next_attempt", columnList = "status, next_attempt_at")
+})
+@EntityListeners(AuditingEntityListener.class)
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Builder
+public class NamespaceDeletion {
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @Column(name = "deletion_id")
+  private Long id;
+
+  @Column(name = "namespace_id", nullable = false)
+  private Long namespaceId; // 삭제된 보관함 ID (행은 이미 없음)
+
+  @Column(name = "user_id", nullable = false)
+  private Long userId;
+
+  @Column(nullable = false, length = 100)
+  private String name;
+
+  @Column(name = "chroma_collection_name", nullable = false)
+  private String chromaCollectionName;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false, length = 20)
+  @Builder.Default
+  private DeletionStatus status = DeletionStatus.RECLAIMING;
+
+  @Column(name = "document_count", nullable = false)
+  @Builder.Default
+  private long documentCount = 0;
+
+  @Column(name = "collection_deleted", nullable = false)
+  @Builder.Default
+  private boolean collectionDeleted = false;
+
+  @Column(name = "blob_count", nullable = false)
+  @Builder.Default
+  private long blobCount = 0; // 참조가 0 이 되어 정리할 파일 blob 수
+
+  @Column(name = "reclaimed_blob_count", nullable = false)
+  @Builder.Default
+  private long reclaimedBlobCount = 0;
+
+  @Column(nullable = false)
+  @Builder.Default
+  private int attempts = 0;
+
+  @Column(name = "next_attempt_at", nullable = false)
+  private LocalDateTime nextAttemptAt;
+
+  @Column(name = "locked_by", length = 100)
+  private String lockedBy;
+
+  @Column(name = "locked_at")
+  private LocalDateTime lockedAt;
+
+  @Column(name = "last_error", columnDefinition = "TEXT")
+  private String lastError;
+
+  @Column(name = "completed_at")
+  private LocalDateTime completedAt;
+
+  @CreatedDate
+  @Column(name = "created_at", updatable = false)
+  private LocalDateTime createdAt;
+
+  @LastModifiedDate
+  @Column(name = "updated_at")
+  private LocalDateTime updatedAt;
+
+  public enum DeletionStatus {
+    RECLAIMING, // 컬렉션/파일 정리 대기 또는 진행 중 (재시도 대기 포함)
+    COMPLETED;  // 정리 완료
+  }
+
+  public static NamespaceDeletion of(Namespace namespace) {
+    return NamespaceDeletion.builder()
+        .namespaceId(namespace.getId())
+        .userId(namespace.getUser().getId())
+        .name(namespace.getName())
+        .chromaCollectionName(namespace.getChromaCollectionName())
+        .nextAttemptAt(LocalDateTime.now())
+        .build();
+  }
+
+  public void recordDeleted(long documentCount, long blobCount) {
+    this.documentCount = documentCount;
+    this.blobCount = blobCount;
+  }
+
+  public void claim(String workerId, LocalDateTime now) {
+    this.attempts++;
+    this.lockedBy = workerId;
+    this.lockedAt = now;
+  }
+
+  public void markCollectionDeleted() {
+    this.collectionDeleted = true;
+  }
+
+  /**
+   * blob 배치 정리 반영 - 점유 시각도 갱신해 오래 걸리는 정리가 다른 노드에 회수되지 않도록 한다
+   */
+  public void addReclaimed(int count, LocalDateTime now) {
+    this.reclaimedBlobCount += count;
+    this.lockedAt = now;
+  }
+
+  public void complete(LocalDateTime now) {
+    this.status = DeletionStatus.COMPLETED;
+    this.completedAt = now;
+    this.lockedBy = null;
+    this.lockedAt = null;
+    this.lastError = null;
+  }
+
+  public void retryAt(LocalDateTime nextAttemptAt, String error) {
+    this.nextAttemptAt = nextAttemptAt;
+    this.lockedBy = null;
+    this.lockedAt = null;
+    this.lastError = error;
+  }
+}
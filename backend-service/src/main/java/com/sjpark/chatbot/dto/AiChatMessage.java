@@ -0,0 +1,15 @@
+package com.sjpark.chatbot.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AiChatMessage {
+  private String role; // user, assistant, system
+  private String content;
+}
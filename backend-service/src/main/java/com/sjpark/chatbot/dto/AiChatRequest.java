@@ -0,0 +1,16 @@
+package com.sjpark.chatbot.dto;
+
+import java.util.List;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder(toBuilder = true)
+public class AiChatRequest {
+  private String query;
+  private String collection_name;
+  private Integer top_k;
+  private Double temperature;
+  private List<AiChatMessage> history;
+  private List<AiContextDocument> context;   // 백엔드가 미리 검색한 문서 (여러 보관함 대화)
+}
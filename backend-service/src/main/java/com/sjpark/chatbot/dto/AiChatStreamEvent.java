@@ -0,0 +1,43 @@
+package com.sjpark.chatbot.dto;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * AI 서비스 /chat/stream SSE 이벤트
+ * <p>
+ * token 이벤트는 content, done 이벤트는 answer/sources, error 이벤트는 message 를 가진다.
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AiChatStreamEvent {
+  public static final String TOKEN = "token";
+  public static final String DONE = "done";
+  public static final String ERROR = "error";
+
+  private String event;
+  private String content;
+  private String query;
+  private String answer;
+  private List<AiSourceDocument> sources;
+  private String message;
+
+  public boolean isToken() {
+    return TOKEN.equals(event);
+  }
+
+  public boolean isDone() {
+    return DONE.equals(event);
+  }
+
+  public boolean isError() {
+    return ERROR.equals(event);
+  }
+}
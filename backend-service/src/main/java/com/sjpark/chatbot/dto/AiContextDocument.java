@@ -0,0 +1,20 @@
+package com.sjpark.chatbot.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 백엔드가 미리 검색해 AI 서비스에 전달하는 문서 조각
+ */
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AiContextDocument {
+  private String content;
+  private String source;   // 문서명
+  private Integer page;
+  private Double score;    // 관련도 점수 (0~1)
+}
@@ -0,0 +1,21 @@
+package com.sjpark.chatbot.dto;
+
+import java.util.List;
+import java.util.Map;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * 백엔드에서 청킹한 문서의 임베딩/저장 요청
+ */
+@Getter
+@Builder
+public class AiDocumentChunksRequest {
+  private String document_id;
+  private String collection_name;
+  private String filename;
+  private List<Chunk> chunks;
+
+  public record Chunk(String content, Map<String, Object> metadata) {
+  }
+}
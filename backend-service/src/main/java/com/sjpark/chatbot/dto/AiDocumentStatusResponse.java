@@ -0,0 +1,36 @@
+package com.sjpark.chatbot.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.time.OffsetDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AiDocumentStatusResponse {
+  @JsonProperty("document_id")
+  private String documentId;
+
+  private String status; // pending, processed, failed
+
+  @JsonProperty("chunks_count")
+  private Integer chunksCount;
+
+  @JsonProperty("processed_at")
+  private OffsetDateTime processedAt;
+
+  @JsonProperty("error_message")
+  private String errorMessage;
+
+  public boolean isProcessed() {
+    return "processed".equalsIgnoreCase(status);
+  }
+
+  public boolean isFailed() {
+    return "failed".equalsIgnoreCase(status);
+  }
+}
@@ -0,0 +1,11 @@
+package com.sjpark.chatbot.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class AiSearchRequest {
+  private String query;
+  private Integer top_k;
+}
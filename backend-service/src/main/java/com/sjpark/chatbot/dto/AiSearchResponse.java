@@ -0,0 +1,28 @@
+package com.sjpark.chatbot.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * AI 서비스 벡터 검색 결과 (유사도 내림차순)
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class AiSearchResponse {
+
+  private List<Result> results = new ArrayList<>();
+
+  @Getter
+  @NoArgsConstructor
+  @AllArgsConstructor
+  public static class Result {
+    private String content;
+    private Map<String, Object> metadata;
+    private Double score;   // 관련도 점수 (0~1)
+  }
+}
@@ -0,0 +1,17 @@
+package com.sjpark.chatbot.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AiSourceDocument {
+  private Integer id;      // 인용 번호
+  private String source;   // 문서명
+  private Integer page;
+  private String content;
+}
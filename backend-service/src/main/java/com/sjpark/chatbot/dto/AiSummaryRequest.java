@@ -0,0 +1,13 @@
+package com.sjpark.chatbot.dto;
+
+import java.util.List;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class AiSummaryRequest {
+  private String previous_summary;   // 이전 누적 요약 (없으면 null)
+  private List<AiChatMessage> messages;
+  private Integer max_tokens;
+}
@@ -0,0 +1,12 @@
+package com.sjpark.chatbot.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class AiSummaryResponse {
+  private String summary;
+}
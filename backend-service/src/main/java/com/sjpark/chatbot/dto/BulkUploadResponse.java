@@ -0,0 +1,55 @@
+package com.sjpark.chatbot.dto;
+
+import java.util.List;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * 대량 업로드 결과 - 파일별 성공/실패를 함께 반환한다
+ */
+@Getter
+@Builder
+public class BulkUploadResponse {
+  private Long namespaceId;
+  private int total;
+  private int uploaded;
+  private int failed;
+  private List<FileResult> results;
+
+  public static BulkUploadResponse of(Long namespaceId, List<FileResult> results) {
+    int uploaded = (int) results.stream().filter(r -> r.getStatus() == FileStatus.UPLOADED).count();
+    return BulkUploadResponse.builder()
+        .namespaceId(namespaceId)
+        .total(results.size())
+        .uploaded(uploaded)
+        .failed(results.size() - uploaded)
+        .results(results)
+        .build();
+  }
+
+  public enum FileStatus {
+    UPLOADED,   // 저장 및 인덱싱 작업 등록 완료
+    DUPLICATE,  // 동일한 파일이 이미 있음
+    REJECTED,   // 검증 실패 (형식, 크기 등)
+    FAILED      // 저장 중 오류
+  }
+
+  @Getter
+  @Builder
+  public static class FileResult {
+    private String fileName;
+    private FileStatus status;
+    private Long documentId;
+    private Long fileSize;
+    private String errorMessage;
+
+    public static FileResult uploaded(String fileName, Long documentId, long fileSize) {
+      return FileResult.builder().fileName(fileName).status(FileStatus.UPLOADED)
+          .documentId(documentId).fileSize(fileSize).build();
+    }
+
+    public static FileResult error(String fileName, FileStatus status, String errorMessage) {
+      return FileResult.builder().fileName(fileName).status(status).errorMessage(errorMessage).build();
+    }
+  }
+}
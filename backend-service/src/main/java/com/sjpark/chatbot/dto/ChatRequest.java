@@ -0,0 +1,35 @@
+package com.sjpark.chatbot.dto;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChatRequest {
+
+  @NotNull(message = "사용자 정보는 필수입니다.")
+  private Long userId;
+
+  @NotBlank(message = "질문을 입력해주세요.")
+  @Size(max = 4000, message = "질문은 최대 4000자까지 입력할 수 있습니다.")
+  private String query;
+
+  @Min(value = 1, message = "topK 는 1 이상이어야 합니다.")
+  @Max(value = 10, message = "topK 는 10 이하여야 합니다.")
+  private Integer topK;
+
+  @DecimalMin(value = "0.0", message = "temperature 는 0.0 이상이어야 합니다.")
+  @DecimalMax(value = "1.0", message = "temperature 는 1.0 이하여야 합니다.")
+  private Double temperature;
+}
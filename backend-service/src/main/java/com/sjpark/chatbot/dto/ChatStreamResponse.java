@@ -0,0 +1,37 @@
+package com.sjpark.chatbot.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import java.util.List;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * 채팅 SSE 이벤트 데이터 (token: content, done: messageId/answer/sources, error: message)
+ */
+@Getter
+@Builder
+@JsonInclude(Include.NON_NULL)
+public class ChatStreamResponse {
+  private String content;
+  private Long messageId;
+  private String answer;
+  private List<AiSourceDocument> sources;
+  private String message;
+
+  public static ChatStreamResponse token(String content) {
+    return ChatStreamResponse.builder().content(content).build();
+  }
+
+  public static ChatStreamResponse done(Long messageId, String answer, List<AiSourceDocument> sources) {
+    return ChatStreamResponse.builder()
+        .messageId(messageId)
+        .answer(answer)
+        .sources(sources)
+        .build();
+  }
+
+  public static ChatStreamResponse error(String message) {
+    return ChatStreamResponse.builder().message(message).build();
+  }
+}
@@ -0,0 +1,27 @@
+package com.sjpark.chatbot.dto;
+
+import com.sjpark.chatbot.domain.Conversation;
+import java.time.LocalDateTime;
+import java.util.List;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class ConversationResponse {
+  private Long id;
+  private String title;
+  private List<Long> namespaceIds;
+  private LocalDateTime createdAt;
+  private LocalDateTime updatedAt;
+
+  public static ConversationResponse from(Conversation conversation) {
+    return ConversationResponse.builder()
+        .id(conversation.getId())
+        .title(conversation.getTitle())
+        .namespaceIds(conversation.getNamespaceIds())
+        .createdAt(conversation.getCreatedAt())
+        .updatedAt(conversation.getUpdatedAt())
+        .build();
+  }
+}
@@ -0,0 +1,68 @@
+package com.sjpark.chatbot.dto;
+
+import com.sjpark.chatbot.common.BusinessException;
+import com.sjpark.chatbot.common.ErrorCode;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+import lombok.Getter;
+
+/**
+ * 키셋(seek) 페이지네이션 응답
+ * <p>
+ * nextCursor 는 마지막 항목의 (정렬 시각, ID) 를 base64 로 인코딩한 값이며, 다음 페이지 요청 시 그대로 전달한다.
+ */
+@Getter
+public class CursorPage<T> {
+
+  private final List<T> items;
+  private final String nextCursor;
+  private final boolean hasNext;
+
+  private CursorPage(List<T> items, String nextCursor) {
+    this.items = items;
+    this.nextCursor = nextCursor;
+    this.hasNext = nextCursor != null;
+  }
+
+  /**
+   * size + 1 개를 조회한 결과로 페이지 생성 - 초과분이 있으면 다음 커서를 만든다
+   */
+  public static <E, T> CursorPage<T> of(List<E> rows, int size, Function<E, Cursor> cursorOf,
+      Function<E, T> mapper) {
+    boolean hasNext = rows.size() > size;
+    List<E> page = hasNext ? rows.subList(0, size) : rows;
+    String nextCursor = hasNext ? cursorOf.apply(page.get(page.size() - 1)).encode() : null;
+    return new CursorPage<>(page.stream().map(mapper).toList(), nextCursor);
+  }
+
+  /**
+   * 페이지 경계 (정렬 시각, ID)
+   */
+  public record Cursor(LocalDateTime timestamp, Long id) {
+
+    public String encode() {
+      String raw = timestamp + "|" + id;
+      return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return 커서가 없으면 null (첫 페이지)
+     */
+    public static Cursor decode(String cursor) {
+      if (cursor == null || cursor.isBlank()) {
+        return null;
+      }
+      try {
+        String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        int separator = raw.lastIndexOf('|');
+        return new Cursor(LocalDateTime.parse(raw.substring(0, separator)),
+            Long.parseLong(raw.substring(separator + 1)));
+      } catch (RuntimeException e) {
+        throw new BusinessException(ErrorCode.INVALID_INPUT_VALUE, "잘못된 커서입니다.");
+      }
+    }
+  }
+}
@@ -2,11 +2,13 @@ package com.sjpark.chatbot.dto;
 
 import com.sjpark.chatbot.domain.Document;
 import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 
 @Getter
 @Builder
+@AllArgsConstructor // JPQL 생성자 프로젝션용
 public class DocumentQueryResponse {
   private Long id;
   private String name;
@@ -0,0 +1,28 @@
+package com.sjpark.chatbot.dto;
+
+import com.sjpark.chatbot.domain.Message;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class MessageResponse {
+  private Long id;
+  private String role;
+  private String content;
+  private List<Map<String, Object>> citations;
+  private LocalDateTime createdAt;
+
+  public static MessageResponse from(Message message) {
+    return MessageResponse.builder()
+        .id(message.getId())
+        .role(message.getRole().name())
+        .content(message.getContent())
+        .citations(message.getCitations())
+        .createdAt(message.getCreatedAt())
+        .build();
+  }
+}
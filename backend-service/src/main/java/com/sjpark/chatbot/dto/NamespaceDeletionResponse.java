@@ -0,0 +1,44 @@
+package com.sjpark.chatbot.dto;
+
+import com.sjpark.chatbot.domain.NamespaceDeletion;
+import com.sjpark.chatbot.domain.NamespaceDeletion.DeletionStatus;
+import java.time.LocalDateTime;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * 보관함 삭제 정리 진행 상황
+ */
+@Getter
+@Builder
+public class NamespaceDeletionResponse {
+  private Long deletionId;
+  private Long namespaceId;
+  private String name;
+  private DeletionStatus status;
+  private long documentCount;        // 삭제된 문서 수
+  private boolean collectionDeleted; // ChromaDB 컬렉션 삭제 여부
+  private long blobCount;            // 정리할 파일 blob 수
+  private long reclaimedBlobCount;   // 정리된 파일 blob 수
+  private int attempts;
+  private String lastError;
+  private LocalDateTime createdAt;
+  private LocalDateTime completedAt;
+
+  public static NamespaceDeletionResponse from(NamespaceDeletion deletion) {
+    return NamespaceDeletionResponse.builder()
+        .deletionId(deletion.getId())
+        .namespaceId(deletion.getNamespaceId())
+        .name(deletion.getName())
+        .status(deletion.getStatus())
+        .documentCount(deletion.getDocumentCount())
+        .collectionDeleted(deletion.isCollectionDeleted())
+        .blobCount(deletion.getBlobCount())
+        .reclaimedBlobCount(deletion.getReclaimedBlobCount())
+        .attempts(deletion.getAttempts())
+        .lastError(deletion.getLastError())
+        .createdAt(deletion.getCreatedAt())
+        .completedAt(deletion.getCompletedAt())
+        .build();
+  }
+}
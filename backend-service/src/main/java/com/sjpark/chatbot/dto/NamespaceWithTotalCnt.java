@@ -1,21 +1,26 @@
 package com.sjpark.chatbot.dto;
 
-import com.sjpark.chatbot.domain.Namespace;
-import lombok.AllArgsConstructor;
-import lombok.Builder;
+import java.time.LocalDateTime;
 import lombok.Getter;
 
+/**
+ * 네임스페이스 목록 조회 결과 (JPQL 생성자 프로젝션)
+ * <p>
+ * 필요한 컬럼만 조회하므로 엔티티를 로딩하지 않고, 직렬화 시 지연 로딩도 발생하지 않는다.
+ */
 @Getter
-@Builder
-@AllArgsConstructor
 public class NamespaceWithTotalCnt {
-  private Namespace namespace;
-  private Long documentTotalCnt;
+  private final NamespaceResponse namespace;
+  private final Long documentTotalCnt;
 
-  public static NamespaceWithTotalCnt from(Namespace namespace, Long documentTotalCnt) {
-    return NamespaceWithTotalCnt.builder()
-        .namespace(namespace)
-        .documentTotalCnt(documentTotalCnt)
+  public NamespaceWithTotalCnt(Long id, String name, String description, LocalDateTime createdAt,
+      Long documentTotalCnt) {
+    this.namespace = NamespaceResponse.builder()
+        .id(id)
+        .name(name)
+        .description(description)
+        .createdAt(createdAt)
         .build();
+    this.documentTotalCnt = documentTotalCnt;
   }
 }
@@ -0,0 +1,19 @@
+package com.sjpark.chatbot.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * 보관함 검색 결과 청크
+ */
+@Getter
+@Builder
+public class SearchResultResponse {
+  private Long documentId;
+  private String filename;
+  private Integer page;          // 0부터
+  private String content;
+  private double score;          // 하이브리드는 RRF 점수, 단일 모드는 해당 검색 점수
+  private Double lexicalScore;   // BM25 점수 (어휘 검색에 없으면 null)
+  private Double vectorScore;    // 관련도 점수 (벡터 검색에 없으면 null)
+}
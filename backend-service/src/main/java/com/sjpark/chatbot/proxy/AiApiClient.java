@@ -1,23 +1,66 @@
 package com.sjpark.chatbot.proxy;
 
 
-import com.sjpark.chatbot.domain.Namespace;
+import com.sjpark.chatbot.dto.AiChatRequest;
+import com.sjpark.chatbot.dto.AiChatStreamEvent;
+import com.sjpark.chatbot.dto.AiDocumentChunksRequest;
+import com.sjpark.chatbot.dto.AiDocumentStatusResponse;
 import com.sjpark.chatbot.dto.AiDocumentUploadRequest;
 import com.sjpark.chatbot.dto.AiDocumentUploadResponse;
 import com.sjpark.chatbot.dto.AiNamespaceCreateRequest;
 import com.sjpark.chatbot.dto.AiNamespaceCreateResponse;
+import com.sjpark.chatbot.dto.AiSearchRequest;
+import com.sjpark.chatbot.dto.AiSearchResponse;
+import com.sjpark.chatbot.dto.AiSummaryRequest;
+import com.sjpark.chatbot.dto.AiSummaryResponse;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
+/**
+ * Python AI 서비스 API 클라이언트
+ * <p>
+ * {@code *Async} 메서드는 스레드를 점유하지 않는 Mono 를 반환하므로 여러 호출을 병렬로 조합할 수 있다.
+ * 동기 메서드는 기존 호출부를 위한 블로킹 래퍼이다. 실패는 모두 {@link AiApiException} 으로 변환된다.
+ * <p>
+ * 호출은 작업 그룹(채팅/인덱싱/네임스페이스/검색/요약)별 벌크헤드와 서킷 브레이커를 거친다. AI 서비스가 멈추면 서킷이 열려
+ * 타임아웃까지 기다리지 않고 즉시 실패하며, 한 그룹의 장애나 폭주가 다른 그룹의 호출 슬롯을 잠식하지 않는다.
+ */
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class AiApiClient {
 
+  private static final ParameterizedTypeReference<ServerSentEvent<AiChatStreamEvent>> CHAT_STREAM_EVENT_TYPE =
+      new ParameterizedTypeReference<>() {
+      };
+
+  public static final String CHAT = "aiChat";
+  public static final String INDEXING = "aiIndexing";
+  public static final String NAMESPACE = "aiNamespace";
+  public static final String SEARCH = "aiSearch";
+  public static final String SUMMARY = "aiSummary";
+
   private final WebClient aiWebClient;
+  private final CircuitBreakerRegistry circuitBreakerRegistry;
+  private final BulkheadRegistry bulkheadRegistry;
+  private final MeterRegistry meterRegistry;
 
   /**
    * AI 서비스 헬스 체크
@@ -25,108 +68,296 @@ public class AiApiClient {
    * @return 헬스 체크 결과
    */
   public boolean healthCheck() {
-    try {
-      String response = aiWebClient.get()
-          .uri("/health")
-          .retrieve()
-          .bodyToMono(String.class)
-          .block();
-
-      log.info("AI 서비스 헬스 체크 응답: {}", response);
-      return true;
-    } catch (Exception e) {
-      log.error("AI 서비스 헬스체크 실패 - error: {}", e.getMessage());
-      return false;
-    }
+    return Boolean.TRUE.equals(healthCheckAsync().block());
+  }
+
+  /**
+   * AI 서비스 헬스 체크 (논블로킹) - 실패 시 false
+   */
+  public Mono<Boolean> healthCheckAsync() {
+    return aiWebClient.get()
+        .uri("/health")
+        .retrieve()
+        .bodyToMono(String.class)
+        .doOnNext(response -> log.debug("AI 서비스 헬스 체크 응답: {}", response))
+        .thenReturn(true)
+        .onErrorResume(e -> {
+          log.warn("AI 서비스 헬스체크 실패 - error: {}", e.getMessage());
+          return Mono.just(false);
+        });
   }
 
   /**
    * AI 서비스에 네임스페이스 생성 요청
    */
   public AiNamespaceCreateResponse createNamespace(String name) {
+    return createNamespaceAsync(name).block();
+  }
+
+  /**
+   * AI 서비스에 네임스페이스 생성 요청 (논블로킹)
+   */
+  public Mono<AiNamespaceCreateResponse> createNamespaceAsync(String name) {
     log.info("AI 서비스 네임스페이스 생성 요청 - name: {}", name);
 
     AiNamespaceCreateRequest request = AiNamespaceCreateRequest.builder()
         .name(name)
         .build();
 
-    try {
-      return aiWebClient.post()
-          .uri("/namespaces")
-          .bodyValue(request)
-          .retrieve()
-          .bodyToMono(AiNamespaceCreateResponse.class)
-          .doOnSuccess(response -> log.info("AI 서비스 네임스페이스 생성 성공 - collectionName : {}",
-              response.getCollectionName()))
-          .doOnError(error -> log.error("AI 서비스 네임스페이스 생성 실패 - error: {}", error.getMessage()))
-          .block(); // 동기 방식 호출
-    } catch (WebClientResponseException e) {
-      log.error("AI 서비스 네임스페이스 생성 API 호출 실패 - status: {}, body: {}", e.getStatusCode(),
-          e.getResponseBodyAsString());
-      throw new RuntimeException("AI 서비스와 통신 중 오류가 발생하였습니다: " + e.getResponseBodyAsString());
-    } catch (Exception e) {
-      log.error("AI 서비스 네임스페이스 생성 API 호출 중 예외 발생 - error: {}", e.getMessage());
-      throw new RuntimeException("AI 서비스와 통신 중 오류가 발생하였습니다.");
-    }
+    return aiWebClient.post()
+        .uri("/namespaces")
+        .bodyValue(request)
+        .retrieve()
+        .bodyToMono(AiNamespaceCreateResponse.class)
+        .transformDeferred(guard(NAMESPACE))
+        .doOnSuccess(response -> log.info("AI 서비스 네임스페이스 생성 성공 - collectionName : {}",
+            response.getCollectionName()))
+        .onErrorMap(e -> toAiApiException("createNamespace", e))
+        .transformDeferred(timed("createNamespace"));
   }
 
   /**
    * AI 서비스에 네임스페이스 삭제 요청
    */
   public void deleteNamespace(String chromaCollectionName) {
+    deleteNamespaceAsync(chromaCollectionName).block();
+  }
+
+  /**
+   * AI 서비스에 네임스페이스 삭제 요청 (논블로킹)
+   */
+  public Mono<Void> deleteNamespaceAsync(String chromaCollectionName) {
     log.info("AI 서비스 네임스페이스 삭제 요청 - chromaCollectionName: {}", chromaCollectionName);
 
-    try {
-      aiWebClient.delete()
-          .uri("/namespaces/{name}", chromaCollectionName)
-          .retrieve()
-          .bodyToMono(Void.class)
-          .doOnSuccess(response -> log.info("AI 서비스 네임스페이스 삭제 성공 - chromaCollectionName: {}",
-              chromaCollectionName))
-          .doOnError(error -> log.error("AI 서비스 네임스페이스 삭제 실패 - chromaCollectionName: {}, error: {}",
-              chromaCollectionName, error.getMessage()))
-          .block(); // 동기 방식 호출
-    } catch (WebClientResponseException e) {
-      log.error("AI 서비스 네임스페이스 삭제 API 호출 실패 - status: {}, body: {}", e.getStatusCode(),
-          e.getResponseBodyAsString());
-      throw new RuntimeException("AI 서비스와 통신 중 오류가 발생하였습니다: " + e.getResponseBodyAsString());
-    } catch (Exception e) {
-      log.error("AI 서비스 네임스페이스 삭제 API 호출 중 예외 발생 - error: {}", e.getMessage());
-      throw new RuntimeException("AI 서비스와 통신 중 오류가 발생하였습니다.");
-    }
+    return aiWebClient.delete()
+        .uri("/namespaces/{name}", chromaCollectionName)
+        .retrieve()
+        .bodyToMono(Void.class)
+        .transformDeferred(guard(NAMESPACE))
+        .doOnSuccess(response -> log.info("AI 서비스 네임스페이스 삭제 성공 - chromaCollectionName: {}",
+            chromaCollectionName))
+        .onErrorMap(e -> toAiApiException("deleteNamespace", e))
+        .transformDeferred(timed("deleteNamespace"));
   }
 
   /**
    * AI 서비스에 문서 전처리 요청 (로드/청킹/임베딩/vectorDB 저장)
    */
-  public AiDocumentUploadResponse indexDocument(Long documentId, Namespace namespace, String filePath, String filename) {
+  public AiDocumentUploadResponse indexDocument(Long documentId, Long namespaceId,
+      String chromaCollectionName, String filePath, String filename) {
+    return indexDocumentAsync(documentId, namespaceId, chromaCollectionName, filePath, filename).block();
+  }
+
+  /**
+   * AI 서비스에 문서 전처리 요청 (논블로킹)
+   */
+  public Mono<AiDocumentUploadResponse> indexDocumentAsync(Long documentId, Long namespaceId,
+      String chromaCollectionName, String filePath, String filename) {
     log.info("AI 서비스 문서 전처리 요청 - documentId: {}, namespaceId: {}, filename: {}, filePath: {}",
-        documentId, namespace.getId(), filename, filePath);
+        documentId, namespaceId, filename, filePath);
 
     AiDocumentUploadRequest request = AiDocumentUploadRequest.builder()
         .document_id(documentId.toString())
-        .collection_name(namespace.getChromaCollectionName())
+        .collection_name(chromaCollectionName)
         .file_path(filePath)
         .filename(filename)
         .build();
 
-    try {
-      return aiWebClient.post()
-          .uri("/namespaces/{namespaceId}/documents", namespace.getId().toString())
-          .bodyValue(request)
-          .retrieve()
-          .bodyToMono(AiDocumentUploadResponse.class)
-          .doOnSuccess(response -> log.info("AI 서비스 문서 전처리 요청 성공 - documentId : {}, status : {}",
-              documentId, response.getStatus()))
-          .doOnError(error -> log.error("AI 서비스 문서 전처리 요청 실패 - documentId : {}, error: {}",
-              documentId, error.getMessage()))
-          .block(); // 동기 방식 호출
-    } catch (WebClientResponseException e) {
-      log.error("AI API 호출 실패 - status: {}, body: {}", e.getStatusCode(), e.getResponseBodyAsString());
-      throw new RuntimeException("AI 서비스와 통신 중 오류가 발생하였습니다: " + e.getResponseBodyAsString());
-    } catch (Exception e) {
-      log.error("AI API 호출 중 예외 발생 - error: {}", e.getMessage());
-      throw new RuntimeException("AI 서비스와 통신 중 오류가 발생하였습니다.");
+    return aiWebClient.post()
+        .uri("/namespaces/{namespaceId}/documents", namespaceId.toString())
+        .bodyValue(request)
+        .retrieve()
+        .bodyToMono(AiDocumentUploadResponse.class)
+        .transformDeferred(guard(INDEXING))
+        .doOnSuccess(response -> log.info("AI 서비스 문서 전처리 요청 성공 - documentId : {}, status : {}",
+            documentId, response.getStatus()))
+        .onErrorMap(e -> toAiApiException("indexDocument", e))
+        .transformDeferred(timed("indexDocument"));
+  }
+
+  /**
+   * 백엔드에서 청킹한 문서를 AI 서비스에 임베딩/vectorDB 저장 요청 - 처리 상태는 전처리 요청과 같은 상태 API 로 조회
+   */
+  public AiDocumentUploadResponse indexChunks(Long namespaceId, AiDocumentChunksRequest request) {
+    return indexChunksAsync(namespaceId, request).block();
+  }
+
+  /**
+   * 백엔드에서 청킹한 문서 임베딩 요청 (논블로킹)
+   */
+  public Mono<AiDocumentUploadResponse> indexChunksAsync(Long namespaceId, AiDocumentChunksRequest request) {
+    log.info("AI 서비스 청크 임베딩 요청 - documentId: {}, namespaceId: {}, chunks: {}",
+        request.getDocument_id(), namespaceId, request.getChunks().size());
+
+    return aiWebClient.post()
+        .uri("/namespaces/{namespaceId}/documents/chunks", namespaceId.toString())
+        .bodyValue(request)
+        .retrieve()
+        .bodyToMono(AiDocumentUploadResponse.class)
+        .transformDeferred(guard(INDEXING))
+        .doOnSuccess(response -> log.info("AI 서비스 청크 임베딩 요청 성공 - documentId : {}, status : {}",
+            request.getDocument_id(), response.getStatus()))
+        .onErrorMap(e -> toAiApiException("indexChunks", e))
+        .transformDeferred(timed("indexChunks"));
+  }
+
+  /**
+   * AI 서비스 문서 처리 상태 조회 (논블로킹)
+   *
+   * @return 처리 상태, AI 서비스에 상태 정보가 없으면(404) empty
+   */
+  public Mono<AiDocumentStatusResponse> getDocumentStatus(Long namespaceId, Long documentId) {
+    return aiWebClient.get()
+        .uri("/namespaces/{namespaceId}/documents/{documentId}/status", namespaceId, documentId)
+        .retrieve()
+        .bodyToMono(AiDocumentStatusResponse.class)
+        .onErrorResume(WebClientResponseException.NotFound.class, e -> {
+          log.debug("AI 서비스 문서 상태 없음 - documentId: {}", documentId);
+          return Mono.empty();
+        })
+        .transformDeferred(guard(INDEXING))
+        .onErrorMap(e -> toAiApiException("getDocumentStatus", e))
+        .transformDeferred(timed("getDocumentStatus"));
+  }
+
+  /**
+   * 컬렉션 벡터 유사도 검색 (논블로킹) - 생성 없이 검색 결과만 받는다
+   */
+  public Mono<AiSearchResponse> searchAsync(String chromaCollectionName, String query, int topK) {
+    AiSearchRequest request = AiSearchRequest.builder()
+        .query(query)
+        .top_k(topK)
+        .build();
+
+    return aiWebClient.post()
+        .uri("/namespaces/{name}/search", chromaCollectionName)
+        .bodyValue(request)
+        .retrieve()
+        .bodyToMono(AiSearchResponse.class)
+        .transformDeferred(guard(SEARCH))
+        .onErrorMap(e -> toAiApiException("search", e))
+        .transformDeferred(timed("search"));
+  }
+
+  /**
+   * 대화 요약 요청 - 이전 요약에 새 메시지를 합친 누적 요약을 받는다
+   */
+  public AiSummaryResponse summarize(AiSummaryRequest request) {
+    return summarizeAsync(request).block();
+  }
+
+  /**
+   * 대화 요약 요청 (논블로킹) - 백그라운드 요약이 채팅 스트림의 슬롯과 서킷을 소모하지 않도록 별도 그룹(aiSummary)을 쓴다
+   */
+  public Mono<AiSummaryResponse> summarizeAsync(AiSummaryRequest request) {
+    return aiWebClient.post()
+        .uri("/chat/summary")
+        .bodyValue(request)
+        .retrieve()
+        .bodyToMono(AiSummaryResponse.class)
+        .transformDeferred(guard(SUMMARY))
+        .onErrorMap(e -> toAiApiException("summarize", e))
+        .transformDeferred(timed("summarize"));
+  }
+
+  /**
+   * AI 서비스 스트리밍 채팅 요청 - 생성되는 토큰을 SSE 이벤트로 그대로 전달받는다
+   */
+  public Flux<AiChatStreamEvent> streamChat(AiChatRequest request) {
+    log.info("AI 서비스 스트리밍 채팅 요청 - collection: {}, context: {}", request.getCollection_name(),
+        request.getContext() != null ? request.getContext().size() : null);
+
+    return aiWebClient.post()
+        .uri("/chat/stream")
+        .accept(MediaType.TEXT_EVENT_STREAM)
+        .bodyValue(request)
+        .retrieve()
+        .bodyToFlux(CHAT_STREAM_EVENT_TYPE)
+        .transformDeferred(guardStream(CHAT))
+        .map(sse -> {
+          AiChatStreamEvent event = sse.data() != null ? sse.data() : new AiChatStreamEvent();
+          event.setEvent(sse.event());
+          return event;
+        })
+        .onErrorMap(e -> toAiApiException("streamChat", e))
+        .transformDeferred(timedStream("streamChat"));
+  }
+
+  /**
+   * 인덱싱 호출 가능 여부 - 서킷이 열려 있으면 워커가 작업을 점유하지 않도록 미리 확인한다
+   */
+  public boolean isIndexingAvailable() {
+    CircuitBreaker.State state = circuitBreakerRegistry.circuitBreaker(INDEXING).getState();
+    return state != CircuitBreaker.State.OPEN && state != CircuitBreaker.State.FORCED_OPEN;
+  }
+
+  /**
+   * 벌크헤드(동시 호출 수 제한) → 서킷 브레이커 순으로 적용
+   */
+  private <T> Function<Mono<T>, Mono<T>> guard(String name) {
+    CircuitBreakerOperator<T> circuitBreaker = CircuitBreakerOperator.of(circuitBreakerRegistry.circuitBreaker(name));
+    BulkheadOperator<T> bulkhead = BulkheadOperator.of(bulkheadRegistry.bulkhead(name));
+    return mono -> mono.transformDeferred(circuitBreaker).transformDeferred(bulkhead);
+  }
+
+  /**
+   * 스트리밍 응답용 - 스트림이 끝날 때까지 벌크헤드 슬롯을 점유한다
+   */
+  private <T> Function<Flux<T>, Flux<T>> guardStream(String name) {
+    CircuitBreakerOperator<T> circuitBreaker = CircuitBreakerOperator.of(circuitBreakerRegistry.circuitBreaker(name));
+    BulkheadOperator<T> bulkhead = BulkheadOperator.of(bulkheadRegistry.bulkhead(name));
+    return flux -> flux.transformDeferred(circuitBreaker).transformDeferred(bulkhead);
+  }
+
+  /**
+   * 호출 소요 시간 기록 (ai.client.requests{operation, outcome}) - outcome 은 success, cancelled 또는 ErrorCode
+   */
+  private <T> Function<Mono<T>, Mono<T>> timed(String operation) {
+    return mono -> Mono.defer(() -> {
+      long startedAt = System.nanoTime();
+      return mono
+          .doOnSuccess(value -> record(operation, "success", startedAt))
+          .doOnError(e -> record(operation, outcome(e), startedAt))
+          .doOnCancel(() -> record(operation, "cancelled", startedAt));
+    });
+  }
+
+  /**
+   * 스트리밍 호출 소요 시간 기록 - 스트림이 끝날 때까지의 전체 시간
+   */
+  private <T> Function<Flux<T>, Flux<T>> timedStream(String operation) {
+    return flux -> Flux.defer(() -> {
+      long startedAt = System.nanoTime();
+      return flux
+          .doOnComplete(() -> record(operation, "success", startedAt))
+          .doOnError(e -> record(operation, outcome(e), startedAt))
+          .doOnCancel(() -> record(operation, "cancelled", startedAt));
+    });
+  }
+
+  private void record(String operation, String outcome, long startedAt) {
+    Timer.builder("ai.client.requests")
+        .description("AI 서비스 호출 소요 시간")
+        .tag("operation", operation)
+        .tag("outcome", outcome)
+        .publishPercentileHistogram()
+        .register(meterRegistry)
+        .record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+  }
+
+  private String outcome(Throwable e) {
+    return e instanceof AiApiException aiApiException ? aiApiException.getErrorCode().name() : "UNKNOWN";
+  }
+
+  private AiApiException toAiApiException(String operation, Throwable e) {
+    AiApiException exception = AiApiException.from(operation, e);
+    if (exception.getUpstreamStatus() != null) {
+      log.error("AI API 호출 실패 - operation: {}, status: {}, body: {}",
+          operation, exception.getUpstreamStatus(), exception.getUpstreamBody());
+    } else {
+      log.error("AI API 호출 중 예외 발생 - operation: {}, errorCode: {}, error: {}",
+          operation, exception.getErrorCode(), e.getMessage());
     }
+    return exception;
   }
-}
\ No newline at end of file
+}
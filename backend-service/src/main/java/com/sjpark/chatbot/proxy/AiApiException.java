@@ -0,0 +1,109 @@
+package com.sjpark.chatbot.proxy;
+
+import com.sjpark.chatbot.common.BusinessException;
+import com.sjpark.chatbot.common.ErrorCode;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.netty.handler.timeout.TimeoutException;
+import java.net.ConnectException;
+import lombok.Getter;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+/**
+ * AI 서비스 호출 실패
+ * <p>
+ * WebClient 예외를 ErrorCode 로 분류하고, AI 서비스가 응답한 상태 코드와 본문을 함께 보관한다.
+ */
+@Getter
+public class AiApiException extends BusinessException {
+
+  private final String operation;
+  private final HttpStatusCode upstreamStatus; // AI 서비스 응답 상태 (응답을 받지 못한 경우 null)
+  private final String upstreamBody;
+
+  public AiApiException(ErrorCode errorCode, String operation, String message,
+      HttpStatusCode upstreamStatus, String upstreamBody, Throwable cause) {
+    super(errorCode, message, cause);
+    this.operation = operation;
+    this.upstreamStatus = upstreamStatus;
+    this.upstreamBody = upstreamBody;
+  }
+
+  public boolean isNotFound() {
+    return upstreamStatus != null && upstreamStatus.value() == 404;
+  }
+
+  public boolean isConflict() {
+    return upstreamStatus != null && upstreamStatus.value() == 409;
+  }
+
+  /**
+   * WebClient 호출 중 발생한 예외를 AiApiException 으로 변환
+   */
+  public static AiApiException from(String operation, Throwable e) {
+    if (e instanceof AiApiException aiApiException) {
+      return aiApiException;
+    }
+
+    if (e instanceof CallNotPermittedException) {
+      return new AiApiException(ErrorCode.AI_CIRCUIT_OPEN, operation,
+          ErrorCode.AI_CIRCUIT_OPEN.getMessage(), null, null, e);
+    }
+
+    if (e instanceof BulkheadFullException) {
+      return new AiApiException(ErrorCode.AI_SERVICE_BUSY, operation,
+          ErrorCode.AI_SERVICE_BUSY.getMessage(), null, null, e);
+    }
+
+    if (e instanceof WebClientResponseException responseException) {
+      String body = responseException.getResponseBodyAsString();
+      return new AiApiException(ErrorCode.AI_API_ERROR, operation,
+          "AI 서비스와 통신 중 오류가 발생하였습니다: " + body,
+          responseException.getStatusCode(), body, e);
+    }
+
+    if (isTimeout(e)) {
+      return new AiApiException(ErrorCode.AI_API_TIMEOUT, operation,
+          ErrorCode.AI_API_TIMEOUT.getMessage(), null, null, e);
+    }
+
+    if (e instanceof WebClientRequestException || e.getCause() instanceof ConnectException) {
+      return new AiApiException(ErrorCode.AI_SERVICE_UNAVAILABLE, operation,
+          ErrorCode.AI_SERVICE_UNAVAILABLE.getMessage(), null, null, e);
+    }
+
+    return new AiApiException(ErrorCode.AI_API_ERROR, operation,
+        "AI 서비스와 통신 중 오류가 발생하였습니다.", null, null, e);
+  }
+
+  /**
+   * AI 서비스 자체의 장애인지 (연결 실패, 타임아웃, 5xx) - 서킷 브레이커 실패 집계 기준
+   * <p>
+   * 404/409 같은 4xx 는 정상적인 업무 응답이므로 실패로 세지 않는다.
+   */
+  public boolean isServiceFailure() {
+    ErrorCode errorCode = getErrorCode();
+    if (errorCode == ErrorCode.AI_API_TIMEOUT || errorCode == ErrorCode.AI_SERVICE_UNAVAILABLE) {
+      return true;
+    }
+    return errorCode == ErrorCode.AI_API_ERROR && (upstreamStatus == null || upstreamStatus.is5xxServerError());
+  }
+
+  /**
+   * 요청이 AI 서비스에 전달되기 전에 거절되었는지 (서킷 열림, 벌크헤드 가득 참) - 재시도 횟수를 소모하지 않는다
+   */
+  public boolean isRejected() {
+    return getErrorCode() == ErrorCode.AI_CIRCUIT_OPEN || getErrorCode() == ErrorCode.AI_SERVICE_BUSY;
+  }
+
+  private static boolean isTimeout(Throwable e) {
+    for (Throwable t = e; t != null; t = t.getCause()) {
+      if (t instanceof java.util.concurrent.TimeoutException || t instanceof TimeoutException) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
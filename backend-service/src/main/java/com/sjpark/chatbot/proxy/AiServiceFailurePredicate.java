@@ -0,0 +1,16 @@
+package com.sjpark.chatbot.proxy;
+
+import java.util.function.Predicate;
+
+/**
+ * 서킷 브레이커 실패 판정 (resilience4j record-failure-predicate)
+ * <p>
+ * WebClient 예외를 {@link AiApiException} 으로 분류한 뒤 AI 서비스 장애(연결 실패, 타임아웃, 5xx)만 실패로 센다.
+ */
+public class AiServiceFailurePredicate implements Predicate<Throwable> {
+
+  @Override
+  public boolean test(Throwable throwable) {
+    return AiApiException.from("circuitBreaker", throwable).isServiceFailure();
+  }
+}
@@ -0,0 +1,128 @@
+package com.sjpark.chatbot.proxy;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * AI 서비스 헬스 상태
+ * <p>
+ * 백그라운드에서 주기적으로 AI 서비스의 /health 를 호출해 결과를 보관하고, 헬스 API 와 Actuator 는 보관된 상태를
+ * 즉시 반환한다. 로드밸런서 프로브가 AI 서비스 부하가 되거나 AI 서비스 응답을 기다리며 멈추지 않도록 한다.
+ * <p>
+ * liveness/readiness 그룹에는 포함하지 않는다. AI 서비스 장애 중에도 백엔드는 문서 목록/대화 조회 등을 계속 제공하므로,
+ * 프로브는 /actuator/health/readiness 를 사용하고 이 지표는 모니터링용으로만 본다.
+ */
+@Slf4j
+@Component
+public class AiServiceHealthIndicator implements HealthIndicator {
+
+  private final AiApiClient aiApiClient;
+  private final AtomicReference<Snapshot> current = new AtomicReference<>(Snapshot.UNKNOWN);
+  private final AtomicBoolean probing = new AtomicBoolean();
+
+  @Value("${ai.health.timeout:2000}")
+  private long timeoutMillis;
+
+  @Value("${ai.health.failure-threshold:2}")
+  private int failureThreshold;
+
+  public AiServiceHealthIndicator(AiApiClient aiApiClient, MeterRegistry meterRegistry) {
+    this.aiApiClient = aiApiClient;
+
+    Gauge.builder("ai.health.status", current, ref -> ref.get().status() == Status.UP ? 1 : 0)
+        .description("AI 서비스 헬스 상태 (1: UP, 0: 그 외)")
+        .register(meterRegistry);
+    Gauge.builder("ai.health.latency", current, ref -> ref.get().latencyMillis())
+        .description("마지막 헬스 체크 응답 시간")
+        .baseUnit("milliseconds")
+        .register(meterRegistry);
+    Gauge.builder("ai.health.consecutive.failures", current, ref -> ref.get().consecutiveFailures())
+        .description("연속 헬스 체크 실패 횟수")
+        .register(meterRegistry);
+  }
+
+  /**
+   * 주기적 헬스 체크 - 이전 체크가 끝나지 않았으면 이번 주기는 건너뛴다
+   */
+  @Scheduled(initialDelayString = "${ai.health.initial-delay:0}", fixedDelayString = "${ai.health.interval:10000}")
+  public void probe() {
+    if (!probing.compareAndSet(false, true)) {
+      return;
+    }
+    refresh()
+        .doFinally(signal -> probing.set(false))
+        .subscribe();
+  }
+
+  /**
+   * AI 서비스 헬스 체크 후 상태 갱신
+   */
+  public Mono<Snapshot> refresh() {
+    return Mono.defer(() -> {
+      long startedAt = System.nanoTime();
+      return aiApiClient.healthCheckAsync()
+          .timeout(Duration.ofMillis(timeoutMillis), Mono.just(false))
+          .map(healthy -> update(healthy, Duration.ofNanos(System.nanoTime() - startedAt).toMillis()));
+    });
+  }
+
+  /**
+   * 마지막으로 확인한 상태
+   */
+  public Snapshot snapshot() {
+    return current.get();
+  }
+
+  @Override
+  public Health health() {
+    Snapshot snapshot = current.get();
+    Health.Builder builder = Health.status(snapshot.status())
+        .withDetail("consecutiveFailures", snapshot.consecutiveFailures());
+    if (snapshot.checkedAt() != null) {
+      builder.withDetail("latencyMs", snapshot.latencyMillis())
+          .withDetail("checkedAt", snapshot.checkedAt().toString());
+    }
+    if (snapshot.lastSuccessAt() != null) {
+      builder.withDetail("lastSuccessAt", snapshot.lastSuccessAt().toString());
+    }
+    return builder.build();
+  }
+
+  private Snapshot update(boolean healthy, long latencyMillis) {
+    LocalDateTime now = LocalDateTime.now();
+    Snapshot previous = current.get();
+
+    int failures = healthy ? 0 : previous.consecutiveFailures() + 1;
+    // 일시적인 실패로 상태가 흔들리지 않도록 연속 실패가 임계값에 도달해야 DOWN 으로 본다
+    Status status = healthy ? Status.UP
+        : failures >= failureThreshold ? Status.DOWN : previous.status();
+    Snapshot next = new Snapshot(status, latencyMillis, failures, now, healthy ? now : previous.lastSuccessAt());
+    current.set(next);
+
+    if (!status.equals(previous.status())) {
+      log.warn("AI 서비스 상태 변경 - {} -> {}, consecutiveFailures: {}", previous.status(), status, failures);
+    }
+    return next;
+  }
+
+  /**
+   * 헬스 체크 결과 (checkedAt 이 null 이면 아직 확인 전)
+   */
+  public record Snapshot(Status status, long latencyMillis, int consecutiveFailures,
+                         LocalDateTime checkedAt, LocalDateTime lastSuccessAt) {
+
+    static final Snapshot UNKNOWN = new Snapshot(Status.UNKNOWN, 0, 0, null, null);
+  }
+}
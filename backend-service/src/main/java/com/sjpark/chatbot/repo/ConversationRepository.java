@@ -1,5 +1,39 @@
 package com.sjpark.chatbot.repo;
 
-public interface ConversationRepository {
+import com.sjpark.chatbot.domain.Conversation;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
 
+/**
+ * 대화 목록은 (updated_at DESC, conversation_id DESC) 키셋 페이지네이션으로 조회한다.
+ * idx_conversations_user_updated 인덱스를 따라 읽으므로 페이지 위치와 관계없이 비용이 같다.
+ */
+@Repository
+public interface ConversationRepository extends JpaRepository<Conversation, Long> {
+
+  List<Conversation> findByUserIdOrderByUpdatedAtDescIdDesc(Long userId, Limit limit);
+
+  @Query("SELECT c FROM Conversation c " +
+      "WHERE c.user.id = :userId " +
+      "AND (c.updatedAt < :updatedAt OR (c.updatedAt = :updatedAt AND c.id < :id)) " +
+      "ORDER BY c.updatedAt DESC, c.id DESC")
+  List<Conversation> findPageAfter(@Param("userId") Long userId, @Param("updatedAt") LocalDateTime updatedAt,
+      @Param("id") Long id, Limit limit);
+
+  /**
+   * 누적 요약 갱신 - 요약 위치가 앞으로 나아갈 때만 반영하고, 대화 목록 순서(updated_at)는 바꾸지 않는다
+   */
+  @Modifying
+  @Query("UPDATE Conversation c SET c.summary = :summary, c.summaryTokenCount = :tokenCount, " +
+      "c.summaryUntilAt = :untilAt, c.summaryUntilId = :untilId " +
+      "WHERE c.id = :id AND (c.summaryUntilAt IS NULL OR c.summaryUntilAt < :untilAt " +
+      "OR (c.summaryUntilAt = :untilAt AND c.summaryUntilId < :untilId))")
+  int updateSummary(@Param("id") Long id, @Param("summary") String summary, @Param("tokenCount") Integer tokenCount,
+      @Param("untilAt") LocalDateTime untilAt, @Param("untilId") Long untilId);
 }
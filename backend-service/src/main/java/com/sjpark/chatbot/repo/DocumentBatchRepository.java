@@ -0,0 +1,102 @@
+package com.sjpark.chatbot.repo;
+
+import com.sjpark.chatbot.domain.Document.DocumentStatus;
+import com.sjpark.chatbot.domain.IngestionJob.JobStatus;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+/**
+ * 대량 업로드용 JDBC 배치 INSERT
+ * <p>
+ * IDENTITY 키 엔티티는 Hibernate 가 INSERT 를 배치로 묶지 못하므로, 문서와 인덱싱 작업을 JDBC 배치로 직접 저장하고
+ * 생성된 키를 한 번에 돌려받는다. 호출자의 트랜잭션에 참여한다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class DocumentBatchRepository {
+
+  private static final String INSERT_DOCUMENT = "INSERT INTO documents "
+      + "(namespace_id, user_id, filename, file_path, file_type, file_size, file_hash, status, created_at, updated_at) "
+      + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+  private static final String INSERT_INGESTION_JOB = "INSERT INTO ingestion_jobs "
+      + "(document_id, status, attempts, max_attempts, next_attempt_at, created_at, updated_at) "
+      + "VALUES (?, ?, 0, ?, ?, ?, ?)";
+
+  private final JdbcTemplate jdbcTemplate;
+
+  /**
+   * 문서 일괄 저장 (PENDING 상태)
+   *
+   * @return 입력 순서대로 생성된 문서 ID
+   */
+  public List<Long> insertDocuments(Long namespaceId, Long userId, List<NewDocument> documents) {
+    Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+    KeyHolder keyHolder = new GeneratedKeyHolder();
+
+    jdbcTemplate.batchUpdate(
+        connection -> connection.prepareStatement(INSERT_DOCUMENT, new String[]{"document_id"}),
+        new BatchPreparedStatementSetter() {
+          @Override
+          public void setValues(PreparedStatement ps, int i) throws SQLException {
+            NewDocument document = documents.get(i);
+            ps.setLong(1, namespaceId);
+            ps.setLong(2, userId);
+            ps.setString(3, document.filename());
+            ps.setString(4, document.filePath());
+            ps.setString(5, document.fileType());
+            ps.setLong(6, document.fileSize());
+            ps.setString(7, document.fileHash());
+            ps.setString(8, DocumentStatus.PENDING.name());
+            ps.setTimestamp(9, now);
+            ps.setTimestamp(10, now);
+          }
+
+          @Override
+          public int getBatchSize() {
+            return documents.size();
+          }
+        },
+        keyHolder);
+
+    return keyHolder.getKeyList().stream()
+        .map(keys -> ((Number) firstKey(keys)).longValue())
+        .toList();
+  }
+
+  /**
+   * 인덱싱 작업 일괄 등록 (즉시 처리 가능 상태)
+   */
+  public void insertIngestionJobs(List<Long> documentIds, int maxAttempts) {
+    Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+    jdbcTemplate.batchUpdate(INSERT_INGESTION_JOB, documentIds, documentIds.size(), (ps, documentId) -> {
+      ps.setLong(1, documentId);
+      ps.setString(2, JobStatus.QUEUED.name());
+      ps.setInt(3, maxAttempts);
+      ps.setTimestamp(4, now);
+      ps.setTimestamp(5, now);
+      ps.setTimestamp(6, now);
+    });
+  }
+
+  private Object firstKey(Map<String, Object> keys) {
+    Object key = keys.get("document_id");
+    return key != null ? key : keys.values().iterator().next();
+  }
+
+  /**
+   * 저장할 문서 정보
+   */
+  public record NewDocument(String filename, String filePath, String fileType, long fileSize, String fileHash) {
+  }
+}
@@ -2,14 +2,72 @@ package com.sjpark.chatbot.repo;
 
 import com.sjpark.chatbot.domain.Document;
 import com.sjpark.chatbot.domain.Namespace;
+import com.sjpark.chatbot.dto.DocumentQueryResponse;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface DocumentRepository extends JpaRepository<Document, Long> {
   List<Document> findByNamespace(Namespace namespace);
-  List<Document> findByStatus(Document.DocumentStatus status);
-  List<Document> findByUserIdAndNamespaceId(Long userId, Long namespaceId);
+
+  /**
+   * 상태 동기화 대상 - afterId 다음 문서부터 ID 순으로 limit 건만 조회 (키셋 페이지)
+   */
+  List<Document> findByStatusAndIdGreaterThanOrderByIdAsc(Document.DocumentStatus status, Long afterId, Limit limit);
+
+  long countByStatus(Document.DocumentStatus status);
+
+  @Query("SELECT MIN(d.updatedAt) FROM Document d WHERE d.status = :status")
+  LocalDateTime findOldestUpdatedAtByStatus(@Param("status") Document.DocumentStatus status);
+
+  /**
+   * 문서 목록 - 목록에 표시할 컬럼만 조회 (metadata 등 엔티티 전체를 로딩하지 않음)
+   */
+  @Query("SELECT new com.sjpark.chatbot.dto.DocumentQueryResponse(" +
+      "d.id, d.filename, d.fileType, d.fileSize, d.createdAt, d.namespace.id) " +
+      "FROM Document d " +
+      "WHERE d.user.id = :userId AND d.namespace.id = :namespaceId")
+  List<DocumentQueryResponse> findListByUserIdAndNamespaceId(@Param("userId") Long userId,
+      @Param("namespaceId") Long namespaceId);
   boolean existsByFileHashAndNamespaceId(String fileHash, Long namespaceId);
+
+  @Query("SELECT d.fileHash FROM Document d WHERE d.namespace.id = :namespaceId AND d.fileHash IN :fileHashes")
+  Set<String> findExistingFileHashes(@Param("namespaceId") Long namespaceId,
+      @Param("fileHashes") Collection<String> fileHashes);
+
+  /**
+   * 보관함의 문서 일괄 삭제 (DELETE 한 번)
+   */
+  @Modifying
+  @Query("DELETE FROM Document d WHERE d.namespace.id = :namespaceId")
+  int deleteByNamespaceIdInBulk(@Param("namespaceId") Long namespaceId);
+
+  /**
+   * 보관함의 문서 ID (BM25 색인 재조정용)
+   */
+  @Query("SELECT d.id FROM Document d WHERE d.namespace.id = :namespaceId")
+  List<Long> findIdsByNamespaceId(@Param("namespaceId") Long namespaceId);
+
+  @Query("SELECT d.id FROM Document d WHERE d.namespace.id = :namespaceId AND d.status = :status")
+  List<Long> findIdsByNamespaceIdAndStatus(@Param("namespaceId") Long namespaceId,
+      @Param("status") Document.DocumentStatus status);
+
+  /**
+   * 보관함에 남아 있는 문서의 파일명 (검색 결과 표시용, 파일명 컬럼만 조회)
+   */
+  List<DocumentFilename> findByNamespaceIdAndIdIn(Long namespaceId, Collection<Long> ids);
+
+  interface DocumentFilename {
+    Long getId();
+
+    String getFilename();
+  }
 }
@@ -0,0 +1,68 @@
+package com.sjpark.chatbot.repo;
+
+import com.sjpark.chatbot.domain.FileBlob;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface FileBlobRepository extends JpaRepository<FileBlob, String> {
+
+  /**
+   * blob 행이 없을 때만 생성 (동시 업로드 시 먼저 들어온 행 유지) - 같은 키를 넣는 중인 트랜잭션이 있으면 끝날 때까지 대기
+   */
+  @Modifying
+  @Query(value = "INSERT INTO file_blobs (file_hash, storage_path, file_size, ref_count, created_at, updated_at) "
+      + "VALUES (:hash, :storagePath, :fileSize, 0, :now, :now) "
+      + "ON CONFLICT DO NOTHING", nativeQuery = true)
+  int insertIfAbsent(@Param("hash") String hash, @Param("storagePath") String storagePath,
+      @Param("fileSize") long fileSize, @Param("now") LocalDateTime now);
+
+  @Modifying
+  @Query("UPDATE FileBlob b SET b.refCount = b.refCount + :delta, b.updatedAt = :now WHERE b.hash IN :hashes")
+  int adjustRefCount(@Param("hashes") Collection<String> hashes, @Param("delta") long delta,
+      @Param("now") LocalDateTime now);
+
+  @Query("SELECT b FROM FileBlob b WHERE b.hash IN :hashes AND b.refCount <= 0")
+  List<FileBlob> findUnreferenced(@Param("hashes") Collection<String> hashes);
+
+  @Modifying
+  @Query("DELETE FROM FileBlob b WHERE b.hash IN :hashes AND b.refCount <= 0")
+  int deleteUnreferenced(@Param("hashes") Collection<String> hashes);
+
+  /**
+   * 보관함 문서들의 blob 참조 일괄 해제 - 보관함 안에서 파일 해시는 유일하므로(namespace_id, file_hash) 1 씩 감소
+   */
+  @Modifying
+  @Query("UPDATE FileBlob b SET b.refCount = b.refCount - 1, b.updatedAt = :now WHERE b.hash IN "
+      + "(SELECT d.fileHash FROM Document d WHERE d.namespace.id = :namespaceId)")
+  int releaseByNamespaceId(@Param("namespaceId") Long namespaceId, @Param("now") LocalDateTime now);
+
+  /**
+   * 보관함 문서들이 마지막 참조였던 blob 에 삭제 작업 표시 (파일은 백그라운드에서 정리)
+   */
+  @Modifying
+  @Query("UPDATE FileBlob b SET b.deletionId = :deletionId WHERE b.refCount <= 0 AND b.hash IN "
+      + "(SELECT d.fileHash FROM Document d WHERE d.namespace.id = :namespaceId)")
+  int markUnreferencedByNamespaceId(@Param("namespaceId") Long namespaceId, @Param("deletionId") Long deletionId);
+
+  /**
+   * 삭제 작업이 정리할 blob 잠금 (그 사이 다시 참조된 blob 은 제외) - 잠금을 기다린 뒤 조건을 다시 확인하므로
+   * 동시에 참조를 늘린 업로드가 커밋하면 대상에서 빠진다
+   */
+  @Query(value = "SELECT * FROM file_blobs "
+      + "WHERE deletion_id = :deletionId AND ref_count <= 0 "
+      + "ORDER BY file_hash "
+      + "LIMIT :limit "
+      + "FOR UPDATE", nativeQuery = true)
+  List<FileBlob> lockUnreferencedByDeletionId(@Param("deletionId") Long deletionId, @Param("limit") int limit);
+
+  @Query("SELECT b.hash FROM FileBlob b WHERE b.hash IN :hashes")
+  Set<String> findExistingHashes(@Param("hashes") Collection<String> hashes);
+}
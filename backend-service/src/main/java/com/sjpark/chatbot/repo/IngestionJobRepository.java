@@ -0,0 +1,37 @@
+package com.sjpark.chatbot.repo;
+
+import com.sjpark.chatbot.domain.IngestionJob;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface IngestionJobRepository extends JpaRepository<IngestionJob, Long> {
+
+  /**
+   * 처리 가능한 작업 점유 (다른 노드가 잠근 행은 건너뜀)
+   * <p>
+   * 대기 중이면서 재시도 시각이 지난 작업과, 점유 후 lockTimeout 이 지나도록 끝나지 않은 작업(노드 장애)을 대상으로 한다.
+   */
+  @Query(value = "SELECT * FROM ingestion_jobs " +
+      "WHERE (status = 'QUEUED' AND next_attempt_at <= :now) " +
+      "OR (status = 'RUNNING' AND locked_at < :staleBefore) " +
+      "ORDER BY next_attempt_at " +
+      "LIMIT :limit " +
+      "FOR UPDATE SKIP LOCKED", nativeQuery = true)
+  List<IngestionJob> findClaimable(@Param("now") LocalDateTime now,
+      @Param("staleBefore") LocalDateTime staleBefore,
+      @Param("limit") int limit);
+
+  /**
+   * 보관함 문서들의 인덱싱 작업 일괄 삭제 (문서 삭제 전에 실행)
+   */
+  @Modifying
+  @Query("DELETE FROM IngestionJob j WHERE j.document.id IN "
+      + "(SELECT d.id FROM Document d WHERE d.namespace.id = :namespaceId)")
+  int deleteByNamespaceIdInBulk(@Param("namespaceId") Long namespaceId);
+}
@@ -0,0 +1,116 @@
+package com.sjpark.chatbot.repo;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sjpark.chatbot.domain.Message;
+import com.sjpark.chatbot.domain.Message.MessageRole;
+import java.math.BigDecimal;
+import java.sql.DatabaseMetaData;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * 대화 메시지 JDBC 배치 INSERT
+ * <p>
+ * 메시지 ID 는 {@link Message#ID_SEQUENCE} 에서 블록 단위로 미리 받아 두므로 INSERT 를 배치로 묶을 수 있다.
+ * 시퀀스 값 하나가 [값, 값 + ID_ALLOCATION_SIZE) 범위를 나타낸다 (Hibernate pooled-lo 와 같은 해석).
+ * 호출자의 트랜잭션에 참여한다.
+ */
+@Repository
+public class MessageBatchRepository {
+
+  private static final String INSERT_MESSAGE = "INSERT INTO messages "
+      + "(message_id, conversation_id, role, content, citations, confidence, token_count, created_at) "
+      + "VALUES (?, ?, ?, ?, %s, ?, ?, ?)";
+
+  private static final String TOUCH_CONVERSATION = "UPDATE conversations SET updated_at = ? "
+      + "WHERE conversation_id = ? AND (updated_at IS NULL OR updated_at < ?)";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final ObjectMapper objectMapper;
+  private final String insertMessage;
+
+  public MessageBatchRepository(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.objectMapper = objectMapper;
+    // jsonb 파라미터 표기가 DB 마다 달라 연결 정보로 고른다 (PostgreSQL: 캐스트, H2: FORMAT JSON)
+    String product = jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+      DatabaseMetaData metaData = connection.getMetaData();
+      return metaData.getDatabaseProductName();
+    });
+    boolean postgres = product != null && product.toLowerCase().contains("postgres");
+    this.insertMessage = INSERT_MESSAGE.formatted(postgres ? "CAST(? AS jsonb)" : "? FORMAT JSON");
+  }
+
+  /**
+   * 메시지 ID 블록 할당
+   *
+   * @return 블록의 첫 ID (ID_ALLOCATION_SIZE 개 사용 가능)
+   */
+  public long allocateIdBlock() {
+    return jdbcTemplate.queryForObject("SELECT nextval('" + Message.ID_SEQUENCE + "')", Long.class);
+  }
+
+  /**
+   * 메시지 일괄 저장
+   */
+  public void insertMessages(List<NewMessage> messages) {
+    jdbcTemplate.batchUpdate(insertMessage, messages, messages.size(), (ps, message) -> {
+      ps.setLong(1, message.id());
+      ps.setLong(2, message.conversationId());
+      ps.setString(3, message.role().name());
+      ps.setString(4, message.content());
+      String citations = toJson(message.citations());
+      if (citations != null) {
+        ps.setString(5, citations);
+      } else {
+        ps.setNull(5, Types.VARCHAR);
+      }
+      ps.setBigDecimal(6, message.confidence());
+      if (message.tokenCount() != null) {
+        ps.setInt(7, message.tokenCount());
+      } else {
+        ps.setNull(7, Types.INTEGER);
+      }
+      ps.setTimestamp(8, Timestamp.valueOf(message.createdAt()));
+    });
+  }
+
+  /**
+   * 대화별 마지막 메시지 시각으로 updated_at 갱신 (더 최신 값이 이미 있으면 유지)
+   */
+  public void touchConversations(Map<Long, LocalDateTime> updatedAtByConversation) {
+    List<Map.Entry<Long, LocalDateTime>> rows = List.copyOf(updatedAtByConversation.entrySet());
+    jdbcTemplate.batchUpdate(TOUCH_CONVERSATION, rows, rows.size(), (ps, row) -> {
+      Timestamp updatedAt = Timestamp.valueOf(row.getValue());
+      ps.setTimestamp(1, updatedAt);
+      ps.setLong(2, row.getKey());
+      ps.setTimestamp(3, updatedAt);
+    });
+  }
+
+  private String toJson(List<Map<String, Object>> citations) {
+    if (citations == null) {
+      return null;
+    }
+    try {
+      return objectMapper.writeValueAsString(citations);
+    } catch (JsonProcessingException e) {
+      throw new IllegalArgumentException("citations 직렬화 실패", e);
+    }
+  }
+
+  /**
+   * 저장할 메시지 (ID, 토큰 수, 생성 시각은 큐에 넣을 때 확정, 토큰 수는 정확히 셀 수 없으면 null)
+   */
+  public record NewMessage(long id, Long conversationId, MessageRole role, String content,
+                           List<Map<String, Object>> citations, BigDecimal confidence, Integer tokenCount,
+                           LocalDateTime createdAt) {
+  }
+}
@@ -1,5 +1,48 @@
 package com.sjpark.chatbot.repo;
 
-public interface MessageRepository {
+import com.sjpark.chatbot.domain.Message;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
 
+/**
+ * 메시지는 최신순 (created_at DESC, message_id DESC) 키셋 페이지네이션으로 조회한다.
+ * idx_messages_conversation_created 인덱스를 역방향으로 읽는다.
+ */
+@Repository
+public interface MessageRepository extends JpaRepository<Message, Long> {
+  List<Message> findByConversationIdOrderByCreatedAtDescIdDesc(Long conversationId, Limit limit);
+
+  @Query("SELECT m FROM Message m " +
+      "WHERE m.conversation.id = :conversationId " +
+      "AND (m.createdAt < :createdAt OR (m.createdAt = :createdAt AND m.id < :id)) " +
+      "ORDER BY m.createdAt DESC, m.id DESC")
+  List<Message> findPageBefore(@Param("conversationId") Long conversationId,
+      @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Limit limit);
+
+  /**
+   * 요약 이후의 최근 메시지 (최신순)
+   */
+  @Query("SELECT m FROM Message m " +
+      "WHERE m.conversation.id = :conversationId " +
+      "AND (m.createdAt > :createdAt OR (m.createdAt = :createdAt AND m.id > :id)) " +
+      "ORDER BY m.createdAt DESC, m.id DESC")
+  List<Message> findRecentAfter(@Param("conversationId") Long conversationId,
+      @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Limit limit);
+
+  /**
+   * (after, before) 구간의 메시지 (시간순) - 요약 대상 조회
+   */
+  @Query("SELECT m FROM Message m " +
+      "WHERE m.conversation.id = :conversationId " +
+      "AND (m.createdAt > :afterAt OR (m.createdAt = :afterAt AND m.id > :afterId)) " +
+      "AND (m.createdAt < :beforeAt OR (m.createdAt = :beforeAt AND m.id < :beforeId)) " +
+      "ORDER BY m.createdAt ASC, m.id ASC")
+  List<Message> findBetween(@Param("conversationId") Long conversationId,
+      @Param("afterAt") LocalDateTime afterAt, @Param("afterId") Long afterId,
+      @Param("beforeAt") LocalDateTime beforeAt, @Param("beforeId") Long beforeId, Limit limit);
 }
@@ -0,0 +1,36 @@
+package com.sjpark.chatbot.repo;
+
+import com.sjpark.chatbot.domain.NamespaceDeletion;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface NamespaceDeletionRepository extends JpaRepository<NamespaceDeletion, Long> {
+
+  /**
+   * 정리할 삭제 작업 점유 (다른 노드가 잠근 행은 건너뜀)
+   * <p>
+   * 재시도 시각이 지난 대기 작업과, 점유 후 lockTimeout 이 지나도록 진행이 없는 작업(노드 장애)을 대상으로 한다.
+   */
+  @Query(value = "SELECT * FROM namespace_deletions " +
+      "WHERE status = 'RECLAIMING' " +
+      "AND ((locked_by IS NULL AND next_attempt_at <= :now) OR locked_at < :staleBefore) " +
+      "ORDER BY next_attempt_at " +
+      "LIMIT :limit " +
+      "FOR UPDATE SKIP LOCKED", nativeQuery = true)
+  List<NamespaceDeletion> findClaimable(@Param("now") LocalDateTime now,
+      @Param("staleBefore") LocalDateTime staleBefore,
+      @Param("limit") int limit);
+
+  Optional<NamespaceDeletion> findByIdAndUserId(Long id, Long userId);
+
+  /**
+   * 아직 ChromaDB 컬렉션을 지우지 못한 삭제 작업이 있는지 (같은 이름으로 다시 만들면 정리 작업이 새 컬렉션을 지우게 됨)
+   */
+  boolean existsByChromaCollectionNameAndCollectionDeletedFalse(String chromaCollectionName);
+}
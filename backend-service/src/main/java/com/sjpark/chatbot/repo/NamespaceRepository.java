@@ -1,10 +1,16 @@
 package com.sjpark.chatbot.repo;
 
+import com.sjpark.chatbot.domain.Document.DocumentStatus;
 import com.sjpark.chatbot.domain.Namespace;
 import com.sjpark.chatbot.domain.User;
 import com.sjpark.chatbot.dto.NamespaceWithTotalCnt;
+import jakarta.persistence.LockModeType;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -12,11 +18,68 @@ public interface NamespaceRepository extends JpaRepository<Namespace,Long> {
   List<Namespace> findByUser(User user);
   boolean existsByUserAndName(User user, String name);
 
-  @Query("SELECT new com.sjpark.chatbot.dto.NamespaceWithTotalCnt(n, COUNT(d)) " +
+  /**
+   * 목록에 표시할 컬럼만 조회 - 문서 수는 집계 컬럼(document_count)에서 읽으므로 documents 테이블을 조인하지 않는다
+   */
+  @Query("SELECT new com.sjpark.chatbot.dto.NamespaceWithTotalCnt(" +
+      "n.id, n.name, n.description, n.createdAt, n.documentCount) " +
       "FROM Namespace n " +
-      "LEFT JOIN n.documents d " +
-      "WHERE n.user = :user " +
-      "GROUP BY n " +
+      "WHERE n.user.id = :userId " +
       "ORDER BY n.createdAt DESC")
-  List<NamespaceWithTotalCnt> findByUserWithDocumentTotalCnt(@Param("user") User user);
+  List<NamespaceWithTotalCnt> findListByUserId(@Param("userId") Long userId);
+
+  /**
+   * 문서 집계 증감 - 행 잠금 하나로 끝나는 단일 UPDATE
+   */
+  @Modifying
+  @Query("UPDATE Namespace n SET " +
+      "n.documentCount = n.documentCount + :documents, " +
+      "n.totalBytes = n.totalBytes + :bytes, " +
+      "n.pendingCount = n.pendingCount + :pending, " +
+      "n.processingCount = n.processingCount + :processing, " +
+      "n.completedCount = n.completedCount + :completed, " +
+      "n.failedCount = n.failedCount + :failed " +
+      "WHERE n.id = :namespaceId")
+  int applyCounterDelta(@Param("namespaceId") Long namespaceId, @Param("documents") long documents,
+      @Param("bytes") long bytes, @Param("pending") long pending, @Param("processing") long processing,
+      @Param("completed") long completed, @Param("failed") long failed);
+
+  @Query("SELECT n.id FROM Namespace n")
+  List<Long> findAllIds();
+
+  /**
+   * 보관함 행 잠금 (SELECT ... FOR UPDATE) - 집계 재계산 중 증감 UPDATE 를 대기시킨다
+   */
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("SELECT n FROM Namespace n WHERE n.id = :namespaceId")
+  Optional<Namespace> findForUpdateById(@Param("namespaceId") Long namespaceId);
+
+  /**
+   * 문서 집계 재계산 (documents 테이블 기준) - 보관함 행 잠금을 잡은 트랜잭션에서 호출
+   */
+  @Modifying
+  @Query("UPDATE Namespace n SET " +
+      "n.documentCount = (SELECT COUNT(d) FROM Document d WHERE d.namespace = n), " +
+      "n.totalBytes = (SELECT COALESCE(SUM(d.fileSize), 0) FROM Document d WHERE d.namespace = n), " +
+      "n.pendingCount = (SELECT COUNT(d) FROM Document d WHERE d.namespace = n AND d.status = :pending), " +
+      "n.processingCount = (SELECT COUNT(d) FROM Document d WHERE d.namespace = n AND d.status = :processing), " +
+      "n.completedCount = (SELECT COUNT(d) FROM Document d WHERE d.namespace = n AND d.status = :completed), " +
+      "n.failedCount = (SELECT COUNT(d) FROM Document d WHERE d.namespace = n AND d.status = :failed) " +
+      "WHERE n.id = :namespaceId")
+  int recalculateCounters(@Param("namespaceId") Long namespaceId, @Param("pending") DocumentStatus pending, @Param("processing") DocumentStatus processing,
+      @Param("completed") DocumentStatus completed, @Param("failed") DocumentStatus failed);
+
+  /**
+   * 문서 구성 변경 시 콘텐츠 버전 증가 (답변 캐시 무효화)
+   */
+  @Modifying
+  @Query("UPDATE Namespace n SET n.contentVersion = n.contentVersion + 1 WHERE n.id IN :namespaceIds")
+  int incrementContentVersion(@Param("namespaceIds") Collection<Long> namespaceIds);
+
+  /**
+   * 보관함 행 삭제 - 하위 문서를 엔티티로 로딩해 한 건씩 지우는 cascade 를 거치지 않는다 (문서는 먼저 집합 단위로 삭제)
+   */
+  @Modifying
+  @Query("DELETE FROM Namespace n WHERE n.id = :namespaceId")
+  int deleteByIdInBulk(@Param("namespaceId") Long namespaceId);
 }
@@ -0,0 +1,12 @@
+package com.sjpark.chatbot.search;
+
+/**
+ * 세그먼트에 저장되는 청크
+ *
+ * @param ordinal    보관함 안에서 단조 증가하는 청크 번호 (삭제 표시 기준)
+ * @param documentId 문서 ID
+ * @param page       페이지 (0부터)
+ * @param text       청크 원문
+ */
+record IndexedChunk(int ordinal, long documentId, int page, String text) {
+}
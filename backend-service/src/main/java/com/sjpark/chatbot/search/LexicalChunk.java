@@ -0,0 +1,10 @@
+package com.sjpark.chatbot.search;
+
+/**
+ * 색인할 청크
+ *
+ * @param page 페이지 (0부터)
+ * @param text 청크 원문
+ */
+public record LexicalChunk(int page, String text) {
+}
@@ -0,0 +1,7 @@
+package com.sjpark.chatbot.search;
+
+/**
+ * BM25 검색 결과
+ */
+public record LexicalHit(long documentId, int page, String text, double score) {
+}
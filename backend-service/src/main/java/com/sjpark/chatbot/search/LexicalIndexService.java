@@ -0,0 +1,315 @@
+package com.sjpark.chatbot.search;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 보관함별 BM25 어휘 색인 관리
+ * <p>
+ * 색인은 {dir}/{namespaceId}/ 아래 세그먼트 파일과 매니페스트로 저장되고, 처음 사용할 때 메모리 매핑으로 연다.
+ * 어휘 검색은 AI 서비스(임베딩)를 거치지 않으므로 제품 코드, 증권 번호, 고유명사처럼 정확히 일치해야 하는 질의에 쓴다.
+ * <p>
+ * 색인 디렉터리는 모든 백엔드 노드가 공유하고(업로드 디렉터리와 같은 공유 스토리지), 쓰기는 한 노드만 한다. 시작할 때
+ * {dir}/indexer.lock 의 배타적 파일 잠금을 얻은 노드가 색인 노드가 되고, 나머지 노드는 읽기 전용으로 열어 매니페스트
+ * 세대가 바뀌면 refresh-interval 마다 다시 연다. 색인 노드가 아닌 노드에서 처리된 문서는
+ * {@code LexicalIndexReconciler} 가 DB 와 비교해 채운다.
+ */
+@Slf4j
+@Component
+public class LexicalIndexService {
+
+  private static final String LOCK_FILE = "indexer.lock";
+  private static final String REBUILD_REQUESTS = "rebuild-requests";
+
+  private final Map<Long, OpenIndex> indexes = new ConcurrentHashMap<>();
+  private final Path directory;
+  private final boolean enabled;
+  private final boolean indexerEnabled;
+  private final int maxSegments;
+  private final int mergeFactor;
+  private final long refreshIntervalMillis;
+  private final Timer searchTimer;
+
+  private FileChannel lockChannel;
+  private FileLock indexerLock;
+
+  public LexicalIndexService(MeterRegistry meterRegistry,
+      @Value("${search.lexical.enabled:true}") boolean enabled,
+      @Value("${search.lexical.dir:${file.upload.dir}/lexical}") String directory,
+      @Value("${search.lexical.indexer.enabled:true}") boolean indexerEnabled,
+      @Value("${search.lexical.max-segments:16}") int maxSegments,
+      @Value("${search.lexical.merge-factor:8}") int mergeFactor,
+      @Value("${search.lexical.refresh-interval:1000}") long refreshIntervalMillis) {
+    this.enabled = enabled;
+    this.directory = Paths.get(directory);
+    this.indexerEnabled = indexerEnabled;
+    this.maxSegments = maxSegments;
+    this.mergeFactor = Math.max(2, mergeFactor);
+    this.refreshIntervalMillis = refreshIntervalMillis;
+    this.searchTimer = Timer.builder("search.lexical.duration")
+        .description("BM25 어휘 검색 소요 시간")
+        .publishPercentileHistogram()
+        .register(meterRegistry);
+  }
+
+  /**
+   * 색인 노드 선출 - 공유 디렉터리의 잠금 파일을 배타적으로 잠근 노드만 색인을 쓴다
+   */
+  @PostConstruct
+  void acquireIndexerLock() {
+    if (!enabled || !indexerEnabled) {
+      log.info("BM25 색인 읽기 전용 모드 - dir: {}", directory);
+      return;
+    }
+    try {
+      Files.createDirectories(directory);
+      lockChannel = FileChannel.open(directory.resolve(LOCK_FILE), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+      indexerLock = lockChannel.tryLock();
+    } catch (IOException | OverlappingFileLockException e) {
+      log.warn("BM25 색인 잠금 획득 실패 - dir: {}, error: {}", directory, e.getMessage());
+    }
+    if (indexerLock == null) {
+      closeLockChannel();
+      log.warn("BM25 색인 노드가 이미 있습니다. 이 노드는 읽기 전용으로 동작합니다 - dir: {}", directory);
+    } else {
+      log.info("BM25 색인 노드로 시작 - dir: {}", directory);
+    }
+  }
+
+  @PreDestroy
+  void releaseIndexerLock() {
+    try {
+      if (indexerLock != null) {
+        indexerLock.release();
+      }
+    } catch (IOException e) {
+      log.warn("BM25 색인 잠금 해제 실패 - error: {}", e.getMessage());
+    }
+    closeLockChannel();
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * 이 노드가 색인을 쓰는 노드인지
+   */
+  public boolean isIndexer() {
+    return enabled && indexerLock != null;
+  }
+
+  /**
+   * 문서 청크 색인 (재색인이면 이전 청크를 대체) - 색인 노드에서만 호출
+   */
+  public void addDocument(Long namespaceId, Long documentId, List<LexicalChunk> chunks) {
+    if (!enabled) {
+      return;
+    }
+    requireIndexer();
+    try {
+      index(namespaceId).addDocument(documentId, chunks);
+      log.debug("BM25 색인 완료 - namespaceId: {}, documentId: {}, chunks: {}", namespaceId, documentId, chunks.size());
+    } catch (IOException e) {
+      throw new UncheckedIOException("BM25 색인 실패 - namespaceId: " + namespaceId + ", documentId: " + documentId, e);
+    }
+  }
+
+  /**
+   * 문서 삭제 - 색인 노드에서만 호출
+   */
+  public void deleteDocument(Long namespaceId, Long documentId) {
+    if (!enabled) {
+      return;
+    }
+    requireIndexer();
+    try {
+      index(namespaceId).deleteDocument(documentId);
+    } catch (IOException e) {
+      throw new UncheckedIOException("BM25 문서 삭제 실패 - namespaceId: " + namespaceId + ", documentId: " + documentId, e);
+    }
+  }
+
+  /**
+   * 보관함 색인 전체 삭제 - 색인 노드가 아니면 아무것도 하지 않는다 (색인 노드의 재조정이 정리)
+   */
+  public void dropNamespace(Long namespaceId) {
+    if (!isIndexer()) {
+      indexes.remove(namespaceId);
+      return;
+    }
+    OpenIndex open = indexes.remove(namespaceId);
+    Path namespaceDirectory = directory.resolve(namespaceId.toString());
+    try {
+      if (open != null) {
+        open.index().drop();
+      } else if (Files.isDirectory(namespaceDirectory)) {
+        NamespaceLexicalIndex.open(namespaceDirectory, true, maxSegments, mergeFactor).drop();
+      }
+      Files.deleteIfExists(rebuildRequest(namespaceId));
+      log.info("BM25 색인 삭제 완료 - namespaceId: {}", namespaceId);
+    } catch (IOException e) {
+      log.warn("BM25 색인 삭제 실패 - namespaceId: {}, error: {}", namespaceId, e.getMessage());
+    }
+  }
+
+  /**
+   * 보관함 색인 비우기 (재구축 시작) - 색인 노드에서만 호출
+   */
+  public void clear(Long namespaceId) {
+    requireIndexer();
+    try {
+      index(namespaceId).clear();
+      log.info("BM25 색인 초기화 - namespaceId: {}", namespaceId);
+    } catch (IOException e) {
+      throw new UncheckedIOException("BM25 색인 초기화 실패 - namespaceId: " + namespaceId, e);
+    }
+  }
+
+  /**
+   * 재구축 요청 기록 - 어느 노드에서든 호출할 수 있고, 색인 노드의 재조정이 처리한다
+   */
+  public void requestRebuild(Long namespaceId) {
+    if (!enabled) {
+      return;
+    }
+    try {
+      Files.createDirectories(directory.resolve(REBUILD_REQUESTS));
+      Files.writeString(rebuildRequest(namespaceId), Long.toString(System.currentTimeMillis()));
+      log.info("BM25 색인 재구축 요청 - namespaceId: {}", namespaceId);
+    } catch (IOException e) {
+      throw new UncheckedIOException("BM25 색인 재구축 요청 실패 - namespaceId: " + namespaceId, e);
+    }
+  }
+
+  /**
+   * 재구축 요청이 있으면 제거하고 true
+   */
+  public boolean consumeRebuildRequest(Long namespaceId) {
+    try {
+      return Files.deleteIfExists(rebuildRequest(namespaceId));
+    } catch (IOException e) {
+      log.warn("BM25 색인 재구축 요청 확인 실패 - namespaceId: {}, error: {}", namespaceId, e.getMessage());
+      return false;
+    }
+  }
+
+  /**
+   * 디스크에 색인이 있는 보관함 ID
+   */
+  public List<Long> namespaceIds() {
+    if (!Files.isDirectory(directory)) {
+      return List.of();
+    }
+    List<Long> namespaceIds = new ArrayList<>();
+    try (Stream<Path> entries = Files.list(directory)) {
+      for (Path entry : entries.filter(Files::isDirectory).toList()) {
+        try {
+          namespaceIds.add(Long.parseLong(entry.getFileName().toString()));
+        } catch (NumberFormatException ignored) {
+          // rebuild-requests 등 보관함이 아닌 디렉터리
+        }
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException("BM25 색인 디렉터리를 읽을 수 없습니다: " + directory, e);
+    }
+    return namespaceIds;
+  }
+
+  /**
+   * 보관함 색인에 들어 있는 문서 ID
+   */
+  public Set<Long> documentIds(Long namespaceId) {
+    if (!enabled) {
+      return Set.of();
+    }
+    return index(namespaceId).documentIds();
+  }
+
+  /**
+   * BM25 상위 topK 청크 (점수 내림차순)
+   */
+  public List<LexicalHit> search(Long namespaceId, String query, int topK) {
+    if (!enabled) {
+      return List.of();
+    }
+    return searchTimer.record(() -> index(namespaceId).search(query, topK));
+  }
+
+  /**
+   * 열린 색인 - 읽기 노드는 refresh-interval 이 지났을 때 매니페스트 세대를 확인해 바뀌었으면 다시 연다
+   */
+  private NamespaceLexicalIndex index(Long namespaceId) {
+    OpenIndex open = indexes.computeIfAbsent(namespaceId, this::open);
+    if (isIndexer() || System.currentTimeMillis() - open.checkedAt() < refreshIntervalMillis) {
+      return open.index();
+    }
+
+    Path namespaceDirectory = directory.resolve(namespaceId.toString());
+    OpenIndex refreshed;
+    try {
+      long generation = NamespaceLexicalIndex.readGeneration(namespaceDirectory);
+      refreshed = generation == open.index().generation()
+          ? new OpenIndex(open.index(), System.currentTimeMillis())
+          : open(namespaceId);
+    } catch (IOException | UncheckedIOException e) {
+      // 색인 노드가 병합 중 파일을 지운 경우 등 - 다음 확인까지 이전 스냅샷으로 검색
+      log.debug("BM25 색인 갱신 실패 - namespaceId: {}, error: {}", namespaceId, e.getMessage());
+      refreshed = new OpenIndex(open.index(), System.currentTimeMillis());
+    }
+    indexes.replace(namespaceId, open, refreshed);
+    return refreshed.index();
+  }
+
+  private OpenIndex open(Long namespaceId) {
+    try {
+      return new OpenIndex(NamespaceLexicalIndex.open(directory.resolve(namespaceId.toString()), isIndexer(),
+          maxSegments, mergeFactor), System.currentTimeMillis());
+    } catch (IOException e) {
+      throw new UncheckedIOException("BM25 색인을 열 수 없습니다 - namespaceId: " + namespaceId, e);
+    }
+  }
+
+  private Path rebuildRequest(Long namespaceId) {
+    return directory.resolve(REBUILD_REQUESTS).resolve(namespaceId.toString());
+  }
+
+  private void requireIndexer() {
+    if (!isIndexer()) {
+      throw new IllegalStateException("BM25 색인 노드가 아닙니다 - 색인은 잠금을 가진 노드만 쓸 수 있습니다.");
+    }
+  }
+
+  private void closeLockChannel() {
+    try {
+      if (lockChannel != null) {
+        lockChannel.close();
+      }
+    } catch (IOException e) {
+      log.warn("BM25 색인 잠금 파일 닫기 실패 - error: {}", e.getMessage());
+    }
+  }
+
+  private record OpenIndex(NamespaceLexicalIndex index, long checkedAt) {
+  }
+}
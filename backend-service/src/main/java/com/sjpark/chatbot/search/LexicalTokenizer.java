@@ -0,0 +1,96 @@
+package com.sjpark.chatbot.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * BM25 색인/검색용 토크나이저
+ * <p>
+ * NFKC 정규화 후 소문자로 바꾸고 글자/숫자 연속 구간을 토큰으로 나눈다. 구간 안의 '-', '_', '.', '/' 는 제품 코드나
+ * 증권 번호(AB-1234, 2024.03)를 한 토큰으로 유지하기 위해 남기고, 각 부분도 별도 토큰으로 낸다.
+ * 한글 구간은 형태소 분석 없이 조사가 붙은 고유명사(삼성전자가)도 맞출 수 있도록 음절 bigram 으로 색인한다.
+ */
+public final class LexicalTokenizer {
+
+  private LexicalTokenizer() {
+  }
+
+  public static List<String> tokenize(String text) {
+    List<String> tokens = new ArrayList<>();
+    if (text == null || text.isEmpty()) {
+      return tokens;
+    }
+    String normalized = Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+
+    int length = normalized.length();
+    int i = 0;
+    while (i < length) {
+      char c = normalized.charAt(i);
+      if (isHangul(c)) {
+        int start = i;
+        while (i < length && isHangul(normalized.charAt(i))) {
+          i++;
+        }
+        addHangul(normalized, start, i, tokens);
+      } else if (Character.isLetterOrDigit(c)) {
+        int start = i;
+        while (i < length && (isWordChar(normalized.charAt(i))
+            || isJoiner(normalized.charAt(i)) && i + 1 < length && isWordChar(normalized.charAt(i + 1)))) {
+          i++;
+        }
+        addWord(normalized.substring(start, i), tokens);
+      } else {
+        i++;
+      }
+    }
+    return tokens;
+  }
+
+  /**
+   * 한글 구간 - 한 글자면 그대로, 두 글자 이상이면 bigram
+   */
+  private static void addHangul(String text, int start, int end, List<String> tokens) {
+    if (end - start == 1) {
+      tokens.add(text.substring(start, end));
+      return;
+    }
+    for (int i = start; i + 1 < end; i++) {
+      tokens.add(text.substring(i, i + 2));
+    }
+  }
+
+  /**
+   * 영문/숫자 구간 - 연결 문자가 있으면 전체와 각 부분을 모두 토큰으로
+   */
+  private static void addWord(String word, List<String> tokens) {
+    tokens.add(word);
+    int start = 0;
+    boolean joined = false;
+    for (int i = 0; i < word.length(); i++) {
+      if (isJoiner(word.charAt(i))) {
+        joined = true;
+        if (i > start) {
+          tokens.add(word.substring(start, i));
+        }
+        start = i + 1;
+      }
+    }
+    if (joined && start < word.length()) {
+      tokens.add(word.substring(start));
+    }
+  }
+
+  private static boolean isWordChar(char c) {
+    return Character.isLetterOrDigit(c) && !isHangul(c);
+  }
+
+  private static boolean isJoiner(char c) {
+    return c == '-' || c == '_' || c == '.' || c == '/';
+  }
+
+  private static boolean isHangul(char c) {
+    return c >= '가' && c <= '힣';
+  }
+}
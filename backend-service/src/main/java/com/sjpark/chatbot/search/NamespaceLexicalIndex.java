@@ -0,0 +1,556 @@
+package com.sjpark.chatbot.search;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 보관함 하나의 BM25 색인
+ * <p>
+ * 문서를 추가할 때마다 그 문서의 청크로 불변 세그먼트를 하나 만들고, 세그먼트가 maxSegments 를 넘으면 가장 작은
+ * 세그먼트들을 병합한다. 문서 삭제(또는 재색인)는 삭제 표시(tombstone: 문서 ID → 이 번호보다 작은 청크는 숨김)로
+ * 처리하고, 숨겨진 청크는 병합할 때 실제로 제거된다. 숨길 청크가 남지 않은 삭제 표시는 병합 후 정리하고, 삭제 표시가
+ * {@link #TOMBSTONE_MERGE_THRESHOLD} 개 이상 쌓이면 숨겨진 청크가 있는 세그먼트를 모아 병합한다.
+ * <p>
+ * 세그먼트 목록, 삭제 표시, 색인된 문서 목록은 매니페스트 파일 하나에 세대 번호와 함께 원자적으로 기록한다. 쓰기는 한
+ * 노드(writable)만 하고, 다른 노드는 매니페스트 세대가 바뀌면 다시 연다. 매니페스트에 없는 세그먼트 파일(작성 도중
+ * 중단 등)은 쓰기 노드가 열 때 지운다. 세그먼트 목록과 삭제 표시는 불변 스냅샷으로 교체하므로 검색은 잠금 없이 수행되고,
+ * 변경 작업만 ReentrantLock 으로 직렬화한다 (가상 스레드 고정을 피하기 위해 synchronized 미사용).
+ */
+@Slf4j
+final class NamespaceLexicalIndex {
+
+  static final int TOMBSTONE_MERGE_THRESHOLD = 256;
+
+  private static final String SEGMENT_PREFIX = "seg_";
+  private static final String SEGMENT_SUFFIX = ".bm25";
+  private static final String MANIFEST = "manifest.bin";
+  private static final int MANIFEST_MAGIC = 0x424D4D46; // "BMMF"
+  private static final int MANIFEST_VERSION = 1;
+  private static final double K1 = 1.2;
+  private static final double B = 0.75;
+
+  private final Path directory;
+  private final boolean writable;
+  private final int maxSegments;
+  private final int mergeFactor;
+  private final ReentrantLock writeLock = new ReentrantLock();
+  private final ReentrantLock mergeLock = new ReentrantLock();
+  private volatile Snapshot snapshot;
+  private int nextOrdinal;
+  private long nextSegmentId;
+
+  private NamespaceLexicalIndex(Path directory, boolean writable, int maxSegments, int mergeFactor,
+      Snapshot snapshot, int nextOrdinal, long nextSegmentId) {
+    this.directory = directory;
+    this.writable = writable;
+    this.maxSegments = maxSegments;
+    this.mergeFactor = mergeFactor;
+    this.snapshot = snapshot;
+    this.nextOrdinal = nextOrdinal;
+    this.nextSegmentId = nextSegmentId;
+  }
+
+  /**
+   * 매니페스트에 기록된 세그먼트와 삭제 표시를 열어 색인 구성 (없으면 빈 색인)
+   *
+   * @param writable 쓰기 노드 여부 - 읽기 전용이면 파일을 지우지 않는다 (디렉터리는 첫 변경 때 만든다)
+   */
+  static NamespaceLexicalIndex open(Path directory, boolean writable, int maxSegments, int mergeFactor)
+      throws IOException {
+    Manifest manifest = readManifest(directory.resolve(MANIFEST));
+
+    List<Segment> segments = new ArrayList<>(manifest.segments().size());
+    for (String name : manifest.segments()) {
+      segments.add(Segment.open(directory.resolve(name)));
+    }
+    if (writable && Files.isDirectory(directory)) {
+      deleteUnreferenced(directory, Set.copyOf(manifest.segments()));
+    }
+    return new NamespaceLexicalIndex(directory, writable, maxSegments, mergeFactor,
+        new Snapshot(manifest.generation(), List.copyOf(segments), Map.copyOf(manifest.tombstones()),
+            Set.copyOf(manifest.documents())),
+        manifest.nextOrdinal(), manifest.nextSegmentId());
+  }
+
+  /**
+   * 디스크에 기록된 매니페스트 세대 (없으면 0) - 읽기 노드가 다시 열지 판단할 때 사용
+   */
+  static long readGeneration(Path directory) throws IOException {
+    Path file = directory.resolve(MANIFEST);
+    try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 64))) {
+      checkHeader(in, file);
+      return in.readLong();
+    } catch (NoSuchFileException e) {
+      return 0;
+    }
+  }
+
+  /**
+   * 문서 청크 추가 - 이미 색인된 문서면 이전 청크는 숨긴다 (재색인). 청크가 없어도 색인된 문서로 기록한다.
+   */
+  void addDocument(long documentId, List<LexicalChunk> chunks) throws IOException {
+    writeLock.lock();
+    try {
+      requireWritable();
+      Files.createDirectories(directory); // 세그먼트를 매니페스트보다 먼저 쓴다
+      Snapshot current = snapshot;
+      Map<Long, Integer> tombstones = current.tombstones();
+      if (current.documents().contains(documentId)) {
+        tombstones = withTombstone(tombstones, documentId, nextOrdinal);
+      }
+
+      List<Segment> segments = new ArrayList<>(current.segments());
+      if (!chunks.isEmpty()) {
+        List<IndexedChunk> indexed = new ArrayList<>(chunks.size());
+        for (LexicalChunk chunk : chunks) {
+          indexed.add(new IndexedChunk(nextOrdinal++, documentId, chunk.page(), chunk.text()));
+        }
+        segments.add(Segment.open(SegmentWriter.write(nextSegmentPath(), indexed)));
+      }
+
+      Set<Long> documents = new HashSet<>(current.documents());
+      documents.add(documentId);
+      commit(segments, tombstones, documents);
+    } finally {
+      writeLock.unlock();
+    }
+    mergeIfNeeded();
+  }
+
+  /**
+   * 문서 삭제 - 삭제 표시만 남기고 청크는 다음 병합에서 제거
+   */
+  void deleteDocument(long documentId) throws IOException {
+    writeLock.lock();
+    try {
+      requireWritable();
+      Snapshot current = snapshot;
+      if (!current.documents().contains(documentId)) {
+        return;
+      }
+      Set<Long> documents = new HashSet<>(current.documents());
+      documents.remove(documentId);
+      commit(current.segments(), withTombstone(current.tombstones(), documentId, nextOrdinal), documents);
+    } finally {
+      writeLock.unlock();
+    }
+    mergeIfNeeded();
+  }
+
+  /**
+   * BM25 상위 topK 청크
+   * <p>
+   * N, 평균 길이, df 는 삭제 표시된 청크를 포함한 세그먼트 통계를 그대로 쓴다 (병합 전까지의 근사).
+   */
+  List<LexicalHit> search(String query, int topK) {
+    Snapshot current = snapshot;
+    Set<String> terms = new LinkedHashSet<>(LexicalTokenizer.tokenize(query));
+    if (terms.isEmpty() || current.segments().isEmpty()) {
+      return List.of();
+    }
+
+    long chunkCount = 0;
+    long totalLength = 0;
+    for (Segment segment : current.segments()) {
+      chunkCount += segment.chunkCount();
+      totalLength += segment.totalLength();
+    }
+    if (chunkCount == 0) {
+      return List.of();
+    }
+    double averageLength = Math.max(1.0, (double) totalLength / chunkCount);
+
+    // 1. 용어별 세그먼트 내 위치와 전체 df
+    List<byte[]> termBytes = terms.stream().map(term -> term.getBytes(StandardCharsets.UTF_8)).toList();
+    int[][] termIndexes = new int[current.segments().size()][termBytes.size()];
+    double[] idf = new double[termBytes.size()];
+    for (int t = 0; t < termBytes.size(); t++) {
+      long docFreq = 0;
+      for (int s = 0; s < current.segments().size(); s++) {
+        Segment segment = current.segments().get(s);
+        termIndexes[s][t] = segment.findTerm(termBytes.get(t));
+        if (termIndexes[s][t] >= 0) {
+          docFreq += segment.docFreq(termIndexes[s][t]);
+        }
+      }
+      idf[t] = Math.log(1 + (chunkCount - docFreq + 0.5) / (docFreq + 0.5));
+    }
+
+    // 2. 세그먼트별 점수 누적 후 상위 topK 유지 (최소 힙)
+    PriorityQueue<Candidate> top = new PriorityQueue<>(Comparator.comparingDouble(Candidate::score));
+    for (int s = 0; s < current.segments().size(); s++) {
+      Segment segment = current.segments().get(s);
+      float[] scores = null;
+      int[] touched = null;
+      int touchedCount = 0;
+
+      for (int t = 0; t < termBytes.size(); t++) {
+        int term = termIndexes[s][t];
+        if (term < 0) {
+          continue;
+        }
+        if (scores == null) {
+          scores = new float[segment.chunkCount()];
+          touched = new int[segment.chunkCount()];
+        }
+        int start = segment.postingsStart(term);
+        int docFreq = segment.docFreq(term);
+        for (int i = 0; i < docFreq; i++) {
+          int chunk = segment.postingChunk(start, i);
+          int tf = segment.postingFreq(start, i);
+          double norm = K1 * (1 - B + B * segment.length(chunk) / averageLength);
+          if (scores[chunk] == 0) {
+            touched[touchedCount++] = chunk;
+          }
+          scores[chunk] += (float) (idf[t] * tf * (K1 + 1) / (tf + norm));
+        }
+      }
+
+      for (int i = 0; i < touchedCount; i++) {
+        int chunk = touched[i];
+        float score = scores[chunk];
+        if (top.size() >= topK && score <= top.peek().score()) {
+          continue;
+        }
+        if (!visible(current.tombstones(), segment.documentId(chunk), segment.ordinal(chunk))) {
+          continue;
+        }
+        top.add(new Candidate(segment, chunk, score));
+        if (top.size() > topK) {
+          top.poll();
+        }
+      }
+    }
+
+    List<LexicalHit> hits = new ArrayList<>(top.size());
+    while (!top.isEmpty()) {
+      Candidate candidate = top.poll();
+      Segment segment = candidate.segment();
+      hits.add(new LexicalHit(segment.documentId(candidate.chunk()), segment.page(candidate.chunk()),
+          segment.text(candidate.chunk()), candidate.score()));
+    }
+    return hits.reversed();
+  }
+
+  long generation() {
+    return snapshot.generation();
+  }
+
+  int segmentCount() {
+    return snapshot.segments().size();
+  }
+
+  int tombstoneCount() {
+    return snapshot.tombstones().size();
+  }
+
+  /**
+   * 색인된 문서 ID (청크가 없는 문서 포함, 삭제된 문서 제외)
+   */
+  Set<Long> documentIds() {
+    return snapshot.documents();
+  }
+
+  /**
+   * 모든 문서를 비운 새 세대 기록 (재구축) - 세대 번호는 이어가므로 읽기 노드도 변경을 감지한다
+   */
+  void clear() throws IOException {
+    mergeLock.lock();
+    try {
+      List<Segment> removed;
+      writeLock.lock();
+      try {
+        requireWritable();
+        removed = snapshot.segments();
+        commit(List.of(), Map.of(), Set.of());
+      } finally {
+        writeLock.unlock();
+      }
+      for (Segment segment : removed) {
+        Files.deleteIfExists(segment.path());
+      }
+    } finally {
+      mergeLock.unlock();
+    }
+  }
+
+  /**
+   * 색인 파일 전체 삭제 (보관함 삭제)
+   */
+  void drop() throws IOException {
+    writeLock.lock();
+    try {
+      requireWritable();
+      snapshot = new Snapshot(snapshot.generation(), List.of(), Map.of(), Set.of());
+      if (!Files.isDirectory(directory)) {
+        return;
+      }
+      try (Stream<Path> files = Files.list(directory)) {
+        for (Path file : files.toList()) {
+          Files.deleteIfExists(file);
+        }
+      }
+      Files.deleteIfExists(directory);
+    } finally {
+      writeLock.unlock();
+    }
+  }
+
+  /**
+   * 세그먼트 수가 maxSegments 를 넘으면 가장 작은 mergeFactor 개를, 삭제 표시가 많이 쌓였으면 숨겨진 청크가 있는
+   * 세그먼트를 하나로 병합 (숨겨진 청크 제거)
+   * <p>
+   * 새 세그먼트 작성은 잠금 밖에서 하고 교체만 잠금 안에서 한다. 병합 중 추가된 삭제 표시는 청크 번호가 유지되므로
+   * 병합된 세그먼트에도 그대로 적용된다.
+   */
+  private void mergeIfNeeded() throws IOException {
+    if (!needsMerge(snapshot) || !mergeLock.tryLock()) {
+      return;
+    }
+    try {
+      Snapshot current = snapshot;
+      if (!needsMerge(current)) {
+        return;
+      }
+      List<Segment> sources = current.segments().size() > maxSegments
+          ? current.segments().stream().sorted(Comparator.comparingInt(Segment::chunkCount)).limit(mergeFactor).toList()
+          : current.segments().stream().filter(segment -> hasHiddenChunks(segment, current.tombstones())).toList();
+      if (sources.isEmpty()) {
+        // 숨길 청크가 남지 않은 삭제 표시뿐이면 정리만 한다
+        writeLock.lock();
+        try {
+          commit(snapshot.segments(), pruneTombstones(snapshot.tombstones(), snapshot.segments()),
+              snapshot.documents());
+        } finally {
+          writeLock.unlock();
+        }
+        return;
+      }
+      merge(current, sources);
+    } finally {
+      mergeLock.unlock();
+    }
+  }
+
+  private boolean needsMerge(Snapshot current) {
+    return current.segments().size() > maxSegments || current.tombstones().size() >= TOMBSTONE_MERGE_THRESHOLD;
+  }
+
+  private void merge(Snapshot current, List<Segment> sources) throws IOException {
+    List<IndexedChunk> chunks = new ArrayList<>();
+    for (Segment segment : sources) {
+      for (int chunk = 0; chunk < segment.chunkCount(); chunk++) {
+        if (visible(current.tombstones(), segment.documentId(chunk), segment.ordinal(chunk))) {
+          chunks.add(new IndexedChunk(segment.ordinal(chunk), segment.documentId(chunk), segment.page(chunk),
+              segment.text(chunk)));
+        }
+      }
+    }
+    chunks.sort(Comparator.comparingInt(IndexedChunk::ordinal));
+
+    Path mergedPath;
+    writeLock.lock();
+    try {
+      mergedPath = nextSegmentPath();
+    } finally {
+      writeLock.unlock();
+    }
+    Segment merged = chunks.isEmpty() ? null : Segment.open(SegmentWriter.write(mergedPath, chunks));
+
+    writeLock.lock();
+    try {
+      List<Segment> segments = new ArrayList<>(snapshot.segments());
+      segments.removeAll(sources);
+      if (merged != null) {
+        segments.add(merged);
+      }
+      commit(segments, pruneTombstones(snapshot.tombstones(), segments), snapshot.documents());
+    } finally {
+      writeLock.unlock();
+    }
+
+    // 매핑된 버퍼는 진행 중인 검색이 끝나면 GC 로 해제되고, 파일은 지금 지워도 열린 매핑에는 영향 없음
+    for (Segment source : sources) {
+      Files.deleteIfExists(source.path());
+    }
+    log.debug("BM25 세그먼트 병합 - directory: {}, merged: {}, chunks: {}, tombstones: {}",
+        directory, sources.size(), chunks.size(), snapshot.tombstones().size());
+  }
+
+  /**
+   * 매니페스트 기록 후 스냅샷 교체 (writeLock 안에서 호출)
+   */
+  private void commit(List<Segment> segments, Map<Long, Integer> tombstones, Set<Long> documents)
+      throws IOException {
+    Snapshot next = new Snapshot(snapshot.generation() + 1, List.copyOf(segments), Map.copyOf(tombstones),
+        Set.copyOf(documents));
+    writeManifest(next);
+    snapshot = next;
+  }
+
+  private void requireWritable() {
+    if (!writable) {
+      throw new IllegalStateException("읽기 전용 BM25 색인입니다: " + directory);
+    }
+  }
+
+  private Path nextSegmentPath() {
+    return directory.resolve(String.format("%s%012d%s", SEGMENT_PREFIX, nextSegmentId++, SEGMENT_SUFFIX));
+  }
+
+  private static boolean visible(Map<Long, Integer> tombstones, long documentId, int ordinal) {
+    Integer hiddenBefore = tombstones.get(documentId);
+    return hiddenBefore == null || ordinal >= hiddenBefore;
+  }
+
+  private static boolean hasHiddenChunks(Segment segment, Map<Long, Integer> tombstones) {
+    for (int chunk = 0; chunk < segment.chunkCount(); chunk++) {
+      if (!visible(tombstones, segment.documentId(chunk), segment.ordinal(chunk))) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * 남은 세그먼트에 숨길 청크가 있는 삭제 표시만 유지 (세그먼트 청크 표만 훑으므로 원문은 읽지 않음)
+   */
+  private static Map<Long, Integer> pruneTombstones(Map<Long, Integer> tombstones, List<Segment> segments) {
+    if (tombstones.isEmpty()) {
+      return tombstones;
+    }
+    Map<Long, Integer> needed = new HashMap<>();
+    for (Segment segment : segments) {
+      for (int chunk = 0; chunk < segment.chunkCount(); chunk++) {
+        long documentId = segment.documentId(chunk);
+        Integer hiddenBefore = tombstones.get(documentId);
+        if (hiddenBefore != null && segment.ordinal(chunk) < hiddenBefore) {
+          needed.put(documentId, hiddenBefore);
+        }
+      }
+    }
+    return needed;
+  }
+
+  private static Map<Long, Integer> withTombstone(Map<Long, Integer> tombstones, long documentId, int ordinal) {
+    Map<Long, Integer> updated = new HashMap<>(tombstones);
+    updated.put(documentId, ordinal);
+    return Map.copyOf(updated);
+  }
+
+  /**
+   * 매니페스트에 없는 세그먼트와 작성 도중 남은 임시 파일 삭제 (쓰기 노드가 열 때)
+   */
+  private static void deleteUnreferenced(Path directory, Set<String> referenced) throws IOException {
+    try (Stream<Path> files = Files.list(directory)) {
+      for (Path file : files.toList()) {
+        String name = file.getFileName().toString();
+        boolean orphanSegment = name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX)
+            && !referenced.contains(name);
+        if (orphanSegment || name.endsWith(".tmp")) {
+          log.info("BM25 색인 미사용 파일 삭제 - {}", file);
+          Files.deleteIfExists(file);
+        }
+      }
+    }
+  }
+
+  private static Manifest readManifest(Path file) throws IOException {
+    if (!Files.exists(file)) {
+      return new Manifest(0, 0, 0, List.of(), Map.of(), Set.of());
+    }
+    try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+      checkHeader(in, file);
+      long generation = in.readLong();
+      int nextOrdinal = in.readInt();
+      long nextSegmentId = in.readLong();
+
+      int segmentCount = in.readInt();
+      List<String> segments = new ArrayList<>(segmentCount);
+      for (int i = 0; i < segmentCount; i++) {
+        segments.add(in.readUTF());
+      }
+      int tombstoneCount = in.readInt();
+      Map<Long, Integer> tombstones = new HashMap<>(tombstoneCount * 2);
+      for (int i = 0; i < tombstoneCount; i++) {
+        tombstones.put(in.readLong(), in.readInt());
+      }
+      int documentCount = in.readInt();
+      Set<Long> documents = new HashSet<>(documentCount * 2);
+      for (int i = 0; i < documentCount; i++) {
+        documents.add(in.readLong());
+      }
+      return new Manifest(generation, nextOrdinal, nextSegmentId, segments, tombstones, documents);
+    }
+  }
+
+  private static void checkHeader(DataInputStream in, Path file) throws IOException {
+    if (in.readInt() != MANIFEST_MAGIC || in.readInt() != MANIFEST_VERSION) {
+      throw new IOException("BM25 매니페스트 형식이 아닙니다: " + file);
+    }
+  }
+
+  private void writeManifest(Snapshot next) throws IOException {
+    Path target = directory.resolve(MANIFEST);
+    Path temp = directory.resolve(MANIFEST + ".tmp");
+    Files.createDirectories(directory);
+    try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+      out.writeInt(MANIFEST_MAGIC);
+      out.writeInt(MANIFEST_VERSION);
+      out.writeLong(next.generation());
+      out.writeInt(nextOrdinal);
+      out.writeLong(nextSegmentId);
+
+      out.writeInt(next.segments().size());
+      for (Segment segment : next.segments()) {
+        out.writeUTF(segment.path().getFileName().toString());
+      }
+      out.writeInt(next.tombstones().size());
+      for (Map.Entry<Long, Integer> entry : next.tombstones().entrySet()) {
+        out.writeLong(entry.getKey());
+        out.writeInt(entry.getValue());
+      }
+      out.writeInt(next.documents().size());
+      for (Long documentId : next.documents()) {
+        out.writeLong(documentId);
+      }
+    }
+    try {
+      Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    } catch (AtomicMoveNotSupportedException e) {
+      Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+    }
+  }
+
+  private record Manifest(long generation, int nextOrdinal, long nextSegmentId, List<String> segments,
+                          Map<Long, Integer> tombstones, Set<Long> documents) {
+  }
+
+  private record Snapshot(long generation, List<Segment> segments, Map<Long, Integer> tombstones,
+                          Set<Long> documents) {
+  }
+
+  private record Candidate(Segment segment, int chunk, float score) {
+  }
+}
@@ -0,0 +1,169 @@
+package com.sjpark.chatbot.search;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * 불변 BM25 세그먼트 (메모리 매핑 파일)
+ * <p>
+ * 파일 형식 (정수는 big-endian):
+ * <pre>
+ * header      magic, version, chunkCount, termCount (int), totalLength, chunkTable, termTable, termBytes,
+ *             postings, texts (long, 섹션 시작 위치)
+ * chunkTable  chunkCount x [ordinal, page, length, textLength (int), documentId, textOffset (long)]
+ * termTable   termCount x [termOffset, termLength, docFreq (int), postingsOffset (long)] - 용어 UTF-8 바이트 순 정렬
+ * termBytes   용어 UTF-8 바이트
+ * postings    용어별 docFreq x [chunk (세그먼트 내 번호), tf (int)]
+ * texts       청크 원문 UTF-8
+ * </pre>
+ * 조회는 매핑된 버퍼의 절대 위치 읽기만 사용하므로 여러 스레드가 동시에 읽을 수 있다.
+ */
+final class Segment {
+
+  static final int MAGIC = 0x424D3235; // "BM25"
+  static final int VERSION = 1;
+  static final int HEADER_BYTES = 4 * 4 + 8 * 6;
+  static final int CHUNK_ENTRY_BYTES = 4 * 4 + 8 * 2;
+  static final int TERM_ENTRY_BYTES = 4 * 3 + 8;
+  static final int POSTING_BYTES = 4 * 2;
+
+  private final Path path;
+  private final ByteBuffer buffer;
+  private final int chunkCount;
+  private final int termCount;
+  private final long totalLength;
+  private final int chunkTable;
+  private final int termTable;
+  private final int termBytes;
+  private final int postings;
+  private final int texts;
+
+  private Segment(Path path, ByteBuffer buffer) throws IOException {
+    this.path = path;
+    this.buffer = buffer;
+    if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+      throw new IOException("BM25 세그먼트 형식이 아닙니다: " + path);
+    }
+    this.chunkCount = buffer.getInt(8);
+    this.termCount = buffer.getInt(12);
+    this.totalLength = buffer.getLong(16);
+    this.chunkTable = (int) buffer.getLong(24);
+    this.termTable = (int) buffer.getLong(32);
+    this.termBytes = (int) buffer.getLong(40);
+    this.postings = (int) buffer.getLong(48);
+    this.texts = (int) buffer.getLong(56);
+  }
+
+  static Segment open(Path path) throws IOException {
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      return new Segment(path, buffer);
+    }
+  }
+
+  Path path() {
+    return path;
+  }
+
+  int chunkCount() {
+    return chunkCount;
+  }
+
+  long totalLength() {
+    return totalLength;
+  }
+
+  long sizeInBytes() {
+    return buffer.capacity();
+  }
+
+  /**
+   * 용어 번호 (이분 탐색), 없으면 -1
+   */
+  int findTerm(byte[] term) {
+    int low = 0;
+    int high = termCount - 1;
+    while (low <= high) {
+      int mid = (low + high) >>> 1;
+      int cmp = compareTerm(mid, term);
+      if (cmp < 0) {
+        low = mid + 1;
+      } else if (cmp > 0) {
+        high = mid - 1;
+      } else {
+        return mid;
+      }
+    }
+    return -1;
+  }
+
+  int docFreq(int term) {
+    return buffer.getInt(termTable + term * TERM_ENTRY_BYTES + 8);
+  }
+
+  /**
+   * 용어의 postings 시작 위치 - {@link #postingChunk}/{@link #postingFreq} 에 i 번째 위치로 전달
+   */
+  int postingsStart(int term) {
+    return postings + (int) buffer.getLong(termTable + term * TERM_ENTRY_BYTES + 12);
+  }
+
+  int postingChunk(int start, int i) {
+    return buffer.getInt(start + i * POSTING_BYTES);
+  }
+
+  int postingFreq(int start, int i) {
+    return buffer.getInt(start + i * POSTING_BYTES + 4);
+  }
+
+  int ordinal(int chunk) {
+    return buffer.getInt(chunkEntry(chunk));
+  }
+
+  int page(int chunk) {
+    return buffer.getInt(chunkEntry(chunk) + 4);
+  }
+
+  int length(int chunk) {
+    return buffer.getInt(chunkEntry(chunk) + 8);
+  }
+
+  long documentId(int chunk) {
+    return buffer.getLong(chunkEntry(chunk) + 16);
+  }
+
+  String text(int chunk) {
+    int entry = chunkEntry(chunk);
+    int textLength = buffer.getInt(entry + 12);
+    int textOffset = (int) buffer.getLong(entry + 24);
+    byte[] bytes = new byte[textLength];
+    buffer.get(texts + textOffset, bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  private int chunkEntry(int chunk) {
+    return chunkTable + chunk * CHUNK_ENTRY_BYTES;
+  }
+
+  /**
+   * 저장된 용어와 비교 (부호 있는 바이트 사전순 - 작성 시 정렬 기준과 같음)
+   */
+  private int compareTerm(int term, byte[] target) {
+    int entry = termTable + term * TERM_ENTRY_BYTES;
+    int offset = termBytes + buffer.getInt(entry);
+    int length = buffer.getInt(entry + 4);
+    int common = Math.min(length, target.length);
+    for (int i = 0; i < common; i++) {
+      int cmp = Byte.compare(buffer.get(offset + i), target[i]);
+      if (cmp != 0) {
+        return cmp;
+      }
+    }
+    return Integer.compare(length, target.length);
+  }
+}
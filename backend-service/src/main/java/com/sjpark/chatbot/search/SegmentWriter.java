@@ -0,0 +1,161 @@
+package com.sjpark.chatbot.search;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 청크 목록으로 {@link Segment} 파일 작성
+ * <p>
+ * postings 는 용어마다 int 배열 하나([chunk, tf] 반복)로 모아 객체 할당을 줄인다. 임시 파일에 쓴 뒤 원자적으로 이동하므로
+ * 작성 중 장애가 나도 불완전한 세그먼트가 열리지 않는다.
+ */
+final class SegmentWriter {
+
+  private SegmentWriter() {
+  }
+
+  static Path write(Path target, List<IndexedChunk> chunks) throws IOException {
+    // 1. 청크별 토큰화 → 용어별 postings
+    Map<String, IntList> postingsByTerm = new HashMap<>();
+    int[] lengths = new int[chunks.size()];
+    long totalLength = 0;
+    Map<String, int[]> frequencies = new HashMap<>();
+    for (int chunk = 0; chunk < chunks.size(); chunk++) {
+      List<String> tokens = LexicalTokenizer.tokenize(chunks.get(chunk).text());
+      lengths[chunk] = tokens.size();
+      totalLength += tokens.size();
+
+      frequencies.clear();
+      for (String token : tokens) {
+        frequencies.computeIfAbsent(token, t -> new int[1])[0]++;
+      }
+      for (Map.Entry<String, int[]> entry : frequencies.entrySet()) {
+        IntList postings = postingsByTerm.computeIfAbsent(entry.getKey(), t -> new IntList());
+        postings.add(chunk);
+        postings.add(entry.getValue()[0]);
+      }
+    }
+
+    // 2. 용어 정렬 (UTF-8 바이트 사전순)
+    List<byte[]> terms = new ArrayList<>(postingsByTerm.size());
+    Map<byte[], IntList> postingsByBytes = new HashMap<>();
+    for (Map.Entry<String, IntList> entry : postingsByTerm.entrySet()) {
+      byte[] bytes = entry.getKey().getBytes(StandardCharsets.UTF_8);
+      terms.add(bytes);
+      postingsByBytes.put(bytes, entry.getValue());
+    }
+    terms.sort(Arrays::compare);
+
+    byte[][] texts = new byte[chunks.size()][];
+    long textBytes = 0;
+    for (int chunk = 0; chunk < chunks.size(); chunk++) {
+      texts[chunk] = chunks.get(chunk).text().getBytes(StandardCharsets.UTF_8);
+      textBytes += texts[chunk].length;
+    }
+    long termBytesLength = terms.stream().mapToLong(term -> term.length).sum();
+    long postingCount = postingsByTerm.values().stream().mapToLong(list -> list.size() / 2).sum();
+
+    // 3. 섹션 위치 계산
+    long chunkTable = Segment.HEADER_BYTES;
+    long termTable = chunkTable + (long) chunks.size() * Segment.CHUNK_ENTRY_BYTES;
+    long termBytes = termTable + (long) terms.size() * Segment.TERM_ENTRY_BYTES;
+    long postings = termBytes + termBytesLength;
+    long textSection = postings + postingCount * Segment.POSTING_BYTES;
+    if (textSection + textBytes > Integer.MAX_VALUE) {
+      throw new IOException("BM25 세그먼트가 2GB 를 넘습니다 - chunks: " + chunks.size());
+    }
+
+    // 4. 임시 파일에 작성 후 이동
+    Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+    try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp), 1 << 16))) {
+      out.writeInt(Segment.MAGIC);
+      out.writeInt(Segment.VERSION);
+      out.writeInt(chunks.size());
+      out.writeInt(terms.size());
+      out.writeLong(totalLength);
+      out.writeLong(chunkTable);
+      out.writeLong(termTable);
+      out.writeLong(termBytes);
+      out.writeLong(postings);
+      out.writeLong(textSection);
+
+      long textOffset = 0;
+      for (int chunk = 0; chunk < chunks.size(); chunk++) {
+        IndexedChunk indexed = chunks.get(chunk);
+        out.writeInt(indexed.ordinal());
+        out.writeInt(indexed.page());
+        out.writeInt(lengths[chunk]);
+        out.writeInt(texts[chunk].length);
+        out.writeLong(indexed.documentId());
+        out.writeLong(textOffset);
+        textOffset += texts[chunk].length;
+      }
+
+      int termOffset = 0;
+      long postingsOffset = 0;
+      for (byte[] term : terms) {
+        IntList list = postingsByBytes.get(term);
+        out.writeInt(termOffset);
+        out.writeInt(term.length);
+        out.writeInt(list.size() / 2);
+        out.writeLong(postingsOffset);
+        termOffset += term.length;
+        postingsOffset += (long) (list.size() / 2) * Segment.POSTING_BYTES;
+      }
+      for (byte[] term : terms) {
+        out.write(term);
+      }
+      for (byte[] term : terms) {
+        IntList list = postingsByBytes.get(term);
+        for (int i = 0; i < list.size(); i++) {
+          out.writeInt(list.get(i));
+        }
+      }
+      for (byte[] text : texts) {
+        out.write(text);
+      }
+    }
+
+    try {
+      Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    } catch (AtomicMoveNotSupportedException e) {
+      Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+    }
+    return target;
+  }
+
+  /**
+   * 늘어나는 int 배열
+   */
+  private static final class IntList {
+
+    private int[] values = new int[8];
+    private int size;
+
+    void add(int value) {
+      if (size == values.length) {
+        values = Arrays.copyOf(values, size * 2);
+      }
+      values[size++] = value;
+    }
+
+    int get(int index) {
+      return values[index];
+    }
+
+    int size() {
+      return size;
+    }
+  }
+}
@@ -0,0 +1,113 @@
+package com.sjpark.chatbot.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sjpark.chatbot.dto.AiChatMessage;
+import com.sjpark.chatbot.dto.AiSourceDocument;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.Normalizer;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.regex.Pattern;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 채팅 답변 캐시
+ * <p>
+ * 같은 컬렉션에 같은 질문이 반복되면 AI 서비스를 호출하지 않고 저장된 답변을 돌려준다.
+ * 키에 네임스페이스 콘텐츠 버전을 포함하므로 문서가 추가/삭제/재인덱싱되면 이전 답변은 더 이상 조회되지 않고
+ * 크기/TTL 정책에 따라 자연스럽게 제거된다. 이전 대화에 따라 같은 질문의 의미가 달라지므로 대화 이력의 해시도
+ * 키에 포함한다. 적중/미스/제거 수는 cache.* 지표로 노출된다.
+ */
+@Slf4j
+@Component
+public class AnswerCache {
+
+  private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+  private static final Pattern TRAILING_PUNCTUATION = Pattern.compile("[\\s?!.。？！]+$");
+
+  private final Cache<AnswerKey, CachedAnswer> cache;
+  private final boolean enabled;
+
+  public AnswerCache(MeterRegistry meterRegistry,
+      @Value("${chat.cache.enabled:true}") boolean enabled,
+      @Value("${chat.cache.max-size:10000}") long maxSize,
+      @Value("${chat.cache.ttl:1h}") Duration ttl) {
+    this.enabled = enabled;
+    this.cache = Caffeine.newBuilder()
+        .maximumSize(maxSize)
+        .expireAfterWrite(ttl)
+        .recordStats()
+        .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, cache, "chat.answer");
+  }
+
+  public Optional<CachedAnswer> get(AnswerKey key) {
+    if (!enabled) {
+      return Optional.empty();
+    }
+    return Optional.ofNullable(cache.getIfPresent(key));
+  }
+
+  public void put(AnswerKey key, CachedAnswer answer) {
+    if (!enabled || answer.answer() == null || answer.answer().isBlank()) {
+      return;
+    }
+    cache.put(key, answer);
+    log.debug("답변 캐시 저장 - collection: {}, version: {}", key.collectionName(), key.contentVersion());
+  }
+
+  /**
+   * 질문 정규화 - 유니코드 정규화(NFKC), 소문자, 연속 공백 축약, 끝 문장부호 제거
+   */
+  public static String normalize(String query) {
+    String normalized = Normalizer.normalize(query, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT).strip();
+    normalized = WHITESPACE.matcher(normalized).replaceAll(" ");
+    return TRAILING_PUNCTUATION.matcher(normalized).replaceAll("");
+  }
+
+  /**
+   * 대화 이력 해시 (SHA-256) - 이력이 없으면 빈 문자열
+   */
+  public static String historyHash(List<AiChatMessage> history) {
+    if (history == null || history.isEmpty()) {
+      return "";
+    }
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      for (AiChatMessage message : history) {
+        digest.update(String.valueOf(message.getRole()).getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+        digest.update(String.valueOf(message.getContent()).getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+      }
+      return HexFormat.of().formatHex(digest.digest());
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 알고리즘을 사용할 수 없습니다.", e);
+    }
+  }
+
+  /**
+   * 캐시 키 - 컬렉션, 정규화된 질문, 대화 이력 해시, 네임스페이스 콘텐츠 버전, 검색 문서 수
+   */
+  public record AnswerKey(String collectionName, String normalizedQuery, String historyHash, long contentVersion,
+      int topK) {
+
+    public static AnswerKey of(String collectionName, String query, List<AiChatMessage> history,
+        long contentVersion, int topK) {
+      return new AnswerKey(collectionName, normalize(query), historyHash(history), contentVersion, topK);
+    }
+  }
+
+  public record CachedAnswer(String answer, List<AiSourceDocument> sources) {
+  }
+}
@@ -0,0 +1,388 @@
+package com.sjpark.chatbot.service;
+
+import com.sjpark.chatbot.common.BusinessException;
+import com.sjpark.chatbot.common.ErrorCode;
+import com.sjpark.chatbot.domain.Namespace;
+import com.sjpark.chatbot.dto.BulkUploadResponse;
+import com.sjpark.chatbot.dto.BulkUploadResponse.FileResult;
+import com.sjpark.chatbot.dto.BulkUploadResponse.FileStatus;
+import com.sjpark.chatbot.repo.DocumentBatchRepository.NewDocument;
+import com.sjpark.chatbot.repo.DocumentRepository;
+import com.sjpark.chatbot.repo.NamespaceRepository;
+import com.sjpark.chatbot.service.FileStorageService.StagedFile;
+import jakarta.annotation.PreDestroy;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * 문서 대량 업로드 (여러 파일 또는 ZIP)
+ * <p>
+ * 1. 파일마다 스트리밍 저장 + 해시 계산을 스레드 풀에서 병렬로 수행 (ZIP 은 디스크에 둔 채 항목별로 읽음)
+ * 2. 요청 내/DB 중복을 한 번의 IN 쿼리로 걸러냄
+ * 3. 한 트랜잭션에서 blob 행을 잠그고 파일을 내용 주소 저장소로 옮긴 뒤, 문서와 인덱싱 작업을 JDBC 배치로 저장
+ * <p>
+ * 파일 하나의 실패는 해당 파일의 결과로만 기록하고 나머지 파일은 계속 처리한다.
+ * <p>
+ * ZIP 항목의 선언 크기는 믿지 않는다. 항목 수는 목록을 읽는 동안 제한하고, 압축 해제는 파일당 10MB, 요청 전체
+ * max-total-size 까지만 읽은 뒤 중단한다 (압축 폭탄 방지).
+ */
+@Slf4j
+@Service
+public class BulkUploadService {
+
+  private static final Pattern CONTROL_CHARACTERS = Pattern.compile("\\p{Cntrl}");
+
+  private final DocumentService documentService;
+  private final DocumentRepository documentRepository;
+  private final NamespaceRepository namespaceRepository;
+  private final FileStorageService fileStorageService;
+  private final UploadMetrics uploadMetrics;
+  private final ExecutorService stagingExecutor;
+
+  @Value("${upload.bulk.max-files:500}")
+  private int maxFiles;
+
+  @Value("${upload.bulk.max-total-size:1073741824}")
+  private long maxTotalSize;
+
+  public BulkUploadService(DocumentService documentService, DocumentRepository documentRepository,
+      NamespaceRepository namespaceRepository, FileStorageService fileStorageService, UploadMetrics uploadMetrics,
+      @Value("${upload.bulk.parallelism:0}") int parallelism) {
+    this.documentService = documentService;
+    this.documentRepository = documentRepository;
+    this.namespaceRepository = namespaceRepository;
+    this.fileStorageService = fileStorageService;
+    this.uploadMetrics = uploadMetrics;
+    // 해시 계산이 CPU 를 쓰므로 가상 스레드 모드에서도 코어 수만큼의 플랫폼 스레드로 병렬도를 제한
+    int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+    this.stagingExecutor = Executors.newFixedThreadPool(threads, Thread.ofPlatform().name("bulk-upload-", 0).factory());
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    stagingExecutor.shutdown();
+  }
+
+  public BulkUploadResponse upload(Long userId, Long namespaceId, List<MultipartFile> files) {
+    Namespace namespace = namespaceRepository.findById(namespaceId)
+        .filter(ns -> ns.getUser().getId().equals(userId))
+        .orElseThrow(() -> new BusinessException(ErrorCode.NAMESPACE_NOT_FOUND));
+
+    if (files == null || files.isEmpty()) {
+      throw new BusinessException(ErrorCode.INVALID_INPUT_VALUE, "업로드할 파일이 없습니다.");
+    }
+
+    try (UploadResources resources = new UploadResources()) {
+      // 1. 업로드 대상 목록 구성 (ZIP 은 임시 파일로 저장 후 항목 단위로 펼침, 항목 수는 읽는 동안 제한)
+      List<UploadSource> sources = new ArrayList<>();
+      for (MultipartFile file : files) {
+        if (isZip(file.getOriginalFilename())) {
+          zipEntries(file, resources, sources);
+        } else {
+          addSource(sources, new UploadSource(sanitize(file.getOriginalFilename()), file.getSize(),
+              file::getInputStream));
+        }
+      }
+
+      // 2. 검증 + 스트리밍 저장/해시 계산 병렬 수행 (요청 전체에서 읽을 수 있는 바이트 수 공유)
+      AtomicLong remainingBytes = new AtomicLong(maxTotalSize);
+      List<CompletableFuture<Staging>> futures = sources.stream()
+          .map(source -> CompletableFuture.supplyAsync(
+              () -> uploadMetrics.stage(UploadMetrics.BULK, "hash", () -> stage(source, remainingBytes)),
+              stagingExecutor))
+          .toList();
+      List<Staging> stagings = futures.stream().map(CompletableFuture::join).toList();
+
+      // 3. 중복 제거, 최종 위치로 이동, 일괄 저장 (실패하면 아직 옮기지 않은 임시 파일 삭제)
+      try {
+        return register(userId, namespace, stagings);
+      } catch (RuntimeException e) {
+        stagings.stream().filter(Staging::isStaged).forEach(staging -> fileStorageService.discard(staging.staged()));
+        throw e;
+      }
+    }
+  }
+
+  private void addSource(List<UploadSource> sources, UploadSource source) {
+    if (sources.size() >= maxFiles) {
+      throw new BusinessException(ErrorCode.INVALID_INPUT_VALUE,
+          "한 번에 업로드할 수 있는 파일은 최대 " + maxFiles + "개입니다.");
+    }
+    sources.add(source);
+  }
+
+  private BulkUploadResponse register(Long userId, Namespace namespace, List<Staging> stagings) {
+    Set<String> hashes = new HashSet<>();
+    stagings.stream().filter(Staging::isStaged).forEach(s -> hashes.add(s.staged().hash()));
+    Set<String> existing = hashes.isEmpty()
+        ? Set.of()
+        : uploadMetrics.stage(UploadMetrics.BULK, "dedup",
+            () -> documentRepository.findExistingFileHashes(namespace.getId(), hashes));
+
+    Map<Integer, FileResult> results = new LinkedHashMap<>();
+    List<Integer> accepted = new ArrayList<>();
+    List<NewDocument> documents = new ArrayList<>();
+    List<StagedFile> files = new ArrayList<>();
+    Set<String> seenHashes = new HashSet<>();
+
+    for (int i = 0; i < stagings.size(); i++) {
+      Staging staging = stagings.get(i);
+      if (!staging.isStaged()) {
+        results.put(i, staging.error());
+        uploadMetrics.failed(UploadMetrics.BULK, staging.error().getStatus().name());
+        continue;
+      }
+
+      StagedFile staged = staging.staged();
+      String fileName = staging.fileName();
+      if (existing.contains(staged.hash()) || !seenHashes.add(staged.hash())) {
+        fileStorageService.discard(staged);
+        results.put(i, FileResult.error(fileName, FileStatus.DUPLICATE, "동일한 파일이 이미 업로드되어 있습니다."));
+        uploadMetrics.duplicate(UploadMetrics.BULK, 1);
+        continue;
+      }
+      String filePath = fileStorageService.blobLocation(staged.hash());
+      documents.add(new NewDocument(fileName, filePath, extension(fileName), staged.size(), staged.hash()));
+      files.add(staged);
+      accepted.add(i);
+    }
+
+    // blob 이동과 문서 저장은 같은 트랜잭션에서 수행 (blob 행을 잠근 뒤 파일을 옮긴다)
+    List<Long> documentIds = uploadMetrics.stage(UploadMetrics.BULK, "insert",
+        () -> documentService.registerDocuments(namespace.getId(), userId, documents, files));
+    uploadMetrics.ingested(UploadMetrics.BULK, documents.size(),
+        documents.stream().mapToLong(NewDocument::fileSize).sum());
+    for (int j = 0; j < accepted.size(); j++) {
+      NewDocument document = documents.get(j);
+      results.put(accepted.get(j), FileResult.uploaded(document.filename(), documentIds.get(j), document.fileSize()));
+    }
+
+    List<FileResult> ordered = new ArrayList<>(Collections.nCopies(stagings.size(), null));
+    results.forEach(ordered::set);
+    log.info("대량 업로드 완료 - namespaceId: {}, 요청: {}, 저장: {}", namespace.getId(), stagings.size(), documents.size());
+    return BulkUploadResponse.of(namespace.getId(), ordered);
+  }
+
+  /**
+   * 파일 하나 검증 + 임시 저장 (실패는 결과로 반환) - 선언 크기와 무관하게 실제로 읽은 바이트 수로 제한한다
+   * <p>
+   * 저장하지 못한 파일이 읽으면서 차지한 요청 전체 용량은 돌려준다 (10MB 초과로 거부된 파일이 다른 파일의 몫을 쓰지 않도록).
+   */
+  private Staging stage(UploadSource source, AtomicLong remainingBytes) {
+    String fileName = source.fileName();
+    if (fileName == null || fileName.isBlank() || !DocumentService.hasValidExtension(fileName)) {
+      return Staging.failed(fileName, FileStatus.REJECTED, "지원하지 않는 파일 형식입니다.(PDF만 가능)");
+    }
+    if (source.declaredSize() > DocumentService.MAX_FILE_SIZE) {
+      return Staging.failed(fileName, FileStatus.REJECTED, "파일 크기는 10MB를 초과할 수 없습니다.");
+    }
+
+    try (LimitedInputStream in = new LimitedInputStream(source.opener().open(), remainingBytes)) {
+      StagedFile staged;
+      try {
+        staged = fileStorageService.stage(in);
+      } catch (IOException | RuntimeException e) {
+        in.release();
+        throw e;
+      }
+      if (staged.size() == 0) {
+        fileStorageService.discard(staged);
+        return Staging.failed(fileName, FileStatus.REJECTED, "파일이 비어있습니다.");
+      }
+      return new Staging(fileName, staged, null);
+    } catch (UploadLimitException e) {
+      log.warn("대량 업로드 크기 제한 초과 - filename: {}, error: {}", fileName, e.getMessage());
+      return Staging.failed(fileName, FileStatus.REJECTED, e.getMessage());
+    } catch (IOException | RuntimeException e) {
+      log.warn("대량 업로드 파일 저장 실패 - filename: {}, error: {}", fileName, e.getMessage());
+      return Staging.failed(fileName, FileStatus.FAILED, "파일 저장 중 오류가 발생했습니다");
+    }
+  }
+
+  /**
+   * ZIP 항목 목록 - 압축을 모두 풀지 않고, 디스크의 ZIP 에서 항목별 스트림을 병렬로 읽는다
+   * <p>
+   * 임시 ZIP 은 업로드 디렉토리 안에 두고, 항목 수와 선언된 전체 크기는 목록을 읽는 도중에 제한한다.
+   */
+  private void zipEntries(MultipartFile file, UploadResources resources, List<UploadSource> sources) {
+    try {
+      Path archive = fileStorageService.createTempFile("bulk_", ".zip");
+      resources.tempFiles.add(archive);
+      file.transferTo(archive);
+
+      ZipFile zipFile = new ZipFile(archive.toFile());
+      resources.zipFiles.add(zipFile);
+
+      long declaredTotal = 0;
+      Enumeration<? extends ZipEntry> entries = zipFile.entries();
+      while (entries.hasMoreElements()) {
+        ZipEntry entry = entries.nextElement();
+        if (entry.isDirectory() || entry.getName().startsWith("__MACOSX/")) {
+          continue;
+        }
+        declaredTotal += Math.max(entry.getSize(), 0);
+        if (declaredTotal > maxTotalSize) {
+          throw new BusinessException(ErrorCode.INVALID_INPUT_VALUE, "압축 해제 크기가 업로드 제한을 초과합니다.");
+        }
+        addSource(sources, new UploadSource(sanitize(entry.getName()), entry.getSize(),
+            () -> zipFile.getInputStream(entry)));
+      }
+    } catch (IOException e) {
+      log.error("ZIP 파일 읽기 실패 - filename: {}, error: {}", file.getOriginalFilename(), e.getMessage());
+      throw new BusinessException(ErrorCode.INVALID_FILE_FORMAT, "ZIP 파일을 읽을 수 없습니다.", e);
+    }
+  }
+
+  private boolean isZip(String filename) {
+    return filename != null && filename.toLowerCase().endsWith(".zip");
+  }
+
+  /**
+   * 경로 구분자를 제거하고 파일명만 사용 (ZIP 항목의 상위 경로 탈출 방지) - 제어 문자는 지우고, 남는 이름이 없으면 null
+   */
+  static String sanitize(String filename) {
+    if (filename == null) {
+      return null;
+    }
+    String name = filename.substring(Math.max(filename.lastIndexOf('/'), filename.lastIndexOf('\\')) + 1);
+    name = CONTROL_CHARACTERS.matcher(name).replaceAll("").strip();
+    return name.isEmpty() || name.equals(".") || name.equals("..") ? null : name;
+  }
+
+  private String extension(String filename) {
+    return filename.substring(filename.lastIndexOf(".") + 1).toLowerCase();
+  }
+
+  /**
+   * 읽은 바이트 수를 파일당 10MB, 요청 전체 남은 용량까지로 제한하는 스트림 - 초과하는 즉시 읽기를 중단한다
+   */
+  private static class LimitedInputStream extends FilterInputStream {
+
+    private final AtomicLong remainingBytes;
+    private long read;
+    private long reserved;
+
+    LimitedInputStream(InputStream in, AtomicLong remainingBytes) {
+      super(in);
+      this.remainingBytes = remainingBytes;
+    }
+
+    @Override
+    public int read() throws IOException {
+      int b = super.read();
+      if (b >= 0) {
+        count(1);
+      }
+      return b;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+      int n = super.read(buffer, offset, length);
+      if (n > 0) {
+        count(n);
+      }
+      return n;
+    }
+
+    private void count(int n) throws UploadLimitException {
+      read += n;
+      if (read > DocumentService.MAX_FILE_SIZE) {
+        throw new UploadLimitException("파일 크기는 10MB를 초과할 수 없습니다.");
+      }
+      reserved += n;
+      if (remainingBytes.addAndGet(-n) < 0) {
+        throw new UploadLimitException("요청 전체 파일 크기가 업로드 제한을 초과합니다.");
+      }
+    }
+
+    /**
+     * 이 파일이 차지한 요청 전체 용량을 돌려준다 (저장하지 않은 파일)
+     */
+    void release() {
+      remainingBytes.addAndGet(reserved);
+      reserved = 0;
+    }
+  }
+
+  private static class UploadLimitException extends IOException {
+
+    UploadLimitException(String message) {
+      super(message);
+    }
+  }
+
+  @FunctionalInterface
+  private interface StreamOpener {
+    InputStream open() throws IOException;
+  }
+
+  /**
+   * 업로드 대상 파일 (multipart 파트 또는 ZIP 항목)
+   */
+  private record UploadSource(String fileName, long declaredSize, StreamOpener opener) {
+  }
+
+  /**
+   * 임시 저장 결과 - 성공 시 staged, 실패 시 error
+   */
+  private record Staging(String fileName, StagedFile staged, FileResult error) {
+
+    static Staging failed(String fileName, FileStatus status, String message) {
+      return new Staging(fileName, null, FileResult.error(fileName, status, message));
+    }
+
+    boolean isStaged() {
+      return staged != null;
+    }
+  }
+
+  /**
+   * 요청 처리 중 연 ZIP 파일과 임시 파일 (요청 종료 시 정리)
+   */
+  private static class UploadResources implements AutoCloseable {
+
+    private final List<ZipFile> zipFiles = new ArrayList<>();
+    private final List<Path> tempFiles = new ArrayList<>();
+
+    @Override
+    public void close() {
+      for (ZipFile zipFile : zipFiles) {
+        try {
+          zipFile.close();
+        } catch (IOException e) {
+          log.warn("ZIP 파일 닫기 실패 - {}", e.getMessage());
+        }
+      }
+      for (Path tempFile : tempFiles) {
+        try {
+          Files.deleteIfExists(tempFile);
+        } catch (IOException e) {
+          log.warn("임시 파일 삭제 실패 - path: {}, error: {}", tempFile, e.getMessage());
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,146 @@
+package com.sjpark.chatbot.service;
+
+import com.sjpark.chatbot.domain.Conversation;
+import com.sjpark.chatbot.domain.Message;
+import com.sjpark.chatbot.dto.AiChatMessage;
+import com.sjpark.chatbot.repo.MessageBatchRepository.NewMessage;
+import com.sjpark.chatbot.repo.MessageRepository;
+import com.sjpark.chatbot.tokenizer.TokenCounter;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+/**
+ * AI 서비스에 보낼 대화 내역 구성
+ * <p>
+ * 누적 요약이 있으면 system 메시지로 맨 앞에 두고, 요약 이후의 메시지를 최신순으로 토큰 예산이 허락하는 만큼 담는다.
+ * 메시지 토큰 수는 저장된 값을 쓰고, 값이 없는 메시지는 계산한다. 정확히 센 값만 엔티티에 기록하며 (호출자 트랜잭션 커밋 시
+ * 반영), 토크나이저 없이 추정한 값은 저장하지 않는다.
+ * 예산 밖으로 밀려난 메시지가 쌓이면 {@link ConversationSummarizer} 에 요약을 요청한다.
+ * <p>
+ * 메시지는 쓰기 지연 저장되므로 {@link MessageWriteBehindSink} 에서 아직 저장되지 않은 메시지를 DB 결과에 합친다.
+ */
+@Component
+@RequiredArgsConstructor
+public class ChatHistoryAssembler {
+
+  private static final String SUMMARY_PREFIX = "이전 대화 요약:\n";
+
+  private final MessageRepository messageRepository;
+  private final TokenCounter tokenCounter;
+  private final ConversationSummarizer conversationSummarizer;
+  private final MessageWriteBehindSink messageSink;
+
+  @Value("${chat.history.token-budget:2000}")
+  private int tokenBudget;
+
+  @Value("${chat.history.max-messages:50}")
+  private int maxMessages;
+
+  @Value("${chat.history.summary.min-messages:6}")
+  private int summaryMinMessages;
+
+  public List<AiChatMessage> assemble(Conversation conversation) {
+    List<AiChatMessage> history = new ArrayList<>();
+    int budget = tokenBudget;
+
+    // 1. 누적 요약
+    boolean summarized = conversation.getSummary() != null && conversation.getSummaryUntilAt() != null;
+    if (summarized) {
+      String summary = SUMMARY_PREFIX + conversation.getSummary();
+      budget -= tokenCounter.countMessage(summary);
+      history.add(AiChatMessage.builder().role("system").content(summary).build());
+    }
+
+    // 2. 요약 이후 메시지 (최신순)
+    List<Message> persisted = summarized
+        ? messageRepository.findRecentAfter(conversation.getId(), conversation.getSummaryUntilAt(),
+            conversation.getSummaryUntilId(), Limit.of(maxMessages))
+        : messageRepository.findByConversationIdOrderByCreatedAtDescIdDesc(conversation.getId(), Limit.of(maxMessages));
+    List<Message> recent = withPending(conversation, persisted);
+
+    int kept = 0;
+    int used = 0;
+    for (Message message : recent) {
+      int tokens = tokens(message) + TokenCounter.MESSAGE_OVERHEAD;
+      if (used + tokens > budget) {
+        break;
+      }
+      used += tokens;
+      kept++;
+    }
+
+    // 3. 밀려난 메시지가 충분히 쌓였거나 조회 범위를 넘으면 요약 요청 (남긴 메시지 중 가장 오래된 것 이전까지)
+    int dropped = recent.size() - kept;
+    if (dropped >= summaryMinMessages || recent.size() == maxMessages) {
+      Message boundary = recent.get(Math.max(kept - 1, 0));
+      conversationSummarizer.request(conversation.getId(), boundary.getCreatedAt(), boundary.getId());
+    }
+
+    // 4. 시간순으로 뒤집어 전달
+    for (int i = kept - 1; i >= 0; i--) {
+      Message message = recent.get(i);
+      history.add(AiChatMessage.builder()
+          .role(message.getRole().name().toLowerCase())
+          .content(message.getContent())
+          .build());
+    }
+    return history;
+  }
+
+  /**
+   * 아직 저장되지 않은 메시지를 합쳐 최신순 maxMessages 개로 (요약 이전 메시지와 이미 저장된 메시지는 제외)
+   */
+  private List<Message> withPending(Conversation conversation, List<Message> persisted) {
+    List<NewMessage> pending = messageSink.pending(conversation.getId());
+    if (pending.isEmpty()) {
+      return persisted;
+    }
+
+    Set<Long> persistedIds = new HashSet<>();
+    persisted.forEach(message -> persistedIds.add(message.getId()));
+    List<Message> merged = new ArrayList<>(persisted);
+    for (NewMessage message : pending) {
+      if (!persistedIds.add(message.id()) || !after(message, conversation)) {
+        continue;
+      }
+      merged.add(Message.builder()
+          .id(message.id())
+          .role(message.role())
+          .content(message.content())
+          .tokenCount(message.tokenCount())
+          .createdAt(message.createdAt())
+          .build());
+    }
+    merged.sort(Comparator.comparing(Message::getCreatedAt).thenComparing(Message::getId).reversed());
+    return merged.size() > maxMessages ? merged.subList(0, maxMessages) : merged;
+  }
+
+  private static boolean after(NewMessage message, Conversation conversation) {
+    LocalDateTime untilAt = conversation.getSummaryUntilAt();
+    if (conversation.getSummary() == null || untilAt == null) {
+      return true;
+    }
+    return message.createdAt().isAfter(untilAt)
+        || message.createdAt().isEqual(untilAt) && message.id() > conversation.getSummaryUntilId();
+  }
+
+  private int tokens(Message message) {
+    if (message.getTokenCount() != null) {
+      return message.getTokenCount();
+    }
+    Integer exact = tokenCounter.countForStorage(message.getContent());
+    if (exact == null) {
+      return tokenCounter.count(message.getContent());
+    }
+    message.cacheTokenCount(exact);
+    return exact;
+  }
+}
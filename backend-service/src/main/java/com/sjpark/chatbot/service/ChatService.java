@@ -0,0 +1,171 @@
+package com.sjpark.chatbot.service;
+
+import com.sjpark.chatbot.common.BusinessException;
+import com.sjpark.chatbot.dto.AiChatRequest;
+import com.sjpark.chatbot.dto.AiChatStreamEvent;
+import com.sjpark.chatbot.dto.AiSourceDocument;
+import com.sjpark.chatbot.dto.ChatRequest;
+import com.sjpark.chatbot.dto.ChatStreamResponse;
+import com.sjpark.chatbot.proxy.AiApiClient;
+import com.sjpark.chatbot.service.AnswerCache.AnswerKey;
+import com.sjpark.chatbot.service.AnswerCache.CachedAnswer;
+import com.sjpark.chatbot.service.ConversationService.ChatContext;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * 채팅 스트리밍
+ * <p>
+ * AI 서비스가 생성하는 토큰을 받는 즉시 SSE 로 브라우저에 전달하고, 답변이 끝나면 메시지를 저장한다.
+ * 캐시된 답변이 있으면 AI 서비스를 호출하지 않고 한 번에 전달한다.
+ * 대화에 보관함이 여러 개 선택되어 있으면 {@link ScatterGatherRetriever} 로 미리 검색한 문서를 함께 보낸다.
+ * 일부 보관함 검색이 실패한 채 만든 답변은 캐시하지 않는다 (장애가 풀린 뒤에도 빠진 근거로 만든 답변이 재사용되지 않도록).
+ */
+@Slf4j
+@Service
+public class ChatService {
+
+  public static final String EVENT_TOKEN = "token";
+  public static final String EVENT_DONE = "done";
+  public static final String EVENT_ERROR = "error";
+
+  private final ConversationService conversationService;
+  private final AiApiClient aiApiClient;
+  private final ScatterGatherRetriever scatterGatherRetriever;
+  private final AnswerCache answerCache;
+  private final Timer timeToFirstToken;
+  private final Timer streamDuration;
+
+  @Value("${chat.top-k:4}")
+  private int defaultTopK;
+
+  @Value("${chat.temperature:0.1}")
+  private double defaultTemperature;
+
+  public ChatService(ConversationService conversationService, AiApiClient aiApiClient,
+      ScatterGatherRetriever scatterGatherRetriever, AnswerCache answerCache, MeterRegistry meterRegistry) {
+    this.conversationService = conversationService;
+    this.aiApiClient = aiApiClient;
+    this.scatterGatherRetriever = scatterGatherRetriever;
+    this.answerCache = answerCache;
+    this.timeToFirstToken = Timer.builder("chat.time.to.first.token")
+        .description("채팅 요청부터 첫 토큰 수신까지의 시간")
+        .publishPercentileHistogram()
+        .register(meterRegistry);
+    this.streamDuration = Timer.builder("chat.stream.duration")
+        .description("채팅 스트림 전체 소요 시간")
+        .publishPercentileHistogram()
+        .register(meterRegistry);
+  }
+
+  /**
+   * 채팅 스트리밍 - 대화/권한 검증 실패는 스트림 시작 전에 예외로 응답한다
+   */
+  public Flux<ServerSentEvent<ChatStreamResponse>> streamChat(Long conversationId, ChatRequest request) {
+    ChatContext context = conversationService.prepareChat(conversationId, request.getUserId());
+
+    AiChatRequest aiRequest = AiChatRequest.builder()
+        .query(request.getQuery())
+        .top_k(request.getTopK() != null ? request.getTopK() : defaultTopK)
+        .temperature(request.getTemperature() != null ? request.getTemperature() : defaultTemperature)
+        .history(context.history())
+        .build();
+
+    AnswerKey cacheKey = AnswerKey.of(context.collectionScope(), request.getQuery(), context.history(),
+        context.contentVersion(), aiRequest.getTop_k());
+    Optional<CachedAnswer> cached = answerCache.get(cacheKey);
+    if (cached.isPresent()) {
+      log.info("캐시된 답변 사용 - conversationId: {}", conversationId);
+      return replayCachedAnswer(context, request.getQuery(), cached.get());
+    }
+
+    return Flux.defer(() -> {
+      long startedAt = System.nanoTime();
+      AtomicBoolean firstTokenReceived = new AtomicBoolean();
+      AtomicBoolean partial = new AtomicBoolean();
+
+      return generate(context, aiRequest, partial)
+          .concatMap(event -> {
+            if (event.isToken()) {
+              if (firstTokenReceived.compareAndSet(false, true)) {
+                timeToFirstToken.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+              }
+              return Mono.just(sse(EVENT_TOKEN, ChatStreamResponse.token(event.getContent())));
+            }
+            if (event.isDone()) {
+              if (partial.get()) {
+                log.info("일부 보관함 검색 실패로 답변을 캐시하지 않음 - conversationId: {}", conversationId);
+              } else {
+                answerCache.put(cacheKey, new CachedAnswer(event.getAnswer(), event.getSources()));
+              }
+              return completeTurn(context, request.getQuery(), event.getAnswer(), event.getSources());
+            }
+            if (event.isError()) {
+              log.error("AI 서비스 채팅 처리 실패 - conversationId: {}, message: {}",
+                  conversationId, event.getMessage());
+              return Mono.just(sse(EVENT_ERROR, ChatStreamResponse.error(event.getMessage())));
+            }
+            return Mono.empty();
+          })
+          .onErrorResume(e -> {
+            log.error("채팅 스트리밍 실패 - conversationId: {}, error: {}", conversationId, e.getMessage());
+            String message = e instanceof BusinessException be
+                ? be.getErrorCode().getMessage()
+                : "채팅 처리 중 오류가 발생했습니다.";
+            return Mono.just(sse(EVENT_ERROR, ChatStreamResponse.error(message)));
+          })
+          .doFinally(signal -> streamDuration.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS));
+    });
+  }
+
+  /**
+   * 답변 생성 - 보관함이 하나면 AI 에이전트가 직접 검색하고, 여러 개면 분산 검색 결과를 컨텍스트로 보낸다
+   *
+   * @param partial 분산 검색에서 빠진 보관함이 있으면 true 로 설정
+   */
+  private Flux<AiChatStreamEvent> generate(ChatContext context, AiChatRequest request, AtomicBoolean partial) {
+    if (context.targets().size() == 1) {
+      return aiApiClient.streamChat(request.toBuilder()
+          .collection_name(context.targets().get(0).collectionName())
+          .build());
+    }
+    return scatterGatherRetriever.retrieve(context.targets(), request.getQuery(), request.getTop_k())
+        .doOnNext(retrieval -> partial.set(retrieval.partial()))
+        .flatMapMany(retrieval -> aiApiClient.streamChat(request.toBuilder().context(retrieval.documents()).build()));
+  }
+
+  /**
+   * 캐시된 답변 전달 - 답변 전체를 토큰 이벤트 하나로 보낸 뒤 일반 답변과 동일하게 메시지를 저장한다
+   */
+  private Flux<ServerSentEvent<ChatStreamResponse>> replayCachedAnswer(ChatContext context, String question,
+      CachedAnswer cached) {
+    return Flux.concat(
+        Mono.just(sse(EVENT_TOKEN, ChatStreamResponse.token(cached.answer()))),
+        completeTurn(context, question, cached.answer(), cached.sources()));
+  }
+
+  /**
+   * 답변 완료 - 메시지 저장(블로킹 JPA)은 별도 스케줄러에서 수행
+   */
+  private Mono<ServerSentEvent<ChatStreamResponse>> completeTurn(ChatContext context, String question,
+      String answer, List<AiSourceDocument> sources) {
+    return Mono.fromCallable(() -> conversationService.saveTurn(context.conversationId(), question, answer, sources))
+        .subscribeOn(Schedulers.boundedElastic())
+        .map(messageId -> sse(EVENT_DONE, ChatStreamResponse.done(messageId, answer, sources)));
+  }
+
+  private ServerSentEvent<ChatStreamResponse> sse(String event, ChatStreamResponse data) {
+    return ServerSentEvent.builder(data).event(event).build();
+  }
+}
@@ -0,0 +1,194 @@
+package com.sjpark.chatbot.service;
+
+import com.sjpark.chatbot.common.BusinessException;
+import com.sjpark.chatbot.common.ErrorCode;
+import com.sjpark.chatbot.domain.Conversation;
+import com.sjpark.chatbot.domain.Message;
+import com.sjpark.chatbot.domain.Message.MessageRole;
+import com.sjpark.chatbot.domain.Namespace;
+import com.sjpark.chatbot.dto.AiChatMessage;
+import com.sjpark.chatbot.dto.AiSourceDocument;
+import com.sjpark.chatbot.dto.ConversationResponse;
+import com.sjpark.chatbot.dto.CursorPage;
+import com.sjpark.chatbot.dto.CursorPage.Cursor;
+import com.sjpark.chatbot.dto.MessageResponse;
+import com.sjpark.chatbot.repo.ConversationRepository;
+import com.sjpark.chatbot.repo.MessageBatchRepository.NewMessage;
+import com.sjpark.chatbot.repo.MessageRepository;
+import com.sjpark.chatbot.repo.NamespaceRepository;
+import com.sjpark.chatbot.tokenizer.TokenCounter;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class ConversationService {
+
+  private static final int MAX_PAGE_SIZE = 100;
+
+  private final ConversationRepository conversationRepository;
+  private final MessageRepository messageRepository;
+  private final NamespaceRepository namespaceRepository;
+  private final MessageWriteBehindSink messageSink;
+  private final ChatHistoryAssembler chatHistoryAssembler;
+  private final TokenCounter tokenCounter;
+
+  /**
+   * 사용자의 대화 목록 조회 (최근 갱신순, 키셋 페이지네이션)
+   */
+  public CursorPage<ConversationResponse> getConversations(Long userId, String cursor, int size) {
+    int pageSize = clampPageSize(size);
+    Cursor after = Cursor.decode(cursor);
+    Limit limit = Limit.of(pageSize + 1);
+
+    List<Conversation> rows = after == null
+        ? conversationRepository.findByUserIdOrderByUpdatedAtDescIdDesc(userId, limit)
+        : conversationRepository.findPageAfter(userId, after.timestamp(), after.id(), limit);
+
+    return CursorPage.of(rows, pageSize,
+        conversation -> new Cursor(conversation.getUpdatedAt(), conversation.getId()),
+        ConversationResponse::from);
+  }
+
+  /**
+   * 대화의 메시지 조회 (최신순, 키셋 페이지네이션)
+   */
+  public CursorPage<MessageResponse> getMessages(Long conversationId, Long userId, String cursor, int size) {
+    getOwnedConversation(conversationId, userId);
+
+    int pageSize = clampPageSize(size);
+    Cursor before = Cursor.decode(cursor);
+    Limit limit = Limit.of(pageSize + 1);
+
+    List<Message> rows = before == null
+        ? messageRepository.findByConversationIdOrderByCreatedAtDescIdDesc(conversationId, limit)
+        : messageRepository.findPageBefore(conversationId, before.timestamp(), before.id(), limit);
+
+    return CursorPage.of(rows, pageSize,
+        message -> new Cursor(message.getCreatedAt(), message.getId()),
+        MessageResponse::from);
+  }
+
+  /**
+   * 채팅 요청 준비 - 대화 소유자 확인, 검색 대상 컬렉션(선택된 모든 보관함)과 토큰 예산 안의 대화 내역 조회
+   * <p>
+   * 삭제되었거나 다른 사용자의 보관함은 검색 대상에서 제외한다.
+   * 토큰 수가 없던 예전 메시지는 이번 트랜잭션에서 계산 결과를 저장한다.
+   */
+  @Transactional
+  public ChatContext prepareChat(Long conversationId, Long userId) {
+    Conversation conversation = getOwnedConversation(conversationId, userId);
+
+    if (conversation.getNamespaceIds() == null || conversation.getNamespaceIds().isEmpty()) {
+      throw new BusinessException(ErrorCode.INVALID_INPUT_VALUE, "대화에 선택된 문서 보관함이 없습니다.");
+    }
+
+    // 선택 순서 유지, 한 번의 IN 쿼리
+    Map<Long, Namespace> owned = namespaceRepository.findAllById(conversation.getNamespaceIds()).stream()
+        .filter(namespace -> namespace.getUser().getId().equals(userId))
+        .collect(Collectors.toMap(Namespace::getId, Function.identity()));
+    List<SearchTarget> targets = conversation.getNamespaceIds().stream()
+        .distinct()
+        .map(owned::get)
+        .filter(Objects::nonNull)
+        .map(namespace -> new SearchTarget(namespace.getId(), namespace.getChromaCollectionName(),
+            namespace.getContentVersion()))
+        .toList();
+    if (targets.isEmpty()) {
+      throw new BusinessException(ErrorCode.NAMESPACE_NOT_FOUND);
+    }
+
+    List<AiChatMessage> history = chatHistoryAssembler.assemble(conversation);
+
+    return new ChatContext(conversation.getId(), targets, history);
+  }
+
+  /**
+   * 질문/답변 한 턴 저장 - 쓰기 지연 큐에 넣고 바로 반환한다 (대화 updated_at 은 flush 시 갱신)
+   *
+   * @return 답변 메시지 ID (미리 할당된 시퀀스 값)
+   */
+  public Long saveTurn(Long conversationId, String question, String answer, List<AiSourceDocument> sources) {
+    if (!conversationRepository.existsById(conversationId)) {
+      throw new BusinessException(ErrorCode.CONVERSATION_NOT_FOUND);
+    }
+
+    LocalDateTime now = LocalDateTime.now();
+    long questionId = messageSink.nextId();
+    long answerId = messageSink.nextId();
+    messageSink.enqueue(List.of(
+        new NewMessage(questionId, conversationId, MessageRole.USER, question, null, null,
+            tokenCounter.countForStorage(question), now),
+        new NewMessage(answerId, conversationId, MessageRole.ASSISTANT, answer, toCitations(sources), null,
+            tokenCounter.countForStorage(answer), now)));
+
+    log.info("대화 메시지 저장 요청 - conversationId: {}, messageId: {}", conversationId, answerId);
+    return answerId;
+  }
+
+  private Conversation getOwnedConversation(Long conversationId, Long userId) {
+    Conversation conversation = conversationRepository.findById(conversationId)
+        .orElseThrow(() -> new BusinessException(ErrorCode.CONVERSATION_NOT_FOUND));
+    if (!conversation.getUser().getId().equals(userId)) {
+      throw new BusinessException(ErrorCode.FORBIDDEN);
+    }
+    return conversation;
+  }
+
+  private int clampPageSize(int size) {
+    return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+  }
+
+  private List<Map<String, Object>> toCitations(List<AiSourceDocument> sources) {
+    if (sources == null || sources.isEmpty()) {
+      return null;
+    }
+    return sources.stream()
+        .map(source -> {
+          Map<String, Object> citation = new LinkedHashMap<>();
+          citation.put("id", source.getId());
+          citation.put("source", source.getSource());
+          citation.put("page", source.getPage());
+          return citation;
+        })
+        .toList();
+  }
+
+  /**
+   * 채팅 요청에 필요한 대화 정보 (트랜잭션 밖에서 사용)
+   */
+  public record ChatContext(Long conversationId, List<SearchTarget> targets, List<AiChatMessage> history) {
+
+    /**
+     * 답변 캐시 범위 - 검색 대상 컬렉션 (정렬 후 결합)
+     */
+    public String collectionScope() {
+      return targets.stream().map(SearchTarget::collectionName).sorted().collect(Collectors.joining(","));
+    }
+
+    /**
+     * 검색 대상 콘텐츠 버전 합 - 버전은 줄지 않으므로 어느 보관함이든 문서가 바뀌면 달라진다
+     */
+    public long contentVersion() {
+      return targets.stream().mapToLong(SearchTarget::contentVersion).sum();
+    }
+  }
+
+  /**
+   * 검색 대상 보관함
+   */
+  public record SearchTarget(Long namespaceId, String collectionName, long contentVersion) {
+  }
+}
@@ -0,0 +1,141 @@
+package com.sjpark.chatbot.service;
+
+import com.sjpark.chatbot.domain.Conversation;
+import com.sjpark.chatbot.domain.Message;
+import com.sjpark.chatbot.dto.AiChatMessage;
+import com.sjpark.chatbot.dto.AiSummaryRequest;
+import com.sjpark.chatbot.dto.AiSummaryResponse;
+import com.sjpark.chatbot.proxy.AiApiClient;
+import com.sjpark.chatbot.repo.ConversationRepository;
+import com.sjpark.chatbot.repo.MessageRepository;
+import com.sjpark.chatbot.tokenizer.TokenCounter;
+import jakarta.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 대화 누적 요약 갱신
+ * <p>
+ * 토큰 예산 밖으로 밀려난 오래된 메시지를 AI 서비스에 보내 이전 요약과 합친 새 요약을 받는다. 한 번에 batch-messages 개까지만
+ * 요약하고 요약 위치(summary_until_at/id)를 앞으로 옮기므로, 긴 대화도 채팅이 이어지면서 조금씩 요약된다.
+ * 요약은 채팅 응답과 무관하게 가상 스레드에서 실행되며, 같은 대화의 요약은 동시에 하나만 진행한다.
+ */
+@Slf4j
+@Component
+public class ConversationSummarizer {
+
+  private static final LocalDateTime BEGINNING = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+  private final ConversationRepository conversationRepository;
+  private final MessageRepository messageRepository;
+  private final AiApiClient aiApiClient;
+  private final TokenCounter tokenCounter;
+  private final TransactionTemplate readTransaction;
+  private final TransactionTemplate writeTransaction;
+  private final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+  private final ExecutorService executor =
+      Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("summary-", 0).factory());
+
+  @Value("${chat.history.summary.enabled:true}")
+  private boolean enabled;
+
+  @Value("${chat.history.summary.batch-messages:40}")
+  private int batchMessages;
+
+  @Value("${chat.history.summary.max-tokens:400}")
+  private int maxTokens;
+
+  public ConversationSummarizer(ConversationRepository conversationRepository, MessageRepository messageRepository,
+      AiApiClient aiApiClient, TokenCounter tokenCounter, PlatformTransactionManager transactionManager) {
+    this.conversationRepository = conversationRepository;
+    this.messageRepository = messageRepository;
+    this.aiApiClient = aiApiClient;
+    this.tokenCounter = tokenCounter;
+    this.readTransaction = new TransactionTemplate(transactionManager);
+    this.readTransaction.setReadOnly(true);
+    this.writeTransaction = new TransactionTemplate(transactionManager);
+  }
+
+  @PreDestroy
+  void stop() throws InterruptedException {
+    executor.shutdown();
+    executor.awaitTermination(10, TimeUnit.SECONDS);
+  }
+
+  /**
+   * (beforeAt, beforeId) 메시지 이전까지 요약하도록 요청 - 이미 진행 중이면 무시
+   */
+  public void request(Long conversationId, LocalDateTime beforeAt, Long beforeId) {
+    if (!enabled || executor.isShutdown() || !inFlight.add(conversationId)) {
+      return;
+    }
+    executor.execute(() -> {
+      try {
+        summarize(conversationId, beforeAt, beforeId);
+      } catch (Exception e) {
+        log.warn("대화 요약 실패 - conversationId: {}, error: {}", conversationId, e.getMessage());
+      } finally {
+        inFlight.remove(conversationId);
+      }
+    });
+  }
+
+  private void summarize(Long conversationId, LocalDateTime beforeAt, Long beforeId) {
+    // 1. 요약 대상 조회 (이전 요약 위치 이후, 요청 위치 이전)
+    SummaryInput input = readTransaction.execute(status -> {
+      Conversation conversation = conversationRepository.findById(conversationId).orElse(null);
+      if (conversation == null) {
+        return null;
+      }
+      LocalDateTime afterAt = conversation.getSummaryUntilAt() != null ? conversation.getSummaryUntilAt() : BEGINNING;
+      Long afterId = conversation.getSummaryUntilId() != null ? conversation.getSummaryUntilId() : 0L;
+      List<Message> messages = messageRepository.findBetween(conversationId, afterAt, afterId, beforeAt, beforeId,
+          Limit.of(batchMessages));
+      if (messages.isEmpty()) {
+        return null;
+      }
+      Message last = messages.get(messages.size() - 1);
+      return new SummaryInput(conversation.getSummary(), messages.stream()
+          .map(message -> AiChatMessage.builder()
+              .role(message.getRole().name().toLowerCase())
+              .content(message.getContent())
+              .build())
+          .toList(), last.getCreatedAt(), last.getId());
+    });
+    if (input == null) {
+      return;
+    }
+
+    // 2. AI 서비스 요약 (트랜잭션 밖)
+    AiSummaryResponse response = aiApiClient.summarize(AiSummaryRequest.builder()
+        .previous_summary(input.previousSummary())
+        .messages(input.messages())
+        .max_tokens(maxTokens)
+        .build());
+    if (response == null || response.getSummary() == null || response.getSummary().isBlank()) {
+      return;
+    }
+
+    // 3. 요약 위치가 앞으로 나아갈 때만 저장
+    String summary = response.getSummary();
+    Integer updated = writeTransaction.execute(status -> conversationRepository.updateSummary(conversationId,
+        summary, tokenCounter.countForStorage(summary), input.untilAt(), input.untilId()));
+    log.info("대화 요약 갱신 - conversationId: {}, messages: {}, updated: {}",
+        conversationId, input.messages().size(), updated);
+  }
+
+  private record SummaryInput(String previousSummary, List<AiChatMessage> messages, LocalDateTime untilAt,
+                              Long untilId) {
+  }
+}
@@ -0,0 +1,134 @@
+package com.sjpark.chatbot.service;
+
+import com.sjpark.chatbot.common.BusinessException;
+import com.sjpark.chatbot.common.ErrorCode;
+import jakarta.annotation.PreDestroy;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * PDF 텍스트 추출 및 청킹 (ingestion.chunking.mode=java)
+ * <p>
+ * 저장된 PDF 를 pages-per-task 페이지 단위로 나눠 CPU 코어 수만큼의 스레드에서 병렬로 추출/분할한다. PDFBox 문서 객체는
+ * 스레드 안전하지 않으므로 작업마다 파일을 따로 연다. 청크 경계와 메타데이터(source, file_path, page, total_pages,
+ * document_id, filename)는 AI 서비스의 PDFPlumberLoader + RecursiveCharacterTextSplitter 결과와 같은 형식이다.
+ * 여러 문서의 작업이 같은 스레드 풀을 공유하므로 동시에 처리되는 문서 수와 관계없이 CPU 사용량이 제한된다.
+ */
+@Slf4j
+@Component
+public class DocumentChunker {
+
+  private final RecursiveTextSplitter splitter;
+  private final ExecutorService chunkingExecutor;
+  private final int pagesPerTask;
+
+  public DocumentChunker(
+      @Value("${ingestion.chunking.chunk-size:1000}") int chunkSize,
+      @Value("${ingestion.chunking.chunk-overlap:50}") int chunkOverlap,
+      @Value("${ingestion.chunking.pages-per-task:8}") int pagesPerTask,
+      @Value("${ingestion.chunking.parallelism:0}") int parallelism) {
+    this.splitter = new RecursiveTextSplitter(chunkSize, chunkOverlap);
+    this.pagesPerTask = Math.max(1, pagesPerTask);
+    int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+    this.chunkingExecutor = Executors.newFixedThreadPool(threads, Thread.ofPlatform().name("chunking-", 0).factory());
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    chunkingExecutor.shutdown();
+  }
+
+  /**
+   * PDF 를 페이지별로 추출해 청크로 분할
+   */
+  public ChunkedDocument chunk(Long documentId, String filePath, String filename) {
+    File file = new File(filePath);
+    int pageCount;
+    try (PDDocument document = Loader.loadPDF(file)) {
+      pageCount = document.getNumberOfPages();
+    } catch (IOException e) {
+      throw new BusinessException(ErrorCode.INVALID_FILE_FORMAT, "PDF 파일을 읽을 수 없습니다: " + e.getMessage(), e);
+    }
+
+    // 1. 페이지 구간별 추출/분할 병렬 수행 (PDFBox 페이지 번호는 1부터)
+    List<CompletableFuture<List<Chunk>>> slices = new ArrayList<>();
+    for (int startPage = 1; startPage <= pageCount; startPage += pagesPerTask) {
+      int from = startPage;
+      int to = Math.min(startPage + pagesPerTask - 1, pageCount);
+      slices.add(CompletableFuture.supplyAsync(
+          () -> chunkPages(file, from, to, pageCount, documentId, filename), chunkingExecutor));
+    }
+
+    // 2. 페이지 순서대로 합침
+    List<Chunk> chunks = new ArrayList<>();
+    try {
+      slices.forEach(slice -> chunks.addAll(slice.join()));
+    } catch (CompletionException e) {
+      slices.forEach(slice -> slice.cancel(false));
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw e;
+    }
+
+    log.info("문서 청킹 완료 - documentId: {}, pages: {}, chunks: {}", documentId, pageCount, chunks.size());
+    return new ChunkedDocument(pageCount, chunks);
+  }
+
+  private List<Chunk> chunkPages(File file, int from, int to, int pageCount, Long documentId, String filename) {
+    List<Chunk> chunks = new ArrayList<>();
+    try (PDDocument document = Loader.loadPDF(file)) {
+      PDFTextStripper stripper = new PDFTextStripper();
+      stripper.setSortByPosition(true); // pdfplumber 와 같이 위치 순서로 읽음
+      stripper.setLineSeparator("\n");
+
+      for (int page = from; page <= to; page++) {
+        stripper.setStartPage(page);
+        stripper.setEndPage(page);
+        String text = stripper.getText(document);
+
+        for (String content : splitter.split(text)) {
+          chunks.add(new Chunk(content, metadata(file.getPath(), page - 1, pageCount, documentId, filename)));
+        }
+      }
+    } catch (IOException e) {
+      throw new BusinessException(ErrorCode.INVALID_FILE_FORMAT,
+          "PDF 텍스트 추출 실패 (페이지 " + from + "-" + to + "): " + e.getMessage(), e);
+    }
+    return chunks;
+  }
+
+  /**
+   * AI 서비스 청크 메타데이터와 같은 키 (page 는 0부터)
+   */
+  private Map<String, Object> metadata(String filePath, int page, int pageCount, Long documentId, String filename) {
+    Map<String, Object> metadata = new LinkedHashMap<>();
+    metadata.put("source", filePath);
+    metadata.put("file_path", filePath);
+    metadata.put("page", page);
+    metadata.put("total_pages", pageCount);
+    metadata.put("document_id", documentId.toString());
+    metadata.put("filename", filename);
+    return metadata;
+  }
+
+  public record Chunk(String content, Map<String, Object> metadata) {
+  }
+
+  public record ChunkedDocument(int pageCount, List<Chunk> chunks) {
+  }
+}
@@ -6,24 +6,27 @@ import com.sjpark.chatbot.domain.Document;
 import com.sjpark.chatbot.domain.Document.DocumentStatus;
 import com.sjpark.chatbot.domain.Namespace;
 import com.sjpark.chatbot.domain.User;
-import com.sjpark.chatbot.dto.AiDocumentUploadResponse;
 import com.sjpark.chatbot.dto.DocumentQueryResponse;
 import com.sjpark.chatbot.dto.DocumentUploadRequest;
 import com.sjpark.chatbot.dto.DocumentUploadResponse;
-import com.sjpark.chatbot.proxy.AiApiClient;
+import com.sjpark.chatbot.repo.DocumentBatchRepository;
+import com.sjpark.chatbot.repo.DocumentBatchRepository.NewDocument;
 import com.sjpark.chatbot.repo.DocumentRepository;
 import com.sjpark.chatbot.repo.NamespaceRepository;
 import com.sjpark.chatbot.repo.UserRepository;
-import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
-import java.security.MessageDigest;
+import com.sjpark.chatbot.service.FileStorageService.StagedFile;
+import com.sjpark.chatbot.service.NamespaceCounterService.StatusChange;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
@@ -35,51 +38,71 @@ import org.springframework.web.multipart.MultipartFile;
 public class DocumentService {
 
   private final DocumentRepository documentRepository;
+  private final DocumentBatchRepository documentBatchRepository;
   private final NamespaceRepository namespaceRepository;
   private final UserRepository userRepository;
-  private final AiApiClient aiApiClient;
+  private final FileStorageService fileStorageService;
+  private final FileBlobService fileBlobService;
+  private final IngestionJobService ingestionJobService;
+  private final NamespaceCounterService namespaceCounterService;
+  private final UploadMetrics uploadMetrics;
 
-  @Value("${file.upload.dir}")
-  private String uploadDir;
-
-  private static final long MAX_FILE_SIZE = 10 * 1024 * 1024; // 10MB
+  static final long MAX_FILE_SIZE = 10 * 1024 * 1024; // 10MB
 
   /**
    * 문서 목록 조회
    */
   public List<DocumentQueryResponse> getDocumentsByUserIdAndNamespaceId(Long userId, Long namespaceId) {
-    List<Document> documents = documentRepository.findByUserIdAndNamespaceId(userId, namespaceId);
+    List<DocumentQueryResponse> documents = documentRepository.findListByUserIdAndNamespaceId(userId, namespaceId);
     log.info("문서 조회 완료 - userId: {}, namespaceId: {}}", userId, namespaceId);
-    return documents.stream().map(DocumentQueryResponse::from).toList();
+    return documents;
   }
 
   /**
-   * 문서 업로드 및 AI 서비스에 전송
+   * 문서 업로드 및 인덱싱 작업 등록 (단계별 소요 시간은 document.upload.stage 로 기록)
    */
   @Transactional
   public DocumentUploadResponse uploadDocument(DocumentUploadRequest request) {
+    try {
+      return upload(request);
+    } catch (BusinessException e) {
+      if (e.getErrorCode() != ErrorCode.DUPLICATE_DOCUMENT) {
+        uploadMetrics.failed(UploadMetrics.SINGLE, e.getErrorCode().name());
+      }
+      throw e;
+    }
+  }
+
+  private DocumentUploadResponse upload(DocumentUploadRequest request) {
     MultipartFile file = request.getFile();
 
     // 1. 파일 검증
-    validateFile(file);
+    uploadMetrics.stage(UploadMetrics.SINGLE, "validate", () -> validateFile(file));
 
     // 2. 사용자 및 네임스페이스 조회
-    User user = userRepository.findById(request.getUserId())
-        .orElseThrow(() -> new BusinessException(ErrorCode.USER_NOT_FOUND));
+    User user = uploadMetrics.stage(UploadMetrics.SINGLE, "lookup", () -> userRepository.findById(request.getUserId())
+        .orElseThrow(() -> new BusinessException(ErrorCode.USER_NOT_FOUND)));
 
-    Namespace namespace = namespaceRepository.findByUser(user).stream()
+    Namespace namespace = uploadMetrics.stage(UploadMetrics.SINGLE, "lookup", () -> namespaceRepository.findByUser(user)
+        .stream()
         .filter(ns -> ns.getId().equals(request.getNamespaceId()))
         .findFirst()
-        .orElseThrow(() -> new BusinessException(ErrorCode.NAMESPACE_NOT_FOUND));
+        .orElseThrow(() -> new BusinessException(ErrorCode.NAMESPACE_NOT_FOUND)));
+
+    // 3. 파일을 임시 위치에 스트리밍 저장 (해시 계산을 같은 패스에서 수행)
+    StagedFile staged = uploadMetrics.stage(UploadMetrics.SINGLE, "hash", () -> fileStorageService.stage(file));
 
-    // 3. 파일 중복 검사
-    String fileHash = calculateFileHash(file);
-    if (documentRepository.existsByFileHashAndNamespaceId(fileHash, namespace.getId())) {
+    // 4. 파일 중복 검사
+    boolean duplicate = uploadMetrics.stage(UploadMetrics.SINGLE, "dedup",
+        () -> documentRepository.existsByFileHashAndNamespaceId(staged.hash(), namespace.getId()));
+    if (duplicate) {
+      fileStorageService.discard(staged);
+      uploadMetrics.duplicate(UploadMetrics.SINGLE, 1);
       throw new BusinessException(ErrorCode.DUPLICATE_DOCUMENT, "동일한 파일이 이미 업로드되어 있습니다.");
     }
 
-    // 4. 파일 저장
-    String savedFilePath = saveFile(file, user.getId(), namespace.getId());
+    // 5. blob 참조 증가(행 잠금) 후 임시 파일을 내용 주소 위치로 이동 (같은 내용이 이미 있으면 재사용)
+    String savedFilePath = uploadMetrics.stage(UploadMetrics.SINGLE, "save", () -> fileBlobService.store(staged));
     log.info("파일 저장 완료 - 경로 :{}", savedFilePath);
 
     // 파일 확장자
@@ -89,50 +112,110 @@ public class DocumentService {
           .substring(file.getOriginalFilename().lastIndexOf(".") + 1).toLowerCase();
     }
 
-    // 5. DB에 문서 메타데이터 저장
+    // 6. DB에 문서 메타데이터 저장
     Document document = Document.builder()
         .namespace(namespace)
         .user(user)
         .filename(file.getOriginalFilename())
         .filePath(savedFilePath)
         .fileType(extension)
-        .fileSize(file.getSize())
+        .fileSize(staged.size())
+        .fileHash(staged.hash())
         .status(DocumentStatus.PENDING)
         .build();
 
-    Document savedDocument = documentRepository.save(document);
-    log.info("문서 메타데이터 저장 완료 - ID: {}", savedDocument.getId());
+    Document savedDocument = uploadMetrics.stage(UploadMetrics.SINGLE, "insert", () -> {
+      Document saved = documentRepository.save(document);
 
-    // 6. AI 서비스에 문서 업로드 요청
-    try {
+      // 7. 인덱싱 작업 등록 (AI 서비스 호출은 커밋 이후 워커가 비동기로 처리)
+      ingestionJobService.enqueue(saved);
 
-      // 상태를 PROCESSING으로 변경
-      savedDocument.updateStatus(DocumentStatus.PROCESSING);
-      documentRepository.save(savedDocument);
-
-      // AI 서비스 호출 (chromaCollectionName 사용)
-      AiDocumentUploadResponse aiResponse = aiApiClient.indexDocument(
-          savedDocument.getId(),
-          namespace,
-          savedFilePath,
-          file.getOriginalFilename()
-      );
-
-      log.info("AI 서비스 문서 처리 요청 완료 - documentId: {}, chromaCollectionName: {}, status: {}",
-          savedDocument.getId(), namespace.getChromaCollectionName(), aiResponse.getStatus());
-
-    } catch (Exception e) {
-      log.error("AI 서비스 호출 실패 - documentId: {}, error: {}",
-          savedDocument.getId(), e.getMessage());
-      savedDocument.updateError("AI 서비스 처리 실패: " + e.getMessage());
-      documentRepository.save(savedDocument);
-      throw new BusinessException(ErrorCode.DOCUMENT_UPLOAD_FAILED,
-          "문서 처리 중 오류가 발생했습니다.", e);
-    }
+      // 8. 네임스페이스 문서 집계 증가
+      namespaceCounterService.documentAdded(namespace.getId(), saved.getFileSize(), saved.getStatus());
 
+      // 9. 네임스페이스 콘텐츠 버전 증가 (이전 버전으로 캐시된 답변 무효화)
+      namespaceRepository.incrementContentVersion(Set.of(namespace.getId()));
+      return saved;
+    });
+    log.info("문서 메타데이터 저장 및 인덱싱 작업 등록 완료 - ID: {}", savedDocument.getId());
+
+    uploadMetrics.ingested(UploadMetrics.SINGLE, 1, savedDocument.getFileSize());
     return DocumentUploadResponse.from(savedDocument);
   }
 
+  /**
+   * 대량 업로드 문서 등록 - blob 저장 후 문서/인덱싱 작업 JDBC 배치 저장, 집계와 콘텐츠 버전은 한 번만 갱신
+   *
+   * @param files 문서와 같은 순서의 임시 파일 (blob 행을 잠근 뒤 내용 주소 위치로 이동)
+   * @return 입력 순서대로 생성된 문서 ID
+   */
+  @Transactional
+  public List<Long> registerDocuments(Long namespaceId, Long userId, List<NewDocument> documents,
+      List<StagedFile> files) {
+    if (documents.isEmpty()) {
+      return List.of();
+    }
+
+    fileBlobService.storeAll(files);
+    List<Long> documentIds = documentBatchRepository.insertDocuments(namespaceId, userId, documents);
+    ingestionJobService.enqueueAll(documentIds);
+
+    long totalBytes = documents.stream().mapToLong(NewDocument::fileSize).sum();
+    namespaceCounterService.documentsAdded(namespaceId, documents.size(), totalBytes);
+    namespaceRepository.incrementContentVersion(Set.of(namespaceId));
+
+    log.info("대량 업로드 문서 등록 완료 - namespaceId: {}, 문서 수: {}", namespaceId, documentIds.size());
+    return documentIds;
+  }
+
+  /**
+   * AI 서비스 인덱싱 결과 반영
+   * <p>
+   * 대상 문서를 한 번의 IN 쿼리로 조회한 뒤 변경 감지로 갱신하므로, UPDATE 는 커밋 시 JDBC 배치로 전송된다.
+   * 그 사이 상태가 바뀐 문서(PROCESSING 이 아닌 문서)는 건너뛴다.
+   *
+   * @return 결과가 반영된 문서들의 최종 상태
+   */
+  @Transactional
+  public List<DocumentStatus> applyIndexingResults(List<IndexingResult> results) {
+    Map<Long, IndexingResult> resultById = results.stream()
+        .collect(Collectors.toMap(IndexingResult::documentId, Function.identity(), (a, b) -> b));
+
+    List<DocumentStatus> applied = new ArrayList<>();
+    List<StatusChange> statusChanges = new ArrayList<>();
+    Set<Long> changedNamespaceIds = new HashSet<>();
+    for (Document document : documentRepository.findAllById(resultById.keySet())) {
+      if (document.getStatus() != DocumentStatus.PROCESSING) {
+        continue;
+      }
+
+      IndexingResult result = resultById.get(document.getId());
+      if (result.status() == DocumentStatus.COMPLETED) {
+        Map<String, Object> metadata = new HashMap<>();
+        metadata.put("chunks", result.chunkCount());
+        if (result.processedAt() != null) {
+          metadata.put("processedAt", result.processedAt().toString());
+        }
+        document.complete(metadata);
+        changedNamespaceIds.add(document.getNamespace().getId());
+      } else {
+        document.updateError(result.errorMessage());
+      }
+      applied.add(document.getStatus());
+      statusChanges.add(new StatusChange(document.getNamespace().getId(),
+          DocumentStatus.PROCESSING, document.getStatus()));
+    }
+
+    namespaceCounterService.statusChanged(statusChanges);
+
+    if (!changedNamespaceIds.isEmpty()) {
+      namespaceRepository.incrementContentVersion(changedNamespaceIds);
+    }
+
+    log.info("문서 인덱싱 결과 반영 완료 - 요청: {}, 반영: {}", results.size(), applied.size());
+    return applied;
+  }
+
   /**
    * 파일 검증
    */
@@ -157,66 +240,15 @@ public class DocumentService {
   /**
    * 파일 확장자 검증
    */
-  private boolean hasValidExtension(String filename) {
+  static boolean hasValidExtension(String filename) {
     String extension = filename.substring(filename.lastIndexOf(".") + 1).toLowerCase();
     return extension.equals("pdf");
   }
 
   /**
-   * 파일 hash 값 계산
-   */
-  private String calculateFileHash(MultipartFile file) {
-    try {
-      MessageDigest digest = MessageDigest.getInstance("SHA-256");
-      byte[] fileBytes = file.getBytes();
-      byte[] hashBytes = digest.digest(fileBytes);
-
-      StringBuilder sb = new StringBuilder();
-      for (byte b : hashBytes) {
-        sb.append(String.format("%02x", b));
-      }
-      return sb.toString();
-
-    } catch (Exception e) {
-      log.error("파일 해시 계산 실패 - filename: {}, error: {}", file.getOriginalFilename(),
-          e.getMessage());
-      throw new BusinessException(ErrorCode.DOCUMENT_UPLOAD_FAILED, "파일 해시 계산 중 오류가 발생했습니다", e);
-    }
-  }
-
-  /**
-   * 파일 저장
-   *
-   * @ 파일 저장 위치 : ./shared/user_{userId}/namespace_{namespaceId}/
+   * AI 서비스 인덱싱 결과 (COMPLETED 또는 FAILED)
    */
-  private String saveFile(MultipartFile file, Long userId, Long namespaceId) {
-    try {
-      // 업로드 디렉토리 생성
-      Path uploadPath = Path.of(Paths.get(uploadDir) + "/user_" + userId.toString() + "/namespace_"
-          + namespaceId.toString());
-      log.info("uploadPath : {}:", uploadPath.toString());
-
-      if (!Files.exists(uploadPath)) {
-        Files.createDirectories(uploadPath);
-      }
-/*
-
-      // 고유 파일명 생성 (타임스탬프 + UUID)
-      String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMddHHmmss"));
-      String uniqueFilename = timestamp + "_" + UUID.randomUUID().toString().substring(0, 4) + "_"
-          + file.getOriginalFilename();
-*/
-
-      // 파일 저장
-      Path filePath = uploadPath.resolve(file.getOriginalFilename());
-      Files.copy(file.getInputStream(), filePath, StandardCopyOption.REPLACE_EXISTING);
-
-      return filePath.toString();
-
-    } catch (IOException e) {
-      log.error("파일 저장 실패 - filename: {}, error: {}", file.getOriginalFilename(), e.getMessage());
-      throw new BusinessException(ErrorCode.DOCUMENT_UPLOAD_FAILED, "파일 저장 중 오류가 발생했습니다", e);
-    }
-
+  public record IndexingResult(Long documentId, DocumentStatus status, Integer chunkCount,
+                               OffsetDateTime processedAt, String errorMessage) {
   }
 }
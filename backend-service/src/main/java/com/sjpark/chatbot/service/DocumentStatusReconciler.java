@@ -0,0 +1,201 @@
+package com.sjpark.chatbot.service;
+
+import com.sjpark.chatbot.domain.Document;
+import com.sjpark.chatbot.domain.Document.DocumentStatus;
+import com.sjpark.chatbot.dto.AiDocumentStatusResponse;
+import com.sjpark.chatbot.proxy.AiApiClient;
+import com.sjpark.chatbot.repo.DocumentRepository;
+import com.sjpark.chatbot.service.DocumentService.IndexingResult;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * PROCESSING 문서 상태 동기화
+ * <p>
+ * AI 서비스는 인덱싱 진행 상태를 자체 메모리에만 보관하므로, 주기적으로 처리 중인 문서의 상태를 조회해
+ * COMPLETED/FAILED 전이와 청크 수를 DB 에 반영한다. 상태 조회는 병렬도를 제한한 논블로킹 호출로 수행한다.
+ * <p>
+ * 한 번에 batchSize 건씩 ID 순으로 돌아가며 조회한다. 오래 멈춰 있는 문서가 매번 앞자리를 차지해
+ * 새로 처리 중이 된 문서를 확인하지 못하는 일이 없도록, 지난 동기화가 확인한 위치 다음부터 이어서 조회한다.
+ */
+@Slf4j
+@Component
+public class DocumentStatusReconciler {
+
+  private final DocumentRepository documentRepository;
+  private final DocumentService documentService;
+  private final AiApiClient aiApiClient;
+
+  /** 다음 동기화에서 이 ID 다음 문서부터 조회 (0 이면 처음부터) */
+  private final AtomicLong cursor = new AtomicLong();
+
+  private final AtomicLong backlogSize = new AtomicLong();
+  private final AtomicLong backlogLagSeconds = new AtomicLong();
+  private final Counter completedCounter;
+  private final Counter failedCounter;
+  private final Timer reconcileTimer;
+
+  @Value("${ingestion.reconciler.enabled:true}")
+  private boolean enabled;
+
+  @Value("${ingestion.reconciler.batch-size:200}")
+  private int batchSize;
+
+  @Value("${ingestion.reconciler.parallelism:8}")
+  private int parallelism;
+
+  @Value("${ingestion.reconciler.timeout:30000}")
+  private long timeoutMillis;
+
+  @Value("${ingestion.reconciler.call-timeout:5000}")
+  private long callTimeoutMillis;
+
+  @Value("${ingestion.reconciler.lost-after:1800000}")
+  private long lostAfterMillis;
+
+  public DocumentStatusReconciler(DocumentRepository documentRepository,
+      DocumentService documentService, AiApiClient aiApiClient, MeterRegistry meterRegistry) {
+    this.documentRepository = documentRepository;
+    this.documentService = documentService;
+    this.aiApiClient = aiApiClient;
+
+    Gauge.builder("ingestion.backlog.documents", backlogSize, AtomicLong::get)
+        .description("AI 서비스 인덱싱 중인(PROCESSING) 문서 수")
+        .register(meterRegistry);
+    Gauge.builder("ingestion.backlog.lag", backlogLagSeconds, AtomicLong::get)
+        .description("가장 오래된 PROCESSING 문서의 대기 시간")
+        .baseUnit("seconds")
+        .register(meterRegistry);
+    this.completedCounter = Counter.builder("ingestion.reconciled.documents")
+        .description("인덱싱 결과가 반영된 문서 수")
+        .tag("outcome", "completed")
+        .register(meterRegistry);
+    this.failedCounter = Counter.builder("ingestion.reconciled.documents")
+        .description("인덱싱 결과가 반영된 문서 수")
+        .tag("outcome", "failed")
+        .register(meterRegistry);
+    this.reconcileTimer = Timer.builder("ingestion.reconcile.duration")
+        .description("상태 동기화 1회 수행 시간")
+        .register(meterRegistry);
+  }
+
+  @Scheduled(fixedDelayString = "${ingestion.reconciler.interval:5000}")
+  public void reconcile() {
+    if (!enabled || !aiApiClient.isIndexingAvailable()) {
+      return;
+    }
+    reconcileTimer.record(this::reconcileOnce);
+  }
+
+  private void reconcileOnce() {
+    updateBacklogGauges();
+
+    // 지난 동기화가 확인한 위치 다음부터 batchSize 만큼 조회
+    List<Document> targets = documentRepository.findByStatusAndIdGreaterThanOrderByIdAsc(
+        DocumentStatus.PROCESSING, cursor.get(), Limit.of(batchSize));
+    if (targets.isEmpty()) {
+      cursor.set(0);
+      return;
+    }
+
+    LocalDateTime lostBefore = LocalDateTime.now().minus(Duration.ofMillis(lostAfterMillis));
+    Set<Long> checked = ConcurrentHashMap.newKeySet();
+
+    // 조회마다 제한 시간을 두고, 전체 제한 시간이 지나면 그때까지 받은 결과만 반영
+    List<IndexingResult> results = Flux.fromIterable(targets)
+        .flatMap(document -> aiApiClient.getDocumentStatus(document.getNamespace().getId(), document.getId())
+            .timeout(Duration.ofMillis(callTimeoutMillis))
+            .map(Optional::of)
+            .defaultIfEmpty(Optional.empty())
+            .mapNotNull(status -> status.isPresent()
+                ? toResult(document.getId(), status.get())
+                : lostResult(document, lostBefore))
+            .onErrorResume(e -> {
+              log.warn("AI 서비스 문서 상태 조회 실패 - documentId: {}, error: {}", document.getId(), e.getMessage());
+              return Mono.empty();
+            })
+            .doOnTerminate(() -> checked.add(document.getId())), parallelism)
+        .take(Duration.ofMillis(timeoutMillis))
+        .collectList()
+        .block();
+
+    advanceCursor(targets, checked);
+
+    if (results == null || results.isEmpty()) {
+      return;
+    }
+
+    for (DocumentStatus status : documentService.applyIndexingResults(results)) {
+      if (status == DocumentStatus.COMPLETED) {
+        completedCounter.increment();
+      } else {
+        failedCounter.increment();
+      }
+    }
+  }
+
+  /**
+   * 앞에서부터 빠짐없이 확인한 문서까지 위치를 옮긴다
+   * <p>
+   * 전체 제한 시간에 걸려 확인하지 못한 문서는 다음 동기화에서 먼저 조회한다.
+   * 배치가 batchSize 보다 적게 조회됐고 모두 확인했으면 마지막까지 돈 것이므로 처음부터 다시 조회한다.
+   */
+  private void advanceCursor(List<Document> targets, Set<Long> checked) {
+    int done = 0;
+    while (done < targets.size() && checked.contains(targets.get(done).getId())) {
+      done++;
+    }
+    if (done == targets.size() && targets.size() < batchSize) {
+      cursor.set(0);
+    } else if (done > 0) {
+      cursor.set(targets.get(done - 1).getId());
+    }
+  }
+
+  private IndexingResult toResult(Long documentId, AiDocumentStatusResponse response) {
+    if (response.isProcessed()) {
+      return new IndexingResult(documentId, DocumentStatus.COMPLETED, response.getChunksCount(),
+          response.getProcessedAt(), null);
+    }
+    if (response.isFailed()) {
+      return new IndexingResult(documentId, DocumentStatus.FAILED, null, response.getProcessedAt(),
+          "AI 서비스 처리 실패: " + response.getErrorMessage());
+    }
+    return null; // 아직 처리 중
+  }
+
+  /**
+   * AI 서비스가 상태를 모르는 문서 (AI 서비스 재시작 등) - 일정 시간이 지나면 실패로 처리
+   */
+  private IndexingResult lostResult(Document document, LocalDateTime lostBefore) {
+    if (document.getUpdatedAt() == null || document.getUpdatedAt().isAfter(lostBefore)) {
+      return null;
+    }
+    log.warn("AI 서비스에 문서 처리 상태가 없음 - documentId: {}, updatedAt: {}",
+        document.getId(), document.getUpdatedAt());
+    return new IndexingResult(document.getId(), DocumentStatus.FAILED, null, null,
+        "AI 서비스에서 문서 처리 상태를 찾을 수 없습니다.");
+  }
+
+  private void updateBacklogGauges() {
+    backlogSize.set(documentRepository.countByStatus(DocumentStatus.PROCESSING));
+    LocalDateTime oldest = documentRepository.findOldestUpdatedAtByStatus(DocumentStatus.PROCESSING);
+    backlogLagSeconds.set(oldest == null ? 0 : Duration.between(oldest, LocalDateTime.now()).toSeconds());
+  }
+}
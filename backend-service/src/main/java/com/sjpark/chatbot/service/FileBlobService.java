@@ -0,0 +1,252 @@
+package com.sjpark.chatbot.service;
+
+import com.sjpark.chatbot.domain.FileBlob;
+import com.sjpark.chatbot.repo.FileBlobRepository;
+import com.sjpark.chatbot.service.FileStorageService.StagedFile;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 파일 blob 참조 수 관리
+ * <p>
+ * 문서 저장/삭제와 같은 트랜잭션에서 ref_count 를 증감한다. 디스크의 blob 파일은 항상 해당 file_blobs 행의 잠금을 잡은
+ * 뒤에만 만들거나 재사용하거나 지운다.
+ * <ul>
+ *   <li>저장: 행을 만들거나(없으면) ref_count 를 증가시켜 잠근 다음 파일을 확인/이동한다.</li>
+ *   <li>삭제: ref_count 가 0 이 된 행을 잠근 채 지우고, 커밋 직전에 파일을 휴지통으로 옮긴다. 커밋되면 휴지통에서
+ *   지우고 롤백되면 되돌린다.</li>
+ * </ul>
+ * 같은 내용을 동시에 업로드하는 트랜잭션은 행 잠금에서 기다리므로, 삭제가 커밋된 뒤에는 새 행을 만들고 자기 임시 파일을
+ * 옮겨 놓는다. 행 없이 남은 파일(저장 후 롤백, 프로세스 종료)은 {@link FileBlobSweeper} 가 정리한다.
+ * 보관함 삭제는 참조를 집합 단위로 해제한 뒤, 파일 정리를 삭제 작업({@link NamespaceReclaimer})에 넘긴다.
+ */
+@Slf4j
+@Service
+@Transactional
+public class FileBlobService {
+
+  private static final int ACQUIRE_ATTEMPTS = 3;
+
+  private final FileBlobRepository fileBlobRepository;
+  private final FileStorageService fileStorageService;
+  private final TransactionTemplate newTransaction;
+
+  public FileBlobService(FileBlobRepository fileBlobRepository, FileStorageService fileStorageService,
+      PlatformTransactionManager transactionManager) {
+    this.fileBlobRepository = fileBlobRepository;
+    this.fileStorageService = fileStorageService;
+    this.newTransaction = new TransactionTemplate(transactionManager);
+    this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+  }
+
+  /**
+   * 임시 파일을 blob 으로 저장하고 참조 1 증가 - 행을 잠근 뒤 디스크를 확인하므로 동시에 진행 중인 삭제와 겹치지 않는다
+   *
+   * @return blob 저장 경로
+   */
+  public String store(StagedFile staged) {
+    return storeAll(List.of(staged)).get(0);
+  }
+
+  /**
+   * 여러 임시 파일을 blob 으로 저장하고 참조 증가 (해시 순으로 행을 잠가 트랜잭션 간 교착을 피한다)
+   *
+   * @return 입력 순서대로 blob 저장 경로
+   */
+  public List<String> storeAll(List<StagedFile> stagedFiles) {
+    acquireAll(stagedFiles.stream()
+        .map(staged -> new BlobRef(staged.hash(), fileStorageService.blobLocation(staged.hash()), staged.size()))
+        .toList());
+
+    // 새로 만든 파일은 트랜잭션이 롤백되면 행 없이 남으므로, 롤백 후 행 잠금을 다시 잡고 정리한다
+    List<String> created = new ArrayList<>();
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCompletion(int status) {
+        if (status != STATUS_COMMITTED) {
+          created.forEach(FileBlobService.this::deleteOrphan);
+        }
+      }
+    });
+
+    List<String> paths = new ArrayList<>(stagedFiles.size());
+    for (StagedFile staged : stagedFiles) {
+      if (fileStorageService.store(staged)) {
+        created.add(staged.hash());
+      }
+      paths.add(fileStorageService.blobLocation(staged.hash()));
+    }
+    return paths;
+  }
+
+  /**
+   * 문서 1건이 blob 을 참조
+   */
+  public void acquire(String hash, String storagePath, long fileSize) {
+    acquireAll(List.of(new BlobRef(hash, storagePath, fileSize)));
+  }
+
+  /**
+   * 여러 문서의 blob 참조 일괄 반영 - 해시 순으로 행이 없으면 만들고 ref_count 를 증가시켜 행 잠금을 잡는다
+   * <p>
+   * INSERT 와 UPDATE 사이에 다른 트랜잭션이 참조 0 인 행을 지우고 커밋하면 UPDATE 가 0 건이 되므로 다시 만든다.
+   */
+  public void acquireAll(Collection<BlobRef> refs) {
+    LocalDateTime now = LocalDateTime.now();
+    Map<String, Long> counts = new TreeMap<>();
+    Map<String, BlobRef> unique = new HashMap<>();
+    for (BlobRef ref : refs) {
+      counts.merge(ref.hash(), 1L, Long::sum);
+      unique.putIfAbsent(ref.hash(), ref);
+    }
+    counts.forEach((hash, count) -> acquire(unique.get(hash), count, now));
+  }
+
+  private void acquire(BlobRef ref, long count, LocalDateTime now) {
+    for (int attempt = 1; attempt <= ACQUIRE_ATTEMPTS; attempt++) {
+      fileBlobRepository.insertIfAbsent(ref.hash(), ref.storagePath(), ref.fileSize(), now);
+      if (fileBlobRepository.adjustRefCount(List.of(ref.hash()), count, now) > 0) {
+        return;
+      }
+      log.debug("파일 blob 행이 그 사이 삭제됨, 다시 생성 - hash: {}", ref.hash());
+    }
+    throw new IllegalStateException("파일 blob 참조를 반영하지 못했습니다 - hash: " + ref.hash());
+  }
+
+  /**
+   * 문서 삭제에 따른 참조 해제 - 참조가 0 이 된 blob 은 행을 지우고, 행 잠금을 잡은 채 커밋 직전에 파일을 치운다
+   *
+   * @param hashes 삭제되는 문서들의 파일 해시 (문서 수만큼 중복 가능, 해시가 없는 이전 문서는 무시)
+   */
+  public void release(Collection<String> hashes) {
+    List<String> known = hashes.stream().filter(Objects::nonNull).toList();
+    if (known.isEmpty()) {
+      return;
+    }
+    adjust(known.stream().collect(Collectors.groupingBy(Function.identity(), Collectors.counting())),
+        -1, LocalDateTime.now());
+
+    // 위 UPDATE 로 행 잠금을 잡고 있으므로 그 사이 다른 트랜잭션이 참조를 늘릴 수 없다
+    List<String> unreferenced = fileBlobRepository.findUnreferenced(known.stream().distinct().toList()).stream()
+        .map(FileBlob::getHash)
+        .toList();
+    if (unreferenced.isEmpty()) {
+      return;
+    }
+    fileBlobRepository.deleteUnreferenced(unreferenced);
+    log.info("참조가 없는 파일 blob 정리 예정 - {}건", unreferenced.size());
+    deleteFilesBeforeCommit(unreferenced);
+  }
+
+  /**
+   * 보관함 삭제에 따른 참조 일괄 해제 (문서 삭제 전에 실행) - 참조가 0 이 된 blob 은 삭제 작업에 표시만 해 두고,
+   * 행과 파일은 {@link #reclaim(Long, int)} 로 나누어 정리한다
+   *
+   * @return 정리할 blob 수
+   */
+  public int releaseNamespace(Long namespaceId, Long deletionId) {
+    fileBlobRepository.releaseByNamespaceId(namespaceId, LocalDateTime.now());
+    return fileBlobRepository.markUnreferencedByNamespaceId(namespaceId, deletionId);
+  }
+
+  /**
+   * 삭제 작업이 표시한 blob 한 배치 정리 - 행을 잠그고(FOR UPDATE) 지운 뒤 커밋 직전에 파일을 치운다
+   *
+   * @return 정리한 blob 수 (0 이면 남은 blob 없음)
+   */
+  public int reclaim(Long deletionId, int limit) {
+    List<String> hashes = fileBlobRepository.lockUnreferencedByDeletionId(deletionId, limit).stream()
+        .map(FileBlob::getHash)
+        .toList();
+    if (hashes.isEmpty()) {
+      return 0;
+    }
+    int deleted = fileBlobRepository.deleteUnreferenced(hashes);
+    deleteFilesBeforeCommit(hashes);
+    return deleted;
+  }
+
+  /**
+   * 행 없이 남은 blob 파일 삭제 - 빈 행을 먼저 넣어 같은 해시를 저장하려는 트랜잭션을 대기시킨 뒤 파일을 지우고,
+   * 빈 행은 롤백한다. 행이 이미 있으면(누군가 참조 중) 파일을 남긴다.
+   *
+   * @return 파일을 지웠는지 여부
+   */
+  @Transactional(propagation = Propagation.NOT_SUPPORTED)
+  public boolean deleteOrphan(String hash) {
+    Boolean deleted = newTransaction.execute(status -> {
+      int inserted = fileBlobRepository.insertIfAbsent(hash, fileStorageService.blobLocation(hash), 0,
+          LocalDateTime.now());
+      if (inserted == 0) {
+        return false;
+      }
+      fileStorageService.deleteBlob(hash);
+      status.setRollbackOnly();
+      return true;
+    });
+    return Boolean.TRUE.equals(deleted);
+  }
+
+  /**
+   * 지운 행의 파일을 커밋 직전(행 잠금을 잡은 상태)에 휴지통으로 옮기고, 커밋되면 삭제 / 롤백되면 복원
+   */
+  private void deleteFilesBeforeCommit(List<String> hashes) {
+    Map<String, Path> trashed = new LinkedHashMap<>();
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void beforeCommit(boolean readOnly) {
+        for (String hash : hashes) {
+          Path path = fileStorageService.trash(hash);
+          if (path != null) {
+            trashed.put(hash, path);
+          }
+        }
+      }
+
+      @Override
+      public void afterCompletion(int status) {
+        if (status == STATUS_COMMITTED) {
+          trashed.values().forEach(fileStorageService::purge);
+          log.info("파일 blob 삭제 완료 - {}건", trashed.size());
+        } else {
+          trashed.forEach(fileStorageService::restore);
+        }
+      }
+    });
+  }
+
+  /**
+   * 해시별 횟수만큼 ref_count 증감 (같은 증감량끼리 UPDATE 한 번)
+   */
+  private void adjust(Map<String, Long> countsByHash, int sign, LocalDateTime now) {
+    Map<Long, List<String>> hashesByCount = countsByHash.entrySet().stream()
+        .collect(Collectors.groupingBy(Map.Entry::getValue,
+            Collectors.mapping(Map.Entry::getKey, Collectors.toList())));
+    hashesByCount.forEach((count, group) -> fileBlobRepository.adjustRefCount(group, sign * count, now));
+  }
+
+  /**
+   * 문서가 참조하는 blob (해시, 저장 경로, 크기)
+   */
+  public record BlobRef(String hash, String storagePath, long fileSize) {
+  }
+}
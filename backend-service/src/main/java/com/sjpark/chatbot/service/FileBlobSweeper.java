@@ -0,0 +1,103 @@
+package com.sjpark.chatbot.service;
+
+import com.sjpark.chatbot.repo.FileBlobRepository;
+import com.sjpark.chatbot.service.FileStorageService.BlobFile;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 행 없이 남은 blob 파일 정리
+ * <p>
+ * blob 파일은 file_blobs 행을 잠근 뒤에 옮겨지므로, 저장 후 트랜잭션이 롤백되거나 프로세스가 종료되면 행 없는 파일이 남을 수
+ * 있다. 유예 시간(grace-period)보다 오래된 blob 파일을 batch-size 개씩 행과 대조하고, 행이 없는 파일은
+ * {@link FileBlobService#deleteOrphan(String)} 으로 행 키를 잠근 채 지운다. 오래된 임시/휴지통 파일도 함께 지운다.
+ */
+@Slf4j
+@Component
+public class FileBlobSweeper {
+
+  private final FileBlobRepository fileBlobRepository;
+  private final FileBlobService fileBlobService;
+  private final FileStorageService fileStorageService;
+  private final Counter sweptBlobs;
+
+  @Value("${file.sweeper.enabled:true}")
+  private boolean enabled;
+
+  @Value("${file.sweeper.grace-period:3600000}")
+  private long gracePeriodMillis;
+
+  @Value("${file.sweeper.batch-size:500}")
+  private int batchSize;
+
+  public FileBlobSweeper(FileBlobRepository fileBlobRepository, FileBlobService fileBlobService,
+      FileStorageService fileStorageService, MeterRegistry meterRegistry) {
+    this.fileBlobRepository = fileBlobRepository;
+    this.fileBlobService = fileBlobService;
+    this.fileStorageService = fileStorageService;
+    this.sweptBlobs = Counter.builder("file.blob.orphans.deleted")
+        .description("행 없이 남아 정리한 blob 파일 수")
+        .register(meterRegistry);
+  }
+
+  @Scheduled(fixedDelayString = "${file.sweeper.interval:3600000}",
+      initialDelayString = "${file.sweeper.initial-delay:600000}")
+  public void scheduledSweep() {
+    if (enabled) {
+      sweep();
+    }
+  }
+
+  /**
+   * 1회 정리
+   *
+   * @return 삭제한 blob 파일 수
+   */
+  public int sweep() {
+    Instant cutoff = Instant.now().minus(Duration.ofMillis(gracePeriodMillis));
+    int deleted = 0;
+    try (Stream<BlobFile> files = fileStorageService.blobFiles()) {
+      Iterator<BlobFile> iterator = files.filter(file -> file.lastModified().isBefore(cutoff)).iterator();
+      List<String> batch = new ArrayList<>(batchSize);
+      while (iterator.hasNext()) {
+        batch.add(iterator.next().hash());
+        if (batch.size() == batchSize || !iterator.hasNext()) {
+          deleted += sweepBatch(batch);
+          batch.clear();
+        }
+      }
+    } catch (IOException e) {
+      log.warn("blob 파일 목록 조회 실패 - error: {}", e.getMessage());
+    }
+
+    int leftovers = fileStorageService.deleteLeftovers(cutoff);
+    if (deleted > 0 || leftovers > 0) {
+      log.info("고아 파일 정리 완료 - blob: {}건, 임시 파일: {}건", deleted, leftovers);
+    }
+    return deleted;
+  }
+
+  private int sweepBatch(List<String> hashes) {
+    Set<String> existing = fileBlobRepository.findExistingHashes(hashes);
+    int deleted = 0;
+    for (String hash : hashes) {
+      if (!existing.contains(hash) && fileBlobService.deleteOrphan(hash)) {
+        deleted++;
+      }
+    }
+    sweptBlobs.increment(deleted);
+    return deleted;
+  }
+}
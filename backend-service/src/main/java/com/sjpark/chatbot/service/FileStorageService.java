@@ -0,0 +1,272 @@
+package com.sjpark.chatbot.service;
+
+import com.sjpark.chatbot.common.BusinessException;
+import com.sjpark.chatbot.common.ErrorCode;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.UUID;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * 업로드 파일 저장소 (내용 주소 기반)
+ * <p>
+ * 업로드 스트림을 한 번만 읽으면서 SHA-256 해시 계산과 임시 파일 저장을 동시에 수행한다.
+ * 파일은 해시를 이름으로 2단계 샤딩 디렉토리(blobs/ab/cd/abcd...)에 저장되므로 같은 내용은 한 번만 저장된다.
+ * 임시 파일은 업로드 디렉토리 안에 만들어지므로 최종 위치로의 이동은 같은 파일시스템 내 rename 으로 처리된다.
+ * blob 참조 수는 {@link FileBlobService} 가 DB 에서 관리하며, blob 파일의 생성/재사용/삭제는 항상 해당 file_blobs 행의
+ * 잠금을 잡은 트랜잭션 안에서 {@link FileBlobService} 를 통해 호출된다.
+ */
+@Slf4j
+@Service
+public class FileStorageService {
+
+  private static final String HASH_ALGORITHM = "SHA-256";
+  private static final String TEMP_DIR = ".tmp";
+  private static final String BLOB_DIR = "blobs";
+  private static final String TRASH_DIR = ".trash";
+  private static final Pattern BLOB_NAME = Pattern.compile("[0-9a-f]{64}");
+
+  @Value("${file.upload.dir}")
+  private String uploadDir;
+
+  /**
+   * 업로드 파일을 임시 파일로 스트리밍 저장하면서 해시 계산
+   */
+  public StagedFile stage(MultipartFile file) {
+    try (InputStream in = file.getInputStream()) {
+      return stage(in);
+    } catch (IOException e) {
+      log.error("파일 임시 저장 실패 - filename: {}, error: {}", file.getOriginalFilename(), e.getMessage());
+      throw new BusinessException(ErrorCode.DOCUMENT_UPLOAD_FAILED, "파일 저장 중 오류가 발생했습니다", e);
+    }
+  }
+
+  /**
+   * 입력 스트림을 임시 파일로 저장하면서 해시 계산 (스트림은 호출자가 닫는다)
+   */
+  public StagedFile stage(InputStream in) throws IOException {
+    Path tempFile = createTempFile("upload_", ".part");
+
+    try {
+      MessageDigest digest = newDigest();
+      long size;
+      try (DigestInputStream digestIn = new DigestInputStream(in, digest)) {
+        size = Files.copy(digestIn, tempFile, StandardCopyOption.REPLACE_EXISTING);
+      }
+      return new StagedFile(tempFile, HexFormat.of().formatHex(digest.digest()), size);
+    } catch (IOException | RuntimeException e) {
+      Files.deleteIfExists(tempFile);
+      throw e;
+    }
+  }
+
+  /**
+   * 업로드 디렉토리 안의 임시 파일 생성 (오래 남은 파일은 {@link #deleteLeftovers(Instant)} 가 정리)
+   */
+  public Path createTempFile(String prefix, String suffix) throws IOException {
+    Path tempDir = Paths.get(uploadDir).resolve(TEMP_DIR);
+    Files.createDirectories(tempDir);
+    return Files.createTempFile(tempDir, prefix, suffix);
+  }
+
+  /**
+   * 임시 파일을 내용 주소 위치로 이동 - 같은 내용의 blob 이 이미 있으면 임시 파일만 삭제
+   * <p>
+   * 호출자는 해당 해시의 file_blobs 행 잠금을 잡고 있어야 한다 ({@link FileBlobService#store(StagedFile)}).
+   *
+   * @ 파일 저장 위치 : {uploadDir}/blobs/{hash[0..2]}/{hash[2..4]}/{hash}
+   * @return 새로 만들었는지 여부 (false 면 기존 blob 재사용)
+   */
+  public boolean store(StagedFile staged) {
+    Path blobPath = blobPath(staged.hash());
+    try {
+      if (Files.exists(blobPath)) {
+        discard(staged);
+        // 고아 파일 정리의 유예 시간 기준이 되도록 수정 시각 갱신
+        Files.setLastModifiedTime(blobPath, FileTime.from(Instant.now()));
+        log.debug("동일한 내용의 파일이 이미 저장되어 있음 - hash: {}", staged.hash());
+        return false;
+      }
+
+      Files.createDirectories(blobPath.getParent());
+      try {
+        Files.move(staged.path(), blobPath, StandardCopyOption.ATOMIC_MOVE,
+            StandardCopyOption.REPLACE_EXISTING);
+      } catch (AtomicMoveNotSupportedException e) {
+        Files.move(staged.path(), blobPath, StandardCopyOption.REPLACE_EXISTING);
+      }
+      return true;
+
+    } catch (IOException e) {
+      log.error("파일 저장 실패 - hash: {}, error: {}", staged.hash(), e.getMessage());
+      discard(staged);
+      throw new BusinessException(ErrorCode.DOCUMENT_UPLOAD_FAILED, "파일 저장 중 오류가 발생했습니다", e);
+    }
+  }
+
+  /**
+   * blob 저장 위치 (파일 존재 여부와 무관)
+   */
+  public String blobLocation(String hash) {
+    return blobPath(hash).toString();
+  }
+
+  /**
+   * 더 이상 참조되지 않는 blob 삭제
+   */
+  public void deleteBlob(String hash) {
+    Path blobPath = blobPath(hash);
+    try {
+      Files.deleteIfExists(blobPath);
+      log.info("파일 blob 삭제 완료 - hash: {}", hash);
+    } catch (IOException e) {
+      log.warn("파일 blob 삭제 실패 - path: {}, error: {}", blobPath, e.getMessage());
+    }
+  }
+
+  /**
+   * blob 을 휴지통으로 이동 - 커밋되면 {@link #purge(Path)}, 롤백되면 {@link #restore(String, Path)}
+   *
+   * @return 휴지통 경로 (blob 이 없거나 이동에 실패하면 null)
+   */
+  public Path trash(String hash) {
+    Path blobPath = blobPath(hash);
+    if (!Files.exists(blobPath)) {
+      return null;
+    }
+    try {
+      Path trashDir = Paths.get(uploadDir).resolve(TRASH_DIR);
+      Files.createDirectories(trashDir);
+      Path trashed = trashDir.resolve(hash + "." + UUID.randomUUID());
+      Files.move(blobPath, trashed, StandardCopyOption.ATOMIC_MOVE);
+      return trashed;
+    } catch (IOException e) {
+      log.warn("파일 blob 휴지통 이동 실패 - path: {}, error: {}", blobPath, e.getMessage());
+      return null;
+    }
+  }
+
+  public void purge(Path trashed) {
+    try {
+      Files.deleteIfExists(trashed);
+    } catch (IOException e) {
+      log.warn("휴지통 파일 삭제 실패 - path: {}, error: {}", trashed, e.getMessage());
+    }
+  }
+
+  /**
+   * 휴지통으로 옮긴 blob 복원 (삭제 트랜잭션 롤백)
+   */
+  public void restore(String hash, Path trashed) {
+    Path blobPath = blobPath(hash);
+    try {
+      Files.createDirectories(blobPath.getParent());
+      Files.move(trashed, blobPath, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+      log.info("파일 blob 복원 완료 - hash: {}", hash);
+    } catch (IOException e) {
+      log.error("파일 blob 복원 실패 - hash: {}, path: {}, error: {}", hash, trashed, e.getMessage());
+    }
+  }
+
+  /**
+   * 저장소의 blob 파일 목록 (스트림은 호출자가 닫는다)
+   */
+  public Stream<BlobFile> blobFiles() throws IOException {
+    Path root = Paths.get(uploadDir).resolve(BLOB_DIR);
+    if (!Files.isDirectory(root)) {
+      return Stream.empty();
+    }
+    return Files.walk(root)
+        .filter(Files::isRegularFile)
+        .filter(path -> BLOB_NAME.matcher(path.getFileName().toString()).matches())
+        .map(path -> new BlobFile(path.getFileName().toString(), lastModified(path)));
+  }
+
+  /**
+   * 임시/휴지통 디렉토리에 남은 오래된 파일 삭제 (저장 도중 프로세스가 종료된 경우)
+   *
+   * @return 삭제한 파일 수
+   */
+  public int deleteLeftovers(Instant olderThan) {
+    int deleted = 0;
+    for (String dir : new String[]{TEMP_DIR, TRASH_DIR}) {
+      Path root = Paths.get(uploadDir).resolve(dir);
+      if (!Files.isDirectory(root)) {
+        continue;
+      }
+      try (Stream<Path> files = Files.list(root)) {
+        for (Path file : files.filter(Files::isRegularFile).toList()) {
+          if (lastModified(file).isBefore(olderThan) && Files.deleteIfExists(file)) {
+            deleted++;
+          }
+        }
+      } catch (IOException e) {
+        log.warn("임시 파일 정리 실패 - dir: {}, error: {}", root, e.getMessage());
+      }
+    }
+    return deleted;
+  }
+
+  private Instant lastModified(Path path) {
+    try {
+      return Files.getLastModifiedTime(path).toInstant();
+    } catch (IOException e) {
+      return Instant.now(); // 읽을 수 없으면 정리 대상에서 제외
+    }
+  }
+
+  private Path blobPath(String hash) {
+    return Paths.get(uploadDir)
+        .resolve(BLOB_DIR)
+        .resolve(hash.substring(0, 2))
+        .resolve(hash.substring(2, 4))
+        .resolve(hash);
+  }
+
+  /**
+   * 임시 파일 삭제 (중복 업로드, 처리 실패 시)
+   */
+  public void discard(StagedFile staged) {
+    try {
+      Files.deleteIfExists(staged.path());
+    } catch (IOException e) {
+      log.warn("임시 파일 삭제 실패 - path: {}, error: {}", staged.path(), e.getMessage());
+    }
+  }
+
+  private MessageDigest newDigest() {
+    try {
+      return MessageDigest.getInstance(HASH_ALGORITHM);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(HASH_ALGORITHM + " 알고리즘을 사용할 수 없습니다.", e);
+    }
+  }
+
+  /**
+   * 해시 계산이 끝난 임시 파일
+   */
+  public record StagedFile(Path path, String hash, long size) {
+  }
+
+  /**
+   * 저장소의 blob 파일 (해시, 마지막 수정 시각)
+   */
+  public record BlobFile(String hash, Instant lastModified) {
+  }
+}
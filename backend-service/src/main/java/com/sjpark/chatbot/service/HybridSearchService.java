@@ -0,0 +1,241 @@
+package com.sjpark.chatbot.service;
+
+import com.sjpark.chatbot.common.BusinessException;
+import com.sjpark.chatbot.common.ErrorCode;
+import com.sjpark.chatbot.domain.Namespace;
+import com.sjpark.chatbot.dto.AiSearchResponse;
+import com.sjpark.chatbot.dto.SearchResultResponse;
+import com.sjpark.chatbot.proxy.AiApiClient;
+import com.sjpark.chatbot.proxy.AiApiException;
+import com.sjpark.chatbot.repo.DocumentRepository;
+import com.sjpark.chatbot.repo.DocumentRepository.DocumentFilename;
+import com.sjpark.chatbot.repo.NamespaceRepository;
+import com.sjpark.chatbot.search.LexicalHit;
+import com.sjpark.chatbot.search.LexicalIndexService;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 보관함 검색 (어휘 / 벡터 / 하이브리드)
+ * <p>
+ * 하이브리드는 BM25 결과와 AI 서비스 벡터 검색 결과를 Reciprocal Rank Fusion(순위 역수 합)으로 합친다. 두 점수의
+ * 척도가 달라 정규화 없이 순위만 사용한다. 같은 청크(문서, 페이지, 내용)는 하나로 합쳐지고, 벡터 검색이 실패하거나
+ * 제한 시간을 넘기면 어휘 결과만 반환한다. 어휘 검색은 AI 서비스를 호출하지 않는다.
+ * <p>
+ * 벡터 검색을 기다리는 동안 DB 커넥션을 잡고 있지 않도록 클래스 트랜잭션을 두지 않고, 보관함 확인과 파일명 조회만
+ * 각각 짧은 읽기 전용 트랜잭션으로 수행한다.
+ */
+@Slf4j
+@Service
+public class HybridSearchService {
+
+  private static final int CANDIDATE_MULTIPLIER = 3;
+  private static final int MAX_TOP_K = 50;
+  private static final int MAX_VECTOR_CANDIDATES = 100;
+
+  private final NamespaceRepository namespaceRepository;
+  private final DocumentRepository documentRepository;
+  private final LexicalIndexService lexicalIndexService;
+  private final AiApiClient aiApiClient;
+  private final TransactionTemplate readTransaction;
+  private final int rrfK;
+  private final Duration vectorTimeout;
+
+  public HybridSearchService(NamespaceRepository namespaceRepository, DocumentRepository documentRepository,
+      LexicalIndexService lexicalIndexService, AiApiClient aiApiClient,
+      PlatformTransactionManager transactionManager,
+      @Value("${search.hybrid.rrf-k:60}") int rrfK,
+      @Value("${search.hybrid.vector-timeout:5000}") long vectorTimeoutMillis) {
+    this.namespaceRepository = namespaceRepository;
+    this.documentRepository = documentRepository;
+    this.lexicalIndexService = lexicalIndexService;
+    this.aiApiClient = aiApiClient;
+    this.readTransaction = new TransactionTemplate(transactionManager);
+    this.readTransaction.setReadOnly(true);
+    this.rrfK = rrfK;
+    this.vectorTimeout = Duration.ofMillis(vectorTimeoutMillis);
+  }
+
+  public List<SearchResultResponse> search(Long userId, Long namespaceId, String query, int topK, Mode mode) {
+    String collectionName = ownedNamespace(userId, namespaceId).getChromaCollectionName();
+    if (query == null || query.isBlank()) {
+      throw new BusinessException(ErrorCode.INVALID_INPUT_VALUE, "검색어를 입력해주세요.");
+    }
+
+    topK = Math.clamp(topK, 1, MAX_TOP_K);
+    int candidates = mode == Mode.HYBRID ? Math.min(topK * CANDIDATE_MULTIPLIER, MAX_VECTOR_CANDIDATES) : topK;
+
+    // 1. 어휘 / 벡터 검색
+    List<LexicalHit> lexicalHits = mode == Mode.VECTOR
+        ? List.of()
+        : lexicalIndexService.search(namespaceId, query, candidates);
+    List<AiSearchResponse.Result> vectorHits = mode == Mode.LEXICAL
+        ? List.of()
+        : vectorSearch(namespaceId, collectionName, query, candidates, mode == Mode.HYBRID);
+
+    // 2. 같은 청크 병합 + 순위 역수 합
+    Map<String, Fused> fused = new LinkedHashMap<>();
+    for (int rank = 0; rank < lexicalHits.size(); rank++) {
+      LexicalHit hit = lexicalHits.get(rank);
+      Fused entry = fused.computeIfAbsent(key(hit.documentId(), hit.page(), hit.text()),
+          k -> new Fused(hit.documentId(), hit.page(), hit.text()));
+      entry.lexicalScore = hit.score();
+      entry.rrf += 1.0 / (rrfK + rank + 1);
+    }
+    for (int rank = 0; rank < vectorHits.size(); rank++) {
+      AiSearchResponse.Result hit = vectorHits.get(rank);
+      Long documentId = documentId(hit.getMetadata());
+      if (documentId == null) {
+        continue;
+      }
+      int page = page(hit.getMetadata());
+      Fused entry = fused.computeIfAbsent(key(documentId, page, hit.getContent()),
+          k -> new Fused(documentId, page, hit.getContent()));
+      entry.vectorScore = hit.getScore();
+      entry.rrf += 1.0 / (rrfK + rank + 1);
+    }
+
+    Comparator<Fused> order = switch (mode) {
+      case LEXICAL -> Comparator.comparingDouble((Fused f) -> orZero(f.lexicalScore)).reversed();
+      case VECTOR -> Comparator.comparingDouble((Fused f) -> orZero(f.vectorScore)).reversed();
+      case HYBRID -> Comparator.comparingDouble((Fused f) -> f.rrf).reversed();
+    };
+    List<Fused> ranked = fused.values().stream().sorted(order).toList();
+
+    // 3. 삭제된 문서 제외 + 파일명 (한 번의 IN 쿼리)
+    Set<Long> documentIds = ranked.stream().map(f -> f.documentId).collect(Collectors.toSet());
+    Map<Long, String> filenames = documentIds.isEmpty() ? Map.of()
+        : readTransaction.execute(status -> documentRepository.findByNamespaceIdAndIdIn(namespaceId, documentIds)
+            .stream()
+            .collect(Collectors.toMap(DocumentFilename::getId, DocumentFilename::getFilename)));
+
+    List<SearchResultResponse> results = new ArrayList<>(topK);
+    for (Fused entry : ranked) {
+      if (results.size() >= topK) {
+        break;
+      }
+      String filename = filenames.get(entry.documentId);
+      if (filename == null) {
+        continue;
+      }
+      results.add(SearchResultResponse.builder()
+          .documentId(entry.documentId)
+          .filename(filename)
+          .page(entry.page)
+          .content(entry.content)
+          .score(switch (mode) {
+            case LEXICAL -> entry.lexicalScore;
+            case VECTOR -> entry.vectorScore;
+            case HYBRID -> entry.rrf;
+          })
+          .lexicalScore(entry.lexicalScore)
+          .vectorScore(entry.vectorScore)
+          .build());
+    }
+
+    log.debug("보관함 검색 - namespaceId: {}, mode: {}, lexical: {}, vector: {}, results: {}",
+        namespaceId, mode, lexicalHits.size(), vectorHits.size(), results.size());
+    return results;
+  }
+
+  /**
+   * BM25 색인 재구축 요청 - 색인 노드의 재조정 작업이 색인을 비우고 DB 의 완료 문서로 다시 채운다
+   */
+  public void requestLexicalRebuild(Long userId, Long namespaceId) {
+    ownedNamespace(userId, namespaceId);
+    lexicalIndexService.requestRebuild(namespaceId);
+  }
+
+  private Namespace ownedNamespace(Long userId, Long namespaceId) {
+    return readTransaction.execute(status -> namespaceRepository.findById(namespaceId)
+        .filter(ns -> ns.getUser().getId().equals(userId))
+        .orElseThrow(() -> new BusinessException(ErrorCode.NAMESPACE_NOT_FOUND)));
+  }
+
+  /**
+   * 벡터 검색 - 하이브리드에서는 실패해도 빈 결과로 대신한다
+   */
+  private List<AiSearchResponse.Result> vectorSearch(Long namespaceId, String collectionName, String query,
+      int topK, boolean optional) {
+    try {
+      AiSearchResponse response = aiApiClient.searchAsync(collectionName, query, topK)
+          .timeout(vectorTimeout)
+          .block();
+      return response != null && response.getResults() != null ? response.getResults() : List.of();
+    } catch (RuntimeException e) {
+      if (!optional) {
+        throw e instanceof AiApiException ? e : AiApiException.from("search", e);
+      }
+      log.warn("벡터 검색 실패, 어휘 검색 결과만 반환 - namespaceId: {}, error: {}", namespaceId, e.getMessage());
+      return List.of();
+    }
+  }
+
+  private static double orZero(Double value) {
+    return value != null ? value : 0.0;
+  }
+
+  private static String key(long documentId, int page, String content) {
+    return documentId + ":" + page + ":" + (content == null ? "" : content.strip());
+  }
+
+  private static Long documentId(Map<String, Object> metadata) {
+    Object value = metadata != null ? metadata.get("document_id") : null;
+    if (value == null) {
+      return null;
+    }
+    try {
+      return Long.valueOf(value.toString());
+    } catch (NumberFormatException e) {
+      return null;
+    }
+  }
+
+  private static int page(Map<String, Object> metadata) {
+    Object value = metadata != null ? metadata.get("page") : null;
+    return value instanceof Number number ? number.intValue() : 0;
+  }
+
+  /**
+   * 검색 방식
+   */
+  public enum Mode {
+    LEXICAL, VECTOR, HYBRID;
+
+    public static Mode of(String value) {
+      try {
+        return valueOf(value.trim().toUpperCase(Locale.ROOT));
+      } catch (IllegalArgumentException e) {
+        throw new BusinessException(ErrorCode.INVALID_INPUT_VALUE, "지원하지 않는 검색 방식입니다: " + value);
+      }
+    }
+  }
+
+  private static final class Fused {
+
+    private final long documentId;
+    private final int page;
+    private final String content;
+    private Double lexicalScore;
+    private Double vectorScore;
+    private double rrf;
+
+    private Fused(long documentId, int page, String content) {
+      this.documentId = documentId;
+      this.page = page;
+      this.content = content;
+    }
+  }
+}
@@ -0,0 +1,198 @@
+package com.sjpark.chatbot.service;
+
+import com.sjpark.chatbot.domain.Document;
+import com.sjpark.chatbot.domain.Document.DocumentStatus;
+import com.sjpark.chatbot.domain.IngestionJob;
+import com.sjpark.chatbot.domain.Namespace;
+import com.sjpark.chatbot.repo.DocumentBatchRepository;
+import com.sjpark.chatbot.repo.IngestionJobRepository;
+import com.sjpark.chatbot.service.NamespaceCounterService.StatusChange;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 문서 인덱싱 작업 큐 관리
+ * <p>
+ * 모든 메서드는 짧은 트랜잭션으로 끝나며, AI 서비스 호출은 트랜잭션 밖(워커)에서 수행된다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class IngestionJobService {
+
+  private final IngestionJobRepository ingestionJobRepository;
+  private final DocumentBatchRepository documentBatchRepository;
+  private final NamespaceCounterService namespaceCounterService;
+
+  @Value("${ingestion.retry.max-attempts:5}")
+  private int maxAttempts;
+
+  @Value("${ingestion.retry.initial-backoff:2000}")
+  private long initialBackoffMillis;
+
+  @Value("${ingestion.retry.max-backoff:300000}")
+  private long maxBackoffMillis;
+
+  @Value("${ingestion.worker.lock-timeout:300000}")
+  private long lockTimeoutMillis;
+
+  /**
+   * 문서 인덱싱 작업 등록 (업로드 트랜잭션에 참여)
+   */
+  public IngestionJob enqueue(Document document) {
+    IngestionJob job = IngestionJob.builder()
+        .document(document)
+        .maxAttempts(maxAttempts)
+        .nextAttemptAt(LocalDateTime.now())
+        .build();
+    return ingestionJobRepository.save(job);
+  }
+
+  /**
+   * 인덱싱 작업 일괄 등록 (대량 업로드 트랜잭션에 참여, JDBC 배치)
+   */
+  public void enqueueAll(List<Long> documentIds) {
+    if (!documentIds.isEmpty()) {
+      documentBatchRepository.insertIngestionJobs(documentIds, maxAttempts);
+    }
+  }
+
+  /**
+   * 처리할 작업을 점유하고 문서 상태를 PROCESSING 으로 변경
+   */
+  public List<ClaimedJob> claim(String workerId, int limit) {
+    LocalDateTime now = LocalDateTime.now();
+    LocalDateTime staleBefore = now.minus(Duration.ofMillis(lockTimeoutMillis));
+
+    List<ClaimedJob> claimed = new ArrayList<>();
+    List<StatusChange> statusChanges = new ArrayList<>();
+    for (IngestionJob job : ingestionJobRepository.findClaimable(now, staleBefore, limit)) {
+      Document document = job.getDocument();
+      DocumentStatus previous = document.getStatus();
+
+      // 점유 만료로 회수된 작업이 이미 재시도 한도를 넘긴 경우
+      if (job.isExhausted()) {
+        log.warn("인덱싱 작업 재시도 한도 초과 - jobId: {}, documentId: {}", job.getId(), document.getId());
+        job.fail("작업 점유 시간이 만료되었습니다.");
+        document.updateError("AI 서비스 처리 실패: 재시도 한도 초과");
+        statusChanges.add(new StatusChange(document.getNamespace().getId(), previous, document.getStatus()));
+        continue;
+      }
+
+      job.claim(workerId, now);
+      document.updateStatus(DocumentStatus.PROCESSING);
+      statusChanges.add(new StatusChange(document.getNamespace().getId(), previous, document.getStatus()));
+
+      Namespace namespace = document.getNamespace();
+      claimed.add(new ClaimedJob(job.getId(), job.getAttempts(), document.getId(), namespace.getId(),
+          namespace.getChromaCollectionName(), document.getFilePath(), document.getFilename()));
+    }
+
+    namespaceCounterService.statusChanged(statusChanges);
+    return claimed;
+  }
+
+  /**
+   * AI 서비스 요청 성공
+   */
+  public void markSucceeded(Long jobId) {
+    ingestionJobRepository.findById(jobId).ifPresent(IngestionJob::succeed);
+  }
+
+  /**
+   * AI 서비스 요청 성공 - 백엔드에서 청킹한 경우 페이지/청크 수를 문서 메타데이터에 기록
+   */
+  public void markSucceeded(Long jobId, Map<String, Object> documentMetadata) {
+    ingestionJobRepository.findById(jobId).ifPresent(job -> {
+      job.succeed();
+      job.getDocument().mergeMetadata(documentMetadata);
+    });
+  }
+
+  /**
+   * AI 서비스 요청 실패 - 재시도 한도 이내면 백오프 후 재등록, 초과하면 문서를 FAILED 처리
+   */
+  public void markFailed(Long jobId, String error) {
+    ingestionJobRepository.findById(jobId).ifPresent(job -> {
+      Document document = job.getDocument();
+      DocumentStatus previous = document.getStatus();
+      if (job.isExhausted()) {
+        log.error("인덱싱 작업 최종 실패 - jobId: {}, documentId: {}, attempts: {}",
+            jobId, document.getId(), job.getAttempts());
+        fail(job, error);
+        return;
+      }
+
+      LocalDateTime nextAttemptAt = LocalDateTime.now().plus(backoff(job.getAttempts()));
+      log.warn("인덱싱 작업 재시도 예약 - jobId: {}, documentId: {}, attempts: {}, nextAttemptAt: {}",
+          jobId, document.getId(), job.getAttempts(), nextAttemptAt);
+      job.retryAt(nextAttemptAt, error);
+      document.updateStatus(DocumentStatus.PENDING);
+      namespaceCounterService.statusChanged(document.getNamespace().getId(), previous, document.getStatus());
+    });
+  }
+
+  /**
+   * 재시도해도 결과가 같은 실패 (손상되었거나 읽을 수 없는 PDF 등) - 남은 시도 횟수와 무관하게 바로 FAILED 처리
+   */
+  public void markRejected(Long jobId, String error) {
+    ingestionJobRepository.findById(jobId).ifPresent(job -> {
+      log.error("인덱싱 작업 실패 (재시도 불가) - jobId: {}, documentId: {}, error: {}",
+          jobId, job.getDocument().getId(), error);
+      fail(job, error);
+    });
+  }
+
+  /**
+   * AI 서비스가 요청을 받기 전에 거절됨 (서킷 열림, 벌크헤드 가득 참) - 시도 횟수를 늘리지 않고 재등록
+   * <p>
+   * 장애 중에 점유된 작업이 재시도 한도를 모두 소모하고 FAILED 가 되지 않도록, 한도 초과 여부와 무관하게 다시 대기시킨다.
+   */
+  public void markDeferred(Long jobId, String error) {
+    ingestionJobRepository.findById(jobId).ifPresent(job -> {
+      Document document = job.getDocument();
+      DocumentStatus previous = document.getStatus();
+      LocalDateTime nextAttemptAt = LocalDateTime.now().plus(backoff(1));
+      log.info("인덱싱 작업 연기 (AI 서비스 요청 거절) - jobId: {}, documentId: {}, attempts: {}, nextAttemptAt: {}",
+          jobId, document.getId(), job.getAttempts() - 1, nextAttemptAt);
+      job.postpone(nextAttemptAt, error);
+      document.updateStatus(DocumentStatus.PENDING);
+      namespaceCounterService.statusChanged(document.getNamespace().getId(), previous, document.getStatus());
+    });
+  }
+
+  private void fail(IngestionJob job, String error) {
+    Document document = job.getDocument();
+    DocumentStatus previous = document.getStatus();
+    job.fail(error);
+    document.updateError("AI 서비스 처리 실패: " + error);
+    namespaceCounterService.statusChanged(document.getNamespace().getId(), previous, document.getStatus());
+  }
+
+  /**
+   * 지수 백오프 (+-20% 지터)
+   */
+  private Duration backoff(int attempts) {
+    long exponential = initialBackoffMillis << Math.min(attempts - 1, 20);
+    long capped = Math.min(exponential, maxBackoffMillis);
+    double jitter = 0.8 + ThreadLocalRandom.current().nextDouble() * 0.4;
+    return Duration.ofMillis((long) (capped * jitter));
+  }
+
+  /**
+   * 워커에 전달되는 점유된 작업 정보 (트랜잭션 밖에서 사용)
+   */
+  public record ClaimedJob(Long jobId, int attempt, Long documentId, Long namespaceId,
+                           String collectionName, String filePath, String filename) {
+  }
+}
@@ -0,0 +1,211 @@
+package com.sjpark.chatbot.service;
+
+import com.sjpark.chatbot.common.BusinessException;
+import com.sjpark.chatbot.common.ErrorCode;
+import com.sjpark.chatbot.dto.AiDocumentChunksRequest;
+import com.sjpark.chatbot.dto.AiDocumentUploadResponse;
+import com.sjpark.chatbot.proxy.AiApiClient;
+import com.sjpark.chatbot.proxy.AiApiException;
+import com.sjpark.chatbot.search.LexicalChunk;
+import com.sjpark.chatbot.search.LexicalIndexService;
+import com.sjpark.chatbot.service.DocumentChunker.ChunkedDocument;
+import com.sjpark.chatbot.service.IngestionJobService.ClaimedJob;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 문서 인덱싱 작업 워커
+ * <p>
+ * 주기적으로 작업 큐를 폴링하여 빈 슬롯 수만큼 작업을 점유하고, 가상 스레드에서 AI 서비스에 전처리를 요청한다.
+ * 점유는 SKIP LOCKED 로 이루어지므로 여러 백엔드 노드가 같은 큐를 나눠서 처리할 수 있다.
+ * <p>
+ * ingestion.chunking.mode=java 이면 PDF 추출/청킹을 백엔드({@link DocumentChunker})에서 수행하고 AI 서비스에는 임베딩만
+ * 요청한다. 기본값(ai)은 AI 서비스가 파일을 읽어 전처리한다.
+ * <p>
+ * 이 노드가 BM25 색인 노드이면 인덱싱 요청이 성공한 직후 같은 청크를 보관함 색인({@link LexicalIndexService})에도
+ * 추가한다. ai 모드에서는 이를 위해 백엔드에서 한 번 더 추출하며, 어휘 색인 실패는 경고만 남기고 작업 결과에는 영향을 주지
+ * 않는다. 색인 노드가 아니거나 색인에 실패한 문서는 {@link LexicalIndexReconciler} 가 나중에 채운다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IngestionWorker {
+
+  private static final String JAVA_CHUNKING = "java";
+
+  private final IngestionJobService ingestionJobService;
+  private final AiApiClient aiApiClient;
+  private final DocumentChunker documentChunker;
+  private final LexicalIndexService lexicalIndexService;
+
+  @Value("${ingestion.worker.enabled:true}")
+  private boolean enabled;
+
+  @Value("${ingestion.worker.concurrency:4}")
+  private int concurrency;
+
+  @Value("${ingestion.worker.batch-size:10}")
+  private int batchSize;
+
+  @Value("${ingestion.chunking.mode:ai}")
+  private String chunkingMode;
+
+  private final String workerId = ManagementFactory.getRuntimeMXBean().getName() + "/"
+      + UUID.randomUUID().toString().substring(0, 8);
+
+  private ExecutorService executor;
+  private Semaphore slots;
+
+  @PostConstruct
+  void start() {
+    executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("ingestion-", 0).factory());
+    slots = new Semaphore(concurrency);
+    log.info("인덱싱 워커 시작 - workerId: {}, concurrency: {}, enabled: {}", workerId, concurrency, enabled);
+  }
+
+  @PreDestroy
+  void stop() throws InterruptedException {
+    executor.shutdown();
+    if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+      log.warn("인덱싱 워커 종료 대기 시간 초과 - 점유된 작업은 lock-timeout 이후 다른 노드가 회수합니다.");
+      executor.shutdownNow();
+    }
+  }
+
+  /**
+   * 작업 큐 폴링
+   */
+  @Scheduled(fixedDelayString = "${ingestion.worker.poll-interval:1000}")
+  public void poll() {
+    if (!enabled || executor.isShutdown()) {
+      return;
+    }
+
+    // 서킷이 열려 있으면 작업을 점유하지 않음 (재시도 횟수를 소모하지 않도록)
+    if (!aiApiClient.isIndexingAvailable()) {
+      log.debug("AI 서비스 인덱싱 서킷 열림 - 작업 점유 보류");
+      return;
+    }
+
+    int available = Math.min(slots.availablePermits(), batchSize);
+    if (available <= 0) {
+      return;
+    }
+
+    List<ClaimedJob> jobs = ingestionJobService.claim(workerId, available);
+    for (ClaimedJob job : jobs) {
+      slots.acquireUninterruptibly();
+      executor.execute(() -> {
+        try {
+          process(job);
+        } finally {
+          slots.release();
+        }
+      });
+    }
+  }
+
+  private void process(ClaimedJob job) {
+    try {
+      AiDocumentUploadResponse response;
+      ChunkedDocument chunked = null;
+      if (JAVA_CHUNKING.equals(chunkingMode)) {
+        chunked = documentChunker.chunk(job.documentId(), job.filePath(), job.filename());
+        response = indexChunks(job, chunked);
+      } else {
+        response = aiApiClient.indexDocument(
+            job.documentId(),
+            job.namespaceId(),
+            job.collectionName(),
+            job.filePath(),
+            job.filename()
+        );
+        ingestionJobService.markSucceeded(job.jobId());
+      }
+
+      log.info("AI 서비스 문서 처리 요청 완료 - documentId: {}, chromaCollectionName: {}, status: {}, attempt: {}",
+          job.documentId(), job.collectionName(), response != null ? response.getStatus() : null,
+          job.attempt());
+
+      indexLexical(job, chunked);
+
+    } catch (AiApiException e) {
+      if (e.isRejected()) {
+        // 서킷 열림/벌크헤드 가득 참은 AI 서비스에 요청이 가지 않았으므로 시도 횟수를 소모하지 않는다
+        log.warn("AI 서비스 요청 거절 - documentId: {}, errorCode: {}", job.documentId(), e.getErrorCode());
+        ingestionJobService.markDeferred(job.jobId(), e.getMessage());
+        return;
+      }
+      failed(job, e);
+    } catch (BusinessException e) {
+      if (e.getErrorCode() == ErrorCode.INVALID_FILE_FORMAT) {
+        // 읽을 수 없는 PDF 는 다시 시도해도 같은 결과이므로 재시도하지 않는다
+        log.error("문서 형식 오류 - documentId: {}, error: {}", job.documentId(), e.getMessage());
+        ingestionJobService.markRejected(job.jobId(), e.getMessage());
+        return;
+      }
+      failed(job, e);
+    } catch (Exception e) {
+      failed(job, e);
+    }
+  }
+
+  private void failed(ClaimedJob job, Exception e) {
+    log.error("AI 서비스 호출 실패 - documentId: {}, attempt: {}, error: {}",
+        job.documentId(), job.attempt(), e.getMessage());
+    ingestionJobService.markFailed(job.jobId(), e.getMessage());
+  }
+
+  /**
+   * 백엔드에서 청킹 후 AI 서비스에 임베딩만 요청
+   */
+  private AiDocumentUploadResponse indexChunks(ClaimedJob job, ChunkedDocument chunked) {
+    AiDocumentUploadResponse response = aiApiClient.indexChunks(job.namespaceId(), AiDocumentChunksRequest.builder()
+        .document_id(job.documentId().toString())
+        .collection_name(job.collectionName())
+        .filename(job.filename())
+        .chunks(chunked.chunks().stream()
+            .map(chunk -> new AiDocumentChunksRequest.Chunk(chunk.content(), chunk.metadata()))
+            .toList())
+        .build());
+
+    ingestionJobService.markSucceeded(job.jobId(), Map.of(
+        "pages", chunked.pageCount(),
+        "chunks", chunked.chunks().size(),
+        "chunker", JAVA_CHUNKING));
+    return response;
+  }
+
+  /**
+   * 보관함 BM25 색인에 청크 추가 (chunked 가 없으면 직접 추출) - 색인 노드에서만
+   */
+  private void indexLexical(ClaimedJob job, ChunkedDocument chunked) {
+    if (!lexicalIndexService.isIndexer()) {
+      return;
+    }
+    try {
+      ChunkedDocument source = chunked != null
+          ? chunked
+          : documentChunker.chunk(job.documentId(), job.filePath(), job.filename());
+      lexicalIndexService.addDocument(job.namespaceId(), job.documentId(), source.chunks().stream()
+          .map(chunk -> new LexicalChunk(((Number) chunk.metadata().get("page")).intValue(), chunk.content()))
+          .toList());
+    } catch (Exception e) {
+      log.warn("BM25 색인 실패 - documentId: {}, namespaceId: {}, error: {}",
+          job.documentId(), job.namespaceId(), e.getMessage());
+    }
+  }
+}
@@ -0,0 +1,165 @@
+package com.sjpark.chatbot.service;
+
+import com.sjpark.chatbot.common.BusinessException;
+import com.sjpark.chatbot.common.ErrorCode;
+import com.sjpark.chatbot.domain.Document;
+import com.sjpark.chatbot.domain.Document.DocumentStatus;
+import com.sjpark.chatbot.repo.DocumentRepository;
+import com.sjpark.chatbot.repo.NamespaceRepository;
+import com.sjpark.chatbot.search.LexicalChunk;
+import com.sjpark.chatbot.search.LexicalIndexService;
+import com.sjpark.chatbot.service.DocumentChunker.ChunkedDocument;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * BM25 색인 재조정 (색인 노드에서만 실행)
+ * <p>
+ * 인덱싱 워커는 색인 노드에서 처리한 문서만 바로 BM25 색인에 추가하므로, 주기적으로 DB 와 색인을 비교해 차이를 메운다.
+ * <ul>
+ *   <li>DB 에 없는 보관함의 색인 디렉터리 삭제 (다른 노드에서 삭제된 보관함)</li>
+ *   <li>재구축 요청이 있는 보관함은 색인을 비우고 처음부터 다시 채움</li>
+ *   <li>DB 에서 삭제된 문서는 색인에서 삭제, 색인되지 않은 COMPLETED 문서는 batch-size 개씩 추출해 추가</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+public class LexicalIndexReconciler {
+
+  private final LexicalIndexService lexicalIndexService;
+  private final NamespaceRepository namespaceRepository;
+  private final DocumentRepository documentRepository;
+  private final DocumentChunker documentChunker;
+  private final Counter indexedCounter;
+  private final Counter deletedCounter;
+  private final Counter droppedCounter;
+  private final Counter rebuiltCounter;
+
+  @Value("${search.lexical.reconcile.enabled:true}")
+  private boolean enabled;
+
+  @Value("${search.lexical.reconcile.batch-size:100}")
+  private int batchSize;
+
+  public LexicalIndexReconciler(LexicalIndexService lexicalIndexService, NamespaceRepository namespaceRepository,
+      DocumentRepository documentRepository, DocumentChunker documentChunker, MeterRegistry meterRegistry) {
+    this.lexicalIndexService = lexicalIndexService;
+    this.namespaceRepository = namespaceRepository;
+    this.documentRepository = documentRepository;
+    this.documentChunker = documentChunker;
+    this.indexedCounter = counter(meterRegistry, "indexed");
+    this.deletedCounter = counter(meterRegistry, "deleted");
+    this.droppedCounter = counter(meterRegistry, "dropped");
+    this.rebuiltCounter = counter(meterRegistry, "rebuilt");
+  }
+
+  @Scheduled(fixedDelayString = "${search.lexical.reconcile.interval:60000}",
+      initialDelayString = "${search.lexical.reconcile.initial-delay:10000}")
+  public void scheduledReconcile() {
+    if (!enabled) {
+      return;
+    }
+    reconcile();
+  }
+
+  /**
+   * 재조정 1회 수행 - 한 번에 추가하는 문서는 batch-size 개까지 (나머지는 다음 주기)
+   */
+  public void reconcile() {
+    if (!lexicalIndexService.isIndexer()) {
+      return;
+    }
+
+    // 1. 삭제된 보관함의 색인 정리
+    Set<Long> namespaceIds = new HashSet<>(namespaceRepository.findAllIds());
+    for (Long namespaceId : lexicalIndexService.namespaceIds()) {
+      if (!namespaceIds.contains(namespaceId)) {
+        lexicalIndexService.dropNamespace(namespaceId);
+        droppedCounter.increment();
+      }
+    }
+
+    // 2. 보관함별 문서 비교
+    int budget = batchSize;
+    for (Long namespaceId : namespaceIds) {
+      try {
+        budget -= reconcileNamespace(namespaceId, budget);
+      } catch (Exception e) {
+        log.warn("BM25 색인 재조정 실패 - namespaceId: {}, error: {}", namespaceId, e.getMessage());
+      }
+    }
+  }
+
+  /**
+   * @return 색인에 추가한 문서 수
+   */
+  private int reconcileNamespace(Long namespaceId, int budget) {
+    if (lexicalIndexService.consumeRebuildRequest(namespaceId)) {
+      lexicalIndexService.clear(namespaceId);
+      rebuiltCounter.increment();
+    }
+
+    Set<Long> indexed = lexicalIndexService.documentIds(namespaceId);
+    if (!indexed.isEmpty()) {
+      Set<Long> existing = new HashSet<>(documentRepository.findIdsByNamespaceId(namespaceId));
+      for (Long documentId : indexed) {
+        if (!existing.contains(documentId)) {
+          lexicalIndexService.deleteDocument(namespaceId, documentId);
+          deletedCounter.increment();
+        }
+      }
+    }
+
+    if (budget <= 0) {
+      return 0;
+    }
+    List<Long> missing = documentRepository.findIdsByNamespaceIdAndStatus(namespaceId, DocumentStatus.COMPLETED)
+        .stream()
+        .filter(documentId -> !indexed.contains(documentId))
+        .limit(budget)
+        .toList();
+    if (missing.isEmpty()) {
+      return 0;
+    }
+
+    for (Document document : documentRepository.findAllById(missing)) {
+      lexicalIndexService.addDocument(namespaceId, document.getId(), chunks(document));
+      indexedCounter.increment();
+    }
+    log.info("BM25 색인 보충 - namespaceId: {}, documents: {}", namespaceId, missing.size());
+    return missing.size();
+  }
+
+  /**
+   * 문서 청크 추출 - 읽을 수 없는 파일은 빈 문서로 기록해 매 주기 다시 시도하지 않는다
+   */
+  private List<LexicalChunk> chunks(Document document) {
+    try {
+      ChunkedDocument chunked = documentChunker.chunk(document.getId(), document.getFilePath(),
+          document.getFilename());
+      return chunked.chunks().stream()
+          .map(chunk -> new LexicalChunk(((Number) chunk.metadata().get("page")).intValue(), chunk.content()))
+          .toList();
+    } catch (BusinessException e) {
+      if (e.getErrorCode() != ErrorCode.INVALID_FILE_FORMAT) {
+        throw e;
+      }
+      log.warn("BM25 색인 대상 문서를 읽을 수 없음 - documentId: {}, error: {}", document.getId(), e.getMessage());
+      return List.of();
+    }
+  }
+
+  private static Counter counter(MeterRegistry meterRegistry, String action) {
+    return Counter.builder("search.lexical.reconciled")
+        .description("BM25 색인 재조정으로 처리한 건수")
+        .tag("action", action)
+        .register(meterRegistry);
+  }
+}
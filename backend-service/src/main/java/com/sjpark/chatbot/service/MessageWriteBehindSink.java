@@ -0,0 +1,332 @@
+package com.sjpark.chatbot.service;
+
+import com.sjpark.chatbot.domain.Message;
+import com.sjpark.chatbot.repo.MessageBatchRepository;
+import com.sjpark.chatbot.repo.MessageBatchRepository.NewMessage;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 대화 메시지 쓰기 지연 저장
+ * <p>
+ * 채팅 턴마다 저장하던 질문/답변 메시지를 제한된 크기의 큐에 모아, 여러 대화의 메시지를 한 트랜잭션의 JDBC 배치로 저장한다.
+ * 메시지 ID 는 시퀀스에서 블록 단위로 미리 할당하므로 큐에 넣는 즉시 확정되고, 대화의 updated_at 은 flush 당 대화별로
+ * 한 번만 갱신한다.
+ * <p>
+ * flush 는 flush-interval 마다 또는 큐에 batch-size 개 이상 쌓이면 실행된다. 큐가 가득 차 offer-timeout 안에 넣지 못하면
+ * 호출 스레드에서 바로 저장한다. 종료 시에는 큐를 모두 비운 뒤 멈춘다.
+ * <p>
+ * 무결성 위반(삭제된 대화 등)으로 배치가 실패하면 한 건씩 다시 저장해 문제 메시지만 버린다. 커넥션 획득 실패 같은 그 밖의
+ * 실패는 배치를 버리지 않고 보관했다가 retry-backoff 부터 2배씩 늘린 간격으로 다시 저장한다. 저장되기 전의 메시지는
+ * {@link #pending(Long)} 으로 조회해 대화 내역에 합친다.
+ */
+@Slf4j
+@Component
+public class MessageWriteBehindSink {
+
+  private final MessageBatchRepository messageBatchRepository;
+  private final TransactionTemplate transactionTemplate;
+  private final BlockingQueue<NewMessage> queue;
+  private final int batchSize;
+  private final long flushIntervalNanos;
+  private final long offerTimeoutMillis;
+  private final long retryBackoffNanos;
+  private final long maxRetryBackoffNanos;
+
+  private final ReentrantLock idLock = new ReentrantLock();
+  private final ReentrantLock flushLock = new ReentrantLock();
+  private long nextId;
+  private long idLimit;
+
+  // 저장 중인 배치와 일시 장애로 보관 중인 배치 (flushLock 안에서만 교체, pending() 은 잠금 없이 읽음)
+  private volatile List<NewMessage> inFlight = List.of();
+  private volatile List<NewMessage> held = List.of();
+  private long retryAt;
+  private long currentBackoffNanos;
+
+  private final Timer flushTimer;
+  private final DistributionSummary flushSize;
+  private final Counter failedCounter;
+
+  private volatile boolean running;
+  private Thread flusher;
+
+  public MessageWriteBehindSink(MessageBatchRepository messageBatchRepository,
+      PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+      @Value("${chat.persistence.capacity:10000}") int capacity,
+      @Value("${chat.persistence.batch-size:200}") int batchSize,
+      @Value("${chat.persistence.flush-interval:50}") long flushIntervalMillis,
+      @Value("${chat.persistence.offer-timeout:100}") long offerTimeoutMillis,
+      @Value("${chat.persistence.retry-backoff:100}") long retryBackoffMillis,
+      @Value("${chat.persistence.max-retry-backoff:5000}") long maxRetryBackoffMillis) {
+    this.messageBatchRepository = messageBatchRepository;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.queue = new ArrayBlockingQueue<>(capacity);
+    this.batchSize = batchSize;
+    this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+    this.offerTimeoutMillis = offerTimeoutMillis;
+    this.retryBackoffNanos = TimeUnit.MILLISECONDS.toNanos(retryBackoffMillis);
+    this.maxRetryBackoffNanos = TimeUnit.MILLISECONDS.toNanos(maxRetryBackoffMillis);
+    this.currentBackoffNanos = retryBackoffNanos;
+
+    Gauge.builder("chat.messages.queue.size", queue, BlockingQueue::size)
+        .description("저장 대기 중인 메시지 수")
+        .register(meterRegistry);
+    this.flushTimer = Timer.builder("chat.messages.flush.duration")
+        .description("메시지 배치 저장 소요 시간")
+        .publishPercentileHistogram()
+        .register(meterRegistry);
+    this.flushSize = DistributionSummary.builder("chat.messages.flush.size")
+        .description("flush 한 번에 저장한 메시지 수")
+        .register(meterRegistry);
+    this.failedCounter = Counter.builder("chat.messages.failed")
+        .description("저장하지 못한 메시지 수")
+        .register(meterRegistry);
+  }
+
+  @PostConstruct
+  void start() {
+    running = true;
+    flusher = Thread.ofVirtual().name("message-sink").start(this::run);
+  }
+
+  @PreDestroy
+  void stop() throws InterruptedException {
+    running = false;
+    LockSupport.unpark(flusher);
+    flusher.join(TimeUnit.SECONDS.toMillis(30));
+
+    // 대기 간격과 관계없이 한 번 더 시도하고, 그래도 저장하지 못한 메시지는 실패로 집계
+    flushLock.lock();
+    try {
+      retryAt = System.nanoTime();
+      flush();
+      int lost = held.size() + queue.size();
+      if (lost > 0) {
+        failedCounter.increment(lost);
+        log.error("메시지 저장 큐 종료 - 저장하지 못한 메시지: {}", lost);
+      } else {
+        log.info("메시지 저장 큐 종료 - 남은 메시지 없음");
+      }
+    } finally {
+      flushLock.unlock();
+    }
+  }
+
+  /**
+   * 메시지 ID 발급 (시퀀스 블록이 소진되면 다음 블록 조회)
+   */
+  public long nextId() {
+    idLock.lock();
+    try {
+      if (nextId >= idLimit) {
+        nextId = messageBatchRepository.allocateIdBlock();
+        idLimit = nextId + Message.ID_ALLOCATION_SIZE;
+      }
+      return nextId++;
+    } finally {
+      idLock.unlock();
+    }
+  }
+
+  /**
+   * 저장 대기열에 추가 - 큐가 가득 차 있으면 호출 스레드에서 바로 저장
+   */
+  public void enqueue(List<NewMessage> messages) {
+    List<NewMessage> overflow = null;
+    for (NewMessage message : messages) {
+      if (overflow == null && offer(message)) {
+        continue;
+      }
+      if (overflow == null) {
+        overflow = new ArrayList<>();
+        log.warn("메시지 저장 큐 포화 - 호출 스레드에서 저장, queueSize: {}", queue.size());
+      }
+      overflow.add(message);
+    }
+    if (overflow != null) {
+      try {
+        write(overflow);
+      } catch (UnsavedMessagesException e) {
+        // 호출 스레드에는 보관할 곳이 없으므로 실패를 그대로 알린다
+        failedCounter.increment(e.messages.size());
+        throw e.error;
+      }
+    }
+    if (queue.size() >= batchSize) {
+      LockSupport.unpark(flusher);
+    }
+  }
+
+  /**
+   * 대기 중인 메시지를 모두 저장 - 보관 중인 배치가 있으면 재시도 시각이 지난 뒤 그 배치부터 저장한다
+   */
+  public void flush() {
+    flushLock.lock();
+    try {
+      if (!held.isEmpty()) {
+        if (System.nanoTime() - retryAt < 0 || !writeOrHold(held)) {
+          return;
+        }
+      }
+      while (!queue.isEmpty()) {
+        List<NewMessage> batch = new ArrayList<>(batchSize);
+        queue.drainTo(batch, batchSize);
+        if (!writeOrHold(batch)) {
+          return;
+        }
+      }
+    } finally {
+      flushLock.unlock();
+    }
+  }
+
+  /**
+   * 아직 저장되지 않은 대화 메시지 (저장 중, 재시도 대기, 큐 순) - 대화 내역 조회 시 DB 결과에 합친다
+   * <p>
+   * 저장이 끝난 직후에는 DB 결과와 겹칠 수 있으므로 호출자가 ID 로 중복을 제거한다.
+   */
+  public List<NewMessage> pending(Long conversationId) {
+    List<NewMessage> pending = new ArrayList<>();
+    List<NewMessage> writing = inFlight;
+    List<NewMessage> retrying = held;
+    for (List<NewMessage> batch : writing == retrying ? List.of(writing) : List.of(writing, retrying)) {
+      for (NewMessage message : batch) {
+        if (message.conversationId().equals(conversationId)) {
+          pending.add(message);
+        }
+      }
+    }
+    for (NewMessage message : queue) {
+      if (message.conversationId().equals(conversationId)) {
+        pending.add(message);
+      }
+    }
+    return pending;
+  }
+
+  private void run() {
+    while (running) {
+      if (queue.size() < batchSize || !held.isEmpty()) {
+        LockSupport.parkNanos(flushIntervalNanos);
+      }
+      try {
+        flush();
+      } catch (RuntimeException e) {
+        log.error("메시지 flush 실패 - error: {}", e.getMessage(), e);
+      }
+    }
+  }
+
+  private boolean offer(NewMessage message) {
+    try {
+      return queue.offer(message, offerTimeoutMillis, TimeUnit.MILLISECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+
+  /**
+   * 배치 저장 (flushLock 안에서 호출) - 일시 장애로 저장하지 못한 메시지는 보관하고 재시도 시각을 늦춘다
+   *
+   * @return 모두 저장했으면 true
+   */
+  private boolean writeOrHold(List<NewMessage> batch) {
+    inFlight = batch;
+    try {
+      write(batch);
+      held = List.of();
+      currentBackoffNanos = retryBackoffNanos;
+      return true;
+    } catch (UnsavedMessagesException e) {
+      held = e.messages;
+      retryAt = System.nanoTime() + currentBackoffNanos;
+      log.warn("메시지 저장 실패, {}ms 후 재시도 - size: {}, error: {}",
+          TimeUnit.NANOSECONDS.toMillis(currentBackoffNanos), e.messages.size(), e.error.getMessage());
+      currentBackoffNanos = Math.min(currentBackoffNanos * 2, maxRetryBackoffNanos);
+      return false;
+    } finally {
+      inFlight = List.of();
+    }
+  }
+
+  /**
+   * 배치 저장 - 무결성 위반이면 한 건씩 다시 저장하여 문제 메시지(삭제된 대화 등)만 버린다
+   *
+   * @throws UnsavedMessagesException 그 밖의 실패 (커넥션/트랜잭션 오류 등) - 아직 저장되지 않은 메시지를 담는다
+   */
+  private void write(List<NewMessage> batch) {
+    long startedAt = System.nanoTime();
+    try {
+      transactionTemplate.executeWithoutResult(status -> insert(batch));
+    } catch (DataIntegrityViolationException e) {
+      log.warn("메시지 배치 저장 실패, 한 건씩 재시도 - size: {}, error: {}", batch.size(), e.getMessage());
+      for (int i = 0; i < batch.size(); i++) {
+        NewMessage message = batch.get(i);
+        try {
+          transactionTemplate.executeWithoutResult(status -> insert(List.of(message)));
+        } catch (DataIntegrityViolationException single) {
+          failedCounter.increment();
+          log.error("메시지 저장 실패 - messageId: {}, conversationId: {}, error: {}",
+              message.id(), message.conversationId(), single.getMessage());
+        } catch (RuntimeException other) {
+          throw new UnsavedMessagesException(List.copyOf(batch.subList(i, batch.size())), other);
+        }
+      }
+    } catch (RuntimeException e) {
+      // TransientDataAccessException, CannotCreateTransactionException 등 - 배치를 버리지 않는다
+      throw new UnsavedMessagesException(List.copyOf(batch), e);
+    } finally {
+      flushTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+      flushSize.record(batch.size());
+    }
+  }
+
+  private void insert(List<NewMessage> messages) {
+    messageBatchRepository.insertMessages(messages);
+
+    Map<Long, LocalDateTime> updatedAt = new HashMap<>();
+    for (NewMessage message : messages) {
+      updatedAt.merge(message.conversationId(), message.createdAt(),
+          (current, candidate) -> candidate.isAfter(current) ? candidate : current);
+    }
+    messageBatchRepository.touchConversations(updatedAt);
+  }
+
+  /**
+   * 일시 장애로 저장하지 못한 메시지
+   */
+  private static final class UnsavedMessagesException extends RuntimeException {
+
+    private final List<NewMessage> messages;
+    private final RuntimeException error;
+
+    private UnsavedMessagesException(List<NewMessage> messages, RuntimeException error) {
+      super(error.getMessage(), error, false, false);
+      this.messages = messages;
+      this.error = error;
+    }
+  }
+}
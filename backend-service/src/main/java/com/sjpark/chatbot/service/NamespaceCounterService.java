@@ -0,0 +1,193 @@
+package com.sjpark.chatbot.service;
+
+import com.sjpark.chatbot.domain.Document.DocumentStatus;
+import com.sjpark.chatbot.repo.NamespaceRepository;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 네임스페이스 문서 집계 관리
+ * <p>
+ * 문서 추가/상태 변경/삭제 시 증감분을 호출자 트랜잭션에 모아 두었다가 커밋 직전에 네임스페이스당 UPDATE 한 번으로
+ * 반영한다. 문서 변경과 집계가 함께 커밋되면서도 네임스페이스 행 잠금은 커밋 직전부터 커밋까지만 잡으므로,
+ * 같은 보관함에 동시에 업로드해도 잠금 대기가 트랜잭션 전체 길이만큼 늘어나지 않는다.
+ */
+@Slf4j
+@Service
+@Transactional
+public class NamespaceCounterService {
+
+  private final NamespaceRepository namespaceRepository;
+  private final TransactionTemplate transactionTemplate;
+
+  public NamespaceCounterService(NamespaceRepository namespaceRepository,
+      PlatformTransactionManager transactionManager) {
+    this.namespaceRepository = namespaceRepository;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+  }
+
+  public void documentAdded(Long namespaceId, long size, DocumentStatus status) {
+    CounterDelta delta = new CounterDelta();
+    delta.documents = 1;
+    delta.bytes = size;
+    delta.add(status, 1);
+    apply(namespaceId, delta);
+  }
+
+  /**
+   * 대량 업로드 - 여러 문서를 PENDING 상태로 한 번에 추가
+   */
+  public void documentsAdded(Long namespaceId, int count, long totalBytes) {
+    CounterDelta delta = new CounterDelta();
+    delta.documents = count;
+    delta.bytes = totalBytes;
+    delta.add(DocumentStatus.PENDING, count);
+    apply(namespaceId, delta);
+  }
+
+  public void documentRemoved(Long namespaceId, long size, DocumentStatus status) {
+    CounterDelta delta = new CounterDelta();
+    delta.documents = -1;
+    delta.bytes = -size;
+    delta.add(status, -1);
+    apply(namespaceId, delta);
+  }
+
+  public void statusChanged(Long namespaceId, DocumentStatus from, DocumentStatus to) {
+    statusChanged(List.of(new StatusChange(namespaceId, from, to)));
+  }
+
+  /**
+   * 문서 상태 변경 일괄 반영
+   */
+  public void statusChanged(Collection<StatusChange> changes) {
+    Map<Long, CounterDelta> deltas = new TreeMap<>();
+    for (StatusChange change : changes) {
+      if (change.from() == change.to()) {
+        continue;
+      }
+      CounterDelta delta = deltas.computeIfAbsent(change.namespaceId(), id -> new CounterDelta());
+      delta.add(change.from(), -1);
+      delta.add(change.to(), 1);
+    }
+    deltas.forEach(this::apply);
+  }
+
+  /**
+   * 집계 재계산 - 증감 반영 누락(수동 DB 수정, 장애 등)을 보정한다
+   * <p>
+   * 네임스페이스마다 별도 트랜잭션에서 행 잠금을 먼저 잡고 문서 수를 센다. 잠금을 기다리는 동안 커밋된 증감은
+   * 잠금 이후 시작하는 집계 쿼리에 포함되고, 잠금 이후의 증감은 재계산 값 위에 더해지므로 반영 누락이 없다.
+   */
+  @Scheduled(cron = "${namespace.counters.repair-cron:0 30 3 * * *}")
+  @Transactional(propagation = Propagation.NOT_SUPPORTED)
+  public void recalculateAll() {
+    int updated = 0;
+    for (Long namespaceId : namespaceRepository.findAllIds()) {
+      Integer count = transactionTemplate.execute(status -> recalculate(namespaceId));
+      updated += count == null ? 0 : count;
+    }
+    log.info("네임스페이스 문서 집계 재계산 완료 - {}건", updated);
+  }
+
+  private int recalculate(Long namespaceId) {
+    if (namespaceRepository.findForUpdateById(namespaceId).isEmpty()) {
+      return 0; // 재계산 도중 삭제된 보관함
+    }
+    return namespaceRepository.recalculateCounters(namespaceId, DocumentStatus.PENDING,
+        DocumentStatus.PROCESSING, DocumentStatus.COMPLETED, DocumentStatus.FAILED);
+  }
+
+  /**
+   * 증감분 반영 - 트랜잭션 안이면 커밋 직전까지 모아 두고, 아니면 바로 UPDATE
+   */
+  private void apply(Long namespaceId, CounterDelta delta) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      update(namespaceId, delta);
+      return;
+    }
+    pendingDeltas().merge(namespaceId, delta, CounterDelta::plus);
+  }
+
+  private void update(Long namespaceId, CounterDelta delta) {
+    namespaceRepository.applyCounterDelta(namespaceId, delta.documents, delta.bytes,
+        delta.pending, delta.processing, delta.completed, delta.failed);
+  }
+
+  /**
+   * 현재 트랜잭션의 증감분 - REQUIRES_NEW 로 중단된 바깥 트랜잭션의 동기화는 목록에 없으므로 섞이지 않는다
+   */
+  private Map<Long, CounterDelta> pendingDeltas() {
+    for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+      if (synchronization instanceof PendingCounterDeltas pending) {
+        return pending.deltas;
+      }
+    }
+    PendingCounterDeltas pending = new PendingCounterDeltas();
+    TransactionSynchronizationManager.registerSynchronization(pending);
+    return pending.deltas;
+  }
+
+  /**
+   * 커밋 직전 증감 반영 - 네임스페이스 ID 순으로 UPDATE 해 트랜잭션 간 잠금 순서를 고정한다 (교착 방지)
+   */
+  private class PendingCounterDeltas implements TransactionSynchronization {
+
+    private final Map<Long, CounterDelta> deltas = new TreeMap<>();
+
+    @Override
+    public void beforeCommit(boolean readOnly) {
+      deltas.forEach(NamespaceCounterService.this::update);
+      deltas.clear();
+    }
+  }
+
+  /**
+   * 문서 상태 변경 (네임스페이스, 이전 상태, 새 상태)
+   */
+  public record StatusChange(Long namespaceId, DocumentStatus from, DocumentStatus to) {
+  }
+
+  private static class CounterDelta {
+
+    private long documents;
+    private long bytes;
+    private long pending;
+    private long processing;
+    private long completed;
+    private long failed;
+
+    private CounterDelta plus(CounterDelta other) {
+      documents += other.documents;
+      bytes += other.bytes;
+      pending += other.pending;
+      processing += other.processing;
+      completed += other.completed;
+      failed += other.failed;
+      return this;
+    }
+
+    private void add(DocumentStatus status, long amount) {
+      switch (status) {
+        case PENDING -> pending += amount;
+        case PROCESSING -> processing += amount;
+        case COMPLETED -> completed += amount;
+        case FAILED -> failed += amount;
+        case CANCELLED -> {
+          // 상태별 집계 대상 아님 (전체 문서 수에만 포함)
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,115 @@
+package com.sjpark.chatbot.service;
+
+import com.sjpark.chatbot.common.BusinessException;
+import com.sjpark.chatbot.common.ErrorCode;
+import com.sjpark.chatbot.domain.NamespaceDeletion;
+import com.sjpark.chatbot.dto.NamespaceDeletionResponse;
+import com.sjpark.chatbot.repo.NamespaceDeletionRepository;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 보관함 삭제 정리 작업 관리
+ * <p>
+ * 모든 메서드는 짧은 트랜잭션으로 끝나며, AI 서비스 호출과 파일 삭제는 트랜잭션 밖({@link NamespaceReclaimer})에서 수행된다.
+ * 정리는 자원을 회수할 때까지 백오프하며 계속 재시도한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class NamespaceDeletionService {
+
+  private final NamespaceDeletionRepository namespaceDeletionRepository;
+
+  @Value("${namespace.reclaimer.lock-timeout:600000}")
+  private long lockTimeoutMillis;
+
+  @Value("${namespace.reclaimer.initial-backoff:5000}")
+  private long initialBackoffMillis;
+
+  @Value("${namespace.reclaimer.max-backoff:600000}")
+  private long maxBackoffMillis;
+
+  /**
+   * 삭제 정리 진행 상황 조회 (요청한 사용자의 작업만)
+   */
+  @Transactional(readOnly = true)
+  public NamespaceDeletionResponse getDeletion(Long userId, Long deletionId) {
+    return namespaceDeletionRepository.findByIdAndUserId(deletionId, userId)
+        .map(NamespaceDeletionResponse::from)
+        .orElseThrow(() -> new BusinessException(ErrorCode.NAMESPACE_DELETION_NOT_FOUND));
+  }
+
+  /**
+   * 정리할 작업 점유
+   */
+  public List<ClaimedDeletion> claim(String workerId, int limit) {
+    LocalDateTime now = LocalDateTime.now();
+    LocalDateTime staleBefore = now.minus(Duration.ofMillis(lockTimeoutMillis));
+
+    return namespaceDeletionRepository.findClaimable(now, staleBefore, limit).stream()
+        .map(deletion -> {
+          deletion.claim(workerId, now);
+          return new ClaimedDeletion(deletion.getId(), deletion.getNamespaceId(),
+              deletion.getChromaCollectionName(), deletion.isCollectionDeleted(), deletion.getAttempts());
+        })
+        .toList();
+  }
+
+  public void markCollectionDeleted(Long deletionId) {
+    namespaceDeletionRepository.findById(deletionId).ifPresent(NamespaceDeletion::markCollectionDeleted);
+  }
+
+  /**
+   * 파일 blob 배치 정리 반영 (blob 삭제와 같은 트랜잭션에 참여)
+   */
+  public void addReclaimed(Long deletionId, int count) {
+    namespaceDeletionRepository.findById(deletionId)
+        .ifPresent(deletion -> deletion.addReclaimed(count, LocalDateTime.now()));
+  }
+
+  public void complete(Long deletionId) {
+    namespaceDeletionRepository.findById(deletionId).ifPresent(deletion -> {
+      deletion.complete(LocalDateTime.now());
+      log.info("보관함 자원 정리 완료 - deletionId: {}, namespaceId: {}, documents: {}, blobs: {}",
+          deletionId, deletion.getNamespaceId(), deletion.getDocumentCount(), deletion.getReclaimedBlobCount());
+    });
+  }
+
+  /**
+   * 정리 실패 - 백오프 후 남은 단계부터 재시도
+   */
+  public void markFailed(Long deletionId, String error) {
+    namespaceDeletionRepository.findById(deletionId).ifPresent(deletion -> {
+      LocalDateTime nextAttemptAt = LocalDateTime.now().plus(backoff(deletion.getAttempts()));
+      log.warn("보관함 자원 정리 재시도 예약 - deletionId: {}, attempts: {}, nextAttemptAt: {}, error: {}",
+          deletionId, deletion.getAttempts(), nextAttemptAt, error);
+      deletion.retryAt(nextAttemptAt, error);
+    });
+  }
+
+  /**
+   * 지수 백오프 (+-20% 지터)
+   */
+  private Duration backoff(int attempts) {
+    long exponential = initialBackoffMillis << Math.min(Math.max(attempts - 1, 0), 20);
+    long capped = Math.min(exponential, maxBackoffMillis);
+    double jitter = 0.8 + ThreadLocalRandom.current().nextDouble() * 0.4;
+    return Duration.ofMillis((long) (capped * jitter));
+  }
+
+  /**
+   * 정리 워커에 전달되는 점유된 작업 정보 (트랜잭션 밖에서 사용)
+   */
+  public record ClaimedDeletion(Long deletionId, Long namespaceId, String collectionName,
+                                boolean collectionDeleted, int attempt) {
+  }
+}
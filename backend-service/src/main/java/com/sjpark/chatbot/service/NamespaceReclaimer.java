@@ -0,0 +1,112 @@
+package com.sjpark.chatbot.service;
+
+import com.sjpark.chatbot.proxy.AiApiClient;
+import com.sjpark.chatbot.proxy.AiApiException;
+import com.sjpark.chatbot.service.NamespaceDeletionService.ClaimedDeletion;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.locks.LockSupport;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 삭제된 보관함의 자원 정리 워커
+ * <p>
+ * 삭제 작업을 하나씩 점유해 ChromaDB 컬렉션을 지운 뒤, 참조가 0 이 된 파일 blob 을 batch-size 개씩 정리한다.
+ * 배치 사이에 batch-delay 만큼 쉬어 디스크 I/O 를 제한하고, 배치마다 진행 상황을 커밋하므로 중단되더라도 남은 blob 부터
+ * 이어서 정리한다. 여러 노드가 실행되면 점유(SKIP LOCKED)로 작업을 나눈다.
+ */
+@Slf4j
+@Component
+public class NamespaceReclaimer {
+
+  private final NamespaceDeletionService namespaceDeletionService;
+  private final FileBlobService fileBlobService;
+  private final AiApiClient aiApiClient;
+  private final TransactionTemplate transactionTemplate;
+  private final Counter reclaimedBlobs;
+
+  private final String workerId = ManagementFactory.getRuntimeMXBean().getName() + "/"
+      + UUID.randomUUID().toString().substring(0, 8);
+
+  @Value("${namespace.reclaimer.enabled:true}")
+  private boolean enabled;
+
+  @Value("${namespace.reclaimer.batch-size:100}")
+  private int batchSize;
+
+  @Value("${namespace.reclaimer.batch-delay:200}")
+  private long batchDelayMillis;
+
+  public NamespaceReclaimer(NamespaceDeletionService namespaceDeletionService, FileBlobService fileBlobService,
+      AiApiClient aiApiClient, PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+    this.namespaceDeletionService = namespaceDeletionService;
+    this.fileBlobService = fileBlobService;
+    this.aiApiClient = aiApiClient;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.reclaimedBlobs = Counter.builder("namespace.reclaimed.blobs")
+        .description("삭제된 보관함에서 정리한 파일 blob 수")
+        .register(meterRegistry);
+  }
+
+  /**
+   * 정리할 삭제 작업 폴링 (노드당 한 번에 하나)
+   */
+  @Scheduled(fixedDelayString = "${namespace.reclaimer.interval:5000}")
+  public void reclaim() {
+    if (!enabled) {
+      return;
+    }
+    for (ClaimedDeletion deletion : namespaceDeletionService.claim(workerId, 1)) {
+      process(deletion);
+    }
+  }
+
+  private void process(ClaimedDeletion deletion) {
+    try {
+      // 1. ChromaDB 컬렉션 삭제 (이미 없으면 완료로 간주)
+      if (!deletion.collectionDeleted()) {
+        deleteCollection(deletion.collectionName());
+        namespaceDeletionService.markCollectionDeleted(deletion.deletionId());
+      }
+
+      // 2. 파일 blob 배치 정리 (blob 행 삭제와 진행 상황을 한 트랜잭션으로, 파일은 커밋 후 삭제)
+      while (!Thread.currentThread().isInterrupted()) {
+        Integer reclaimed = transactionTemplate.execute(status -> {
+          int count = fileBlobService.reclaim(deletion.deletionId(), batchSize);
+          if (count > 0) {
+            namespaceDeletionService.addReclaimed(deletion.deletionId(), count);
+          }
+          return count;
+        });
+        if (reclaimed == null || reclaimed == 0) {
+          namespaceDeletionService.complete(deletion.deletionId());
+          return;
+        }
+        reclaimedBlobs.increment(reclaimed);
+        LockSupport.parkNanos(Duration.ofMillis(batchDelayMillis).toNanos());
+      }
+    } catch (Exception e) {
+      namespaceDeletionService.markFailed(deletion.deletionId(), e.getMessage());
+    }
+  }
+
+  private void deleteCollection(String collectionName) {
+    try {
+      aiApiClient.deleteNamespace(collectionName);
+      log.info("ChromaDB 컬렉션 삭제 완료 - collectionName: {}", collectionName);
+    } catch (AiApiException e) {
+      if (!e.isNotFound()) {
+        throw e;
+      }
+      log.info("ChromaDB 컬렉션이 이미 없음 - collectionName: {}", collectionName);
+    }
+  }
+}
@@ -1,19 +1,30 @@
 package com.sjpark.chatbot.service;
 
+import com.sjpark.chatbot.common.BusinessException;
+import com.sjpark.chatbot.common.ErrorCode;
 import com.sjpark.chatbot.domain.Namespace;
+import com.sjpark.chatbot.domain.NamespaceDeletion;
 import com.sjpark.chatbot.domain.User;
 import com.sjpark.chatbot.dto.AiNamespaceCreateResponse;
 import com.sjpark.chatbot.dto.NamespaceCreateRequest;
+import com.sjpark.chatbot.dto.NamespaceDeletionResponse;
 import com.sjpark.chatbot.dto.NamespaceResponse;
 import com.sjpark.chatbot.dto.NamespaceWithTotalCnt;
 import com.sjpark.chatbot.proxy.AiApiClient;
+import com.sjpark.chatbot.proxy.AiApiException;
+import com.sjpark.chatbot.repo.DocumentRepository;
+import com.sjpark.chatbot.repo.IngestionJobRepository;
+import com.sjpark.chatbot.repo.NamespaceDeletionRepository;
 import com.sjpark.chatbot.repo.NamespaceRepository;
 import com.sjpark.chatbot.repo.UserRepository;
+import com.sjpark.chatbot.search.LexicalIndexService;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 @Slf4j
 @Service
@@ -24,16 +35,23 @@ public class NamespaceService {
   private final NamespaceRepository namespaceRepository;
   private final UserRepository userRepository;
   private final AiApiClient aiApiClient;
+  private final DocumentRepository documentRepository;
+  private final IngestionJobRepository ingestionJobRepository;
+  private final NamespaceDeletionRepository namespaceDeletionRepository;
+  private final FileBlobService fileBlobService;
+  private final LexicalIndexService lexicalIndexService;
 
   /**
    * 사용자별 문서 보관함 목록 조회 (문서 개수 포함)
    */
   public List<NamespaceWithTotalCnt> getNamespacesByUserId(Long userId) {
-    // 1. 사용자 조회
-    User user = userRepository.findById(userId)
-        .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 사용자입니다."));
+    List<NamespaceWithTotalCnt> namespaces = namespaceRepository.findListByUserId(userId);
 
-    return namespaceRepository.findByUserWithDocumentTotalCnt(user);
+    // 결과가 없을 때만 사용자 존재 여부 확인 (일반적인 경우 쿼리 1회)
+    if (namespaces.isEmpty() && !userRepository.existsById(userId)) {
+      throw new IllegalArgumentException("존재하지 않는 사용자입니다.");
+    }
+    return namespaces;
   }
 
   /**
@@ -54,10 +72,19 @@ public class NamespaceService {
     AiNamespaceCreateResponse response;
     String chromaDBCollectionName = request.getUserId() + "__" + request.getName();
 
+    // 같은 이름으로 삭제된 보관함의 컬렉션이 아직 정리되지 않았으면 정리 작업이 새 컬렉션을 지우게 되므로 거절
+    if (namespaceDeletionRepository.existsByChromaCollectionNameAndCollectionDeletedFalse(chromaDBCollectionName)) {
+      throw new BusinessException(ErrorCode.NAMESPACE_ALREADY_EXISTS,
+          "같은 이름의 문서 보관함을 삭제 정리 중입니다. 잠시 후 다시 시도해주세요.");
+    }
+
     try {
       response = aiApiClient.createNamespace(chromaDBCollectionName);
-    } catch (Exception e) {
-      throw new RuntimeException("Failed to create namespace: " + e.getMessage(), e);
+    } catch (AiApiException e) {
+      if (e.isConflict()) {
+        throw new BusinessException(ErrorCode.NAMESPACE_ALREADY_EXISTS, "AI 서비스에 동일한 컬렉션이 존재합니다.", e);
+      }
+      throw e;
     }
     log.info("ChromaDB 컬렉션 생성 완료 - collectionName: {}", response.getCollectionName());
 
@@ -78,9 +105,13 @@ public class NamespaceService {
 
   /**
    * 네임스페이스 삭제
+   * <p>
+   * 삭제 기록(tombstone)을 남기고 DB 행은 집합 단위 DELETE 로 바로 지운다 (문서 수와 무관하게 SQL 몇 번).
+   * ChromaDB 컬렉션과 파일 blob 은 {@link NamespaceReclaimer} 가 백그라운드에서 정리하며, 진행 상황은
+   * 반환된 삭제 작업 ID 로 조회한다.
    */
   @Transactional
-  public void deleteNamespace(Long userId, Long namespaceId) {
+  public NamespaceDeletionResponse deleteNamespace(Long userId, Long namespaceId) {
     // 1. 네임스페이스 존재 확인
     Namespace namespace = namespaceRepository.findById(namespaceId)
         .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 문서 보관함입니다."));
@@ -89,18 +120,27 @@ public class NamespaceService {
       throw new IllegalArgumentException("문서 보관함 삭제 권한이 없습니다.");
     }
 
-    // 3. AI 서비스에서 ChromaDB 컬렉션 삭제
-    try {
-      aiApiClient.deleteNamespace(namespace.getChromaCollectionName());
-      log.info("ChromaDB 컬렉션 삭제 완료 - collectionName: {}", namespace.getChromaCollectionName());
-    } catch (Exception e) {
-      log.warn("AI namespace 삭제 실패 - collectionName: {}, error: {}",
-          namespace.getChromaCollectionName(), e.getMessage());
-      // ChromaDB 삭제 실패해도 DB는 삭제 진행 (일관성 유지)
-    }
-
-    // 4. DB에서 네임스페이스 삭제 (연관된 문서들도 함께 삭제됨)
-    namespaceRepository.deleteById(namespace.getId());
-    log.info("Namespace 삭제 완료 - id: {}, name: {}", namespace.getId(), namespace.getName());
+    // 3. 삭제 기록 (컬렉션 이름과 정리 진행 상황 보관)
+    NamespaceDeletion deletion = namespaceDeletionRepository.save(NamespaceDeletion.of(namespace));
+
+    // 4. 하위 문서들의 파일 blob 참조 일괄 해제 (마지막 참조였던 blob 은 정리 대상으로 표시)
+    int blobCount = fileBlobService.releaseNamespace(namespaceId, deletion.getId());
+
+    // 5. 인덱싱 작업 → 문서 → 네임스페이스 순으로 집합 단위 삭제 (엔티티 로딩 없음)
+    ingestionJobRepository.deleteByNamespaceIdInBulk(namespaceId);
+    int documentCount = documentRepository.deleteByNamespaceIdInBulk(namespaceId);
+    namespaceRepository.deleteByIdInBulk(namespaceId);
+    deletion.recordDeleted(documentCount, blobCount);
+
+    // 6. BM25 어휘 색인은 커밋 후 삭제 (롤백되면 보관함이 남으므로 색인도 유지, 실패해도 경고만 남김)
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        lexicalIndexService.dropNamespace(namespaceId);
+      }
+    });
+    log.info("Namespace 삭제 완료 - id: {}, name: {}, documents: {}, deletionId: {}",
+        namespaceId, namespace.getName(), documentCount, deletion.getId());
+    return NamespaceDeletionResponse.from(deletion);
   }
 }
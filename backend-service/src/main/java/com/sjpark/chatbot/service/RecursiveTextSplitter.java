@@ -0,0 +1,162 @@
+package com.sjpark.chatbot.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 재귀 문자 분할기 - LangChain RecursiveCharacterTextSplitter 이식
+ * <p>
+ * AI 서비스와 같은 청크 경계를 만들기 위해 같은 규칙을 따른다. 구분자 목록에서 텍스트에 처음 등장하는 구분자로 나누고
+ * (구분자는 다음 조각의 앞에 붙인다), chunkSize 보다 작은 조각은 겹침(chunkOverlap)을 두고 병합하며, 큰 조각은
+ * 다음 구분자로 다시 나눈다. 길이는 Python len() 과 같이 코드 포인트 수로 센다. 상태가 없으므로 스레드 안전하다.
+ */
+public class RecursiveTextSplitter {
+
+  /**
+   * AI 서비스 설정과 같은 구분자 순서 ("" 이후 항목은 사용되지 않지만 설정을 그대로 옮김)
+   */
+  public static final List<String> DEFAULT_SEPARATORS = List.of("\n\n", "\n", " ", "", ".", "!", "?");
+
+  private final int chunkSize;
+  private final int chunkOverlap;
+  private final List<String> separators;
+
+  public RecursiveTextSplitter(int chunkSize, int chunkOverlap) {
+    this(chunkSize, chunkOverlap, DEFAULT_SEPARATORS);
+  }
+
+  public RecursiveTextSplitter(int chunkSize, int chunkOverlap, List<String> separators) {
+    if (chunkOverlap > chunkSize) {
+      throw new IllegalArgumentException("chunkOverlap(" + chunkOverlap + ")은 chunkSize(" + chunkSize + ")보다 클 수 없습니다.");
+    }
+    this.chunkSize = chunkSize;
+    this.chunkOverlap = chunkOverlap;
+    this.separators = separators;
+  }
+
+  public List<String> split(String text) {
+    List<String> chunks = new ArrayList<>();
+    split(text, separators, chunks);
+    return chunks;
+  }
+
+  private void split(String text, List<String> candidates, List<String> chunks) {
+    // 1. 텍스트에 등장하는 첫 구분자 선택 ("" 이면 문자 단위)
+    String separator = candidates.get(candidates.size() - 1);
+    List<String> remaining = List.of();
+    for (int i = 0; i < candidates.size(); i++) {
+      String candidate = candidates.get(i);
+      if (candidate.isEmpty()) {
+        separator = candidate;
+        break;
+      }
+      if (text.contains(candidate)) {
+        separator = candidate;
+        remaining = candidates.subList(i + 1, candidates.size());
+        break;
+      }
+    }
+
+    // 2. 작은 조각은 모아서 병합, 큰 조각은 다음 구분자로 재귀 분할 (구분자는 조각에 포함되므로 병합 시 구분자 없음)
+    List<String> good = new ArrayList<>();
+    for (String piece : splitKeepingSeparator(text, separator)) {
+      if (length(piece) < chunkSize) {
+        good.add(piece);
+        continue;
+      }
+      if (!good.isEmpty()) {
+        merge(good, chunks);
+        good = new ArrayList<>();
+      }
+      if (remaining.isEmpty()) {
+        chunks.add(piece);
+      } else {
+        split(piece, remaining, chunks);
+      }
+    }
+    if (!good.isEmpty()) {
+      merge(good, chunks);
+    }
+  }
+
+  /**
+   * 구분자를 다음 조각의 앞에 붙여 분할 (빈 조각 제외)
+   */
+  private static List<String> splitKeepingSeparator(String text, String separator) {
+    List<String> pieces = new ArrayList<>();
+    if (separator.isEmpty()) {
+      text.codePoints().forEach(codePoint -> pieces.add(Character.toString(codePoint)));
+      return pieces;
+    }
+
+    int start = 0;
+    int index = text.indexOf(separator);
+    while (index >= 0) {
+      addIfNotEmpty(pieces, text.substring(start, index));
+      start = index;
+      index = text.indexOf(separator, index + separator.length());
+    }
+    addIfNotEmpty(pieces, text.substring(start));
+    return pieces;
+  }
+
+  private static void addIfNotEmpty(List<String> pieces, String piece) {
+    if (!piece.isEmpty()) {
+      pieces.add(piece);
+    }
+  }
+
+  /**
+   * 조각을 chunkSize 이내로 이어붙이고, 다음 청크는 앞 청크의 끝 chunkOverlap 만큼을 다시 포함한다
+   */
+  private void merge(List<String> pieces, List<String> chunks) {
+    List<String> current = new ArrayList<>();
+    int currentStart = 0; // current 의 유효 시작 위치 (앞에서부터 제거)
+    int total = 0;
+    for (String piece : pieces) {
+      int pieceLength = length(piece);
+      if (total + pieceLength > chunkSize) {
+        if (currentStart < current.size()) {
+          addJoined(current.subList(currentStart, current.size()), chunks);
+          while (total > chunkOverlap || (total + pieceLength > chunkSize && total > 0)) {
+            total -= length(current.get(currentStart));
+            currentStart++;
+          }
+        }
+      }
+      current.add(piece);
+      total += pieceLength;
+    }
+    addJoined(current.subList(currentStart, current.size()), chunks);
+  }
+
+  private static void addJoined(List<String> pieces, List<String> chunks) {
+    String chunk = strip(String.join("", pieces));
+    if (!chunk.isEmpty()) {
+      chunks.add(chunk);
+    }
+  }
+
+  /**
+   * Python str.strip() 과 같은 공백 기준 (NBSP 등 유니코드 공백 포함)
+   */
+  private static String strip(String text) {
+    int start = 0;
+    int end = text.length();
+    while (start < end && isPythonSpace(text.codePointAt(start))) {
+      start += Character.charCount(text.codePointAt(start));
+    }
+    while (end > start && isPythonSpace(text.codePointBefore(end))) {
+      end -= Character.charCount(text.codePointBefore(end));
+    }
+    return text.substring(start, end);
+  }
+
+  private static boolean isPythonSpace(int codePoint) {
+    return Character.isWhitespace(codePoint) || Character.isSpaceChar(codePoint);
+  }
+
+  private static int length(String text) {
+    return text.codePointCount(0, text.length());
+  }
+}
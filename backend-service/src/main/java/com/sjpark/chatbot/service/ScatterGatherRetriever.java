@@ -0,0 +1,194 @@
+package com.sjpark.chatbot.service;
+
+import com.sjpark.chatbot.dto.AiContextDocument;
+import com.sjpark.chatbot.dto.AiSearchResponse;
+import com.sjpark.chatbot.proxy.AiApiClient;
+import com.sjpark.chatbot.proxy.AiApiException;
+import com.sjpark.chatbot.service.ConversationService.SearchTarget;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.text.Normalizer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.regex.Pattern;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * 여러 보관함 분산 검색 (scatter-gather)
+ * <p>
+ * 대화에 선택된 보관함마다 AI 서비스 벡터 검색을 동시에 호출하고, 결과를 관련도 점수 순으로 합쳐 상위 K개를 고른다.
+ * 검색 구간(leg)마다 제한 시간을 두며, 느리거나 실패한 구간은 빼고 나머지 결과로 답변한다 (모든 구간이 실패한 경우만 오류).
+ * 일부 구간이 빠진 결과는 {@link Retrieval#partial()} 로 표시해 호출자가 그 답변을 캐시하지 않도록 한다.
+ * 같은 문서가 여러 보관함에 올라가 있는 경우처럼 내용이 거의 같은 청크는 점수가 높은 하나만 남긴다.
+ */
+@Slf4j
+@Component
+public class ScatterGatherRetriever {
+
+  private static final int CANDIDATE_MULTIPLIER = 2;
+  private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+  private final AiApiClient aiApiClient;
+  private final MeterRegistry meterRegistry;
+  private final Duration legTimeout;
+  private final double duplicateThreshold;
+
+  public ScatterGatherRetriever(AiApiClient aiApiClient, MeterRegistry meterRegistry,
+      @Value("${chat.retrieval.leg-timeout:3000}") long legTimeoutMillis,
+      @Value("${chat.retrieval.duplicate-threshold:0.9}") double duplicateThreshold) {
+    this.aiApiClient = aiApiClient;
+    this.meterRegistry = meterRegistry;
+    this.legTimeout = Duration.ofMillis(legTimeoutMillis);
+    this.duplicateThreshold = duplicateThreshold;
+  }
+
+  /**
+   * 모든 보관함을 동시에 검색해 상위 topK 개 문서로 합친다
+   */
+  public Mono<Retrieval> retrieve(List<SearchTarget> targets, String query, int topK) {
+    int candidates = topK * CANDIDATE_MULTIPLIER;
+    return Flux.fromIterable(targets)
+        .flatMap(target -> leg(target, query, candidates))
+        .collectList()
+        .flatMap(legs -> {
+          List<Leg> failed = legs.stream().filter(leg -> leg.error() != null).toList();
+          if (failed.size() == legs.size()) {
+            Throwable error = failed.get(0).error();
+            return Mono.error(error instanceof AiApiException ? error : AiApiException.from("search", error));
+          }
+          List<AiContextDocument> merged = merge(legs, topK);
+          log.info("분산 검색 완료 - legs: {}, failed: {}, documents: {}", legs.size(), failed.size(), merged.size());
+          return Mono.just(new Retrieval(merged, !failed.isEmpty()));
+        });
+  }
+
+  /**
+   * 보관함 하나 검색 - 제한 시간 초과나 오류는 실패 구간으로 기록하고 빈 결과로 대신한다
+   */
+  private Mono<Leg> leg(SearchTarget target, String query, int candidates) {
+    return Mono.defer(() -> {
+      long startedAt = System.nanoTime();
+      return aiApiClient.searchAsync(target.collectionName(), query, candidates)
+          .timeout(legTimeout)
+          .map(response -> new Leg(response.getResults() != null ? response.getResults() : List.of(), null))
+          .defaultIfEmpty(new Leg(List.of(), null))
+          .doOnNext(leg -> record("success", startedAt))
+          .onErrorResume(e -> {
+            String outcome = e instanceof TimeoutException ? "timeout" : "error";
+            record(outcome, startedAt);
+            log.warn("보관함 검색 구간 제외 - namespaceId: {}, outcome: {}, error: {}",
+                target.namespaceId(), outcome, e.getMessage());
+            return Mono.just(new Leg(List.of(), e));
+          });
+    });
+  }
+
+  /**
+   * 관련도 점수 내림차순으로 합치고 거의 같은 청크를 제외해 topK 개 선택
+   */
+  private List<AiContextDocument> merge(List<Leg> legs, int topK) {
+    List<AiSearchResponse.Result> candidates = new ArrayList<>();
+    for (Leg leg : legs) {
+      candidates.addAll(leg.results());
+    }
+    candidates.sort(Comparator.comparingDouble((AiSearchResponse.Result r) -> orZero(r.getScore())).reversed());
+
+    List<AiContextDocument> documents = new ArrayList<>(topK);
+    List<Set<String>> selectedTerms = new ArrayList<>(topK);
+    for (AiSearchResponse.Result candidate : candidates) {
+      if (documents.size() >= topK) {
+        break;
+      }
+      if (candidate.getContent() == null || candidate.getContent().isBlank()) {
+        continue;
+      }
+      Set<String> terms = terms(candidate.getContent());
+      if (selectedTerms.stream().anyMatch(selected -> jaccard(selected, terms) >= duplicateThreshold)) {
+        continue;
+      }
+      selectedTerms.add(terms);
+      documents.add(AiContextDocument.builder()
+          .content(candidate.getContent())
+          .source(filename(candidate.getMetadata()))
+          .page(page(candidate.getMetadata()))
+          .score(candidate.getScore())
+          .build());
+    }
+    return documents;
+  }
+
+  /**
+   * 청크 비교용 단어 집합 (NFKC 정규화, 소문자, 문자/숫자 외 구분자)
+   */
+  private static Set<String> terms(String content) {
+    String normalized = Normalizer.normalize(content, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+    Set<String> terms = new HashSet<>();
+    for (String term : NON_WORD.split(normalized)) {
+      if (!term.isEmpty()) {
+        terms.add(term);
+      }
+    }
+    return terms;
+  }
+
+  private static double jaccard(Set<String> a, Set<String> b) {
+    if (a.isEmpty() && b.isEmpty()) {
+      return 1.0;
+    }
+    Set<String> smaller = a.size() <= b.size() ? a : b;
+    Set<String> larger = smaller == a ? b : a;
+    int intersection = 0;
+    for (String term : smaller) {
+      if (larger.contains(term)) {
+        intersection++;
+      }
+    }
+    return (double) intersection / (a.size() + b.size() - intersection);
+  }
+
+  private void record(String outcome, long startedAt) {
+    Timer.builder("chat.retrieval.leg.duration")
+        .description("여러 보관함 분산 검색의 보관함별 검색 소요 시간")
+        .tag("outcome", outcome)
+        .publishPercentileHistogram()
+        .register(meterRegistry)
+        .record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+  }
+
+  private static double orZero(Double value) {
+    return value != null ? value : 0.0;
+  }
+
+  private static String filename(Map<String, Object> metadata) {
+    Object value = metadata != null ? metadata.get("filename") : null;
+    return value != null ? value.toString() : "unknown";
+  }
+
+  private static Integer page(Map<String, Object> metadata) {
+    Object value = metadata != null ? metadata.get("page") : null;
+    return value instanceof Number number ? number.intValue() : null;
+  }
+
+  /**
+   * 분산 검색 결과
+   *
+   * @param partial 실패하거나 제한 시간을 넘겨 빠진 구간이 있으면 true
+   */
+  public record Retrieval(List<AiContextDocument> documents, boolean partial) {
+  }
+
+  private record Leg(List<AiSearchResponse.Result> results, Throwable error) {
+  }
+}
@@ -0,0 +1,84 @@
+package com.sjpark.chatbot.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.function.Supplier;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * 문서 업로드 지표
+ * <p>
+ * 단계별(검증/조회/임시 저장+해시/중복 검사/blob 저장/DB 저장) 소요 시간과 중복/실패 건수, 저장된 바이트 수를 기록한다.
+ * source 태그로 단건(single)과 대량(bulk) 업로드를 구분한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class UploadMetrics {
+
+  public static final String SINGLE = "single";
+  public static final String BULK = "bulk";
+
+  private final MeterRegistry meterRegistry;
+
+  /**
+   * 업로드 단계 소요 시간 기록
+   */
+  public <T> T stage(String source, String stage, Supplier<T> task) {
+    return stageTimer(source, stage).record(task);
+  }
+
+  public void stage(String source, String stage, Runnable task) {
+    stageTimer(source, stage).record(task);
+  }
+
+  /**
+   * 저장 완료된 문서 수와 바이트 수
+   */
+  public void ingested(String source, int documents, long bytes) {
+    Counter.builder("document.upload.documents")
+        .description("저장된 문서 수")
+        .tag("source", source)
+        .register(meterRegistry)
+        .increment(documents);
+    Counter.builder("document.upload.bytes")
+        .description("저장된 문서 크기 합계")
+        .baseUnit("bytes")
+        .tag("source", source)
+        .register(meterRegistry)
+        .increment(bytes);
+  }
+
+  /**
+   * 중복으로 저장하지 않은 파일 수
+   */
+  public void duplicate(String source, int count) {
+    Counter.builder("document.upload.duplicates")
+        .description("중복으로 거부된 파일 수")
+        .tag("source", source)
+        .register(meterRegistry)
+        .increment(count);
+  }
+
+  /**
+   * 저장에 실패한 파일 (reason: ErrorCode 또는 대량 업로드 결과 상태)
+   */
+  public void failed(String source, String reason) {
+    Counter.builder("document.upload.failures")
+        .description("검증/저장에 실패한 파일 수")
+        .tag("source", source)
+        .tag("reason", reason)
+        .register(meterRegistry)
+        .increment();
+  }
+
+  private Timer stageTimer(String source, String stage) {
+    return Timer.builder("document.upload.stage")
+        .description("문서 업로드 단계별 소요 시간")
+        .tag("source", source)
+        .tag("stage", stage)
+        .publishPercentileHistogram()
+        .register(meterRegistry);
+  }
+}
@@ -0,0 +1,114 @@
+package com.sjpark.chatbot.tokenizer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * BPE 토큰(바이트열) → 병합 순위 테이블
+ * <p>
+ * 바이트 배열의 일부 구간으로 바로 조회할 수 있도록 개방 주소법 해시 테이블로 구현했다. 조회 시 키 배열을 새로 만들지 않는다.
+ */
+final class BpeRanks {
+
+  static final int ABSENT = -1;
+
+  private byte[][] keys;
+  private int[] ranks;
+  private int mask;
+  private int size;
+
+  BpeRanks(int expectedSize) {
+    int capacity = Integer.highestOneBit(Math.max(16, expectedSize * 2 - 1)) << 1;
+    keys = new byte[capacity][];
+    ranks = new int[capacity];
+    mask = capacity - 1;
+  }
+
+  /**
+   * tiktoken 순위 파일 읽기 - 한 줄에 "base64(토큰 바이트) 순위"
+   */
+  static BpeRanks load(InputStream in) throws IOException {
+    BpeRanks table = new BpeRanks(1 << 18);
+    Base64.Decoder decoder = Base64.getDecoder();
+    try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.US_ASCII))) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        if (line.isBlank()) {
+          continue;
+        }
+        int space = line.indexOf(' ');
+        if (space < 0) {
+          throw new IOException("잘못된 BPE 순위 형식: " + line);
+        }
+        table.put(decoder.decode(line.substring(0, space)), Integer.parseInt(line.substring(space + 1).trim()));
+      }
+    }
+    return table;
+  }
+
+  int size() {
+    return size;
+  }
+
+  void put(byte[] key, int rank) {
+    if ((size + 1) * 2 > keys.length) {
+      grow();
+    }
+    int slot = hash(key, 0, key.length) & mask;
+    while (keys[slot] != null) {
+      if (Arrays.equals(keys[slot], key)) {
+        ranks[slot] = rank;
+        return;
+      }
+      slot = (slot + 1) & mask;
+    }
+    keys[slot] = key;
+    ranks[slot] = rank;
+    size++;
+  }
+
+  /**
+   * bytes[from, to) 의 순위, 없으면 {@link #ABSENT}
+   */
+  int get(byte[] bytes, int from, int to) {
+    int slot = hash(bytes, from, to) & mask;
+    byte[] key;
+    while ((key = keys[slot]) != null) {
+      if (Arrays.equals(key, 0, key.length, bytes, from, to)) {
+        return ranks[slot];
+      }
+      slot = (slot + 1) & mask;
+    }
+    return ABSENT;
+  }
+
+  private void grow() {
+    byte[][] oldKeys = keys;
+    int[] oldRanks = ranks;
+    keys = new byte[oldKeys.length * 2][];
+    ranks = new int[oldKeys.length * 2];
+    mask = keys.length - 1;
+    size = 0;
+    for (int i = 0; i < oldKeys.length; i++) {
+      if (oldKeys[i] != null) {
+        put(oldKeys[i], oldRanks[i]);
+      }
+    }
+  }
+
+  /**
+   * FNV-1a
+   */
+  private static int hash(byte[] bytes, int from, int to) {
+    int h = 0x811c9dc5;
+    for (int i = from; i < to; i++) {
+      h = (h ^ (bytes[i] & 0xff)) * 0x01000193;
+    }
+    return h ^ (h >>> 16);
+  }
+}
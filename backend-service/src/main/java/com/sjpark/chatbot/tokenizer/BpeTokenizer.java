@@ -0,0 +1,162 @@
+package com.sjpark.chatbot.tokenizer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 바이트 수준 BPE 토큰 수 계산 (tiktoken 호환)
+ * <p>
+ * 정규식으로 텍스트를 조각으로 나눈 뒤 조각마다 UTF-8 바이트에 병합 순위가 가장 낮은 인접 쌍부터 합쳐 나간다.
+ * 토큰 ID 는 만들지 않고 개수만 센다. 조각 전체가 사전에 있으면 병합 없이 1 로 세고, UTF-8 버퍼와 병합용 배열은
+ * 호출 한 번 동안 재사용한다.
+ */
+public final class BpeTokenizer {
+
+  /**
+   * o200k_base 분할 정규식 (gpt-4o, gpt-5 계열)
+   */
+  public static final String O200K_PATTERN = String.join("|",
+      "[^\\r\\n\\p{L}\\p{N}]?[\\p{Lu}\\p{Lt}\\p{Lm}\\p{Lo}\\p{M}]*[\\p{Ll}\\p{Lm}\\p{Lo}\\p{M}]+(?i:'s|'t|'re|'ve|'m|'ll|'d)?",
+      "[^\\r\\n\\p{L}\\p{N}]?[\\p{Lu}\\p{Lt}\\p{Lm}\\p{Lo}\\p{M}]+[\\p{Ll}\\p{Lm}\\p{Lo}\\p{M}]*(?i:'s|'t|'re|'ve|'m|'ll|'d)?",
+      "\\p{N}{1,3}",
+      " ?[^\\s\\p{L}\\p{N}]+[\\r\\n/]*",
+      "\\s*[\\r\\n]+",
+      "\\s+(?!\\S)",
+      "\\s+");
+
+  private static final int MAX_RANK = Integer.MAX_VALUE;
+
+  private final BpeRanks ranks;
+  private final Pattern pattern;
+
+  private BpeTokenizer(BpeRanks ranks, Pattern pattern) {
+    this.ranks = ranks;
+    this.pattern = pattern;
+  }
+
+  /**
+   * tiktoken 순위 파일(예: o200k_base.tiktoken)과 분할 정규식으로 생성
+   */
+  public static BpeTokenizer load(InputStream ranks, String pattern) throws IOException {
+    return new BpeTokenizer(BpeRanks.load(ranks), Pattern.compile(pattern, Pattern.UNICODE_CHARACTER_CLASS));
+  }
+
+  public int vocabularySize() {
+    return ranks.size();
+  }
+
+  public int count(String text) {
+    if (text == null || text.isEmpty()) {
+      return 0;
+    }
+    Scratch scratch = new Scratch();
+    Matcher matcher = pattern.matcher(text);
+    int tokens = 0;
+    while (matcher.find()) {
+      int length = scratch.encode(text, matcher.start(), matcher.end());
+      tokens += countPiece(scratch, length);
+    }
+    return tokens;
+  }
+
+  /**
+   * 조각 하나의 토큰 수 (tiktoken byte_pair_merge 와 같은 순서로 병합)
+   */
+  private int countPiece(Scratch scratch, int length) {
+    byte[] bytes = scratch.bytes;
+    if (length <= 1 || ranks.get(bytes, 0, length) != BpeRanks.ABSENT) {
+      return length == 0 ? 0 : 1;
+    }
+
+    scratch.ensureParts(length + 1);
+    int[] starts = scratch.starts;
+    int[] pairRanks = scratch.ranks;
+    int parts = length + 1;
+    for (int i = 0; i < parts; i++) {
+      starts[i] = i;
+      pairRanks[i] = i + 2 <= length ? rank(bytes, i, i + 2) : MAX_RANK;
+    }
+
+    while (parts > 1) {
+      int min = 0;
+      for (int i = 1; i < parts - 1; i++) {
+        if (pairRanks[i] < pairRanks[min]) {
+          min = i;
+        }
+      }
+      if (pairRanks[min] == MAX_RANK) {
+        break;
+      }
+
+      // min 과 min + 1 조각을 합친다 (경계 min + 1 제거)
+      System.arraycopy(starts, min + 2, starts, min + 1, parts - min - 2);
+      System.arraycopy(pairRanks, min + 2, pairRanks, min + 1, parts - min - 2);
+      parts--;
+      pairRanks[min] = pairRank(bytes, starts, parts, min);
+      if (min > 0) {
+        pairRanks[min - 1] = pairRank(bytes, starts, parts, min - 1);
+      }
+    }
+    return parts - 1;
+  }
+
+  private int pairRank(byte[] bytes, int[] starts, int parts, int i) {
+    return i + 2 < parts ? rank(bytes, starts[i], starts[i + 2]) : MAX_RANK;
+  }
+
+  private int rank(byte[] bytes, int from, int to) {
+    int rank = ranks.get(bytes, from, to);
+    return rank == BpeRanks.ABSENT ? MAX_RANK : rank;
+  }
+
+  /**
+   * 호출 한 번 동안 재사용하는 작업 버퍼
+   */
+  private static final class Scratch {
+
+    private byte[] bytes = new byte[64];
+    private int[] starts = new int[65];
+    private int[] ranks = new int[65];
+
+    /**
+     * text[from, to) 를 UTF-8 로 bytes 에 기록 (짝이 없는 서로게이트는 '?')
+     */
+    int encode(String text, int from, int to) {
+      if (bytes.length < (to - from) * 3) {
+        bytes = new byte[(to - from) * 3];
+      }
+      int length = 0;
+      for (int i = from; i < to; i++) {
+        char c = text.charAt(i);
+        if (c < 0x80) {
+          bytes[length++] = (byte) c;
+        } else if (c < 0x800) {
+          bytes[length++] = (byte) (0xC0 | (c >> 6));
+          bytes[length++] = (byte) (0x80 | (c & 0x3F));
+        } else if (Character.isHighSurrogate(c) && i + 1 < to && Character.isLowSurrogate(text.charAt(i + 1))) {
+          int codePoint = Character.toCodePoint(c, text.charAt(++i));
+          bytes[length++] = (byte) (0xF0 | (codePoint >> 18));
+          bytes[length++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+          bytes[length++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+          bytes[length++] = (byte) (0x80 | (codePoint & 0x3F));
+        } else if (Character.isSurrogate(c)) {
+          bytes[length++] = '?';
+        } else {
+          bytes[length++] = (byte) (0xE0 | (c >> 12));
+          bytes[length++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+          bytes[length++] = (byte) (0x80 | (c & 0x3F));
+        }
+      }
+      return length;
+    }
+
+    void ensureParts(int size) {
+      if (starts.length < size) {
+        starts = new int[size];
+        ranks = new int[size];
+      }
+    }
+  }
+}
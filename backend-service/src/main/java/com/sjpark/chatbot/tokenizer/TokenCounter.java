@@ -0,0 +1,135 @@
+package com.sjpark.chatbot.tokenizer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+/**
+ * 채팅 모델 기준 토큰 수 계산
+ * <p>
+ * chat.tokenizer.ranks 에 tiktoken 순위 파일(o200k_base.tiktoken)이 있으면 {@link BpeTokenizer} 로 정확히 세고,
+ * 없으면 보수적인 추정치를 사용한다. 추정치는 o200k 분할 정규식으로 나눈 조각마다 상한을 더한 값이라 숫자, 구두점,
+ * 코드, URL 처럼 조각이 잘게 나뉘는 텍스트도 실제보다 작게 세지 않는다.
+ * <p>
+ * 추정치는 저장하지 않는다 ({@link #countForStorage}). 나중에 순위 파일을 설정해도 예전 추정치가 예산 계산에 남지 않도록
+ * DB 에는 정확히 센 값만 기록한다.
+ */
+@Slf4j
+@Component
+public class TokenCounter {
+
+  /**
+   * 채팅 메시지 하나에 붙는 형식 토큰 (역할 표시, 구분자)
+   */
+  public static final int MESSAGE_OVERHEAD = 4;
+
+  private static final Pattern PIECE = Pattern.compile(BpeTokenizer.O200K_PATTERN, Pattern.UNICODE_CHARACTER_CLASS);
+
+  private final BpeTokenizer tokenizer;
+
+  public TokenCounter(ResourceLoader resourceLoader,
+      @Value("${chat.tokenizer.ranks:}") String ranksLocation) {
+    this.tokenizer = load(resourceLoader, ranksLocation);
+  }
+
+  public boolean isExact() {
+    return tokenizer != null;
+  }
+
+  public int count(String text) {
+    if (text == null || text.isEmpty()) {
+      return 0;
+    }
+    return tokenizer != null ? tokenizer.count(text) : estimate(text);
+  }
+
+  /**
+   * DB 에 저장할 토큰 수 - 정확히 셀 수 없으면 null (읽을 때 다시 센다)
+   */
+  public Integer countForStorage(String text) {
+    return tokenizer != null ? count(text) : null;
+  }
+
+  /**
+   * 채팅 메시지로 보낼 때의 토큰 수 (형식 토큰 포함)
+   */
+  public int countMessage(String content) {
+    return count(content) + MESSAGE_OVERHEAD;
+  }
+
+  /**
+   * 보수적인 토큰 수 추정 - o200k 분할 조각마다 (조각은 최소 1토큰)
+   * <ul>
+   *   <li>ASCII 문자열: 3자당 1토큰 (식별자, URL 경로처럼 사전에 없는 조합 대비)</li>
+   *   <li>숫자: 조각이 최대 3자리라 조각당 1토큰</li>
+   *   <li>구두점/기호와 조각 중간의 줄바꿈: 1자당 1토큰</li>
+   *   <li>공백만 있는 조각: 4자당 1토큰</li>
+   *   <li>그 외 문자: 1자당 1토큰, 보조 평면 문자(이모지 등)는 2토큰</li>
+   * </ul>
+   */
+  static int estimate(String text) {
+    Matcher matcher = PIECE.matcher(text);
+    int tokens = 0;
+    while (matcher.find()) {
+      tokens += estimatePiece(text, matcher.start(), matcher.end());
+    }
+    return tokens;
+  }
+
+  private static int estimatePiece(String text, int from, int to) {
+    int letters = 0;
+    int symbols = 0;
+    int spaces = 0;
+    int other = 0;
+    boolean digits = false;
+    for (int i = from; i < to; i++) {
+      char c = text.charAt(i);
+      if (c >= 0x80) {
+        if (Character.isHighSurrogate(c)) {
+          other += 2;
+        } else if (!Character.isLowSurrogate(c)) {
+          other++;
+        }
+      } else if (Character.isLetter(c)) {
+        letters++;
+      } else if (Character.isDigit(c)) {
+        digits = true;
+      } else if (Character.isWhitespace(c)) {
+        spaces++;
+        if (i > from) {
+          symbols++; // 조각 앞 공백은 뒤 문자와 병합되고, 기호 뒤 줄바꿈은 따로 센다
+        }
+      } else {
+        symbols++;
+      }
+    }
+    if (spaces == to - from) {
+      return (spaces + 3) / 4;
+    }
+    return Math.max((letters + 2) / 3 + symbols + other + (digits ? 1 : 0), 1);
+  }
+
+  private static BpeTokenizer load(ResourceLoader resourceLoader, String location) {
+    if (location == null || location.isBlank()) {
+      log.info("BPE 순위 파일 미설정 - 토큰 수를 추정치로 계산합니다.");
+      return null;
+    }
+    Resource resource = resourceLoader.getResource(location);
+    try (InputStream in = resource.getInputStream()) {
+      long startedAt = System.nanoTime();
+      BpeTokenizer tokenizer = BpeTokenizer.load(in, BpeTokenizer.O200K_PATTERN);
+      log.info("BPE 토크나이저 로드 완료 - location: {}, vocabulary: {}, elapsed: {}ms",
+          location, tokenizer.vocabularySize(), (System.nanoTime() - startedAt) / 1_000_000);
+      return tokenizer;
+    } catch (IOException e) {
+      log.warn("BPE 순위 파일을 읽을 수 없어 추정치로 계산합니다 - location: {}, error: {}", location, e.getMessage());
+      return null;
+    }
+  }
+}
@@ -23,15 +23,31 @@ CREATE TABLE namespaces (
     name VARCHAR(100) NOT NULL,
     description TEXT,
     color_code VARCHAR(20),
+    content_version BIGINT NOT NULL DEFAULT 0,
+    -- 문서 집계 (업로드/상태 변경/삭제 시 증감, 야간 작업이 재계산)
+    document_count BIGINT NOT NULL DEFAULT 0,
+    total_bytes BIGINT NOT NULL DEFAULT 0,
+    pending_count BIGINT NOT NULL DEFAULT 0,
+    processing_count BIGINT NOT NULL DEFAULT 0,
+    completed_count BIGINT NOT NULL DEFAULT 0,
+    failed_count BIGINT NOT NULL DEFAULT 0,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     UNIQUE(user_id, name)
 );
 
-CREATE INDEX idx_namespaces_user_id ON namespaces(user_id);
+-- 사용자별 보관함 목록 (집계 컬럼을 함께 읽으므로 documents 조인 불필요)
+CREATE INDEX idx_namespaces_user_created ON namespaces(user_id, created_at DESC);
 CREATE INDEX idx_namespaces_name ON namespaces(name);
 
 -- 3. Document 테이블
+-- 같은 파일(SHA-256)은 보관함마다 한 번만 올릴 수 있고, 다른 보관함에는 같은 파일을 올릴 수 있다 (blob 은 file_blobs 에서 공유)
+-- 기존 DB 전환: file_hash 단독 UNIQUE 를 지우고 (보관함, 해시) UNIQUE 로 바꾼다 (ddl-auto: update 는 제약을 지우지 않음)
+--              SELECT conname FROM pg_constraint WHERE conrelid = 'documents'::regclass AND contype = 'u'
+--                AND conkey = ARRAY[(SELECT attnum FROM pg_attribute
+--                                    WHERE attrelid = 'documents'::regclass AND attname = 'file_hash')];
+--              ALTER TABLE documents DROP CONSTRAINT <위에서 조회한 제약 이름>;
+--              ALTER TABLE documents ADD CONSTRAINT uk_documents_namespace_file_hash UNIQUE (namespace_id, file_hash);
 CREATE TABLE documents (
     document_id BIGSERIAL PRIMARY KEY,
     namespace_id BIGINT NOT NULL REFERENCES namespaces(namespace_id) ON DELETE CASCADE,
@@ -41,16 +57,19 @@ CREATE TABLE documents (
     file_path VARCHAR(500) NOT NULL,
     file_type VARCHAR(10) NOT NULL, -- PDF, TXT
     file_size BIGINT NOT NULL,
+    file_hash VARCHAR(64), -- 파일 내용 SHA-256 (file_blobs.file_hash)
     status VARCHAR(20) DEFAULT 'QUEUED', -- QUEUED, PARSING, CHUNKING, EMBEDDING, INDEXING, DONE, ERROR
     error_message TEXT,
     metadata JSONB, -- 페이지 수, 청크 수 등
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT uk_documents_namespace_file_hash UNIQUE (namespace_id, file_hash)
 );
 
 CREATE INDEX idx_documents_namespace_id ON documents(namespace_id);
 CREATE INDEX idx_documents_user_id ON documents(user_id);
-CREATE INDEX idx_documents_status ON documents(status);
+CREATE INDEX idx_documents_status ON documents(status, updated_at);  -- 적체 지연 게이지: 가장 오래된 PROCESSING 문서
+CREATE INDEX idx_documents_status_id ON documents(status, id);       -- 상태 동기화: 지난 위치 다음부터 ID 순 조회
 
 -- 4. Conversation 테이블 (채팅 세션)
 CREATE TABLE conversations (
@@ -58,26 +77,94 @@ CREATE TABLE conversations (
     user_id BIGINT NOT NULL REFERENCES users(user_id) ON DELETE CASCADE,
     title VARCHAR(255) NOT NULL,
     namespace_ids BIGINT[], -- 선택한 보관함 목록
+    summary TEXT, -- 토큰 예산 밖으로 밀려난 오래된 메시지의 누적 요약
+    summary_token_count INT,
+    summary_until_at TIMESTAMP, -- 요약에 포함된 마지막 메시지 (created_at, message_id)
+    summary_until_id BIGINT,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
 );
 
-CREATE INDEX idx_conversations_user_id ON conversations(user_id);
-CREATE INDEX idx_conversations_updated_at ON conversations(updated_at DESC);
+-- 사용자별 대화 목록 키셋 페이지네이션 (user_id, updated_at DESC, conversation_id DESC)
+CREATE INDEX idx_conversations_user_updated ON conversations(user_id, updated_at DESC, conversation_id DESC);
 
 -- 5. Message 테이블
+-- ID 는 50 단위 시퀀스에서 백엔드가 블록으로 미리 할당한다 (쓰기 지연 배치 INSERT)
+-- 기존 DB 전환: CREATE SEQUENCE message_id_seq INCREMENT BY 50;
+--              SELECT setval('message_id_seq', (SELECT COALESCE(MAX(message_id), 0) + 1 FROM messages), false);
+CREATE SEQUENCE message_id_seq INCREMENT BY 50;
+
 CREATE TABLE messages (
-    message_id BIGSERIAL PRIMARY KEY,
+    message_id BIGINT PRIMARY KEY DEFAULT nextval('message_id_seq'),
     conversation_id BIGINT NOT NULL REFERENCES conversations(conversation_id) ON DELETE CASCADE,
     role VARCHAR(20) NOT NULL, -- USER, ASSISTANT
     content TEXT NOT NULL,
     citations JSONB, -- [{docId, title, page, score, text}]
     confidence NUMERIC(3, 2), -- 0.00 ~ 1.00
+    token_count INT, -- content 토큰 수 (BPE 로 정확히 센 값만, 추정치 사용 시 NULL 로 두고 읽을 때 계산)
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
 );
 
-CREATE INDEX idx_messages_conversation_id ON messages(conversation_id);
-CREATE INDEX idx_messages_created_at ON messages(created_at);
+-- 대화별 메시지 키셋 페이지네이션 (역방향 스캔으로 최신순 조회)
+CREATE INDEX idx_messages_conversation_created ON messages(conversation_id, created_at, message_id);
+
+-- 6. IngestionJob 테이블 (문서 인덱싱 작업 큐)
+CREATE TABLE ingestion_jobs (
+    job_id BIGSERIAL PRIMARY KEY,
+    document_id BIGINT NOT NULL REFERENCES documents(document_id) ON DELETE CASCADE,
+    status VARCHAR(20) NOT NULL DEFAULT 'QUEUED', -- QUEUED, RUNNING, SUCCEEDED, FAILED
+    attempts INT NOT NULL DEFAULT 0,
+    max_attempts INT NOT NULL,
+    next_attempt_at TIMESTAMP NOT NULL,
+    locked_by VARCHAR(100), -- 작업을 점유한 워커 ID
+    locked_at TIMESTAMP,
+    last_error TEXT,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+-- 워커 폴링: SELECT ... FOR UPDATE SKIP LOCKED
+CREATE INDEX idx_ingestion_jobs_status_next_attempt ON ingestion_jobs(status, next_attempt_at);
+CREATE INDEX idx_ingestion_jobs_document_id ON ingestion_jobs(document_id);
+
+-- 7. FileBlob 테이블 (내용 주소 기반 파일 저장소, SHA-256 당 1행)
+CREATE TABLE file_blobs (
+    file_hash VARCHAR(64) PRIMARY KEY,
+    storage_path VARCHAR(500) NOT NULL, -- {upload.dir}/blobs/ab/cd/{hash}
+    file_size BIGINT NOT NULL,
+    ref_count BIGINT NOT NULL DEFAULT 0, -- 참조하는 문서 수 (0 이 되면 파일 삭제)
+    deletion_id BIGINT, -- 보관함 삭제로 참조가 0 이 된 경우 정리할 삭제 작업 (namespace_deletions)
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_file_blobs_deletion_id ON file_blobs(deletion_id);
+
+-- 8. NamespaceDeletion 테이블 (보관함 삭제 기록, ChromaDB 컬렉션/파일 blob 백그라운드 정리 작업)
+-- 보관함/문서 행은 삭제 요청 시 바로 지우므로 FK 없이 ID 와 컬렉션 이름만 보관한다
+CREATE TABLE namespace_deletions (
+    deletion_id BIGSERIAL PRIMARY KEY,
+    namespace_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    name VARCHAR(100) NOT NULL,
+    chroma_collection_name VARCHAR(255) NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'RECLAIMING', -- RECLAIMING, COMPLETED
+    document_count BIGINT NOT NULL DEFAULT 0, -- 삭제된 문서 수
+    collection_deleted BOOLEAN NOT NULL DEFAULT FALSE,
+    blob_count BIGINT NOT NULL DEFAULT 0, -- 정리할 파일 blob 수
+    reclaimed_blob_count BIGINT NOT NULL DEFAULT 0,
+    attempts INT NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP NOT NULL,
+    locked_by VARCHAR(100), -- 작업을 점유한 워커 ID
+    locked_at TIMESTAMP,
+    last_error TEXT,
+    completed_at TIMESTAMP,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+-- 정리 워커 폴링: SELECT ... FOR UPDATE SKIP LOCKED
+CREATE INDEX idx_namespace_deletions_status_next_attempt ON namespace_deletions(status, next_attempt_at);
 
 -- ====================================
 -- 초기 테스트 데이터
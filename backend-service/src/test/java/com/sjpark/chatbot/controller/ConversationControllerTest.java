@@ -0,0 +1,312 @@
+package com.sjpark.chatbot.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.sjpark.chatbot.domain.Conversation;
+import com.sjpark.chatbot.domain.Message;
+import com.sjpark.chatbot.domain.Message.MessageRole;
+import com.sjpark.chatbot.domain.Namespace;
+import com.sjpark.chatbot.domain.User;
+import com.sjpark.chatbot.dto.ChatStreamResponse;
+import com.sjpark.chatbot.repo.ConversationRepository;
+import com.sjpark.chatbot.repo.MessageRepository;
+import com.sjpark.chatbot.repo.NamespaceRepository;
+import com.sjpark.chatbot.repo.UserRepository;
+import com.sjpark.chatbot.service.ConversationService;
+import com.sjpark.chatbot.service.MessageWriteBehindSink;
+import com.sjpark.chatbot.support.StubAiServer;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class ConversationControllerTest {
+
+  private static final StubAiServer aiServer = startAiServer();
+
+  @Autowired
+  private WebTestClient webTestClient;
+
+  @Autowired
+  private UserRepository userRepository;
+
+  @Autowired
+  private NamespaceRepository namespaceRepository;
+
+  @Autowired
+  private ConversationRepository conversationRepository;
+
+  @Autowired
+  private MessageRepository messageRepository;
+
+  @Autowired
+  private ConversationService conversationService;
+
+  @Autowired
+  private MessageWriteBehindSink messageSink;
+
+  @Autowired
+  private MeterRegistry meterRegistry;
+
+  @DynamicPropertySource
+  static void aiServiceProperties(DynamicPropertyRegistry registry) {
+    registry.add("ai.service.url", aiServer::baseUrl);
+  }
+
+  @AfterAll
+  static void stopAiServer() {
+    aiServer.close();
+  }
+
+  @Test
+  void chatStreamsTokensAndPersistsTurn() {
+    Conversation conversation = createConversation();
+    long firstTokenCount = meterRegistry.timer("chat.time.to.first.token").count();
+
+    List<ServerSentEvent<ChatStreamResponse>> events =
+        chat(conversation.getId(), conversation.getUser().getId(), "2024년 매출은?");
+
+    assertThat(events).isNotNull();
+    assertThat(events).extracting(ServerSentEvent::event)
+        .containsExactly("token", "token", "token", "token", "done");
+    assertThat(events.get(0).data().getContent()).isEqualTo("2024년 ");
+
+    ChatStreamResponse done = events.get(events.size() - 1).data();
+    assertThat(done.getMessageId()).isNotNull();
+    assertThat(done.getAnswer()).isEqualTo("2024년 매출은 15% 증가했습니다.[1]");
+    assertThat(done.getSources()).hasSize(1);
+
+    messageSink.flush();
+    List<Message> messages = messageRepository.findAll().stream()
+        .filter(message -> message.getConversation().getId().equals(conversation.getId()))
+        .toList();
+    assertThat(messages).extracting(Message::getRole)
+        .containsExactlyInAnyOrder(MessageRole.USER, MessageRole.ASSISTANT);
+
+    assertThat(meterRegistry.timer("chat.time.to.first.token").count()).isEqualTo(firstTokenCount + 1);
+  }
+
+  @Test
+  void aiConnectionPoolIsInstrumented() {
+    Conversation conversation = createConversation();
+    chat(conversation.getId(), conversation.getUser().getId(), "2024년 매출은?");
+
+    assertThat(meterRegistry.find("reactor.netty.connection.provider.total.connections")
+        .tag("name", "ai-service").gauge()).isNotNull();
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void chatAcrossNamespacesSendsMergedContext() {
+    Conversation conversation = createConversation(2);
+    List<String> collections = namespaceRepository.findAllById(conversation.getNamespaceIds()).stream()
+        .map(Namespace::getChromaCollectionName)
+        .toList();
+    aiServer.searchResults(collections.get(0), List.of(
+        searchResult("2024년 매출은 전년 대비 15% 증가했습니다.", "report.pdf", 12, 0.91),
+        searchResult("해외 시장 확대가 주요 성장 동력입니다.", "report.pdf", 13, 0.62)));
+    aiServer.searchResults(collections.get(1), List.of(
+        searchResult("2024년  매출은 전년 대비 15% 증가했습니다", "report-copy.pdf", 12, 0.88),
+        searchResult("아시아 지역 매출이 30% 성장했습니다.", "sales.pdf", 8, 0.75)));
+    long legs = meterRegistry.timer("chat.retrieval.leg.duration", "outcome", "success").count();
+
+    List<ServerSentEvent<ChatStreamResponse>> events =
+        chat(conversation.getId(), conversation.getUser().getId(), "2024년 매출은?");
+
+    assertThat(events).extracting(ServerSentEvent::event).last().isEqualTo("done");
+    Map<?, ?> request = aiServer.lastChatRequest();
+    assertThat(request.get("collection_name")).isNull();
+    assertThat((List<Map<String, Object>>) request.get("context"))
+        .extracting(document -> document.get("source"))
+        .containsExactly("report.pdf", "sales.pdf", "report.pdf");
+    assertThat(meterRegistry.timer("chat.retrieval.leg.duration", "outcome", "success").count())
+        .isEqualTo(legs + 2);
+  }
+
+  @Test
+  void repeatedQuestionIsAnsweredFromCache() {
+    Conversation conversation = createConversation();
+    Conversation other = createConversation(conversation.getUser(), conversation.getNamespaceIds());
+    Long userId = conversation.getUser().getId();
+
+    chat(conversation.getId(), userId, "2024년 매출은?");
+    int chatRequests = aiServer.chatRequests();
+
+    List<ServerSentEvent<ChatStreamResponse>> events = chat(other.getId(), userId, "  2024년   매출은 ");
+
+    assertThat(aiServer.chatRequests()).isEqualTo(chatRequests);
+    assertThat(events).extracting(ServerSentEvent::event).containsExactly("token", "done");
+    assertThat(events.get(1).data().getAnswer()).isEqualTo("2024년 매출은 15% 증가했습니다.[1]");
+    messageSink.flush();
+    assertThat(messageRepository.findAll().stream()
+        .filter(message -> message.getConversation().getId().equals(other.getId())))
+        .hasSize(2);
+  }
+
+  @Test
+  void answerFromPartialRetrievalIsNotCached() {
+    Conversation conversation = createConversation(2);
+    Conversation other = createConversation(conversation.getUser(), conversation.getNamespaceIds());
+    Long userId = conversation.getUser().getId();
+    List<String> collections = namespaceRepository.findAllById(conversation.getNamespaceIds()).stream()
+        .map(Namespace::getChromaCollectionName)
+        .toList();
+    aiServer.searchResults(collections.get(0), List.of(
+        searchResult("2024년 매출은 전년 대비 15% 증가했습니다.", "report.pdf", 12, 0.91)));
+    aiServer.failSearch(collections.get(1));
+
+    List<ServerSentEvent<ChatStreamResponse>> events = chat(conversation.getId(), userId, "2024년 매출은?");
+    assertThat(events).extracting(ServerSentEvent::event).last().isEqualTo("done");
+    int chatRequests = aiServer.chatRequests();
+
+    chat(other.getId(), userId, "2024년 매출은?");
+
+    assertThat(aiServer.chatRequests()).isEqualTo(chatRequests + 1);
+  }
+
+  @Test
+  void followUpWithHistoryIsNotAnsweredFromCache() {
+    Conversation conversation = createConversation();
+    Long userId = conversation.getUser().getId();
+
+    chat(conversation.getId(), userId, "2024년 매출은?");
+    messageSink.flush();
+    int chatRequests = aiServer.chatRequests();
+
+    chat(conversation.getId(), userId, "2024년 매출은?");
+
+    assertThat(aiServer.chatRequests()).isEqualTo(chatRequests + 1);
+  }
+
+  @Test
+  void messagesArePagedWithCursor() {
+    Conversation conversation = createConversation();
+    Long userId = conversation.getUser().getId();
+    for (int i = 1; i <= 3; i++) {
+      conversationService.saveTurn(conversation.getId(), "질문 " + i, "답변 " + i, List.of());
+    }
+    messageSink.flush();
+
+    Map<String, Object> first = messagesPage(conversation.getId(), userId, null);
+    assertThat(first.get("hasNext")).isEqualTo(true);
+    assertThat(contents(first)).containsExactly("답변 3", "질문 3", "답변 2", "질문 2");
+
+    Map<String, Object> second = messagesPage(conversation.getId(), userId, (String) first.get("nextCursor"));
+    assertThat(second.get("hasNext")).isEqualTo(false);
+    assertThat(contents(second)).containsExactly("답변 1", "질문 1");
+  }
+
+  @Test
+  void chatRejectsOtherUsersConversation() {
+    Conversation conversation = createConversation();
+    int chatRequests = aiServer.chatRequests();
+
+    webTestClient.post()
+        .uri("/api/v1/conversations/{id}/chat", conversation.getId())
+        .accept(MediaType.TEXT_EVENT_STREAM, MediaType.APPLICATION_JSON)
+        .contentType(MediaType.APPLICATION_JSON)
+        .bodyValue(Map.of("userId", conversation.getUser().getId() + 1000, "query", "질문"))
+        .exchange()
+        .expectStatus().isForbidden();
+
+    assertThat(aiServer.chatRequests()).isEqualTo(chatRequests);
+  }
+
+  private List<ServerSentEvent<ChatStreamResponse>> chat(Long conversationId, Long userId, String query) {
+    return webTestClient.post()
+        .uri("/api/v1/conversations/{id}/chat", conversationId)
+        .accept(MediaType.TEXT_EVENT_STREAM)
+        .contentType(MediaType.APPLICATION_JSON)
+        .bodyValue(Map.of("userId", userId, "query", query))
+        .exchange()
+        .expectStatus().isOk()
+        .returnResult(new ParameterizedTypeReference<ServerSentEvent<ChatStreamResponse>>() {
+        })
+        .getResponseBody()
+        .collectList()
+        .block();
+  }
+
+  @SuppressWarnings("unchecked")
+  private Map<String, Object> messagesPage(Long conversationId, Long userId, String cursor) {
+    Map<String, Object> body = webTestClient.get()
+        .uri(builder -> builder.path("/api/v1/conversations/{id}/messages")
+            .queryParam("userId", userId)
+            .queryParam("size", 4)
+            .queryParamIfPresent("cursor", Optional.ofNullable(cursor))
+            .build(conversationId))
+        .exchange()
+        .expectStatus().isOk()
+        .expectBody(new ParameterizedTypeReference<Map<String, Object>>() {
+        })
+        .returnResult()
+        .getResponseBody();
+    return (Map<String, Object>) body.get("data");
+  }
+
+  @SuppressWarnings("unchecked")
+  private List<Object> contents(Map<String, Object> page) {
+    return ((List<Map<String, Object>>) page.get("items")).stream()
+        .map(item -> item.get("content"))
+        .toList();
+  }
+
+  private Conversation createConversation() {
+    return createConversation(1);
+  }
+
+  private Conversation createConversation(int namespaces) {
+    String suffix = UUID.randomUUID().toString().substring(0, 8);
+    User user = userRepository.save(User.builder()
+        .username("user_" + suffix)
+        .password("password")
+        .email(suffix + "@example.com")
+        .build());
+    List<Long> namespaceIds = new ArrayList<>();
+    for (int i = 0; i < namespaces; i++) {
+      Namespace namespace = namespaceRepository.save(Namespace.builder()
+          .user(user)
+          .name("보관함 " + i)
+          .chromaCollectionName("ns_" + suffix + "_" + i)
+          .build());
+      namespaceIds.add(namespace.getId());
+    }
+    return createConversation(user, namespaceIds);
+  }
+
+  private Conversation createConversation(User user, List<Long> namespaceIds) {
+    return conversationRepository.save(Conversation.builder()
+        .user(user)
+        .title("대화")
+        .namespaceIds(new ArrayList<>(namespaceIds))
+        .build());
+  }
+
+  private static Map<String, Object> searchResult(String content, String filename, int page, double score) {
+    return Map.of("content", content, "metadata", Map.of("filename", filename, "page", page), "score", score);
+  }
+
+  private static StubAiServer startAiServer() {
+    try {
+      return new StubAiServer();
+    } catch (IOException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
@@ -0,0 +1,111 @@
+package com.sjpark.chatbot.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.sjpark.chatbot.proxy.AiServiceHealthIndicator;
+import com.sjpark.chatbot.support.StubAiServer;
+import java.io.IOException;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+/**
+ * 헬스 API 가 AI 서비스를 직접 호출하지 않고 백그라운드 헬스 체크 결과를 반환하는지 검증
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class HealthControllerTest {
+
+  private static final StubAiServer aiServer = startAiServer();
+
+  @Autowired
+  private WebTestClient webTestClient;
+
+  @Autowired
+  private AiServiceHealthIndicator aiServiceHealthIndicator;
+
+  @DynamicPropertySource
+  static void aiServiceProperties(DynamicPropertyRegistry registry) {
+    registry.add("ai.service.url", aiServer::baseUrl);
+  }
+
+  @AfterEach
+  void restoreAiServer() {
+    aiServer.healthy(true);
+  }
+
+  @AfterAll
+  static void stopAiServer() {
+    aiServer.close();
+  }
+
+  @Test
+  void healthIsServedFromLastProbe() {
+    aiServiceHealthIndicator.refresh().block();
+    int probes = aiServer.healthRequests();
+
+    for (int i = 0; i < 3; i++) {
+      webTestClient.get().uri("/api/v1/health")
+          .exchange()
+          .expectStatus().isOk()
+          .expectBody()
+          .jsonPath("$.data.status").isEqualTo("UP")
+          .jsonPath("$.data.aiService").isEqualTo("UP")
+          .jsonPath("$.data.aiServiceConsecutiveFailures").isEqualTo(0);
+    }
+
+    assertThat(aiServer.healthRequests()).isEqualTo(probes);
+  }
+
+  @Test
+  void actuatorReportsAiServiceDown() {
+    aiServer.healthy(false);
+    aiServiceHealthIndicator.refresh().block();
+
+    webTestClient.get().uri("/actuator/health")
+        .exchange()
+        .expectBody()
+        .jsonPath("$.components.aiService.status").isEqualTo("DOWN")
+        .jsonPath("$.components.aiService.details.consecutiveFailures").isEqualTo(1);
+
+    webTestClient.get().uri("/api/v1/health")
+        .exchange()
+        .expectStatus().isOk()
+        .expectBody()
+        .jsonPath("$.data.status").isEqualTo("UP")
+        .jsonPath("$.data.aiService").isEqualTo("DOWN");
+  }
+
+  @Test
+  void probesStayUpWhenAiServiceIsDown() {
+    aiServer.healthy(false);
+    aiServiceHealthIndicator.refresh().block();
+
+    webTestClient.get().uri("/actuator/health/readiness")
+        .exchange()
+        .expectStatus().isOk()
+        .expectBody()
+        .jsonPath("$.status").isEqualTo("UP")
+        .jsonPath("$.components.aiService").doesNotExist();
+
+    webTestClient.get().uri("/actuator/health/liveness")
+        .exchange()
+        .expectStatus().isOk()
+        .expectBody()
+        .jsonPath("$.status").isEqualTo("UP");
+  }
+
+  private static StubAiServer startAiServer() {
+    try {
+      return new StubAiServer();
+    } catch (IOException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
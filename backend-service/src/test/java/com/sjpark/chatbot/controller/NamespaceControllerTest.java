@@ -0,0 +1,179 @@
+package com.sjpark.chatbot.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.sjpark.chatbot.domain.Document;
+import com.sjpark.chatbot.domain.Document.DocumentStatus;
+import com.sjpark.chatbot.domain.Namespace;
+import com.sjpark.chatbot.domain.User;
+import com.sjpark.chatbot.repo.DocumentRepository;
+import com.sjpark.chatbot.repo.FileBlobRepository;
+import com.sjpark.chatbot.repo.NamespaceRepository;
+import com.sjpark.chatbot.repo.UserRepository;
+import com.sjpark.chatbot.service.FileBlobService;
+import com.sjpark.chatbot.service.NamespaceCounterService;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+/**
+ * 목록 조회 API 가 프로젝션 쿼리 한 번으로 응답하는지 SQL 실행 횟수로 검증
+ * <p>
+ * 보관함 삭제는 문서를 엔티티로 로딩하지 않고 집합 단위로 지우는지 검증
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class NamespaceControllerTest {
+
+  @Autowired
+  private WebTestClient webTestClient;
+
+  @Autowired
+  private UserRepository userRepository;
+
+  @Autowired
+  private NamespaceRepository namespaceRepository;
+
+  @Autowired
+  private DocumentRepository documentRepository;
+
+  @Autowired
+  private NamespaceCounterService namespaceCounterService;
+
+  @Autowired
+  private FileBlobService fileBlobService;
+
+  @Autowired
+  private FileBlobRepository fileBlobRepository;
+
+  @Autowired
+  private EntityManagerFactory entityManagerFactory;
+
+  private User user;
+  private Namespace namespace;
+  private String suffix;
+
+  @BeforeEach
+  void setUp() {
+    suffix = UUID.randomUUID().toString().substring(0, 8);
+    user = userRepository.save(User.builder()
+        .username("user_" + suffix)
+        .password("password")
+        .email(suffix + "@example.com")
+        .build());
+    namespace = createNamespace("재무 보고서", "ns_a_" + suffix);
+    createNamespace("회의록", "ns_b_" + suffix);
+    for (int i = 0; i < 3; i++) {
+      documentRepository.save(Document.builder()
+          .user(user)
+          .namespace(namespace)
+          .filename("report_" + i + ".pdf")
+          .filePath("/tmp/report_" + i + ".pdf")
+          .fileType("pdf")
+          .fileSize(1024L)
+          .fileHash(suffix + i)
+          .status(DocumentStatus.COMPLETED)
+          .build());
+    }
+    namespaceCounterService.recalculateAll();
+  }
+
+  @Test
+  void namespaceListingRunsSingleQuery() {
+    Statistics statistics = statistics();
+
+    webTestClient.get()
+        .uri("/api/v1/namespaces?userId={userId}", user.getId())
+        .exchange()
+        .expectStatus().isOk()
+        .expectBody()
+        .jsonPath("$.data.length()").isEqualTo(2)
+        .jsonPath("$.data[?(@.namespace.id == %d)].documentTotalCnt".formatted(namespace.getId())).isEqualTo(3)
+        .jsonPath("$.data[0].namespace.name").exists()
+        .jsonPath("$.data[0].namespace.user").doesNotExist();
+
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    assertThat(statistics.getEntityLoadCount()).isZero();
+  }
+
+  @Test
+  void documentListingRunsSingleQuery() {
+    Statistics statistics = statistics();
+
+    webTestClient.get()
+        .uri("/api/v1/namespaces/{namespaceId}/documents?userId={userId}", namespace.getId(), user.getId())
+        .exchange()
+        .expectStatus().isOk()
+        .expectBody()
+        .jsonPath("$.data.length()").isEqualTo(3)
+        .jsonPath("$.data[0].vaultId").isEqualTo(namespace.getId())
+        .jsonPath("$.data[0].size").isEqualTo(1024);
+
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    assertThat(statistics.getEntityLoadCount()).isZero();
+  }
+
+  @Test
+  void namespaceDeletionDeletesRowsInBulkAndTracksReclamation() {
+    for (int i = 0; i < 3; i++) {
+      fileBlobService.acquire(suffix + i, "/tmp/blob_" + i, 1024L);
+    }
+    fileBlobService.acquire(suffix + 0, "/tmp/blob_0", 1024L); // 다른 보관함의 문서도 참조
+    Statistics statistics = statistics();
+    AtomicLong deletionId = new AtomicLong();
+
+    webTestClient.delete()
+        .uri("/api/v1/namespaces/{namespaceId}?userId={userId}", namespace.getId(), user.getId())
+        .exchange()
+        .expectStatus().isOk()
+        .expectBody()
+        .jsonPath("$.data.deletionId").value(id -> deletionId.set(((Number) id).longValue()))
+        .jsonPath("$.data.status").isEqualTo("RECLAIMING")
+        .jsonPath("$.data.documentCount").isEqualTo(3)
+        .jsonPath("$.data.blobCount").isEqualTo(2);
+
+    assertThat(statistics.getEntityStatistics(Document.class.getName()).getLoadCount()).isZero();
+    assertThat(namespaceRepository.existsById(namespace.getId())).isFalse();
+    assertThat(documentRepository.findListByUserIdAndNamespaceId(user.getId(), namespace.getId())).isEmpty();
+
+    // 마지막 참조였던 blob 만 정리 대상으로 표시 (파일은 백그라운드에서 삭제)
+    assertThat(fileBlobRepository.findById(suffix + 0).orElseThrow().getRefCount()).isEqualTo(1);
+    assertThat(fileBlobRepository.findById(suffix + 1).orElseThrow().getDeletionId()).isEqualTo(deletionId.get());
+
+    webTestClient.get()
+        .uri("/api/v1/namespaces/deletions/{deletionId}?userId={userId}", deletionId.get(), user.getId())
+        .exchange()
+        .expectStatus().isOk()
+        .expectBody()
+        .jsonPath("$.data.namespaceId").isEqualTo(namespace.getId())
+        .jsonPath("$.data.collectionDeleted").isEqualTo(false)
+        .jsonPath("$.data.reclaimedBlobCount").isEqualTo(0);
+
+    webTestClient.get()
+        .uri("/api/v1/namespaces/deletions/{deletionId}?userId={userId}", deletionId.get(), user.getId() + 1000)
+        .exchange()
+        .expectStatus().isNotFound();
+  }
+
+  private Namespace createNamespace(String name, String collectionName) {
+    return namespaceRepository.save(Namespace.builder()
+        .user(user)
+        .name(name)
+        .chromaCollectionName(collectionName)
+        .build());
+  }
+
+  private Statistics statistics() {
+    Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+    return statistics;
+  }
+}
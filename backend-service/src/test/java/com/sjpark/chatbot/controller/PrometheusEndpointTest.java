@@ -0,0 +1,89 @@
+package com.sjpark.chatbot.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.sjpark.chatbot.domain.Namespace;
+import com.sjpark.chatbot.domain.User;
+import com.sjpark.chatbot.repo.NamespaceRepository;
+import com.sjpark.chatbot.repo.UserRepository;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.MultipartBodyBuilder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.reactive.function.BodyInserters;
+
+/**
+ * 업로드 지표가 Prometheus 스크레이프 엔드포인트로 노출되는지 검증
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@AutoConfigureObservability(tracing = false) // 테스트에서도 Prometheus 레지스트리 사용
+class PrometheusEndpointTest {
+
+  @Autowired
+  private WebTestClient webTestClient;
+
+  @Autowired
+  private UserRepository userRepository;
+
+  @Autowired
+  private NamespaceRepository namespaceRepository;
+
+  @Test
+  void uploadMetricsAreScraped() {
+    String suffix = UUID.randomUUID().toString().substring(0, 8);
+    User user = userRepository.save(User.builder()
+        .username("user_" + suffix)
+        .password("password")
+        .email(suffix + "@example.com")
+        .build());
+    Namespace namespace = namespaceRepository.save(Namespace.builder()
+        .user(user)
+        .name("재무 보고서")
+        .chromaCollectionName("ns_" + suffix)
+        .build());
+
+    byte[] content = ("%PDF-1.4 " + suffix).getBytes(StandardCharsets.UTF_8);
+    upload(namespace, user, content).expectStatus().isOk();
+    upload(namespace, user, content).expectStatus().is4xxClientError();
+
+    String scrape = webTestClient.get().uri("/actuator/prometheus")
+        .exchange()
+        .expectStatus().isOk()
+        .expectBody(String.class)
+        .returnResult()
+        .getResponseBody();
+
+    assertThat(scrape)
+        .contains("document_upload_stage_seconds_bucket{")
+        .containsPattern("document_upload_stage_seconds_count\\{.*source=\"single\",stage=\"hash\"")
+        .containsPattern("document_upload_stage_seconds_count\\{.*source=\"single\",stage=\"insert\"")
+        .contains("document_upload_duplicates_total{source=\"single\"} 1.0")
+        .contains("document_upload_bytes_total{source=\"single\"} " + (double) content.length);
+  }
+
+  private WebTestClient.ResponseSpec upload(Namespace namespace, User user, byte[] content) {
+    MultipartBodyBuilder body = new MultipartBodyBuilder();
+    body.part("file", new ByteArrayResource(content) {
+      @Override
+      public String getFilename() {
+        return "report.pdf";
+      }
+    }).contentType(MediaType.APPLICATION_PDF);
+    body.part("namespaceId", namespace.getId().toString());
+    body.part("userId", user.getId().toString());
+
+    return webTestClient.post()
+        .uri("/api/v1/namespaces/{namespaceId}/documents", namespace.getId())
+        .contentType(MediaType.MULTIPART_FORM_DATA)
+        .body(BodyInserters.fromMultipartData(body.build()))
+        .exchange();
+  }
+}
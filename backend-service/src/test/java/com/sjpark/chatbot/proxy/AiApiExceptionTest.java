@@ -0,0 +1,106 @@
+package com.sjpark.chatbot.proxy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.sjpark.chatbot.common.ErrorCode;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import java.net.ConnectException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeoutException;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+/**
+ * WebClient/resilience4j 예외가 ErrorCode 로 분류되고, 서킷 브레이커 실패 집계와 재시도 소모 여부가 올바른지 검증
+ */
+class AiApiExceptionTest {
+
+  private final AiServiceFailurePredicate failurePredicate = new AiServiceFailurePredicate();
+
+  @Test
+  void openCircuitIsRejectedNotFailure() {
+    Throwable e = CallNotPermittedException.createCallNotPermittedException(CircuitBreaker.ofDefaults("aiIndexing"));
+
+    AiApiException exception = AiApiException.from("indexDocument", e);
+
+    assertThat(exception.getErrorCode()).isEqualTo(ErrorCode.AI_CIRCUIT_OPEN);
+    assertThat(exception.isRejected()).isTrue();
+    assertThat(failurePredicate.test(e)).isFalse();
+  }
+
+  @Test
+  void fullBulkheadIsRejectedNotFailure() {
+    Throwable e = BulkheadFullException.createBulkheadFullException(Bulkhead.ofDefaults("aiIndexing"));
+
+    AiApiException exception = AiApiException.from("indexDocument", e);
+
+    assertThat(exception.getErrorCode()).isEqualTo(ErrorCode.AI_SERVICE_BUSY);
+    assertThat(exception.isRejected()).isTrue();
+    assertThat(failurePredicate.test(e)).isFalse();
+  }
+
+  @Test
+  void serverErrorIsFailure() {
+    Throwable e = response(503, "overloaded");
+
+    AiApiException exception = AiApiException.from("indexDocument", e);
+
+    assertThat(exception.getErrorCode()).isEqualTo(ErrorCode.AI_API_ERROR);
+    assertThat(exception.getUpstreamStatus().value()).isEqualTo(503);
+    assertThat(exception.getUpstreamBody()).isEqualTo("overloaded");
+    assertThat(exception.isRejected()).isFalse();
+    assertThat(failurePredicate.test(e)).isTrue();
+  }
+
+  @Test
+  void clientErrorIsNotFailure() {
+    Throwable notFound = response(404, "not found");
+    Throwable conflict = response(409, "conflict");
+
+    assertThat(AiApiException.from("deleteCollection", notFound).isNotFound()).isTrue();
+    assertThat(AiApiException.from("createCollection", conflict).isConflict()).isTrue();
+    assertThat(failurePredicate.test(notFound)).isFalse();
+    assertThat(failurePredicate.test(conflict)).isFalse();
+  }
+
+  @Test
+  void timeoutAnywhereInCauseChainIsTimeout() {
+    Throwable e = new IllegalStateException("wrapped", new TimeoutException("did not respond"));
+
+    AiApiException exception = AiApiException.from("search", e);
+
+    assertThat(exception.getErrorCode()).isEqualTo(ErrorCode.AI_API_TIMEOUT);
+    assertThat(failurePredicate.test(e)).isTrue();
+  }
+
+  @Test
+  void connectionFailureIsUnavailable() {
+    Throwable e = new WebClientRequestException(new ConnectException("Connection refused"), HttpMethod.POST,
+        URI.create("http://localhost:8000/chat/stream"), HttpHeaders.EMPTY);
+
+    AiApiException exception = AiApiException.from("streamChat", e);
+
+    assertThat(exception.getErrorCode()).isEqualTo(ErrorCode.AI_SERVICE_UNAVAILABLE);
+    assertThat(exception.isRejected()).isFalse();
+    assertThat(failurePredicate.test(e)).isTrue();
+  }
+
+  @Test
+  void alreadyClassifiedExceptionIsKept() {
+    AiApiException original = AiApiException.from("search", response(500, "boom"));
+
+    assertThat(AiApiException.from("circuitBreaker", original)).isSameAs(original);
+  }
+
+  private static WebClientResponseException response(int status, String body) {
+    return WebClientResponseException.create(status, "status " + status, HttpHeaders.EMPTY,
+        body.getBytes(StandardCharsets.UTF_8), StandardCharsets.UTF_8);
+  }
+}
@@ -0,0 +1,36 @@
+package com.sjpark.chatbot.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class LexicalTokenizerTest {
+
+  @Test
+  void codesStayWholeAndAreAlsoSplitIntoParts() {
+    assertThat(LexicalTokenizer.tokenize("AB-1234 / v1.2."))
+        .containsExactly("ab-1234", "ab", "1234", "v1.2", "v1", "2");
+  }
+
+  @Test
+  void hangulRunsBecomeSyllableBigrams() {
+    assertThat(LexicalTokenizer.tokenize("삼성전자가 한 번"))
+        .containsExactly("삼성", "성전", "전자", "자가", "한", "번");
+  }
+
+  @Test
+  void textIsNormalizedAndLowercased() {
+    assertThat(LexicalTokenizer.tokenize("ＡＢＣ Hello, World")).containsExactly("abc", "hello", "world");
+  }
+
+  @Test
+  void latinAndHangulAreSeparateRuns() {
+    assertThat(LexicalTokenizer.tokenize("GPT4o모델")).containsExactly("gpt4o", "모델");
+  }
+
+  @Test
+  void blankTextHasNoTokens() {
+    assertThat(LexicalTokenizer.tokenize(null)).isEmpty();
+    assertThat(LexicalTokenizer.tokenize(" ,.!? ")).isEmpty();
+  }
+}
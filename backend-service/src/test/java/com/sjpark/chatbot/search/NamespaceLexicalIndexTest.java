@@ -0,0 +1,154 @@
+package com.sjpark.chatbot.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class NamespaceLexicalIndexTest {
+
+  @TempDir
+  Path directory;
+
+  @Test
+  void scoresByTermFrequencyAndRarity() throws IOException {
+    NamespaceLexicalIndex index = NamespaceLexicalIndex.open(directory, true, 16, 8);
+    index.addDocument(1L, List.of(new LexicalChunk(1, "apple banana kiwi")));
+    index.addDocument(2L, List.of(new LexicalChunk(1, "apple apple cherry")));
+    index.addDocument(3L, List.of(new LexicalChunk(4, "banana durian kiwi")));
+
+    List<LexicalHit> apple = index.search("apple", 10);
+    assertThat(apple).extracting(LexicalHit::documentId).containsExactly(2L, 1L);
+    assertThat(apple.get(0).score()).isGreaterThan(apple.get(1).score());
+
+    // banana 는 두 청크에, durian 은 한 청크에만 있으므로 durian 이 일치한 청크가 위
+    List<LexicalHit> mixed = index.search("banana durian", 10);
+    assertThat(mixed).extracting(LexicalHit::documentId).containsExactly(3L, 1L);
+    assertThat(mixed.get(0).page()).isEqualTo(4);
+    assertThat(mixed.get(0).text()).isEqualTo("banana durian kiwi");
+
+    assertThat(index.search("kiwi", 1)).hasSize(1);
+    assertThat(index.search("missing", 10)).isEmpty();
+  }
+
+  @Test
+  void reindexingHidesPreviousChunks() throws IOException {
+    NamespaceLexicalIndex index = NamespaceLexicalIndex.open(directory, true, 16, 8);
+    index.addDocument(1L, List.of(new LexicalChunk(1, "old zebra")));
+    index.addDocument(1L, List.of(new LexicalChunk(1, "new giraffe")));
+
+    assertThat(index.search("zebra", 10)).isEmpty();
+    assertThat(index.search("giraffe", 10)).extracting(LexicalHit::documentId).containsExactly(1L);
+    assertThat(index.documentIds()).containsExactly(1L);
+    assertThat(index.tombstoneCount()).isEqualTo(1);
+  }
+
+  @Test
+  void deletedDocumentIsNotFound() throws IOException {
+    NamespaceLexicalIndex index = NamespaceLexicalIndex.open(directory, true, 16, 8);
+    index.addDocument(1L, List.of(new LexicalChunk(1, "zebra")));
+    index.addDocument(2L, List.of());
+
+    index.deleteDocument(1L);
+
+    assertThat(index.search("zebra", 10)).isEmpty();
+    assertThat(index.documentIds()).containsExactly(2L);
+  }
+
+  @Test
+  void mergeDropsHiddenChunksAndTheirTombstones() throws IOException {
+    NamespaceLexicalIndex index = NamespaceLexicalIndex.open(directory, true, 1, 8);
+    index.addDocument(1L, List.of(new LexicalChunk(1, "old zebra")));
+    index.addDocument(1L, List.of(new LexicalChunk(1, "new giraffe")));
+
+    assertThat(index.segmentCount()).isEqualTo(1);
+    assertThat(index.tombstoneCount()).isZero();
+    assertThat(index.search("zebra", 10)).isEmpty();
+    assertThat(index.search("giraffe", 10)).hasSize(1);
+    assertThat(segmentFiles()).hasSize(1);
+  }
+
+  @Test
+  void manyTombstonesTriggerAMerge() throws IOException {
+    NamespaceLexicalIndex index = NamespaceLexicalIndex.open(directory, true, 10_000, 8);
+    int documents = NamespaceLexicalIndex.TOMBSTONE_MERGE_THRESHOLD + 4;
+    for (long documentId = 1; documentId <= documents; documentId++) {
+      index.addDocument(documentId, List.of(new LexicalChunk(1, "chunk " + documentId)));
+    }
+
+    for (long documentId = 1; documentId <= NamespaceLexicalIndex.TOMBSTONE_MERGE_THRESHOLD; documentId++) {
+      index.deleteDocument(documentId);
+    }
+
+    assertThat(index.tombstoneCount()).isZero();
+    assertThat(index.segmentCount()).isEqualTo(4);
+    assertThat(index.documentIds()).hasSize(4);
+    assertThat(index.search("chunk", 100)).hasSize(4);
+  }
+
+  @Test
+  void reopenRestoresStateFromManifestAndRemovesOrphans() throws IOException {
+    NamespaceLexicalIndex index = NamespaceLexicalIndex.open(directory, true, 16, 8);
+    index.addDocument(1L, List.of(new LexicalChunk(1, "old zebra")));
+    index.addDocument(1L, List.of(new LexicalChunk(2, "new giraffe")));
+    index.addDocument(2L, List.of(new LexicalChunk(3, "giraffe zebra")));
+    Path orphan = Files.writeString(directory.resolve("seg_999999999999.bm25"), "partial");
+
+    NamespaceLexicalIndex reader = NamespaceLexicalIndex.open(directory, false, 16, 8);
+    assertThat(orphan).exists();
+
+    NamespaceLexicalIndex reopened = NamespaceLexicalIndex.open(directory, true, 16, 8);
+    assertThat(orphan).doesNotExist();
+    assertThat(reopened.generation()).isEqualTo(index.generation());
+    assertThat(reopened.documentIds()).containsExactlyInAnyOrder(1L, 2L);
+    assertThat(reopened.search("zebra", 10)).extracting(LexicalHit::documentId).containsExactly(2L);
+    assertThat(reader.search("giraffe", 10)).extracting(LexicalHit::documentId).containsExactlyInAnyOrder(1L, 2L);
+
+    // 다시 연 뒤에도 청크 번호/세그먼트 번호가 이어진다
+    reopened.addDocument(2L, List.of(new LexicalChunk(1, "lion")));
+    assertThat(reopened.search("zebra", 10)).isEmpty();
+    assertThat(segmentFiles()).hasSize(4);
+  }
+
+  @Test
+  void readerDetectsNewGenerationsAndCannotWrite() throws IOException {
+    NamespaceLexicalIndex writer = NamespaceLexicalIndex.open(directory, true, 16, 8);
+    NamespaceLexicalIndex reader = NamespaceLexicalIndex.open(directory, false, 16, 8);
+    assertThat(NamespaceLexicalIndex.readGeneration(directory)).isZero();
+
+    writer.addDocument(1L, List.of(new LexicalChunk(1, "zebra")));
+
+    assertThat(NamespaceLexicalIndex.readGeneration(directory)).isGreaterThan(reader.generation());
+    assertThat(reader.search("zebra", 10)).isEmpty();
+    assertThat(NamespaceLexicalIndex.open(directory, false, 16, 8).search("zebra", 10)).hasSize(1);
+    assertThatThrownBy(() -> reader.addDocument(2L, List.of()))
+        .isInstanceOf(IllegalStateException.class);
+  }
+
+  @Test
+  void clearKeepsGenerationIncreasing() throws IOException {
+    NamespaceLexicalIndex index = NamespaceLexicalIndex.open(directory, true, 16, 8);
+    index.addDocument(1L, List.of(new LexicalChunk(1, "zebra")));
+    long before = index.generation();
+
+    index.clear();
+
+    assertThat(index.generation()).isGreaterThan(before);
+    assertThat(index.documentIds()).isEmpty();
+    assertThat(index.search("zebra", 10)).isEmpty();
+    assertThat(segmentFiles()).isEmpty();
+    assertThat(NamespaceLexicalIndex.readGeneration(directory)).isEqualTo(index.generation());
+  }
+
+  private List<Path> segmentFiles() throws IOException {
+    try (Stream<Path> files = Files.list(directory)) {
+      return files.filter(file -> file.getFileName().toString().endsWith(".bm25")).toList();
+    }
+  }
+}
@@ -0,0 +1,64 @@
+package com.sjpark.chatbot.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * 세그먼트 파일 작성 → 메모리 매핑으로 다시 읽기
+ */
+class SegmentTest {
+
+  @TempDir
+  Path directory;
+
+  @Test
+  void writtenSegmentReadsBackChunksAndPostings() throws IOException {
+    Path path = SegmentWriter.write(directory.resolve("seg_000000000001.bm25"), List.of(
+        new IndexedChunk(7, 100L, 1, "AB-1234 규격서"),
+        new IndexedChunk(8, 100L, 2, "규격 변경 ab-1234 ab-1234"),
+        new IndexedChunk(9, 200L, 5, "😀 unrelated text")));
+
+    Segment segment = Segment.open(path);
+
+    assertThat(segment.path()).isEqualTo(path);
+    assertThat(segment.chunkCount()).isEqualTo(3);
+    assertThat(segment.ordinal(1)).isEqualTo(8);
+    assertThat(segment.documentId(2)).isEqualTo(200L);
+    assertThat(segment.page(2)).isEqualTo(5);
+    assertThat(segment.text(0)).isEqualTo("AB-1234 규격서");
+    assertThat(segment.text(2)).isEqualTo("😀 unrelated text");
+    assertThat(segment.length(0)).isEqualTo(LexicalTokenizer.tokenize("AB-1234 규격서").size());
+    assertThat(segment.totalLength()).isEqualTo(
+        LexicalTokenizer.tokenize("AB-1234 규격서").size()
+            + LexicalTokenizer.tokenize("규격 변경 ab-1234 ab-1234").size()
+            + LexicalTokenizer.tokenize("😀 unrelated text").size());
+
+    int term = segment.findTerm("ab-1234".getBytes(StandardCharsets.UTF_8));
+    assertThat(term).isNotNegative();
+    assertThat(segment.docFreq(term)).isEqualTo(2);
+    int start = segment.postingsStart(term);
+    assertThat(segment.postingChunk(start, 0)).isEqualTo(0);
+    assertThat(segment.postingFreq(start, 0)).isEqualTo(1);
+    assertThat(segment.postingChunk(start, 1)).isEqualTo(1);
+    assertThat(segment.postingFreq(start, 1)).isEqualTo(2);
+
+    assertThat(segment.findTerm("missing".getBytes(StandardCharsets.UTF_8))).isNegative();
+    assertThat(segment.sizeInBytes()).isEqualTo(Files.size(path));
+  }
+
+  @Test
+  void writeLeavesNoTemporaryFile() throws IOException {
+    SegmentWriter.write(directory.resolve("seg_000000000002.bm25"), List.of(new IndexedChunk(0, 1L, 1, "text")));
+
+    try (var files = Files.list(directory)) {
+      assertThat(files.map(file -> file.getFileName().toString())).containsExactly("seg_000000000002.bm25");
+    }
+  }
+}
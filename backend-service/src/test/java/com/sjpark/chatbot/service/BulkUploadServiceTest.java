@@ -0,0 +1,255 @@
+package com.sjpark.chatbot.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.sjpark.chatbot.domain.Namespace;
+import com.sjpark.chatbot.domain.User;
+import com.sjpark.chatbot.repo.NamespaceRepository;
+import com.sjpark.chatbot.repo.UserRepository;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.MultipartBodyBuilder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.test.web.reactive.server.WebTestClient.BodyContentSpec;
+
+/**
+ * 대량 업로드가 파일별 결과를 돌려주고, ZIP 항목 이름/크기/개수를 신뢰하지 않는지 검증
+ * <p>
+ * 요청 전체 용량 검증 결과가 파일을 읽는 순서에 좌우되지 않도록 저장은 한 스레드로 순서대로 수행한다.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = {"upload.bulk.max-files=5", "upload.bulk.max-total-size=30000000", "upload.bulk.parallelism=1"})
+@ActiveProfiles("test")
+class BulkUploadServiceTest {
+
+  private static final int MB = 1024 * 1024;
+
+  @Autowired
+  private WebTestClient webTestClient;
+
+  @Autowired
+  private UserRepository userRepository;
+
+  @Autowired
+  private NamespaceRepository namespaceRepository;
+
+  private User user;
+  private Namespace namespace;
+
+  @BeforeEach
+  void setUp() {
+    String suffix = UUID.randomUUID().toString().substring(0, 8);
+    user = userRepository.save(User.builder()
+        .username("user_" + suffix)
+        .password("password")
+        .email(suffix + "@example.com")
+        .build());
+    namespace = namespaceRepository.save(Namespace.builder()
+        .user(user)
+        .name("보관함")
+        .chromaCollectionName("ns_" + suffix)
+        .build());
+  }
+
+  @Test
+  void eachFileGetsItsOwnResult() {
+    String content = "%PDF-1.4 " + UUID.randomUUID();
+    MultipartBodyBuilder body = new MultipartBodyBuilder();
+    part(body, "report.pdf", content.getBytes(StandardCharsets.UTF_8));
+    part(body, "report-copy.pdf", content.getBytes(StandardCharsets.UTF_8));
+    part(body, "notes.txt", "memo".getBytes(StandardCharsets.UTF_8));
+    part(body, "empty.pdf", new byte[0]);
+
+    upload(body)
+        .jsonPath("$.data.total").isEqualTo(4)
+        .jsonPath("$.data.uploaded").isEqualTo(1)
+        .jsonPath("$.data.results[0].status").isEqualTo("UPLOADED")
+        .jsonPath("$.data.results[0].documentId").isNotEmpty()
+        .jsonPath("$.data.results[1].status").isEqualTo("DUPLICATE")
+        .jsonPath("$.data.results[2].status").isEqualTo("REJECTED")
+        .jsonPath("$.data.results[3].status").isEqualTo("REJECTED")
+        .jsonPath("$.data.results[3].errorMessage").isEqualTo("파일이 비어있습니다.");
+  }
+
+  @Test
+  void zipEntryNamesAreReducedToFileNames() throws IOException {
+    Map<String, byte[]> entries = new LinkedHashMap<>();
+    entries.put("../../etc/escape.pdf", pdf());
+    entries.put("nested\\windows.pdf", pdf());
+    entries.put("dir/../", new byte[0]);
+    entries.put("__MACOSX/._escape.pdf", pdf());
+
+    MultipartBodyBuilder body = new MultipartBodyBuilder();
+    part(body, "archive.zip", zip(entries));
+
+    upload(body)
+        .jsonPath("$.data.total").isEqualTo(2)
+        .jsonPath("$.data.results[0].fileName").isEqualTo("escape.pdf")
+        .jsonPath("$.data.results[0].status").isEqualTo("UPLOADED")
+        .jsonPath("$.data.results[1].fileName").isEqualTo("windows.pdf")
+        .jsonPath("$.data.results[1].status").isEqualTo("UPLOADED");
+  }
+
+  @Test
+  void zipEntriesAreCappedByBytesReadNotDeclaredSize() throws IOException {
+    Map<String, byte[]> entries = new LinkedHashMap<>();
+    entries.put("honest.pdf", pdf());
+    entries.put("large.pdf", new byte[11 * MB]); // 0 으로 채워 수십 KB 로 압축됨
+    entries.put("bomb.pdf", new byte[11 * MB]);
+    byte[] archive = declareSize(zip(entries), "bomb.pdf", 100);
+
+    MultipartBodyBuilder body = new MultipartBodyBuilder();
+    part(body, "archive.zip", archive);
+
+    upload(body)
+        .jsonPath("$.data.results[0].status").isEqualTo("UPLOADED")
+        .jsonPath("$.data.results[1].fileName").isEqualTo("large.pdf")
+        .jsonPath("$.data.results[1].status").isEqualTo("REJECTED")
+        .jsonPath("$.data.results[1].errorMessage").isEqualTo("파일 크기는 10MB를 초과할 수 없습니다.")
+        .jsonPath("$.data.results[2].fileName").isEqualTo("bomb.pdf")
+        .jsonPath("$.data.results[2].status").isEqualTo("REJECTED")
+        .jsonPath("$.data.results[2].errorMessage").isEqualTo("파일 크기는 10MB를 초과할 수 없습니다.");
+  }
+
+  @Test
+  void totalUncompressedSizeIsCappedPerRequest() throws IOException {
+    Map<String, byte[]> entries = new LinkedHashMap<>();
+    for (int i = 0; i < 4; i++) {
+      byte[] data = new byte[9 * MB];
+      data[0] = (byte) i; // 내용이 달라야 중복으로 걸러지지 않음
+      entries.put("part_" + i + ".pdf", data);
+    }
+    byte[] archive = zip(entries);
+    for (int i = 0; i < 4; i++) {
+      archive = declareSize(archive, "part_" + i + ".pdf", 100);
+    }
+
+    MultipartBodyBuilder body = new MultipartBodyBuilder();
+    part(body, "archive.zip", archive);
+
+    // 선언 크기 합계는 400B 지만 실제로 읽은 36MB 가 요청 한도(30MB)를 넘는다
+    upload(body)
+        .jsonPath("$.data.total").isEqualTo(4)
+        .jsonPath("$.data.results[?(@.errorMessage == '요청 전체 파일 크기가 업로드 제한을 초과합니다.')]").exists();
+  }
+
+  @Test
+  void rejectedFileDoesNotUseUpRequestTotal() throws IOException {
+    Map<String, byte[]> entries = new LinkedHashMap<>();
+    entries.put("large.pdf", new byte[11 * MB]);
+    for (int i = 0; i < 3; i++) {
+      byte[] data = new byte[9 * MB];
+      data[0] = (byte) i;
+      entries.put("part_" + i + ".pdf", data);
+    }
+    byte[] archive = declareSize(zip(entries), "large.pdf", 100);
+
+    MultipartBodyBuilder body = new MultipartBodyBuilder();
+    part(body, "archive.zip", archive);
+
+    // 10MB 를 넘겨 거부된 파일이 읽은 바이트는 돌려받으므로 나머지 27MB 는 요청 한도(30MB) 안에 들어간다
+    upload(body)
+        .jsonPath("$.data.results[0].status").isEqualTo("REJECTED")
+        .jsonPath("$.data.results[0].errorMessage").isEqualTo("파일 크기는 10MB를 초과할 수 없습니다.")
+        .jsonPath("$.data.results[1].status").isEqualTo("UPLOADED")
+        .jsonPath("$.data.results[2].status").isEqualTo("UPLOADED")
+        .jsonPath("$.data.results[3].status").isEqualTo("UPLOADED");
+  }
+
+  @Test
+  void zipWithTooManyEntriesIsRejected() throws IOException {
+    Map<String, byte[]> entries = new LinkedHashMap<>();
+    for (int i = 0; i < 6; i++) {
+      entries.put("doc_" + i + ".pdf", pdf());
+    }
+    MultipartBodyBuilder body = new MultipartBodyBuilder();
+    part(body, "archive.zip", zip(entries));
+
+    webTestClient.post()
+        .uri("/api/v1/namespaces/{namespaceId}/documents/bulk?userId={userId}", namespace.getId(), user.getId())
+        .contentType(MediaType.MULTIPART_FORM_DATA)
+        .bodyValue(body.build())
+        .exchange()
+        .expectStatus().isBadRequest();
+  }
+
+  @Test
+  void sanitizeKeepsOnlyTheFileName() {
+    assertThat(BulkUploadService.sanitize("../../etc/passwd.pdf")).isEqualTo("passwd.pdf");
+    assertThat(BulkUploadService.sanitize("C:\\temp\\report.pdf")).isEqualTo("report.pdf");
+    assertThat(BulkUploadService.sanitize("dir/re\u0000port\n.pdf")).isEqualTo("report.pdf");
+    assertThat(BulkUploadService.sanitize("dir/..")).isNull();
+    assertThat(BulkUploadService.sanitize("dir/")).isNull();
+    assertThat(BulkUploadService.sanitize(null)).isNull();
+  }
+
+  private BodyContentSpec upload(MultipartBodyBuilder body) {
+    return webTestClient.post()
+        .uri("/api/v1/namespaces/{namespaceId}/documents/bulk?userId={userId}", namespace.getId(), user.getId())
+        .contentType(MediaType.MULTIPART_FORM_DATA)
+        .bodyValue(body.build())
+        .exchange()
+        .expectStatus().isOk()
+        .expectBody();
+  }
+
+  private static void part(MultipartBodyBuilder body, String filename, byte[] content) {
+    body.part("files", new ByteArrayResource(content) {
+      @Override
+      public String getFilename() {
+        return filename;
+      }
+    });
+  }
+
+  private static byte[] pdf() {
+    return ("%PDF-1.4 " + UUID.randomUUID()).getBytes(StandardCharsets.UTF_8);
+  }
+
+  private static byte[] zip(Map<String, byte[]> entries) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try (ZipOutputStream zip = new ZipOutputStream(out)) {
+      for (Map.Entry<String, byte[]> entry : entries.entrySet()) {
+        zip.putNextEntry(new ZipEntry(entry.getKey()));
+        zip.write(entry.getValue());
+        zip.closeEntry();
+      }
+    }
+    return out.toByteArray();
+  }
+
+  /**
+   * 중앙 디렉토리의 압축 해제 크기를 실제와 다르게 기록 (ZipFile 의 ZipEntry.getSize() 가 이 값을 돌려준다)
+   */
+  private static byte[] declareSize(byte[] archive, String entryName, int declaredSize) {
+    ByteBuffer buffer = ByteBuffer.wrap(archive).order(ByteOrder.LITTLE_ENDIAN);
+    byte[] name = entryName.getBytes(StandardCharsets.UTF_8);
+    for (int offset = 0; offset + 46 <= archive.length; offset++) {
+      if (buffer.getInt(offset) != 0x02014b50) {
+        continue;
+      }
+      int nameLength = Short.toUnsignedInt(buffer.getShort(offset + 28));
+      String current = new String(archive, offset + 46, nameLength, StandardCharsets.UTF_8);
+      if (nameLength == name.length && current.equals(entryName)) {
+        buffer.putInt(offset + 24, declaredSize);
+        return archive;
+      }
+    }
+    throw new IllegalArgumentException("ZIP 항목을 찾을 수 없습니다: " + entryName);
+  }
+}
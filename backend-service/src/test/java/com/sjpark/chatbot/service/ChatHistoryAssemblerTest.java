@@ -0,0 +1,206 @@
+package com.sjpark.chatbot.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.sjpark.chatbot.domain.Conversation;
+import com.sjpark.chatbot.domain.Message;
+import com.sjpark.chatbot.domain.Message.MessageRole;
+import com.sjpark.chatbot.dto.AiChatMessage;
+import com.sjpark.chatbot.repo.MessageBatchRepository.NewMessage;
+import com.sjpark.chatbot.repo.MessageRepository;
+import com.sjpark.chatbot.tokenizer.TokenCounter;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * 토큰 예산에 따른 대화 내역 절단, 요약 요청 조건과 요약 위치, 저장 대기 메시지 병합 검증
+ */
+class ChatHistoryAssemblerTest {
+
+  private static final long CONVERSATION_ID = 1L;
+  private static final LocalDateTime START = LocalDateTime.of(2025, 1, 1, 9, 0);
+
+  private final MessageRepository messageRepository = mock(MessageRepository.class);
+  private final ConversationSummarizer conversationSummarizer = mock(ConversationSummarizer.class);
+  private final MessageWriteBehindSink messageSink = mock(MessageWriteBehindSink.class);
+  private final Conversation conversation = Conversation.builder().id(CONVERSATION_ID).title("대화").build();
+
+  @BeforeEach
+  void setUp() {
+    when(messageSink.pending(CONVERSATION_ID)).thenReturn(List.of());
+  }
+
+  @Test
+  void keepsNewestMessagesWithinBudgetInChronologicalOrder() {
+    // 메시지당 20 + 형식 토큰 4 = 24, 예산 100 이면 최근 4개
+    List<Message> messages = messages(6, 20);
+    persisted(messages);
+
+    List<AiChatMessage> history = assembler(100, 50, 3).assemble(conversation);
+
+    assertThat(history).extracting(AiChatMessage::getContent)
+        .containsExactly("메시지 3", "메시지 4", "메시지 5", "메시지 6");
+    assertThat(history).extracting(AiChatMessage::getRole)
+        .containsExactly("user", "assistant", "user", "assistant");
+    verify(conversationSummarizer, never()).request(anyLong(), any(), anyLong());
+  }
+
+  @Test
+  void messageThatWouldExceedBudgetIsCutEvenIfOlderOnesFit() {
+    List<Message> messages = new ArrayList<>(messages(3, 10));
+    messages.set(1, message(2, 200));
+    persisted(messages);
+
+    List<AiChatMessage> history = assembler(100, 50, 3).assemble(conversation);
+
+    assertThat(history).extracting(AiChatMessage::getContent).containsExactly("메시지 3");
+  }
+
+  @Test
+  void requestsSummaryUpToOldestKeptMessageWhenEnoughAreDropped() {
+    List<Message> messages = messages(8, 20);
+    persisted(messages);
+
+    assembler(100, 50, 3).assemble(conversation);
+
+    // 최근 4개(5~8)를 남기고 1~4 가 밀려났으므로 5번 이전까지 요약
+    Message oldestKept = messages.get(4);
+    verify(conversationSummarizer).request(CONVERSATION_ID, oldestKept.getCreatedAt(), oldestKept.getId());
+  }
+
+  @Test
+  void doesNotRequestSummaryBelowMinimumDropped() {
+    persisted(messages(6, 20));
+
+    assembler(100, 50, 3).assemble(conversation);
+
+    verify(conversationSummarizer, never()).request(anyLong(), any(), anyLong());
+  }
+
+  @Test
+  void requestsSummaryWhenFetchLimitIsReached() {
+    // 모두 예산 안에 들어가도 조회 한도만큼 찼다면 더 오래된 메시지가 남아 있다
+    List<Message> messages = messages(5, 1);
+    persisted(messages);
+
+    List<AiChatMessage> history = assembler(1000, 5, 3).assemble(conversation);
+
+    assertThat(history).hasSize(5);
+    Message oldest = messages.get(0);
+    verify(conversationSummarizer).request(CONVERSATION_ID, oldest.getCreatedAt(), oldest.getId());
+  }
+
+  @Test
+  void summaryIsSentFirstAndCountsAgainstBudget() {
+    Conversation summarized = Conversation.builder()
+        .id(CONVERSATION_ID)
+        .title("대화")
+        .summary("요약")
+        .summaryUntilAt(START)
+        .summaryUntilId(0L)
+        .build();
+    List<Message> messages = messages(4, 20);
+    when(messageRepository.findRecentAfter(eq(CONVERSATION_ID), eq(START), eq(0L), any()))
+        .thenReturn(newestFirst(messages));
+
+    List<AiChatMessage> history = assembler(100, 50, 3).assemble(summarized);
+
+    // 요약(system) 몫을 빼고 남은 예산으로는 3개만
+    assertThat(history).extracting(AiChatMessage::getRole)
+        .containsExactly("system", "assistant", "user", "assistant");
+    assertThat(history.get(0).getContent()).endsWith("요약");
+  }
+
+  @Test
+  void pendingMessagesAreMergedAfterPersistedOnes() {
+    List<Message> messages = messages(2, 10);
+    persisted(messages);
+    LocalDateTime later = START.plusMinutes(10);
+    when(messageSink.pending(CONVERSATION_ID)).thenReturn(List.of(
+        new NewMessage(2, CONVERSATION_ID, MessageRole.ASSISTANT, "메시지 2", null, null, 10, START.plusMinutes(2)),
+        new NewMessage(100, CONVERSATION_ID, MessageRole.USER, "저장 대기 질문", null, null, 10, later),
+        new NewMessage(101, CONVERSATION_ID, MessageRole.ASSISTANT, "저장 대기 답변", null, null, 10, later)));
+
+    List<AiChatMessage> history = assembler(1000, 50, 3).assemble(conversation);
+
+    assertThat(history).extracting(AiChatMessage::getContent)
+        .containsExactly("메시지 1", "메시지 2", "저장 대기 질문", "저장 대기 답변");
+  }
+
+  @Test
+  void estimatedTokenCountsAreNotCached() {
+    Message message = message(1, null);
+    persisted(List.of(message));
+
+    assembler(1000, 50, 3).assemble(conversation);
+
+    assertThat(message.getTokenCount()).isNull();
+  }
+
+  @Test
+  void exactTokenCountsAreCached() {
+    Message message = message(1, null);
+    persisted(List.of(message));
+    TokenCounter exact = new TokenCounter(new DefaultResourceLoader(), "classpath:tokenizer/ranks.tiktoken");
+
+    assembler(exact, 1000, 50, 3).assemble(conversation);
+
+    assertThat(message.getTokenCount()).isEqualTo(exact.count(message.getContent()));
+  }
+
+  private ChatHistoryAssembler assembler(int tokenBudget, int maxMessages, int summaryMinMessages) {
+    return assembler(new TokenCounter(new DefaultResourceLoader(), ""), tokenBudget, maxMessages, summaryMinMessages);
+  }
+
+  private ChatHistoryAssembler assembler(TokenCounter tokenCounter, int tokenBudget, int maxMessages,
+      int summaryMinMessages) {
+    ChatHistoryAssembler assembler =
+        new ChatHistoryAssembler(messageRepository, tokenCounter, conversationSummarizer, messageSink);
+    ReflectionTestUtils.setField(assembler, "tokenBudget", tokenBudget);
+    ReflectionTestUtils.setField(assembler, "maxMessages", maxMessages);
+    ReflectionTestUtils.setField(assembler, "summaryMinMessages", summaryMinMessages);
+    return assembler;
+  }
+
+  private void persisted(List<Message> messages) {
+    when(messageRepository.findByConversationIdOrderByCreatedAtDescIdDesc(eq(CONVERSATION_ID), any()))
+        .thenReturn(newestFirst(messages));
+  }
+
+  /**
+   * 오래된 순으로 1..count 번 메시지 (홀수는 질문, 짝수는 답변)
+   */
+  private static List<Message> messages(int count, Integer tokenCount) {
+    List<Message> messages = new ArrayList<>();
+    for (int i = 1; i <= count; i++) {
+      messages.add(message(i, tokenCount));
+    }
+    return messages;
+  }
+
+  private static Message message(long id, Integer tokenCount) {
+    return Message.builder()
+        .id(id)
+        .role(id % 2 == 1 ? MessageRole.USER : MessageRole.ASSISTANT)
+        .content("메시지 " + id)
+        .tokenCount(tokenCount)
+        .createdAt(START.plusMinutes(id))
+        .build();
+  }
+
+  private static List<Message> newestFirst(List<Message> messages) {
+    return new ArrayList<>(messages).reversed();
+  }
+}
@@ -0,0 +1,100 @@
+package com.sjpark.chatbot.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+
+import com.sjpark.chatbot.common.BusinessException;
+import com.sjpark.chatbot.common.ErrorCode;
+import com.sjpark.chatbot.service.DocumentChunker.Chunk;
+import com.sjpark.chatbot.service.DocumentChunker.ChunkedDocument;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * 페이지 구간을 병렬로 나눠 처리해도 페이지 순서와 메타데이터가 AI 서비스 형식대로 유지되는지 검증
+ */
+class DocumentChunkerTest {
+
+  @TempDir
+  Path tempDir;
+
+  // 페이지마다 작업 1개, 스레드 2개 - 구간이 서로 다른 스레드에서 끝나는 순서와 무관하게 합쳐져야 한다
+  private final DocumentChunker documentChunker = new DocumentChunker(40, 10, 1, 2);
+
+  @AfterEach
+  void tearDown() {
+    documentChunker.shutdown();
+  }
+
+  @Test
+  void chunksKeepPageOrderAndMetadata() throws IOException {
+    Path pdf = writePdf(List.of(
+        List.of("Revenue grew fifteen percent in 2024", "driven by overseas markets."),
+        List.of("Operating margin improved to 12.4 percent."),
+        List.of("Outlook remains positive for the next fiscal year", "despite currency risk.")));
+
+    ChunkedDocument chunked = documentChunker.chunk(42L, pdf.toString(), "report.pdf");
+
+    assertThat(chunked.pageCount()).isEqualTo(3);
+    List<Integer> pages = chunked.chunks().stream().map(chunk -> (Integer) chunk.metadata().get("page")).toList();
+    assertThat(pages).isSorted().contains(0, 1, 2);
+    assertThat(chunked.chunks()).allSatisfy(chunk ->
+        assertThat(chunk.content().codePointCount(0, chunk.content().length())).isLessThanOrEqualTo(40));
+
+    Chunk first = chunked.chunks().get(0);
+    assertThat(first.content()).startsWith("Revenue grew");
+    assertThat(first.metadata()).containsExactly(
+        entry("source", pdf.toString()),
+        entry("file_path", pdf.toString()),
+        entry("page", 0),
+        entry("total_pages", 3),
+        entry("document_id", "42"),
+        entry("filename", "report.pdf"));
+  }
+
+  @Test
+  void unreadablePdfIsInvalidFileFormat() throws IOException {
+    Path broken = tempDir.resolve("broken.pdf");
+    Files.writeString(broken, "%PDF-1.4 not really a pdf", StandardCharsets.UTF_8);
+
+    assertThatThrownBy(() -> documentChunker.chunk(1L, broken.toString(), "broken.pdf"))
+        .isInstanceOf(BusinessException.class)
+        .extracting(e -> ((BusinessException) e).getErrorCode())
+        .isEqualTo(ErrorCode.INVALID_FILE_FORMAT);
+  }
+
+  private Path writePdf(List<List<String>> pages) throws IOException {
+    Path path = tempDir.resolve("report.pdf");
+    try (PDDocument document = new PDDocument()) {
+      PDType1Font font = new PDType1Font(Standard14Fonts.FontName.HELVETICA);
+      for (List<String> lines : pages) {
+        PDPage page = new PDPage();
+        document.addPage(page);
+        try (PDPageContentStream content = new PDPageContentStream(document, page)) {
+          content.beginText();
+          content.setFont(font, 12);
+          content.newLineAtOffset(72, 700);
+          for (String line : lines) {
+            content.showText(line);
+            content.newLineAtOffset(0, -16);
+          }
+          content.endText();
+        }
+      }
+      document.save(path.toFile());
+    }
+    return path;
+  }
+}
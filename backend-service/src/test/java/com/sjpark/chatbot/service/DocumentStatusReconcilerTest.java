@@ -0,0 +1,149 @@
+package com.sjpark.chatbot.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.sjpark.chatbot.domain.Document;
+import com.sjpark.chatbot.domain.Document.DocumentStatus;
+import com.sjpark.chatbot.domain.Namespace;
+import com.sjpark.chatbot.dto.AiDocumentStatusResponse;
+import com.sjpark.chatbot.proxy.AiApiClient;
+import com.sjpark.chatbot.repo.DocumentRepository;
+import com.sjpark.chatbot.service.DocumentService.IndexingResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+
+/**
+ * 상태 동기화가 처리 중인 문서를 배치 단위로 돌아가며 확인하고, 제한 시간에 걸린 문서부터 이어서 조회하는지 검증
+ */
+class DocumentStatusReconcilerTest {
+
+  private static final Namespace NAMESPACE = Namespace.builder().id(1L).name("보관함").build();
+
+  private final DocumentRepository documentRepository = mock(DocumentRepository.class);
+  private final DocumentService documentService = mock(DocumentService.class);
+  private final AiApiClient aiApiClient = mock(AiApiClient.class);
+
+  /** 조회할 때마다 넘긴 afterId */
+  private final List<Long> queriedAfter = new ArrayList<>();
+  private final List<IndexingResult> applied = new ArrayList<>();
+  private final Map<Long, Mono<AiDocumentStatusResponse>> statuses = new HashMap<>();
+  private List<Document> processing;
+
+  @BeforeEach
+  void setUp() {
+    when(aiApiClient.isIndexingAvailable()).thenReturn(true);
+    when(aiApiClient.getDocumentStatus(eq(NAMESPACE.getId()), anyLong())).thenAnswer(invocation ->
+        statuses.getOrDefault(invocation.<Long>getArgument(1), Mono.just(status("pending"))));
+    when(documentRepository.findByStatusAndIdGreaterThanOrderByIdAsc(eq(DocumentStatus.PROCESSING), anyLong(),
+        any(Limit.class))).thenAnswer(invocation -> {
+          long afterId = invocation.getArgument(1);
+          Limit limit = invocation.getArgument(2);
+          queriedAfter.add(afterId);
+          return processing.stream()
+              .filter(document -> document.getId() > afterId)
+              .limit(limit.max())
+              .toList();
+        });
+    when(documentService.applyIndexingResults(anyList())).thenAnswer(invocation -> {
+      List<IndexingResult> results = invocation.getArgument(0);
+      applied.addAll(results);
+      return results.stream().map(IndexingResult::status).toList();
+    });
+  }
+
+  @Test
+  void rotatesThroughAllProcessingDocuments() {
+    processing = documents(5);
+    statuses.put(5L, Mono.just(status("processed")));
+    DocumentStatusReconciler reconciler = reconciler(2, 4, 5000, 5000);
+
+    for (int i = 0; i < 4; i++) {
+      reconciler.reconcile();
+    }
+
+    // 1~2, 3~4, 5 (마지막 배치가 덜 찼으므로 처음으로), 다시 1~2
+    assertThat(queriedAfter).containsExactly(0L, 2L, 4L, 0L);
+    assertThat(applied).extracting(IndexingResult::documentId).containsExactly(5L);
+    assertThat(applied).extracting(IndexingResult::status).containsExactly(DocumentStatus.COMPLETED);
+  }
+
+  @Test
+  void documentsLeftByTimeoutAreQueriedFirstNextTime() {
+    processing = documents(5);
+    statuses.put(2L, Mono.never());
+    // 한 번에 하나씩 조회하므로 2번에서 막히면 3번 이후는 조회하지 못한다
+    DocumentStatusReconciler reconciler = reconciler(3, 1, 200, 60000);
+
+    reconciler.reconcile();
+
+    statuses.remove(2L);
+    statuses.put(3L, Mono.just(status("processed")));
+    reconciler.reconcile();
+
+    assertThat(queriedAfter).containsExactly(0L, 1L);
+    assertThat(applied).extracting(IndexingResult::documentId).containsExactly(3L);
+  }
+
+  @Test
+  void emptyBatchRestartsFromBeginning() {
+    processing = documents(2);
+    DocumentStatusReconciler reconciler = reconciler(2, 4, 5000, 5000);
+
+    reconciler.reconcile();
+    processing = List.of();
+    reconciler.reconcile();
+    processing = documents(2);
+    reconciler.reconcile();
+
+    assertThat(queriedAfter).containsExactly(0L, 2L, 0L);
+  }
+
+  private DocumentStatusReconciler reconciler(int batchSize, int parallelism, long timeoutMillis,
+      long callTimeoutMillis) {
+    DocumentStatusReconciler reconciler = new DocumentStatusReconciler(documentRepository, documentService,
+        aiApiClient, new SimpleMeterRegistry());
+    ReflectionTestUtils.setField(reconciler, "enabled", true);
+    ReflectionTestUtils.setField(reconciler, "batchSize", batchSize);
+    ReflectionTestUtils.setField(reconciler, "parallelism", parallelism);
+    ReflectionTestUtils.setField(reconciler, "timeoutMillis", timeoutMillis);
+    ReflectionTestUtils.setField(reconciler, "callTimeoutMillis", callTimeoutMillis);
+    ReflectionTestUtils.setField(reconciler, "lostAfterMillis", 1800000L);
+    return reconciler;
+  }
+
+  /**
+   * ID 1..count 의 처리 중 문서
+   */
+  private static List<Document> documents(int count) {
+    List<Document> documents = new ArrayList<>();
+    for (long id = 1; id <= count; id++) {
+      documents.add(Document.builder()
+          .id(id)
+          .namespace(NAMESPACE)
+          .filename("report_" + id + ".pdf")
+          .status(DocumentStatus.PROCESSING)
+          .updatedAt(LocalDateTime.now())
+          .build());
+    }
+    return documents;
+  }
+
+  private static AiDocumentStatusResponse status(String status) {
+    return AiDocumentStatusResponse.builder().status(status).chunksCount(3).build();
+  }
+}
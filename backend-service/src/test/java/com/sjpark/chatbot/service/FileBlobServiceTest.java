@@ -0,0 +1,131 @@
+package com.sjpark.chatbot.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.sjpark.chatbot.repo.FileBlobRepository;
+import com.sjpark.chatbot.service.FileStorageService.StagedFile;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * blob 파일이 행 잠금 아래에서만 만들어지고 지워지는지, 행 없는 파일이 정리되는지 검증
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class FileBlobServiceTest {
+
+  @Autowired
+  private FileBlobService fileBlobService;
+
+  @Autowired
+  private FileBlobSweeper fileBlobSweeper;
+
+  @Autowired
+  private FileStorageService fileStorageService;
+
+  @Autowired
+  private FileBlobRepository fileBlobRepository;
+
+  @Autowired
+  private PlatformTransactionManager transactionManager;
+
+  private TransactionTemplate transactionTemplate;
+
+  @BeforeEach
+  void setUp() {
+    transactionTemplate = new TransactionTemplate(transactionManager);
+  }
+
+  @Test
+  void sameContentIsStoredOnceAndDeletedWithLastReference() throws IOException {
+    String content = UUID.randomUUID().toString();
+    StagedFile first = stage(content);
+    StagedFile second = stage(content);
+
+    transactionTemplate.executeWithoutResult(status -> fileBlobService.store(first));
+    transactionTemplate.executeWithoutResult(status -> fileBlobService.store(second));
+
+    assertThat(Files.exists(second.path())).isFalse();
+    assertThat(fileBlobRepository.findById(first.hash()).orElseThrow().getRefCount()).isEqualTo(2);
+
+    transactionTemplate.executeWithoutResult(status -> fileBlobService.release(Arrays.asList(first.hash(), null)));
+    assertThat(Files.exists(blobPath(first.hash()))).isTrue();
+
+    transactionTemplate.executeWithoutResult(status -> fileBlobService.release(Arrays.asList(first.hash())));
+    assertThat(Files.exists(blobPath(first.hash()))).isFalse();
+    assertThat(fileBlobRepository.existsById(first.hash())).isFalse();
+  }
+
+  @Test
+  void rolledBackReleaseKeepsFileAndReference() throws IOException {
+    StagedFile staged = stage(UUID.randomUUID().toString());
+    transactionTemplate.executeWithoutResult(status -> fileBlobService.store(staged));
+
+    transactionTemplate.executeWithoutResult(status -> {
+      fileBlobService.release(Arrays.asList(staged.hash()));
+      status.setRollbackOnly();
+    });
+
+    assertThat(Files.exists(blobPath(staged.hash()))).isTrue();
+    assertThat(fileBlobRepository.findById(staged.hash()).orElseThrow().getRefCount()).isEqualTo(1);
+  }
+
+  @Test
+  void rolledBackStoreLeavesNoFile() throws IOException {
+    StagedFile staged = stage(UUID.randomUUID().toString());
+
+    transactionTemplate.executeWithoutResult(status -> {
+      fileBlobService.store(staged);
+      assertThat(Files.exists(blobPath(staged.hash()))).isTrue();
+      status.setRollbackOnly();
+    });
+
+    assertThat(Files.exists(blobPath(staged.hash()))).isFalse();
+    assertThat(fileBlobRepository.existsById(staged.hash())).isFalse();
+  }
+
+  @Test
+  void sweeperDeletesOnlyOldFilesWithoutRows() throws IOException {
+    StagedFile referenced = stage(UUID.randomUUID().toString());
+    transactionTemplate.executeWithoutResult(status -> fileBlobService.store(referenced));
+    StagedFile orphan = stage(UUID.randomUUID().toString());
+    fileStorageService.store(orphan); // 행 없이 옮겨진 파일 (저장 후 프로세스 종료 등)
+    StagedFile recentOrphan = stage(UUID.randomUUID().toString());
+    fileStorageService.store(recentOrphan);
+
+    FileTime old = FileTime.from(Instant.now().minus(Duration.ofDays(1)));
+    Files.setLastModifiedTime(blobPath(referenced.hash()), old);
+    Files.setLastModifiedTime(blobPath(orphan.hash()), old);
+
+    fileBlobSweeper.sweep();
+
+    assertThat(Files.exists(blobPath(referenced.hash()))).isTrue();
+    assertThat(Files.exists(blobPath(orphan.hash()))).isFalse();
+    assertThat(Files.exists(blobPath(recentOrphan.hash()))).isTrue(); // 유예 시간 안의 파일은 남김
+    assertThat(fileBlobRepository.existsById(orphan.hash())).isFalse();
+  }
+
+  private StagedFile stage(String content) throws IOException {
+    return fileStorageService.stage(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)));
+  }
+
+  private Path blobPath(String hash) {
+    return Paths.get(fileStorageService.blobLocation(hash));
+  }
+}
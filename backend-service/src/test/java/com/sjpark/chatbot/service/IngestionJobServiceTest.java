@@ -0,0 +1,156 @@
+package com.sjpark.chatbot.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.sjpark.chatbot.domain.Document;
+import com.sjpark.chatbot.domain.Document.DocumentStatus;
+import com.sjpark.chatbot.domain.IngestionJob;
+import com.sjpark.chatbot.domain.IngestionJob.JobStatus;
+import com.sjpark.chatbot.domain.Namespace;
+import com.sjpark.chatbot.domain.User;
+import com.sjpark.chatbot.repo.DocumentRepository;
+import com.sjpark.chatbot.repo.IngestionJobRepository;
+import com.sjpark.chatbot.repo.NamespaceRepository;
+import com.sjpark.chatbot.repo.UserRepository;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * AI 서비스 장애로 요청이 거절된 인덱싱 작업은 재시도 횟수를 소모하지 않고, 실제 실패만 횟수를 소모하며,
+ * 읽을 수 없는 파일은 재시도 없이 실패하는지 검증
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class IngestionJobServiceTest {
+
+  @Autowired
+  private IngestionJobService ingestionJobService;
+
+  @Autowired
+  private IngestionJobRepository ingestionJobRepository;
+
+  @Autowired
+  private UserRepository userRepository;
+
+  @Autowired
+  private NamespaceRepository namespaceRepository;
+
+  @Autowired
+  private DocumentRepository documentRepository;
+
+  @Autowired
+  private PlatformTransactionManager transactionManager;
+
+  private TransactionTemplate transactionTemplate;
+  private Long jobId;
+
+  @BeforeEach
+  void setUp() {
+    transactionTemplate = new TransactionTemplate(transactionManager);
+    String suffix = UUID.randomUUID().toString().substring(0, 8);
+    User user = userRepository.save(User.builder()
+        .username("user_" + suffix)
+        .password("password")
+        .email(suffix + "@example.com")
+        .build());
+    Namespace namespace = namespaceRepository.save(Namespace.builder()
+        .user(user)
+        .name("보관함")
+        .chromaCollectionName("ns_" + suffix)
+        .build());
+    Document document = documentRepository.save(Document.builder()
+        .user(user)
+        .namespace(namespace)
+        .filename("report.pdf")
+        .filePath("/tmp/report.pdf")
+        .fileType("pdf")
+        .fileSize(1024L)
+        .fileHash(UUID.randomUUID().toString())
+        .build());
+    jobId = transactionTemplate.execute(status -> ingestionJobService.enqueue(document).getId());
+  }
+
+  @Test
+  void rejectedCallDoesNotConsumeAttempt() {
+    claim();
+    assertThat(job().getAttempts()).isEqualTo(1);
+
+    ingestionJobService.markDeferred(jobId, "AI 서비스 장애로 요청이 일시 차단되었습니다.");
+
+    IngestionJob job = job();
+    assertThat(job.getAttempts()).isZero();
+    assertThat(job.getStatus()).isEqualTo(JobStatus.QUEUED);
+    assertThat(job.getLockedBy()).isNull();
+    assertThat(job.getNextAttemptAt()).isAfter(LocalDateTime.now());
+    assertThat(documentStatus()).isEqualTo(DocumentStatus.PENDING);
+  }
+
+  @Test
+  void repeatedRejectionsNeverExhaustJob() {
+    int maxAttempts = job().getMaxAttempts();
+    for (int i = 0; i < maxAttempts + 1; i++) {
+      claim();
+      ingestionJobService.markDeferred(jobId, "AI 서비스 요청이 많습니다.");
+    }
+
+    IngestionJob job = job();
+    assertThat(job.getAttempts()).isZero();
+    assertThat(job.getStatus()).isEqualTo(JobStatus.QUEUED);
+  }
+
+  @Test
+  void failureConsumesAttemptUntilExhausted() {
+    int maxAttempts = job().getMaxAttempts();
+    for (int i = 1; i < maxAttempts; i++) {
+      claim();
+      ingestionJobService.markFailed(jobId, "500 Internal Server Error");
+      assertThat(job().getAttempts()).isEqualTo(i);
+      assertThat(job().getStatus()).isEqualTo(JobStatus.QUEUED);
+    }
+
+    claim();
+    ingestionJobService.markFailed(jobId, "500 Internal Server Error");
+
+    assertThat(job().getStatus()).isEqualTo(JobStatus.FAILED);
+    assertThat(documentStatus()).isEqualTo(DocumentStatus.FAILED);
+  }
+
+  @Test
+  void unreadableFileFailsOnFirstAttempt() {
+    claim();
+
+    ingestionJobService.markRejected(jobId, "PDF 파일을 읽을 수 없습니다: Missing root object");
+
+    IngestionJob job = job();
+    assertThat(job.getAttempts()).isEqualTo(1);
+    assertThat(job.getStatus()).isEqualTo(JobStatus.FAILED);
+    assertThat(documentStatus()).isEqualTo(DocumentStatus.FAILED);
+  }
+
+  /**
+   * 워커 점유와 같은 상태 변경 (다른 테스트의 작업을 점유하지 않도록 대상 작업만 직접 점유)
+   */
+  private void claim() {
+    transactionTemplate.executeWithoutResult(status -> {
+      IngestionJob job = ingestionJobRepository.findById(jobId).orElseThrow();
+      job.claim("test-worker", LocalDateTime.now());
+      job.getDocument().updateStatus(DocumentStatus.PROCESSING);
+    });
+  }
+
+  private IngestionJob job() {
+    return ingestionJobRepository.findById(jobId).orElseThrow();
+  }
+
+  private DocumentStatus documentStatus() {
+    return transactionTemplate.execute(status ->
+        ingestionJobRepository.findById(jobId).orElseThrow().getDocument().getStatus());
+  }
+}
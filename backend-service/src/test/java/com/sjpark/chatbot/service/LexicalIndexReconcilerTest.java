@@ -0,0 +1,164 @@
+package com.sjpark.chatbot.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.sjpark.chatbot.domain.Document;
+import com.sjpark.chatbot.domain.Document.DocumentStatus;
+import com.sjpark.chatbot.domain.Namespace;
+import com.sjpark.chatbot.domain.User;
+import com.sjpark.chatbot.repo.DocumentRepository;
+import com.sjpark.chatbot.repo.NamespaceRepository;
+import com.sjpark.chatbot.repo.UserRepository;
+import com.sjpark.chatbot.search.LexicalChunk;
+import com.sjpark.chatbot.search.LexicalHit;
+import com.sjpark.chatbot.search.LexicalIndexService;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * 다른 노드에서 처리된 문서를 BM25 색인에 채우고, 삭제된 문서/보관함과 재구축 요청을 DB 기준으로 반영하는지 검증
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class LexicalIndexReconcilerTest {
+
+  @Autowired
+  private LexicalIndexReconciler lexicalIndexReconciler;
+
+  @Autowired
+  private LexicalIndexService lexicalIndexService;
+
+  @Autowired
+  private UserRepository userRepository;
+
+  @Autowired
+  private NamespaceRepository namespaceRepository;
+
+  @Autowired
+  private DocumentRepository documentRepository;
+
+  @TempDir
+  Path tempDir;
+
+  private User user;
+  private Namespace namespace;
+
+  @BeforeEach
+  void setUp() {
+    String suffix = UUID.randomUUID().toString().substring(0, 8);
+    user = userRepository.save(User.builder()
+        .username("user_" + suffix)
+        .password("password")
+        .email(suffix + "@example.com")
+        .build());
+    namespace = namespaceRepository.save(Namespace.builder()
+        .user(user)
+        .name("보관함")
+        .chromaCollectionName("ns_" + suffix)
+        .build());
+  }
+
+  @Test
+  void completedDocumentsAreBackfilledAndDeletedOnesRemoved() throws IOException {
+    Document invoice = save("invoice.pdf", writePdf("invoice.pdf", "Invoice code XK-9931 approved"),
+        DocumentStatus.COMPLETED);
+    Document broken = save("broken.pdf", writeFile("broken.pdf", "%PDF-1.4 not really a pdf"),
+        DocumentStatus.COMPLETED);
+    Document pending = save("pending.pdf", writePdf("pending.pdf", "Pending code QZ-1200"),
+        DocumentStatus.PENDING);
+
+    lexicalIndexReconciler.reconcile();
+
+    assertThat(lexicalIndexService.documentIds(namespace.getId()))
+        .containsExactlyInAnyOrder(invoice.getId(), broken.getId());
+    assertThat(lexicalIndexService.search(namespace.getId(), "XK-9931", 10))
+        .extracting(LexicalHit::documentId)
+        .containsExactly(invoice.getId());
+    assertThat(lexicalIndexService.search(namespace.getId(), "QZ-1200", 10)).isEmpty();
+
+    documentRepository.deleteById(invoice.getId());
+    lexicalIndexReconciler.reconcile();
+
+    assertThat(lexicalIndexService.documentIds(namespace.getId()))
+        .containsExactly(broken.getId())
+        .doesNotContain(pending.getId());
+    assertThat(lexicalIndexService.search(namespace.getId(), "XK-9931", 10)).isEmpty();
+  }
+
+  @Test
+  void rebuildRequestReindexesFromDatabase() throws IOException {
+    Document invoice = save("invoice.pdf", writePdf("invoice.pdf", "Invoice code XK-9931 approved"),
+        DocumentStatus.COMPLETED);
+    lexicalIndexService.addDocument(namespace.getId(), invoice.getId(), List.of(new LexicalChunk(0, "stale text")));
+    lexicalIndexService.addDocument(namespace.getId(), 987_654L, List.of(new LexicalChunk(0, "orphan text")));
+
+    lexicalIndexService.requestRebuild(namespace.getId());
+    lexicalIndexReconciler.reconcile();
+
+    assertThat(lexicalIndexService.documentIds(namespace.getId())).containsExactly(invoice.getId());
+    assertThat(lexicalIndexService.search(namespace.getId(), "stale", 10)).isEmpty();
+    assertThat(lexicalIndexService.search(namespace.getId(), "XK-9931", 10)).hasSize(1);
+    assertThat(lexicalIndexService.consumeRebuildRequest(namespace.getId())).isFalse();
+  }
+
+  @Test
+  void indexOfDeletedNamespaceIsDropped() {
+    long deletedNamespaceId = 9_876_543L;
+    lexicalIndexService.addDocument(deletedNamespaceId, 1L, List.of(new LexicalChunk(0, "left behind")));
+    assertThat(lexicalIndexService.namespaceIds()).contains(deletedNamespaceId);
+
+    lexicalIndexReconciler.reconcile();
+
+    assertThat(lexicalIndexService.namespaceIds()).doesNotContain(deletedNamespaceId);
+    assertThat(lexicalIndexService.search(deletedNamespaceId, "left", 10)).isEmpty();
+  }
+
+  private Document save(String filename, Path path, DocumentStatus status) {
+    return documentRepository.save(Document.builder()
+        .user(user)
+        .namespace(namespace)
+        .filename(filename)
+        .filePath(path.toString())
+        .fileType("pdf")
+        .fileSize(1024L)
+        .fileHash(UUID.randomUUID().toString())
+        .status(status)
+        .build());
+  }
+
+  private Path writeFile(String filename, String content) throws IOException {
+    return Files.writeString(tempDir.resolve(filename), content, StandardCharsets.UTF_8);
+  }
+
+  private Path writePdf(String filename, String line) throws IOException {
+    Path path = tempDir.resolve(filename);
+    try (PDDocument document = new PDDocument()) {
+      PDPage page = new PDPage();
+      document.addPage(page);
+      try (PDPageContentStream content = new PDPageContentStream(document, page)) {
+        content.beginText();
+        content.setFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA), 12);
+        content.newLineAtOffset(72, 700);
+        content.showText(line);
+        content.endText();
+      }
+      document.save(path.toFile());
+    }
+    return path;
+  }
+}
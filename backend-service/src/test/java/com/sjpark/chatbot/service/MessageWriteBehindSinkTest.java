@@ -0,0 +1,198 @@
+package com.sjpark.chatbot.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.sjpark.chatbot.domain.Message.MessageRole;
+import com.sjpark.chatbot.repo.MessageBatchRepository;
+import com.sjpark.chatbot.repo.MessageBatchRepository.NewMessage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Predicate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+/**
+ * 쓰기 지연 저장의 큐 포화, 무결성 위반 시 한 건씩 저장, 일시 장애 시 보관 후 재시도, 종료 시 비우기 검증
+ */
+class MessageWriteBehindSinkTest {
+
+  private static final long CONVERSATION_ID = 1L;
+  private static final long DELETED_CONVERSATION_ID = 2L;
+
+  private final MessageBatchRepository repository = mock(MessageBatchRepository.class);
+  private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final List<List<Long>> inserted = new CopyOnWriteArrayList<>();
+  private final List<RuntimeException> failures = new CopyOnWriteArrayList<>();
+  private volatile Predicate<List<NewMessage>> failOnce = messages -> false;
+  private volatile RuntimeException failOnceWith;
+  private long nextId = 100;
+
+  @BeforeEach
+  void setUp() {
+    when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+    doAnswer(invocation -> {
+      List<NewMessage> messages = invocation.getArgument(0);
+      if (!failures.isEmpty()) {
+        throw failures.remove(0);
+      }
+      if (failOnce.test(messages)) {
+        failOnce = m -> false;
+        throw failOnceWith;
+      }
+      if (messages.stream().anyMatch(message -> message.conversationId() == DELETED_CONVERSATION_ID)) {
+        throw new DataIntegrityViolationException("conversation_id 외래 키 위반");
+      }
+      inserted.add(messages.stream().map(NewMessage::id).toList());
+      return null;
+    }).when(repository).insertMessages(anyList());
+  }
+
+  @Test
+  void overflowIsWrittenOnCallerThread() {
+    MessageWriteBehindSink sink = sink(2, 100);
+    List<NewMessage> messages = messages(CONVERSATION_ID, 3);
+
+    sink.enqueue(messages);
+
+    assertThat(inserted).containsExactly(List.of(messages.get(2).id()));
+    assertThat(sink.pending(CONVERSATION_ID)).containsExactly(messages.get(0), messages.get(1));
+    assertThat(sink.pending(DELETED_CONVERSATION_ID)).isEmpty();
+  }
+
+  @Test
+  void overflowFailureIsReportedToCaller() {
+    MessageWriteBehindSink sink = sink(1, 100);
+    failures.add(new CannotGetJdbcConnectionException("커넥션 풀 고갈"));
+
+    assertThatThrownBy(() -> sink.enqueue(messages(CONVERSATION_ID, 3)))
+        .isInstanceOf(CannotGetJdbcConnectionException.class);
+    assertThat(failedCount()).isEqualTo(2);
+  }
+
+  @Test
+  void integrityViolationDropsOnlyBadRows() {
+    MessageWriteBehindSink sink = sink(10, 100);
+    List<NewMessage> batch = new ArrayList<>(messages(CONVERSATION_ID, 1));
+    batch.addAll(messages(DELETED_CONVERSATION_ID, 1));
+    batch.addAll(messages(CONVERSATION_ID, 1));
+
+    sink.enqueue(batch);
+    sink.flush();
+
+    assertThat(inserted).containsExactly(List.of(batch.get(0).id()), List.of(batch.get(2).id()));
+    assertThat(failedCount()).isEqualTo(1);
+    assertThat(sink.pending(CONVERSATION_ID)).isEmpty();
+  }
+
+  @Test
+  void transientFailureHoldsBatchAndRetriesAfterBackoff() throws InterruptedException {
+    MessageWriteBehindSink sink = sink(10, 100);
+    List<NewMessage> messages = messages(CONVERSATION_ID, 2);
+    failures.add(new CannotCreateTransactionException("DB 연결 실패"));
+
+    sink.enqueue(messages);
+    sink.flush();
+
+    assertThat(inserted).isEmpty();
+    assertThat(sink.pending(CONVERSATION_ID)).containsExactlyElementsOf(messages);
+
+    // 재시도 시각 전에는 다시 시도하지 않는다
+    sink.flush();
+    assertThat(inserted).isEmpty();
+
+    Thread.sleep(150);
+    sink.flush();
+
+    assertThat(inserted).containsExactly(ids(messages));
+    assertThat(sink.pending(CONVERSATION_ID)).isEmpty();
+    assertThat(failedCount()).isZero();
+  }
+
+  @Test
+  void transientFailureDuringFallbackHoldsRemainingRows() throws InterruptedException {
+    MessageWriteBehindSink sink = sink(10, 1);
+    List<NewMessage> batch = new ArrayList<>(messages(DELETED_CONVERSATION_ID, 1));
+    batch.addAll(messages(CONVERSATION_ID, 2));
+
+    sink.enqueue(batch);
+    // 배치 실패(무결성 위반) → 첫 행 버림 → 두 번째 행에서 일시 장애
+    failOnce = messages -> messages.size() == 1 && messages.get(0).id() == batch.get(1).id();
+    failOnceWith = new QueryTimeoutException("statement timeout");
+    sink.flush();
+
+    assertThat(failedCount()).isEqualTo(1);
+    assertThat(sink.pending(CONVERSATION_ID)).containsExactly(batch.get(1), batch.get(2));
+
+    Thread.sleep(20);
+    sink.flush();
+
+    assertThat(inserted).containsExactly(ids(batch.subList(1, 3)));
+  }
+
+  @Test
+  void shutdownDrainsQueue() throws InterruptedException {
+    MessageWriteBehindSink sink = sink(10, 100);
+    sink.start();
+    List<NewMessage> messages = messages(CONVERSATION_ID, 3);
+    sink.enqueue(messages);
+
+    sink.stop();
+
+    assertThat(inserted.stream().flatMap(List::stream)).containsExactlyElementsOf(ids(messages));
+    assertThat(failedCount()).isZero();
+  }
+
+  @Test
+  void messagesStillUnsavedAtShutdownAreCountedAsFailed() throws InterruptedException {
+    MessageWriteBehindSink sink = sink(10, 60_000);
+    sink.start();
+    for (int i = 0; i < 10; i++) {
+      failures.add(new CannotGetJdbcConnectionException("DB 중지"));
+    }
+    sink.enqueue(messages(CONVERSATION_ID, 3));
+
+    sink.stop();
+
+    assertThat(inserted).isEmpty();
+    assertThat(failedCount()).isEqualTo(3);
+  }
+
+  private MessageWriteBehindSink sink(int capacity, long retryBackoffMillis) {
+    // flush-interval 을 길게 두어 테스트가 flush 시점을 정한다
+    return new MessageWriteBehindSink(repository, transactionManager, meterRegistry, capacity, 200, 60_000, 1,
+        retryBackoffMillis, retryBackoffMillis * 10);
+  }
+
+  private List<NewMessage> messages(long conversationId, int count) {
+    List<NewMessage> messages = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      messages.add(new NewMessage(nextId++, conversationId, MessageRole.USER, "질문 " + i, null, null, 3,
+          LocalDateTime.now()));
+    }
+    return messages;
+  }
+
+  private static List<Long> ids(List<NewMessage> messages) {
+    return messages.stream().map(NewMessage::id).toList();
+  }
+
+  private double failedCount() {
+    return meterRegistry.get("chat.messages.failed").counter().count();
+  }
+}
@@ -0,0 +1,159 @@
+package com.sjpark.chatbot.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.sjpark.chatbot.domain.Document;
+import com.sjpark.chatbot.domain.Document.DocumentStatus;
+import com.sjpark.chatbot.domain.Namespace;
+import com.sjpark.chatbot.domain.User;
+import com.sjpark.chatbot.repo.DocumentRepository;
+import com.sjpark.chatbot.repo.NamespaceRepository;
+import com.sjpark.chatbot.repo.UserRepository;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 문서 집계가 커밋 시점에 한 번만 반영되고, 재계산이 동시에 진행 중인 증감을 잃지 않는지 검증
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class NamespaceCounterServiceTest {
+
+  @Autowired
+  private NamespaceCounterService namespaceCounterService;
+
+  @Autowired
+  private UserRepository userRepository;
+
+  @Autowired
+  private NamespaceRepository namespaceRepository;
+
+  @Autowired
+  private DocumentRepository documentRepository;
+
+  @Autowired
+  private PlatformTransactionManager transactionManager;
+
+  private TransactionTemplate transactionTemplate;
+  private User user;
+  private Namespace namespace;
+
+  @BeforeEach
+  void setUp() {
+    transactionTemplate = new TransactionTemplate(transactionManager);
+    String suffix = UUID.randomUUID().toString().substring(0, 8);
+    user = userRepository.save(User.builder()
+        .username("user_" + suffix)
+        .password("password")
+        .email(suffix + "@example.com")
+        .build());
+    namespace = namespaceRepository.save(Namespace.builder()
+        .user(user)
+        .name("보관함")
+        .chromaCollectionName("ns_" + suffix)
+        .build());
+  }
+
+  @Test
+  void deltasAreAppliedOnceAtCommit() {
+    transactionTemplate.executeWithoutResult(status -> {
+      namespaceCounterService.documentAdded(namespace.getId(), 100, DocumentStatus.PENDING);
+      namespaceCounterService.statusChanged(namespace.getId(), DocumentStatus.PENDING, DocumentStatus.PROCESSING);
+      assertThat(reload().getDocumentCount()).isZero();
+    });
+
+    Namespace reloaded = reload();
+    assertThat(reloaded.getDocumentCount()).isEqualTo(1);
+    assertThat(reloaded.getTotalBytes()).isEqualTo(100);
+    assertThat(reloaded.getPendingCount()).isZero();
+    assertThat(reloaded.getProcessingCount()).isEqualTo(1);
+  }
+
+  @Test
+  void deltasAreDiscardedOnRollback() {
+    transactionTemplate.executeWithoutResult(status -> {
+      namespaceCounterService.documentAdded(namespace.getId(), 100, DocumentStatus.PENDING);
+      status.setRollbackOnly();
+    });
+
+    assertThat(reload().getDocumentCount()).isZero();
+  }
+
+  @Test
+  void recalculationRepairsDriftedCounters() {
+    saveDocument(DocumentStatus.COMPLETED);
+    saveDocument(DocumentStatus.FAILED);
+    namespaceCounterService.documentAdded(namespace.getId(), 5000, DocumentStatus.PENDING); // 문서 없는 증감 (누락 보정 대상)
+
+    namespaceCounterService.recalculateAll();
+
+    Namespace reloaded = reload();
+    assertThat(reloaded.getDocumentCount()).isEqualTo(2);
+    assertThat(reloaded.getTotalBytes()).isEqualTo(2048);
+    assertThat(reloaded.getPendingCount()).isZero();
+    assertThat(reloaded.getCompletedCount()).isEqualTo(1);
+    assertThat(reloaded.getFailedCount()).isEqualTo(1);
+  }
+
+  @Test
+  void recalculationKeepsConcurrentUpload() throws Exception {
+    saveDocument(DocumentStatus.COMPLETED);
+    namespaceCounterService.recalculateAll();
+    CountDownLatch uploading = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+
+    CompletableFuture<Void> upload = CompletableFuture.runAsync(() ->
+        transactionTemplate.executeWithoutResult(status -> {
+          Document document = saveDocument(DocumentStatus.PENDING);
+          namespaceCounterService.documentAdded(namespace.getId(), document.getFileSize(), document.getStatus());
+          uploading.countDown();
+          await(release);
+        }));
+    assertThat(uploading.await(10, TimeUnit.SECONDS)).isTrue();
+
+    // 업로드 트랜잭션이 커밋되기 전후 어느 쪽에서 재계산이 끝나도 결과는 같아야 한다
+    CompletableFuture<Void> repair = CompletableFuture.runAsync(namespaceCounterService::recalculateAll);
+    release.countDown();
+    upload.get(10, TimeUnit.SECONDS);
+    repair.get(10, TimeUnit.SECONDS);
+
+    Namespace reloaded = reload();
+    assertThat(reloaded.getDocumentCount()).isEqualTo(2);
+    assertThat(reloaded.getPendingCount()).isEqualTo(1);
+    assertThat(reloaded.getCompletedCount()).isEqualTo(1);
+  }
+
+  private Document saveDocument(DocumentStatus status) {
+    return documentRepository.save(Document.builder()
+        .user(user)
+        .namespace(namespace)
+        .filename("report.pdf")
+        .filePath("/tmp/report.pdf")
+        .fileType("pdf")
+        .fileSize(1024L)
+        .fileHash(UUID.randomUUID().toString())
+        .status(status)
+        .build());
+  }
+
+  private Namespace reload() {
+    return namespaceRepository.findById(namespace.getId()).orElseThrow();
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(10, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,239 @@
+package com.sjpark.chatbot.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.sjpark.chatbot.domain.Document;
+import com.sjpark.chatbot.domain.Document.DocumentStatus;
+import com.sjpark.chatbot.domain.Namespace;
+import com.sjpark.chatbot.domain.NamespaceDeletion;
+import com.sjpark.chatbot.domain.NamespaceDeletion.DeletionStatus;
+import com.sjpark.chatbot.domain.User;
+import com.sjpark.chatbot.repo.DocumentRepository;
+import com.sjpark.chatbot.repo.FileBlobRepository;
+import com.sjpark.chatbot.repo.NamespaceDeletionRepository;
+import com.sjpark.chatbot.repo.NamespaceRepository;
+import com.sjpark.chatbot.repo.UserRepository;
+import com.sjpark.chatbot.service.FileStorageService.StagedFile;
+import com.sjpark.chatbot.support.StubAiServer;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 보관함 정리 워커가 중단된 작업을 남은 단계부터 이어서 정리하고, 실패하면 백오프 후 재시도하는지 검증
+ * <p>
+ * 정리 워커를 켜되 주기 실행은 길게 두고 reclaim() 을 직접 호출한다.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "namespace.reclaimer.enabled=true",
+    "namespace.reclaimer.interval=3600000",
+    "namespace.reclaimer.batch-size=1",
+    "namespace.reclaimer.batch-delay=0",
+    "namespace.reclaimer.lock-timeout=500",
+    "namespace.reclaimer.initial-backoff=1000"
+})
+@ActiveProfiles("test")
+class NamespaceReclaimerTest {
+
+  private static final StubAiServer aiServer = startAiServer();
+
+  @Autowired
+  private NamespaceReclaimer namespaceReclaimer;
+
+  @Autowired
+  private NamespaceService namespaceService;
+
+  @Autowired
+  private NamespaceDeletionService namespaceDeletionService;
+
+  @Autowired
+  private FileBlobService fileBlobService;
+
+  @Autowired
+  private FileStorageService fileStorageService;
+
+  @Autowired
+  private UserRepository userRepository;
+
+  @Autowired
+  private NamespaceRepository namespaceRepository;
+
+  @Autowired
+  private DocumentRepository documentRepository;
+
+  @Autowired
+  private NamespaceDeletionRepository namespaceDeletionRepository;
+
+  @Autowired
+  private FileBlobRepository fileBlobRepository;
+
+  @Autowired
+  private PlatformTransactionManager transactionManager;
+
+  private TransactionTemplate transactionTemplate;
+
+  @DynamicPropertySource
+  static void aiServiceProperties(DynamicPropertyRegistry registry) {
+    registry.add("ai.service.url", aiServer::baseUrl);
+  }
+
+  @AfterAll
+  static void stopAiServer() {
+    aiServer.close();
+  }
+
+  @BeforeEach
+  void setUp() {
+    transactionTemplate = new TransactionTemplate(transactionManager);
+  }
+
+  @AfterEach
+  void restoreAiServer() {
+    aiServer.errorRate(0);
+  }
+
+  @Test
+  void interruptedReclaimResumesFromRemainingBlobs() throws IOException {
+    List<String> hashes = new ArrayList<>();
+    Long deletionId = deleteNamespaceWithBlobs(3, hashes);
+    int collectionDeletes = aiServer.namespaceDeleteRequests();
+
+    // 다른 노드가 컬렉션과 blob 한 배치를 정리한 뒤 멈춤 (점유는 남은 채로)
+    assertThat(namespaceDeletionService.claim("crashed-worker", 1))
+        .extracting(NamespaceDeletionService.ClaimedDeletion::deletionId)
+        .containsExactly(deletionId);
+    namespaceDeletionService.markCollectionDeleted(deletionId);
+    transactionTemplate.executeWithoutResult(status -> {
+      int reclaimed = fileBlobService.reclaim(deletionId, 1);
+      namespaceDeletionService.addReclaimed(deletionId, reclaimed);
+    });
+
+    // 점유 만료 전에는 가져가지 않는다
+    namespaceReclaimer.reclaim();
+    assertThat(deletion(deletionId).getLockedBy()).isEqualTo("crashed-worker");
+
+    sleepUntil(deletion(deletionId).getLockedAt().plus(Duration.ofMillis(600)));
+    namespaceReclaimer.reclaim();
+
+    NamespaceDeletion deletion = deletion(deletionId);
+    assertThat(deletion.getStatus()).isEqualTo(DeletionStatus.COMPLETED);
+    assertThat(deletion.getAttempts()).isEqualTo(2);
+    assertThat(deletion.getReclaimedBlobCount()).isEqualTo(3);
+    assertThat(aiServer.namespaceDeleteRequests()).isEqualTo(collectionDeletes);
+    for (String hash : hashes) {
+      assertThat(fileBlobRepository.existsById(hash)).isFalse();
+      assertThat(Files.exists(Paths.get(fileStorageService.blobLocation(hash)))).isFalse();
+    }
+  }
+
+  @Test
+  void failedReclaimIsRetriedAfterBackoff() throws IOException {
+    List<String> hashes = new ArrayList<>();
+    Long deletionId = deleteNamespaceWithBlobs(2, hashes);
+    aiServer.errorRate(1.0);
+
+    LocalDateTime failedAt = LocalDateTime.now();
+    namespaceReclaimer.reclaim();
+
+    NamespaceDeletion failed = deletion(deletionId);
+    assertThat(failed.getStatus()).isEqualTo(DeletionStatus.RECLAIMING);
+    assertThat(failed.getAttempts()).isEqualTo(1);
+    assertThat(failed.isCollectionDeleted()).isFalse();
+    assertThat(failed.getLockedBy()).isNull();
+    assertThat(failed.getLastError()).isNotBlank();
+    assertThat(failed.getNextAttemptAt()).isAfter(failedAt.plus(Duration.ofMillis(700)));
+    assertThat(fileBlobRepository.existsById(hashes.get(0))).isTrue();
+
+    // 백오프 중에는 다시 시도하지 않는다
+    aiServer.errorRate(0);
+    namespaceReclaimer.reclaim();
+    assertThat(deletion(deletionId).getAttempts()).isEqualTo(1);
+
+    sleepUntil(failed.getNextAttemptAt().plus(Duration.ofMillis(100)));
+    namespaceReclaimer.reclaim();
+
+    NamespaceDeletion completed = deletion(deletionId);
+    assertThat(completed.getStatus()).isEqualTo(DeletionStatus.COMPLETED);
+    assertThat(completed.getAttempts()).isEqualTo(2);
+    assertThat(completed.isCollectionDeleted()).isTrue();
+    assertThat(completed.getReclaimedBlobCount()).isEqualTo(2);
+    assertThat(completed.getLastError()).isNull();
+  }
+
+  /**
+   * blob 파일을 가진 문서 count 개로 보관함을 만들고 삭제
+   *
+   * @return 삭제 작업 ID
+   */
+  private Long deleteNamespaceWithBlobs(int count, List<String> hashes) throws IOException {
+    String suffix = UUID.randomUUID().toString().substring(0, 8);
+    User user = userRepository.save(User.builder()
+        .username("user_" + suffix)
+        .password("password")
+        .email(suffix + "@example.com")
+        .build());
+    Namespace namespace = namespaceRepository.save(Namespace.builder()
+        .user(user)
+        .name("보관함")
+        .chromaCollectionName("ns_" + suffix)
+        .build());
+    for (int i = 0; i < count; i++) {
+      StagedFile staged = fileStorageService.stage(
+          new ByteArrayInputStream((suffix + i).getBytes(StandardCharsets.UTF_8)));
+      String path = transactionTemplate.execute(status -> fileBlobService.store(staged));
+      hashes.add(staged.hash());
+      documentRepository.save(Document.builder()
+          .user(user)
+          .namespace(namespace)
+          .filename("report_" + i + ".pdf")
+          .filePath(path)
+          .fileType("pdf")
+          .fileSize(staged.size())
+          .fileHash(staged.hash())
+          .status(DocumentStatus.COMPLETED)
+          .build());
+    }
+    return namespaceService.deleteNamespace(user.getId(), namespace.getId()).getDeletionId();
+  }
+
+  private NamespaceDeletion deletion(Long deletionId) {
+    return namespaceDeletionRepository.findById(deletionId).orElseThrow();
+  }
+
+  private static void sleepUntil(LocalDateTime time) {
+    Duration remaining = Duration.between(LocalDateTime.now(), time);
+    if (!remaining.isNegative()) {
+      try {
+        Thread.sleep(remaining);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  private static StubAiServer startAiServer() {
+    try {
+      return new StubAiServer();
+    } catch (IOException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
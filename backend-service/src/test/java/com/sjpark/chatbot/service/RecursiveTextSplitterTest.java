@@ -0,0 +1,69 @@
+package com.sjpark.chatbot.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+/**
+ * Java 분할기가 LangChain RecursiveCharacterTextSplitter 와 같은 청크를 만드는지 검증
+ * <p>
+ * splitter/golden.json 은 같은 디렉토리의 generate_golden.py 로 AI 서비스 환경의 LangChain 에서 생성한다.
+ */
+class RecursiveTextSplitterTest {
+
+  @ParameterizedTest(name = "{0}")
+  @MethodSource("goldenCases")
+  void matchesLangChainOutput(GoldenCase golden) {
+    RecursiveTextSplitter splitter = new RecursiveTextSplitter(golden.chunk_size(), golden.chunk_overlap());
+
+    assertThat(splitter.split(golden.text())).containsExactlyElementsOf(golden.chunks());
+  }
+
+  @Test
+  void chunksNeverExceedChunkSizeInCodePoints() {
+    RecursiveTextSplitter splitter = new RecursiveTextSplitter(10, 3);
+    String text = "😀".repeat(25) + " 가나다라마바사아자차카타파하";
+
+    List<String> chunks = splitter.split(text);
+
+    assertThat(chunks).isNotEmpty();
+    assertThat(chunks).allSatisfy(chunk ->
+        assertThat(chunk.codePointCount(0, chunk.length())).isLessThanOrEqualTo(10));
+    assertThat(String.join("", chunks)).doesNotContain("\uFFFD");
+  }
+
+  @Test
+  void blankTextHasNoChunks() {
+    assertThat(new RecursiveTextSplitter(1000, 50).split(" \n\n\t ")).isEmpty();
+  }
+
+  @Test
+  void overlapLargerThanChunkSizeIsRejected() {
+    assertThatThrownBy(() -> new RecursiveTextSplitter(10, 11))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  static Stream<GoldenCase> goldenCases() throws IOException {
+    try (InputStream in = RecursiveTextSplitterTest.class.getResourceAsStream("/splitter/golden.json")) {
+      return new ObjectMapper().readValue(in, new TypeReference<List<GoldenCase>>() {
+      }).stream();
+    }
+  }
+
+  record GoldenCase(String name, int chunk_size, int chunk_overlap, String text, List<String> chunks) {
+
+    @Override
+    public String toString() {
+      return name;
+    }
+  }
+}
@@ -0,0 +1,288 @@
+package com.sjpark.chatbot.support;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Python AI 서비스 대역 (테스트/부하 테스트용)
+ * <p>
+ * AI 서비스 API(/health, /namespaces, 문서 인덱싱/상태 조회, /chat, /chat/stream, /chat/summary)를 같은 응답 형식으로
+ * 흉내낸다.
+ * /chat/stream 은 토큰을 하나씩 SSE 로 흘려보낸 뒤 done 이벤트로 최종 답변을 보낸다.
+ * 인덱싱 요청된 문서는 {@link #indexingDelay(Duration)} 뒤에 processed 상태가 된다.
+ * 벡터 검색은 {@link #searchResults(String, List)} 로 컬렉션별 결과를 지정할 수 있다 (기본 빈 결과).
+ * {@link #failSearch(String)} 로 지정한 컬렉션의 검색은 500 으로 응답한다.
+ * <p>
+ * {@link #latency(Duration)} 로 응답 지연을, {@link #errorRate(double)} 로 503 응답 비율을 지정할 수 있다 (/health 제외).
+ * /health 는 {@link #healthy(boolean)} 로 503 응답을 흉내낼 수 있다.
+ */
+public class StubAiServer implements AutoCloseable {
+
+  private static final ObjectMapper objectMapper = new ObjectMapper();
+
+  private final HttpServer server;
+  private final AtomicInteger chatRequests = new AtomicInteger();
+  private final AtomicInteger healthRequests = new AtomicInteger();
+  private final AtomicInteger namespaceDeleteRequests = new AtomicInteger();
+  private final Map<String, Long> indexedAt = new ConcurrentHashMap<>(); // documentId → 인덱싱 요청 시각(ms)
+  private final Map<String, List<Map<String, Object>>> searchResults = new ConcurrentHashMap<>(); // 컬렉션 → 검색 결과
+  private final Set<String> failingSearches = ConcurrentHashMap.newKeySet();
+  private volatile Map<?, ?> lastChatRequest;
+  private volatile List<String> tokens = List.of("2024년 ", "매출은 ", "15% ", "증가했습니다.[1]");
+  private volatile boolean healthy = true;
+  private volatile Duration latency = Duration.ZERO;
+  private volatile Duration tokenInterval = Duration.ZERO;
+  private volatile Duration indexingDelay = Duration.ZERO;
+  private volatile double errorRate;
+
+  public StubAiServer() throws IOException {
+    this(0);
+  }
+
+  public StubAiServer(int port) throws IOException {
+    server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 0);
+    server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+    server.createContext("/health", this::health);
+    server.createContext("/namespaces", exchange -> handle(exchange, this::namespaces));
+    server.createContext("/chat/stream", exchange -> handle(exchange, this::chatStream));
+    server.createContext("/chat/summary", exchange -> handle(exchange, this::summary));
+    server.createContext("/chat", exchange -> handle(exchange, this::chat));
+    server.start();
+  }
+
+  public String baseUrl() {
+    return "http://127.0.0.1:" + server.getAddress().getPort();
+  }
+
+  public int chatRequests() {
+    return chatRequests.get();
+  }
+
+  public int namespaceDeleteRequests() {
+    return namespaceDeleteRequests.get();
+  }
+
+  public int healthRequests() {
+    return healthRequests.get();
+  }
+
+  public void tokens(List<String> tokens) {
+    this.tokens = tokens;
+  }
+
+  /**
+   * 마지막 /chat/stream 요청 본문
+   */
+  public Map<?, ?> lastChatRequest() {
+    return lastChatRequest;
+  }
+
+  /**
+   * 컬렉션 벡터 검색 결과 ({"content", "metadata", "score"} 목록)
+   */
+  public StubAiServer searchResults(String collectionName, List<Map<String, Object>> results) {
+    searchResults.put(collectionName, results);
+    return this;
+  }
+
+  /**
+   * 컬렉션 벡터 검색 실패 (500)
+   */
+  public StubAiServer failSearch(String collectionName) {
+    failingSearches.add(collectionName);
+    return this;
+  }
+
+  public void healthy(boolean healthy) {
+    this.healthy = healthy;
+  }
+
+  /**
+   * 응답 전 지연 (스트리밍은 첫 토큰 전 지연)
+   */
+  public StubAiServer latency(Duration latency) {
+    this.latency = latency;
+    return this;
+  }
+
+  /**
+   * 스트리밍 토큰 사이 간격
+   */
+  public StubAiServer tokenInterval(Duration tokenInterval) {
+    this.tokenInterval = tokenInterval;
+    return this;
+  }
+
+  /**
+   * 인덱싱 요청 후 processed 상태가 되기까지의 시간
+   */
+  public StubAiServer indexingDelay(Duration indexingDelay) {
+    this.indexingDelay = indexingDelay;
+    return this;
+  }
+
+  /**
+   * 503 으로 응답할 요청 비율 (0.0 ~ 1.0)
+   */
+  public StubAiServer errorRate(double errorRate) {
+    this.errorRate = errorRate;
+    return this;
+  }
+
+  private void health(HttpExchange exchange) throws IOException {
+    healthRequests.incrementAndGet();
+    if (healthy) {
+      respond(exchange, 200, "{\"status\":\"ok\"}");
+    } else {
+      respond(exchange, 503, "{\"status\":\"unavailable\"}");
+    }
+  }
+
+  /**
+   * 지연/오류 주입 후 요청 처리
+   */
+  private void handle(HttpExchange exchange, Handler handler) throws IOException {
+    try (exchange) {
+      sleep(latency);
+      if (errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate) {
+        exchange.getRequestBody().readAllBytes();
+        respond(exchange, 503, "{\"detail\":\"injected failure\"}");
+        return;
+      }
+      handler.handle(exchange);
+    }
+  }
+
+  /**
+   * POST /namespaces, DELETE /namespaces/{name}, POST /namespaces/{id}/documents[/chunks],
+   * GET /namespaces/{id}/documents/{documentId}/status, POST /namespaces/{name}/search
+   */
+  private void namespaces(HttpExchange exchange) throws IOException {
+    String method = exchange.getRequestMethod();
+    String[] segments = exchange.getRequestURI().getPath().split("/"); // ["", "namespaces", ...]
+    byte[] body = exchange.getRequestBody().readAllBytes();
+
+    if ("POST".equals(method) && segments.length == 2) {
+      Map<?, ?> request = objectMapper.readValue(body, Map.class);
+      respond(exchange, 201, objectMapper.writeValueAsString(Map.of("name", request.get("name"), "document_count", 0)));
+    } else if ("DELETE".equals(method) && segments.length == 3) {
+      namespaceDeleteRequests.incrementAndGet();
+      exchange.sendResponseHeaders(204, -1);
+    } else if ("POST".equals(method) && segments.length >= 4 && "documents".equals(segments[3])
+        && (segments.length == 4 || segments.length == 5 && "chunks".equals(segments[4]))) {
+      String documentId = String.valueOf(objectMapper.readValue(body, Map.class).get("document_id"));
+      indexedAt.put(documentId, System.currentTimeMillis());
+      respond(exchange, 200, objectMapper.writeValueAsString(Map.of(
+          "document_id", documentId, "status", "pending", "message", "문서 업로드가 시작되었습니다.")));
+    } else if ("GET".equals(method) && segments.length == 6 && "status".equals(segments[5])) {
+      documentStatus(exchange, segments[4]);
+    } else if ("POST".equals(method) && segments.length == 4 && "search".equals(segments[3])
+        && failingSearches.contains(segments[2])) {
+      respond(exchange, 500, "{\"detail\":\"검색 실패\"}");
+    } else if ("POST".equals(method) && segments.length == 4 && "search".equals(segments[3])) {
+      Map<?, ?> request = objectMapper.readValue(body, Map.class);
+      respond(exchange, 200, objectMapper.writeValueAsString(Map.of(
+          "query", request.get("query"), "results", searchResults.getOrDefault(segments[2], List.of()))));
+    } else {
+      respond(exchange, 404, "{\"detail\":\"Not Found\"}");
+    }
+  }
+
+  private void documentStatus(HttpExchange exchange, String documentId) throws IOException {
+    Long requestedAt = indexedAt.get(documentId);
+    if (requestedAt == null) {
+      respond(exchange, 404, "{\"detail\":\"문서가 존재하지 않습니다.\"}");
+      return;
+    }
+    boolean processed = System.currentTimeMillis() - requestedAt >= indexingDelay.toMillis();
+    respond(exchange, 200, objectMapper.writeValueAsString(Map.of(
+        "document_id", documentId,
+        "status", processed ? "processed" : "pending",
+        "chunks_count", processed ? 12 : 0,
+        "processed_at", OffsetDateTime.now().toString())));
+  }
+
+  private void chat(HttpExchange exchange) throws IOException {
+    chatRequests.incrementAndGet();
+    exchange.getRequestBody().readAllBytes();
+    respond(exchange, 200, objectMapper.writeValueAsString(Map.of(
+        "query", "q", "answer", String.join("", tokens), "sources", List.of(source()))));
+  }
+
+  private void summary(HttpExchange exchange) throws IOException {
+    Map<?, ?> request = objectMapper.readValue(exchange.getRequestBody().readAllBytes(), Map.class);
+    respond(exchange, 200, objectMapper.writeValueAsString(Map.of(
+        "summary", "요약된 메시지 " + ((List<?>) request.get("messages")).size() + "건")));
+  }
+
+  private void chatStream(HttpExchange exchange) throws IOException {
+    chatRequests.incrementAndGet();
+    lastChatRequest = objectMapper.readValue(exchange.getRequestBody().readAllBytes(), Map.class);
+    exchange.getResponseHeaders().set("Content-Type", "text/event-stream");
+    exchange.sendResponseHeaders(200, 0);
+
+    OutputStream out = exchange.getResponseBody();
+    StringBuilder answer = new StringBuilder();
+    for (String token : tokens) {
+      answer.append(token);
+      writeEvent(out, "token", objectMapper.writeValueAsString(Map.of("content", token)));
+      sleep(tokenInterval);
+    }
+    writeEvent(out, "done", objectMapper.writeValueAsString(Map.of(
+        "query", "q", "answer", answer.toString(), "sources", List.of(source()))));
+  }
+
+  private Map<String, Object> source() {
+    return Map.of("id", 1, "source", "report.pdf", "page", 12, "content", "");
+  }
+
+  private void writeEvent(OutputStream out, String event, String data) throws IOException {
+    out.write(("event: " + event + "\ndata: " + data + "\n\n").getBytes(StandardCharsets.UTF_8));
+    out.flush();
+  }
+
+  private void respond(HttpExchange exchange, int status, String body) throws IOException {
+    byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+    exchange.getResponseHeaders().set("Content-Type", "application/json");
+    exchange.sendResponseHeaders(status, bytes.length);
+    try (OutputStream out = exchange.getResponseBody()) {
+      out.write(bytes);
+    }
+  }
+
+  private void sleep(Duration duration) {
+    if (duration.isZero()) {
+      return;
+    }
+    try {
+      Thread.sleep(duration);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  @Override
+  public void close() {
+    server.stop(0);
+  }
+
+  @FunctionalInterface
+  private interface Handler {
+
+    void handle(HttpExchange exchange) throws IOException;
+  }
+}
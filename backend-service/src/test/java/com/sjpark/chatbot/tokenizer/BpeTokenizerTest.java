@@ -0,0 +1,67 @@
+package com.sjpark.chatbot.tokenizer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+/**
+ * 작은 순위 파일로 tiktoken(o200k_base 분할 정규식 + byte_pair_merge)과 같은 토큰 수가 나오는지 검증
+ * <p>
+ * tokenizer/ranks.tiktoken 과 golden.json 은 같은 디렉토리의 generate_golden.py 로 AI 서비스 환경의 tiktoken 에서 생성한다.
+ */
+class BpeTokenizerTest {
+
+  private static BpeTokenizer tokenizer;
+
+  @BeforeAll
+  static void loadFixture() throws IOException {
+    try (InputStream in = BpeTokenizerTest.class.getResourceAsStream("/tokenizer/ranks.tiktoken")) {
+      tokenizer = BpeTokenizer.load(in, BpeTokenizer.O200K_PATTERN);
+    }
+  }
+
+  @ParameterizedTest(name = "{0}")
+  @MethodSource("goldenCases")
+  void matchesTiktokenCount(GoldenCase golden) {
+    assertThat(tokenizer.count(golden.text())).isEqualTo(golden.tokens());
+  }
+
+  @Test
+  void emptyTextHasNoTokens() {
+    assertThat(tokenizer.count("")).isZero();
+    assertThat(tokenizer.count(null)).isZero();
+  }
+
+  @Test
+  void longPieceWithoutMergesCountsEveryByte() {
+    // 병합 순위가 없는 바이트열은 바이트 하나가 토큰 하나 (작업 버퍼 확장 경로)
+    String piece = "q".repeat(200);
+
+    assertThat(tokenizer.count(piece)).isEqualTo(200);
+  }
+
+  static Stream<GoldenCase> goldenCases() throws IOException {
+    try (InputStream in = BpeTokenizerTest.class.getResourceAsStream("/tokenizer/golden.json")) {
+      return new ObjectMapper().readValue(in, Golden.class).cases().stream();
+    }
+  }
+
+  record Golden(String generator, List<GoldenCase> cases) {
+  }
+
+  record GoldenCase(String text, int tokens) {
+
+    @Override
+    public String toString() {
+      return text.replace("\n", "\\n");
+    }
+  }
+}
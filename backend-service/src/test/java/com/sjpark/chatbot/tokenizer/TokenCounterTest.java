@@ -0,0 +1,78 @@
+package com.sjpark.chatbot.tokenizer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.core.io.DefaultResourceLoader;
+
+/**
+ * 순위 파일이 없을 때의 추정치가 작게 나오지 않는지, 추정치는 저장용으로 내보내지 않는지 검증
+ */
+class TokenCounterTest {
+
+  private static final Pattern PIECE = Pattern.compile(BpeTokenizer.O200K_PATTERN, Pattern.UNICODE_CHARACTER_CLASS);
+
+  @ParameterizedTest
+  @ValueSource(strings = {
+      "1234567890 9876543210",
+      "2024-03-15T10:30:00Z",
+      "!!! ??? ... --- ***",
+      "for (int i = 0; i < n; i++) { sum += a[i]; }",
+      "if (x != null && x.y() >= 0) {\n    return;\n}",
+      "https://example.com/api/v1/users?id=42&sort=desc#top",
+      "SELECT * FROM messages WHERE id IN (1, 2, 3);",
+      "2024년 매출은 15% 증가했습니다.",
+      "감사합니다 🙏🙏"
+  })
+  void estimateIsNeverBelowPieceCount(String text) {
+    // o200k 는 분할 조각을 넘어 병합하지 않으므로 조각 수가 실제 토큰 수의 하한이다
+    assertThat(TokenCounter.estimate(text)).isGreaterThanOrEqualTo(pieces(text));
+  }
+
+  @Test
+  void estimateCountsEveryDigitGroupAndSymbol() {
+    assertThat(TokenCounter.estimate("1234567890")).isEqualTo(4);
+    assertThat(TokenCounter.estimate("!?!?")).isEqualTo(4);
+    assertThat(TokenCounter.estimate("        ")).isEqualTo(2);
+    assertThat(TokenCounter.estimate("😀")).isEqualTo(2);
+  }
+
+  @Test
+  void estimatesAreNotOfferedForStorage() {
+    TokenCounter counter = new TokenCounter(new DefaultResourceLoader(), "");
+
+    assertThat(counter.isExact()).isFalse();
+    assertThat(counter.count("hello world")).isPositive();
+    assertThat(counter.countForStorage("hello world")).isNull();
+  }
+
+  @Test
+  void exactCountsAreOfferedForStorage() {
+    TokenCounter counter = new TokenCounter(new DefaultResourceLoader(), "classpath:tokenizer/ranks.tiktoken");
+
+    assertThat(counter.isExact()).isTrue();
+    assertThat(counter.countForStorage("hello world")).isEqualTo(2);
+    assertThat(counter.countMessage("hello world")).isEqualTo(2 + TokenCounter.MESSAGE_OVERHEAD);
+  }
+
+  @Test
+  void unreadableRanksFallBackToEstimate() {
+    TokenCounter counter = new TokenCounter(new DefaultResourceLoader(), "classpath:tokenizer/missing.tiktoken");
+
+    assertThat(counter.isExact()).isFalse();
+    assertThat(counter.count("1234567890")).isEqualTo(4);
+  }
+
+  private static int pieces(String text) {
+    Matcher matcher = PIECE.matcher(text);
+    int pieces = 0;
+    while (matcher.find()) {
+      pieces++;
+    }
+    return pieces;
+  }
+}
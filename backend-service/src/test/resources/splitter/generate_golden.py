@@ -0,0 +1,93 @@
+"""RecursiveTextSplitter 골든 파일 생성
+
+AI 서비스와 같은 LangChain RecursiveCharacterTextSplitter 설정으로 입력 텍스트를 분할해 golden.json 에 기록한다.
+백엔드 RecursiveTextSplitterTest 가 이 결과와 Java 이식본의 출력을 비교한다.
+
+실행 (ai-service 의 가상환경 사용):
+    cd ai-service && poetry run python ../backend-service/src/test/resources/splitter/generate_golden.py
+"""
+
+import json
+from pathlib import Path
+
+from langchain_text_splitters import RecursiveCharacterTextSplitter
+
+# app/api/namespace_router.py 와 같은 구분자
+SEPARATORS = ["\n\n", "\n", " ", "", ".", "!", "?"]
+
+PARAGRAPH = (
+    "2024년 매출은 전년 대비 15% 증가했습니다. 해외 시장 확대가 주요 성장 동력이며, "
+    "특히 아시아 지역 매출이 30% 성장했습니다.\n"
+    "영업이익률은 12.4%로 전년(10.1%) 대비 개선되었습니다."
+)
+
+CASES = [
+    {
+        "name": "defaults_short_text_is_single_chunk",
+        "chunk_size": 1000,
+        "chunk_overlap": 50,
+        "text": PARAGRAPH,
+    },
+    {
+        "name": "defaults_long_report",
+        "chunk_size": 1000,
+        "chunk_overlap": 50,
+        "text": "\n\n".join(f"{i}. {PARAGRAPH}" for i in range(1, 16)),
+    },
+    {
+        "name": "small_chunks_with_overlap",
+        "chunk_size": 40,
+        "chunk_overlap": 10,
+        "text": PARAGRAPH,
+    },
+    {
+        "name": "paragraphs_lines_and_words",
+        "chunk_size": 60,
+        "chunk_overlap": 15,
+        "text": "제1장 개요\n\n본 보고서는 2024년 실적을 요약합니다.\n주요 지표는 다음과 같습니다.\n\n\n"
+        "- 매출: 1,250억 원\n- 영업이익: 155억 원\n- 순이익: 98억 원\n\n제2장 전망",
+    },
+    {
+        "name": "word_longer_than_chunk_falls_back_to_characters",
+        "chunk_size": 20,
+        "chunk_overlap": 5,
+        "text": "짧은 단어 https://example.com/reports/2024/annual-summary-final.pdf 다음 문장",
+    },
+    {
+        "name": "unicode_whitespace_and_surrogate_pairs",
+        "chunk_size": 12,
+        "chunk_overlap": 3,
+        "text": "\u00a0\u00a0표\u00a0머리글\u3000셀 값 😀😀😀 𝑥²+𝑦² = 𝑧² 끝\u2003\n\n  다음 단락  ",
+    },
+    {
+        "name": "zero_overlap",
+        "chunk_size": 30,
+        "chunk_overlap": 0,
+        "text": PARAGRAPH,
+    },
+    {
+        "name": "overlap_equal_to_chunk_size",
+        "chunk_size": 16,
+        "chunk_overlap": 16,
+        "text": "one two three four five six seven eight nine ten eleven twelve",
+    },
+]
+
+
+def main() -> None:
+    for case in CASES:
+        splitter = RecursiveCharacterTextSplitter(
+            chunk_size=case["chunk_size"],
+            chunk_overlap=case["chunk_overlap"],
+            separators=SEPARATORS,
+            length_function=len,
+        )
+        case["chunks"] = splitter.split_text(case["text"])
+
+    output = Path(__file__).with_name("golden.json")
+    output.write_text(json.dumps(CASES, ensure_ascii=False, indent=2) + "\n", encoding="utf-8")
+    print(f"{len(CASES)}개 케이스 기록 - {output}")
+
+
+if __name__ == "__main__":
+    main()
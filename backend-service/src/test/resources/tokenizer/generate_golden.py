@@ -0,0 +1,150 @@
+"""BpeTokenizer 골든 파일 생성
+
+작은 BPE 순위 파일(ranks.tiktoken)과 o200k_base 분할 정규식으로 테스트 문장의 토큰 수를 세어 golden.json 에 기록한다.
+백엔드 BpeTokenizerTest 가 같은 순위 파일을 읽은 Java 구현의 결과와 비교한다.
+
+tiktoken 이 있으면 o200k_base 의 분할 정규식에 이 순위 파일을 얹은 tiktoken.Encoding 으로 세고,
+아래 reference_count(tiktoken 의 byte_pair_merge 이식본)와 결과가 같은지도 확인한다.
+tiktoken 이 없으면 reference_count 로만 세며, 이때 테스트 문장은 ASCII 와 한글 음절만 쓸 수 있다.
+
+실행 (ai-service 의 가상환경 사용):
+    cd ai-service && poetry run python ../backend-service/src/test/resources/tokenizer/generate_golden.py
+"""
+
+import base64
+import json
+import re
+from pathlib import Path
+
+# 단일 바이트(0~255) 다음 순위로 추가할 병합 토큰 - 앞의 두 토큰을 합쳐 만들 수 있는 것만 둔다
+MERGES = [
+    "ll", "he", "hell", "hello", " w", "or", " wor", "ld", " world",
+    "bc", "ab",  # "abc" 는 순위가 낮은 bc 부터 병합
+    "aa",
+    "12", "123", "45",
+    "on", "don", "'t",
+    " (", "in", "int", " i", " =", " 0", ";", " <", "++", ")", " {",
+    "ht", "tp", "http", "https", "//", "://", "om", "com", ".com", "ex", "am", "exam", "le", "ple", "example",
+    "HT", "TP", "HTTP", "er", "Ser", "ver", "Server",
+    "  ", "    ", "\n\n",
+]
+
+# 한글 병합은 UTF-8 바이트 단위로 만든다 (음절 중간 바이트 토큰 포함)
+HANGUL_MERGES = ["안", "녕", "안녕", "하", "세", "요", "세요"]
+
+CASES = [
+    "hello",
+    " hello",
+    "hello world",
+    "Hello worlds",
+    "abc abcabc",
+    "aaaa aaa a",
+    "12345 1234567",
+    "don't DON'T",
+    "for (int i = 0; i < n; i++) {",
+    "https://example.com/a?b=1&c=2",
+    "HTTPServer HttpServer",
+    "x\n\n    y  \n z",
+    "안녕하세요",
+    "안녕, hello 세계! 12시",
+    "  leading and trailing  ",
+]
+
+
+def fixture_ranks():
+    ranks = {bytes([b]): b for b in range(256)}
+
+    def add(token: bytes):
+        if token in ranks:
+            return
+        if not any(token[:i] in ranks and token[i:] in ranks for i in range(1, len(token))):
+            raise ValueError(f"두 토큰으로 나눌 수 없는 병합 토큰: {token!r}")
+        ranks[token] = len(ranks)
+
+    for merge in MERGES:
+        add(merge.encode("utf-8"))
+    for syllable in HANGUL_MERGES:
+        encoded = syllable.encode("utf-8")
+        if len(encoded) == 3:
+            add(encoded[:2])
+        add(encoded)
+    return ranks
+
+
+def reference_count(piece: bytes, ranks) -> int:
+    """tiktoken byte_pair_merge 이식본 - 순위가 가장 낮은 인접 쌍부터 (같으면 왼쪽부터) 병합"""
+    if piece in ranks:
+        return 1
+    parts = list(range(len(piece) + 1))
+
+    def rank(i):
+        if i + 2 < len(parts):
+            return ranks.get(piece[parts[i]:parts[i + 2]])
+        return None
+
+    pair_ranks = [rank(i) for i in range(len(parts))]
+    while len(parts) > 1:
+        candidates = [(r, i) for i, r in enumerate(pair_ranks[:-1]) if r is not None]
+        if not candidates:
+            break
+        _, best = min(candidates)
+        del parts[best + 1]
+        del pair_ranks[best + 1]
+        pair_ranks[best] = rank(best)
+        if best > 0:
+            pair_ranks[best - 1] = rank(best - 1)
+    return len(parts) - 1
+
+
+# o200k_base 분할 정규식을 ASCII + 한글 음절 범위로 옮긴 것 (tiktoken 이 없을 때만 사용)
+_UPPER = "A-Z가-힣"
+_LOWER = "a-z가-힣"
+_LETTER = "A-Za-z가-힣"
+_CONTRACTION = "(?i:'s|'t|'re|'ve|'m|'ll|'d)?"
+FALLBACK_PATTERN = re.compile("|".join([
+    f"[^\\r\\n{_LETTER}0-9]?[{_UPPER}]*[{_LOWER}]+{_CONTRACTION}",
+    f"[^\\r\\n{_LETTER}0-9]?[{_UPPER}]+[{_LOWER}]*{_CONTRACTION}",
+    "[0-9]{1,3}",
+    f" ?[^\\s{_LETTER}0-9]+[\\r\\n/]*",
+    "\\s*[\\r\\n]+",
+    "\\s+(?!\\S)",
+    "\\s+",
+]))
+
+
+def fallback_count(text: str, ranks) -> int:
+    if not re.fullmatch(r"[\x00-\x7f가-힣]*", text):
+        raise ValueError(f"tiktoken 없이는 ASCII 와 한글 음절만 지원: {text!r}")
+    return sum(reference_count(m.group().encode("utf-8"), ranks) for m in FALLBACK_PATTERN.finditer(text))
+
+
+def main():
+    ranks = fixture_ranks()
+    try:
+        import tiktoken
+        pattern = tiktoken.get_encoding("o200k_base")._pat_str
+        encoding = tiktoken.Encoding(name="o200k_fixture", pat_str=pattern, mergeable_ranks=ranks, special_tokens={})
+        count = lambda text: len(encoding.encode_ordinary(text))
+        generator = f"tiktoken {tiktoken.__version__}"
+    except ImportError:
+        count = lambda text: fallback_count(text, ranks)
+        generator = "reference"
+
+    cases = []
+    for text in CASES:
+        expected = count(text)
+        if generator != "reference" and re.fullmatch(r"[\x00-\x7f가-힣]*", text):
+            assert expected == fallback_count(text, ranks), f"이식본 결과가 tiktoken 과 다름: {text!r}"
+        cases.append({"text": text, "tokens": expected})
+
+    out = Path(__file__).parent
+    with open(out / "ranks.tiktoken", "w", encoding="ascii") as f:
+        for token, rank in sorted(ranks.items(), key=lambda item: item[1]):
+            f.write(f"{base64.b64encode(token).decode('ascii')} {rank}\n")
+    with open(out / "golden.json", "w", encoding="utf-8") as f:
+        json.dump({"generator": generator, "cases": cases}, f, ensure_ascii=False, indent=2)
+        f.write("\n")
+
+
+if __name__ == "__main__":
+    main()